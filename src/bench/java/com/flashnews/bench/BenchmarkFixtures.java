@@ -0,0 +1,142 @@
+package com.flashnews.bench;
+
+import com.flashnews.model.NewsArticle;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * BenchmarkFixtures building deterministic synthetic data and interface stubs for benchmarks
+ * Sizes and text lengths follow what NewsAPI top-headlines responses typically contain
+ */
+public final class BenchmarkFixtures {
+    private static final String[] SOURCES = {"Reuters", "BBC News", "The Verge", "Associated Press", "TechCrunch"};
+    private static final String[] WORDS = {"market", "election", "launch", "climate", "league", "vaccine", "chip",
+        "budget", "storm", "merger", "court", "energy", "satellite", "startup", "record", "minister"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Articles with realistic field lengths
+     */
+    public static List<NewsArticle> articles(int count) {
+        Random random = new Random(42);
+        List<NewsArticle> articles = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 10, 26, 12, 0);
+        for (int i = 0; i < count; i++) {
+            NewsArticle article = new NewsArticle();
+            article.setId(100000 + i);
+            article.setTitle(sentence(random, 12) + " - " + SOURCES[i % SOURCES.length]);
+            article.setDescription(sentence(random, 40));
+            article.setContent(sentence(random, 120) + " [+2451 chars]");
+            article.setUrl("https://news.example.com/2025/10/26/" + i + "/" + WORDS[i % WORDS.length] + "-story");
+            article.setImageUrl("https://cdn.example.com/images/" + i + ".jpg");
+            article.setSourceName(SOURCES[i % SOURCES.length]);
+            article.setSourceUrl("https://news.example.com");
+            article.setCategoryId(1 + i % 8);
+            article.setLocationId(1 + i % 10);
+            article.setPublishedAt(now.minusMinutes(i * 7L));
+            article.setCachedAt(now);
+            article.setTrending(i % 5 == 0);
+            article.setViewCount(random.nextInt(5000));
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    /**
+     * A NewsAPI top-headlines response body
+     */
+    public static String newsApiPayload(int count) {
+        StringBuilder json = new StringBuilder("{\"status\":\"ok\",\"totalResults\":").append(count).append(",\"articles\":[");
+        int index = 0;
+        for (NewsArticle article : articles(count)) {
+            if (index > 0) {
+                json.append(',');
+            }
+            json.append("{\"source\":{\"id\":null,\"name\":\"").append(article.getSourceName()).append("\"},")
+                .append("\"author\":\"Staff Reporter\",")
+                .append("\"title\":\"").append(article.getTitle()).append("\",")
+                .append("\"description\":\"").append(article.getDescription()).append("\",")
+                .append("\"url\":\"").append(article.getUrl()).append("\",")
+                .append("\"urlToImage\":\"").append(article.getImageUrl()).append("\",")
+                .append("\"publishedAt\":\"").append(index % 2 == 0 ? "2025-10-26T06:52:51Z" : "2025-10-26T06:52:51.000Z")
+                .append("\",\"content\":\"").append(article.getContent()).append("\"}");
+            index++;
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * A result set positioned on one news_articles row
+     */
+    public static ResultSet articleRow(NewsArticle article) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", article.getId());
+        row.put("title", article.getTitle());
+        row.put("description", article.getDescription());
+        row.put("content", article.getContent());
+        row.put("url", article.getUrl());
+        row.put("image_url", article.getImageUrl());
+        row.put("source_name", article.getSourceName());
+        row.put("source_url", article.getSourceUrl());
+        row.put("category_id", article.getCategoryId());
+        row.put("location_id", article.getLocationId());
+        row.put("published_at", Timestamp.valueOf(article.getPublishedAt()));
+        row.put("cached_at", Timestamp.valueOf(article.getCachedAt()));
+        row.put("is_trending", article.isTrending());
+        row.put("view_count", article.getViewCount());
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("getInt", args -> row.get(args[0]));
+        methods.put("getString", args -> row.get(args[0]));
+        methods.put("getTimestamp", args -> row.get(args[0]));
+        methods.put("getBoolean", args -> row.get(args[0]));
+        return stub(ResultSet.class, methods);
+    }
+
+    /**
+     * Stub an interface; unlisted methods return null, false or zero
+     */
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler != null) {
+                return handler.apply(args);
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            return null;
+        });
+        return type.cast(proxy);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+}
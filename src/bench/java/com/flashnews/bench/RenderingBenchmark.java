@@ -0,0 +1,72 @@
+package com.flashnews.bench;
+
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ArticleJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RenderingBenchmark measuring the cost of turning an article list into a response body
+ * JSPs need a container, so the HTML case renders the markup of fragments/article-list.jsp
+ * by hand; keep it in step with the fragment. The JSON case is the API list response
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderingBenchmark {
+    private static final String CONTEXT_PATH = "/flashnews";
+
+    @Param({"20", "100"})
+    public int articleCount;
+
+    private List<NewsArticle> articles;
+
+    @Setup
+    public void setUp() {
+        articles = BenchmarkFixtures.articles(articleCount);
+    }
+
+    @Benchmark
+    public String renderArticleListHtml() {
+        StringBuilder html = new StringBuilder(articles.size() * 1600);
+        for (NewsArticle article : articles) {
+            html.append("<article class=\"news-card\" data-article-id=\"").append(article.getId()).append("\">\n");
+            if (article.getImageUrl() != null && !article.getImageUrl().isEmpty()) {
+                html.append("<div class=\"news-image\">\n<img src=\"").append(article.getImageUrl())
+                    .append("\" alt=\"").append(article.getTitle()).append("\" loading=\"lazy\">\n");
+                if (article.isTrending()) {
+                    html.append("<span class=\"trending-badge\">\n<i class=\"fas fa-fire\"></i> Trending\n</span>\n");
+                }
+                html.append("</div>\n");
+            }
+            html.append("<div class=\"news-content\">\n<h3 class=\"news-title\">\n<a href=\"").append(CONTEXT_PATH)
+                .append("/news?action=article&id=").append(article.getId()).append("\">\n")
+                .append(article.getTitle()).append("\n</a>\n</h3>\n")
+                .append("<p class=\"news-description\">\n").append(article.getShortDescription()).append("\n</p>\n")
+                .append("<div class=\"news-meta\">\n<span class=\"news-source\">\n<i class=\"fas fa-newspaper\"></i> ")
+                .append(article.getSourceName()).append("\n</span>\n<span class=\"news-date\">\n<i class=\"fas fa-clock\"></i>\n")
+                .append(article.getPublishedAt()).append("\n</span>\n<span class=\"news-views\">\n<i class=\"fas fa-eye\"></i> ")
+                .append(article.getViewCount()).append("\n</span>\n</div>\n")
+                .append("<div class=\"news-actions\">\n<a href=\"").append(article.getUrl())
+                .append("\" target=\"_blank\" class=\"btn btn-outline\">\n")
+                .append("<i class=\"fas fa-external-link-alt\"></i> Read More\n</a>\n<a href=\"").append(CONTEXT_PATH)
+                .append("/news?action=article&id=").append(article.getId()).append("\" class=\"btn btn-primary\">\n")
+                .append("<i class=\"fas fa-book-open\"></i> View Details\n</a>\n</div>\n</div>\n</article>\n");
+        }
+        return html.toString();
+    }
+
+    @Benchmark
+    public String renderArticleListJson() {
+        return ArticleJson.toJson(ArticleJson.toMaps(articles));
+    }
+}
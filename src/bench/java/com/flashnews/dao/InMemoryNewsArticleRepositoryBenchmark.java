@@ -0,0 +1,70 @@
+package com.flashnews.dao;
+
+import com.flashnews.bench.BenchmarkFixtures;
+import com.flashnews.model.NewsArticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryNewsArticleRepositoryBenchmark measuring listings served from the in-memory indexes
+ * Articles are spread over the last few days so they fall inside the listing window
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryNewsArticleRepositoryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int articleCount;
+
+    private InMemoryNewsArticleRepository repository;
+    private int middleId;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryNewsArticleRepository();
+        LocalDateTime now = LocalDateTime.now();
+        int index = 0;
+        for (NewsArticle article : BenchmarkFixtures.articles(articleCount)) {
+            article.setId(0);
+            article.setPublishedAt(now.minusSeconds(index++ * 20L));
+            repository.saveArticle(article);
+        }
+        middleId = articleCount / 2;
+    }
+
+    @Benchmark
+    public List<NewsArticle> latest() {
+        return repository.getLatestNews(null, null, 20);
+    }
+
+    @Benchmark
+    public List<NewsArticle> latestByCategory() {
+        return repository.getLatestNews(3, null, 20);
+    }
+
+    @Benchmark
+    public List<NewsArticle> latestByCategoryAndLocation() {
+        return repository.getLatestNews(3, 5, 20);
+    }
+
+    @Benchmark
+    public List<NewsArticle> search() {
+        return repository.searchNews("satellite", null, null, 20);
+    }
+
+    @Benchmark
+    public NewsArticle articleById() {
+        return repository.getArticleById(middleId);
+    }
+}
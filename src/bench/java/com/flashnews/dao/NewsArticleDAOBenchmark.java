@@ -0,0 +1,47 @@
+package com.flashnews.dao;
+
+import com.flashnews.bench.BenchmarkFixtures;
+import com.flashnews.model.NewsArticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NewsArticleDAOBenchmark measuring row mapping and query building without a database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NewsArticleDAOBenchmark {
+    private NewsArticleDAO newsArticleDAO;
+    private ResultSet row;
+
+    @Setup
+    public void setUp() {
+        newsArticleDAO = new NewsArticleDAO();
+        row = BenchmarkFixtures.articleRow(BenchmarkFixtures.articles(1).get(0));
+    }
+
+    @Benchmark
+    public NewsArticle mapResultSetToArticle() throws SQLException {
+        return newsArticleDAO.mapResultSetToArticle(row);
+    }
+
+    @Benchmark
+    public String buildLatestQuery() {
+        return newsArticleDAO.buildNewsQuery("latest", null, null, 20);
+    }
+
+    @Benchmark
+    public String buildFilteredTrendingQuery() {
+        return newsArticleDAO.buildNewsQuery("trending", 3, 5, 20);
+    }
+}
@@ -0,0 +1,44 @@
+package com.flashnews.external;
+
+import com.flashnews.bench.BenchmarkFixtures;
+import com.flashnews.model.NewsArticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NewsAPIClientBenchmark measuring parsing of NewsAPI responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewsAPIClientBenchmark {
+
+    /**
+     * 20 is the default page size of top-headlines, 100 the maximum
+     */
+    @Param({"20", "100"})
+    public int articleCount;
+
+    private NewsAPIClient newsAPIClient;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        newsAPIClient = new NewsAPIClient();
+        payload = BenchmarkFixtures.newsApiPayload(articleCount);
+    }
+
+    @Benchmark
+    public List<NewsArticle> parseApiResponse() {
+        return newsAPIClient.parseApiResponse(payload);
+    }
+}
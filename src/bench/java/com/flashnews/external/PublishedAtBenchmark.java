@@ -0,0 +1,27 @@
+package com.flashnews.external;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PublishedAtBenchmark measuring parsing of the publishedAt formats NewsAPI returns
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PublishedAtBenchmark {
+
+    @Benchmark
+    public LocalDateTime seconds() {
+        return NewsAPIClient.parsePublishedAt("2025-10-26T06:52:51Z");
+    }
+
+    @Benchmark
+    public LocalDateTime fractionalSeconds() {
+        return NewsAPIClient.parsePublishedAt("2025-10-26T06:52:51.000Z");
+    }
+}
@@ -0,0 +1,123 @@
+package com.flashnews.filter;
+
+import com.flashnews.bench.BenchmarkFixtures;
+import com.flashnews.util.StaticResourceRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * CacheControlFilterBenchmark measuring header handling for static resources
+ * The servlet context serves the real stylesheet and script from src/main/webapp,
+ * so run the benchmarks from the project directory
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheControlFilterBenchmark {
+    private static final Path WEBAPP = Paths.get("src", "main", "webapp");
+
+    private CacheControlFilter filter;
+    private HttpServletRequest plainRequest;
+    private HttpServletRequest fingerprintedRequest;
+    private HttpServletRequest revalidationRequest;
+    private HttpServletRequest dynamicRequest;
+    private HttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() throws ServletException {
+        ServletContext servletContext = servletContext();
+        Map<String, Function<Object[], Object>> config = new HashMap<>();
+        config.put("getServletContext", args -> servletContext);
+        filter = new CacheControlFilter();
+        filter.init(BenchmarkFixtures.stub(FilterConfig.class, config));
+
+        StaticResourceRegistry registry = StaticResourceRegistry.getInstance(servletContext);
+        String etag = registry.getResource("/css/style.css").getEtag();
+        plainRequest = request("/css/style.css", null);
+        fingerprintedRequest = request(registry.getAssetPaths().get("/css/style.css"), null);
+        revalidationRequest = request("/css/style.css", etag);
+        dynamicRequest = request("/news", null);
+        response = BenchmarkFixtures.stub(HttpServletResponse.class, new HashMap<>());
+        chain = (request, response) -> { };
+    }
+
+    @Benchmark
+    public void plainResource() throws IOException, ServletException {
+        filter.doFilter(plainRequest, response, chain);
+    }
+
+    @Benchmark
+    public void fingerprintedResource() throws IOException, ServletException {
+        filter.doFilter(fingerprintedRequest, response, chain);
+    }
+
+    @Benchmark
+    public void notModified() throws IOException, ServletException {
+        filter.doFilter(revalidationRequest, response, chain);
+    }
+
+    @Benchmark
+    public void dynamicPassThrough(Blackhole blackhole) throws IOException, ServletException {
+        filter.doFilter(dynamicRequest, response, (request, response) -> blackhole.consume(request));
+    }
+
+    private static HttpServletRequest request(String path, String ifNoneMatch) {
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("getRequestURI", args -> "/flashnews" + path);
+        methods.put("getContextPath", args -> "/flashnews");
+        methods.put("getHeader", args -> "If-None-Match".equals(args[0]) ? ifNoneMatch : null);
+        return BenchmarkFixtures.stub(HttpServletRequest.class, methods);
+    }
+
+    private static ServletContext servletContext() {
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("getAttribute", args -> attributes.get(args[0]));
+        methods.put("setAttribute", args -> attributes.put((String) args[0], args[1]));
+        methods.put("getResourcePaths", args -> listResources((String) args[0]));
+        methods.put("getResourceAsStream", args -> {
+            try {
+                Path file = WEBAPP.resolve(((String) args[0]).substring(1));
+                return Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return BenchmarkFixtures.stub(ServletContext.class, methods);
+    }
+
+    private static Set<String> listResources(String directory) {
+        try (Stream<Path> files = Files.list(WEBAPP.resolve(directory.substring(1)))) {
+            return files.map(file -> directory + file.getFileName()).collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.flashnews.loadtest;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.WebResourceRoot;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.apache.catalina.webresources.StandardRoot;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * EmbeddedServer booting the webapp in an embedded Tomcat
+ * The context is assembled from src/main/webapp and target/classes, so run it
+ * from the project directory after compiling
+ */
+public class EmbeddedServer {
+    public static final String CONTEXT_PATH = "/flashnews";
+
+    private final int port;
+    private Tomcat tomcat;
+
+    public EmbeddedServer(int port) {
+        this.port = port;
+    }
+
+    public void start() throws Exception {
+        Path baseDir = Files.createTempDirectory("flashnews-tomcat");
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(port);
+        tomcat.getConnector();
+
+        Context context = tomcat.addWebapp(CONTEXT_PATH, new File("src/main/webapp").getAbsolutePath());
+        WebResourceRoot resources = new StandardRoot(context);
+        resources.addPreResources(new DirResourceSet(resources, "/WEB-INF/classes",
+            Paths.get("target", "classes").toAbsolutePath().toString(), "/"));
+        context.setResources(resources);
+
+        tomcat.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + port + CONTEXT_PATH;
+    }
+
+    public void stop() throws LifecycleException {
+        if (tomcat != null) {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.flashnews.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadGenerator sending requests on an open model
+ * Requests are issued on an arrival schedule regardless of how fast responses come back,
+ * and latency is taken from the scheduled send time so a stalled server cannot hide
+ * its queueing delay (coordinated omission)
+ */
+public class LoadGenerator {
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final List<RequestType> weightedTypes = new ArrayList<>();
+    private final double ratePerSecond;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final List<Integer> articleIds;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadGenerator(String baseUrl, Map<RequestType, Integer> mix, double ratePerSecond, boolean poisson,
+                         int maxInFlight, Duration timeout, List<Integer> articleIds) {
+        this.baseUrl = baseUrl;
+        this.ratePerSecond = ratePerSecond;
+        this.poisson = poisson;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+        this.articleIds = articleIds;
+        mix.forEach((type, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weightedTypes.add(type);
+            }
+        });
+        if (weightedTypes.isEmpty()) {
+            throw new IllegalArgumentException("Request mix has no positive weights");
+        }
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "load-generator-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(executor)
+            .build();
+    }
+
+    /**
+     * Drive load for the given duration and wait for outstanding responses
+     */
+    public LoadResult run(Duration duration) throws InterruptedException {
+        LoadResult result = new LoadResult();
+        Random random = new Random();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(weightedTypes.get(random.nextInt(weightedTypes.size())), intended, random, result);
+            intended += poisson ? (long) (-Math.log(1.0 - random.nextDouble()) * intervalNanos) : intervalNanos;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        result.finish();
+        return result;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void send(RequestType type, long intendedNanos, Random random, LoadResult result) {
+        if (inFlight.get() >= maxInFlight) {
+            result.recordDropped(type);
+            return;
+        }
+        HttpRequest request = type.build(baseUrl, random, articleIds, timeout);
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+                if (error != null) {
+                    result.recordFailure(type, latencyMicros);
+                } else {
+                    result.recordResponse(type, response.statusCode(), latencyMicros);
+                }
+                inFlight.decrementAndGet();
+            });
+    }
+}
@@ -0,0 +1,115 @@
+package com.flashnews.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadResult collecting latencies and outcomes of one load-test run
+ * Latencies are in microseconds and measured from the intended send time
+ */
+public class LoadResult {
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<RequestType, Outcomes> outcomes = new EnumMap<>(RequestType.class);
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public LoadResult() {
+        for (RequestType type : RequestType.values()) {
+            outcomes.put(type, new Outcomes());
+        }
+    }
+
+    void recordResponse(RequestType type, int status, long latencyMicros) {
+        Outcomes outcome = outcomes.get(type);
+        outcome.histogram.recordValue(Math.min(latencyMicros, HIGHEST_LATENCY_MICROS));
+        outcome.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status >= 400) {
+            outcome.errors.increment();
+        }
+    }
+
+    void recordFailure(RequestType type, long latencyMicros) {
+        Outcomes outcome = outcomes.get(type);
+        outcome.histogram.recordValue(Math.min(latencyMicros, HIGHEST_LATENCY_MICROS));
+        outcome.failures.increment();
+        outcome.errors.increment();
+    }
+
+    /**
+     * A request that was due but not sent because too many were in flight
+     */
+    void recordDropped(RequestType type) {
+        Outcomes outcome = outcomes.get(type);
+        outcome.dropped.increment();
+        outcome.errors.increment();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Print throughput, error rate and latency percentiles per request type and overall
+     */
+    public void print(PrintStream out) {
+        double seconds = Math.max(1, endNanos - startNanos) / 1e9;
+        Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        long totalDropped = 0;
+
+        out.printf("%-9s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+            "type", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<RequestType, Outcomes> entry : outcomes.entrySet()) {
+            Outcomes outcome = entry.getValue();
+            Histogram histogram = outcome.histogram.copy();
+            long requests = histogram.getTotalCount() + outcome.dropped.sum();
+            if (requests == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += outcome.errors.sum();
+            totalDropped += outcome.dropped.sum();
+            printRow(out, entry.getKey().getLabel(), histogram, requests, outcome.errors.sum(), seconds);
+            out.printf("          statuses %s%s%n", new TreeMap<>(outcome.statusCounts()),
+                outcome.failures.sum() > 0 ? ", io failures " + outcome.failures.sum() : "");
+        }
+        long totalRequests = total.getTotalCount() + totalDropped;
+        printRow(out, "all", total, totalRequests, totalErrors, seconds);
+        out.printf("duration %.1f s, dropped %d, error rate %.2f%%%n", seconds, totalDropped,
+            totalRequests == 0 ? 0.0 : 100.0 * totalErrors / totalRequests);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long requests,
+                                 long errors, double seconds) {
+        out.printf("%-9s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, requests, requests / seconds, errors,
+            millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+            histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static class Outcomes {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private Map<Integer, Long> statusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
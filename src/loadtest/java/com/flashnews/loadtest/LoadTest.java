@@ -0,0 +1,161 @@
+package com.flashnews.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LoadTest finding the throughput ceiling of NewsServlet
+ * Boots the webapp in an embedded Tomcat against the configured database and a stubbed NewsAPI,
+ * or targets an already running deployment when loadtest.targetUrl is set. Settings are read
+ * from loadtest.* system properties; see the loadtest profile in pom.xml for the defaults
+ */
+public class LoadTest {
+    private static final Pattern ARTICLE_ID = Pattern.compile("data-article-id=\"(\\d+)\"");
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(setting("rate", "100"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(setting("durationSeconds", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(setting("warmupSeconds", "10")));
+        Map<RequestType, Integer> mix = parseMix(setting("mix", "list:50,trending:20,search:15,article:10,refresh:5"));
+        boolean poisson = !"constant".equalsIgnoreCase(setting("arrival", "poisson"));
+        int maxInFlight = Integer.parseInt(setting("maxInFlight", "1000"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(setting("timeoutSeconds", "30")));
+        String targetUrl = setting("targetUrl", "");
+
+        StubNewsApi stubNewsApi = null;
+        EmbeddedServer server = null;
+        LoadGenerator generator = null;
+        try {
+            if (targetUrl.isEmpty()) {
+                stubNewsApi = new StubNewsApi(Long.parseLong(setting("apiLatencyMillis", "200")));
+                stubNewsApi.start();
+                configureApplication(stubNewsApi);
+
+                server = new EmbeddedServer(Integer.parseInt(setting("port", "8089")));
+                server.start();
+                targetUrl = server.getBaseUrl();
+            }
+            System.out.println("Target " + targetUrl);
+
+            awaitReady(targetUrl, Duration.ofSeconds(Long.parseLong(setting("readyTimeoutSeconds", "120"))));
+            List<Integer> articleIds = collectArticleIds(targetUrl);
+            System.out.println("Collected " + articleIds.size() + " article ids");
+
+            generator = new LoadGenerator(targetUrl, mix, rate, poisson, maxInFlight, timeout, articleIds);
+            if (!warmup.isZero()) {
+                System.out.println("Warming up for " + warmup.getSeconds() + " s");
+                generator.run(warmup);
+            }
+            System.out.printf("Measuring %.1f req/s (%s arrivals) for %d s, mix %s%n",
+                rate, poisson ? "poisson" : "constant", duration.getSeconds(), mix);
+            LoadResult result = generator.run(duration);
+            result.print(System.out);
+            if (stubNewsApi != null) {
+                System.out.println("Stub NewsAPI served " + stubNewsApi.getRequestCount() + " requests");
+            }
+        } finally {
+            if (generator != null) {
+                generator.shutdown();
+            }
+            if (server != null) {
+                server.stop();
+            }
+            if (stubNewsApi != null) {
+                stubNewsApi.stop();
+            }
+        }
+    }
+
+    /**
+     * Point the application at the stub and the load-test database through
+     * system properties, which take precedence over database.properties
+     */
+    private static void configureApplication(StubNewsApi stubNewsApi) {
+        System.setProperty("news.api.url", stubNewsApi.getBaseUrl());
+        System.setProperty("news.api.key", "loadtest");
+        // Measure the steady state, not reads served from a snapshot of an earlier run
+        System.setProperty("snapshot.enabled", "false");
+        copySetting("storage", "storage.backend");
+        copySetting("dbUrl", "db.url");
+        copySetting("dbUsername", "db.username");
+        copySetting("dbPassword", "db.password");
+    }
+
+    private static void copySetting(String name, String applicationKey) {
+        String value = System.getProperty("loadtest." + name);
+        if (value != null && !value.isEmpty()) {
+            System.setProperty(applicationKey, value);
+        }
+    }
+
+    private static void awaitReady(String targetUrl, Duration timeout) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(targetUrl + "/api/ready")).GET().build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application not ready: " + response.body());
+                }
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    /**
+     * Article ids for the article mix, taken from the rendered latest and trending lists
+     */
+    private static List<Integer> collectArticleIds(String targetUrl) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String action : new String[] {"list&limit=100", "trending&limit=100"}) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(targetUrl + "/news?action=" + action)).GET().build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = ARTICLE_ID.matcher(response.body());
+            while (matcher.find()) {
+                ids.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    static Map<RequestType, Integer> parseMix(String mix) {
+        Map<RequestType, Integer> weights = new EnumMap<>(RequestType.class);
+        for (String entry : mix.split(",")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(RequestType.fromLabel(parts[0]), weight);
+            }
+        }
+        return weights;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+}
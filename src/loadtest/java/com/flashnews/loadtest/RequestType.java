@@ -0,0 +1,80 @@
+package com.flashnews.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * RequestType enumerating the NewsServlet requests the load test drives
+ */
+public enum RequestType {
+    LIST("list") {
+        @Override
+        HttpRequest.Builder build(String baseUrl, Random random, List<Integer> articleIds) {
+            StringBuilder url = new StringBuilder(baseUrl).append("/news?action=list");
+            if (random.nextInt(4) == 0) {
+                url.append("&category=").append(1 + random.nextInt(8));
+            }
+            return HttpRequest.newBuilder(URI.create(url.toString())).GET();
+        }
+    },
+    TRENDING("trending") {
+        @Override
+        HttpRequest.Builder build(String baseUrl, Random random, List<Integer> articleIds) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/news?action=trending")).GET();
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest.Builder build(String baseUrl, Random random, List<Integer> articleIds) {
+            String keyword = StubNewsApi.WORDS[random.nextInt(StubNewsApi.WORDS.length)];
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/news?action=search&keyword=" + keyword)).GET();
+        }
+    },
+    ARTICLE("article") {
+        @Override
+        HttpRequest.Builder build(String baseUrl, Random random, List<Integer> articleIds) {
+            int id = articleIds.isEmpty() ? 1 : articleIds.get(random.nextInt(articleIds.size()));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/news?action=article&id=" + id)).GET();
+        }
+    },
+    REFRESH("refresh") {
+        @Override
+        HttpRequest.Builder build(String baseUrl, Random random, List<Integer> articleIds) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/news?action=refresh"))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.noBody());
+        }
+    };
+
+    private final String label;
+
+    RequestType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Build one request against the deployed context
+     */
+    HttpRequest build(String baseUrl, Random random, List<Integer> articleIds, Duration timeout) {
+        return build(baseUrl, random, articleIds).timeout(timeout).build();
+    }
+
+    abstract HttpRequest.Builder build(String baseUrl, Random random, List<Integer> articleIds);
+
+    public static RequestType fromLabel(String label) {
+        for (RequestType type : values()) {
+            if (type.label.equalsIgnoreCase(label.trim())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown request type: " + label);
+    }
+}
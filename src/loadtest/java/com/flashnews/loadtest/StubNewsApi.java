@@ -0,0 +1,152 @@
+package com.flashnews.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StubNewsApi serving generated NewsAPI responses on a local port
+ * Every response carries new article URLs so refreshes keep inserting rows,
+ * and a fixed delay stands in for the latency of the real API
+ */
+public class StubNewsApi {
+    static final String[] WORDS = {"market", "election", "launch", "climate", "league", "vaccine", "chip",
+        "budget", "storm", "merger", "court", "energy", "satellite", "startup", "record", "minister"};
+    private static final String[] SOURCES = {"Reuters", "BBC News", "The Verge", "Associated Press", "TechCrunch"};
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ra", "to", "vu", "si", "da", "pe",
+        "zo", "li", "ma", "no", "ri", "te", "ba", "go", "fi", "he"};
+
+    private final long latencyMillis;
+    private final AtomicLong articleSequence = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubNewsApi(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Start on an ephemeral port
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-news-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/v2/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Base URL to configure as news.api.url
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v2";
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            byte[] body = payload(pageSize(exchange.getRequestURI())).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static int pageSize(URI uri) {
+        String query = uri.getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith("pageSize=")) {
+                    try {
+                        return Math.max(1, Math.min(100, Integer.parseInt(pair.substring(9))));
+                    } catch (NumberFormatException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        return 20;
+    }
+
+    private String payload(int count) {
+        Random random = new Random();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        StringBuilder json = new StringBuilder("{\"status\":\"ok\",\"totalResults\":").append(count).append(",\"articles\":[");
+        for (int i = 0; i < count; i++) {
+            long id = articleSequence.incrementAndGet();
+            String source = SOURCES[(int) (id % SOURCES.length)];
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"source\":{\"id\":null,\"name\":\"").append(source).append("\"},")
+                .append("\"author\":\"Staff Reporter\",")
+                .append("\"title\":\"").append(sentence(random, 10)).append(" - ").append(source).append("\",")
+                .append("\"description\":\"").append(sentence(random, 35)).append("\",")
+                .append("\"url\":\"https://news.example.com/loadtest/").append(id).append("\",")
+                .append("\"urlToImage\":\"https://cdn.example.com/images/").append(id).append(".jpg\",")
+                .append("\"publishedAt\":\"").append(now.minusSeconds(i * 60L)).append("\",")
+                .append("\"content\":\"").append(sentence(random, 100)).append(" [+2451 chars]\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Mostly made-up words, so generated stories do not look like near duplicates of
+     * each other, with some searchable WORDS mixed in
+     */
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            if (random.nextInt(5) == 0) {
+                sentence.append(WORDS[random.nextInt(WORDS.length)]);
+            } else {
+                for (int syllable = 2 + random.nextInt(2); syllable > 0; syllable--) {
+                    sentence.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+            }
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.flashnews.archive;
+
+import com.flashnews.model.NewsArticle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * ArchiveSegment reading one segment file through a read-only memory mapping
+ * The ID ranges of the block index are copied to arrays on open; the URL index and the
+ * blocks are read straight from the mapping, and only the one block holding an article is inflated
+ */
+final class ArchiveSegment {
+    private final Path path;
+    private final MappedByteBuffer mapped;
+    private final long[] blockOffsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final int[] firstIds;
+    private final int[] lastIds;
+    private final int urlIndexOffset;
+    private final int articleCount;
+
+    ArchiveSegment(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < ArchiveSegmentWriter.FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid archive segment size " + size + ": " + path);
+            }
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int footer = mapped.capacity() - ArchiveSegmentWriter.FOOTER_BYTES;
+        if (mapped.getInt(footer + 24) != ArchiveSegmentWriter.MAGIC) {
+            throw new IOException("Not an archive segment: " + path);
+        }
+        int blockIndexOffset = (int) mapped.getLong(footer);
+        int blockCount = mapped.getInt(footer + 8);
+        this.urlIndexOffset = (int) mapped.getLong(footer + 12);
+        this.articleCount = mapped.getInt(footer + 20);
+
+        this.blockOffsets = new long[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.rawLengths = new int[blockCount];
+        this.firstIds = new int[blockCount];
+        this.lastIds = new int[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            int entry = blockIndexOffset + block * ArchiveSegmentWriter.BLOCK_INDEX_ENTRY_BYTES;
+            blockOffsets[block] = mapped.getLong(entry);
+            compressedLengths[block] = mapped.getInt(entry + 8);
+            rawLengths[block] = mapped.getInt(entry + 12);
+            firstIds[block] = mapped.getInt(entry + 16);
+            lastIds[block] = mapped.getInt(entry + 20);
+        }
+    }
+
+    /**
+     * Find an article by ID
+     * @return Article, or null if it is not in this segment
+     */
+    NewsArticle getById(int articleId) throws IOException {
+        if (firstIds.length == 0 || articleId < firstIds[0] || articleId > lastIds[lastIds.length - 1]) {
+            return null;
+        }
+        // Blocks are sorted by ID and do not overlap, so the candidate is the last block starting at or before the ID
+        int block = Arrays.binarySearch(firstIds, articleId);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        if (articleId > lastIds[block]) {
+            return null;
+        }
+        return findInBlock(block, articleId, null);
+    }
+
+    /**
+     * Find an article by URL
+     * @return Article, or null if it is not in this segment
+     */
+    NewsArticle getByUrl(String url) throws IOException {
+        long hash = ArchiveSegmentWriter.hashUrl(url);
+        int low = 0;
+        int high = articleCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleHash = mapped.getLong(urlIndexOffset + middle * ArchiveSegmentWriter.URL_INDEX_ENTRY_BYTES);
+            if (middleHash < hash) {
+                low = middle + 1;
+            } else if (middleHash > hash) {
+                high = middle - 1;
+            } else {
+                // Step back to the first entry with this hash, then check every colliding block
+                while (middle > 0 && mapped.getLong(urlIndexOffset +
+                        (middle - 1) * ArchiveSegmentWriter.URL_INDEX_ENTRY_BYTES) == hash) {
+                    middle--;
+                }
+                for (int entry = middle; entry < articleCount; entry++) {
+                    int position = urlIndexOffset + entry * ArchiveSegmentWriter.URL_INDEX_ENTRY_BYTES;
+                    if (mapped.getLong(position) != hash) {
+                        break;
+                    }
+                    NewsArticle article = findInBlock(mapped.getInt(position + 8), 0, url);
+                    if (article != null) {
+                        return article;
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private NewsArticle findInBlock(int block, int articleId, String url) throws IOException {
+        ByteBuffer data = inflate(block);
+        int count = data.getInt();
+        for (int i = 0; i < count; i++) {
+            NewsArticle article = decode(data);
+            if (url != null ? url.equals(article.getUrl()) : article.getId() == articleId) {
+                return article;
+            }
+        }
+        return null;
+    }
+
+    private ByteBuffer inflate(int block) throws IOException {
+        ByteBuffer compressed = mapped.duplicate();
+        compressed.position((int) blockOffsets[block]);
+        compressed.limit((int) blockOffsets[block] + compressedLengths[block]);
+
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in archive segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static NewsArticle decode(ByteBuffer buffer) {
+        NewsArticle article = new NewsArticle();
+        article.setId(buffer.getInt());
+        article.setTitle(readString(buffer));
+        article.setDescription(readString(buffer));
+        article.setContent(readString(buffer));
+        article.setUrl(readString(buffer));
+        article.setImageUrl(readString(buffer));
+        article.setSourceName(readString(buffer));
+        article.setSourceUrl(readString(buffer));
+        article.setCategoryId(buffer.getInt());
+        article.setLocationId(buffer.getInt());
+        article.setPublishedAt(toDateTime(buffer.getLong()));
+        article.setCachedAt(toDateTime(buffer.getLong()));
+        article.setTrending(buffer.get() != 0);
+        article.setViewCount(buffer.getInt());
+        return article;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static LocalDateTime toDateTime(long epochSeconds) {
+        return epochSeconds == ArchiveSegmentWriter.NO_TIME ? null :
+            LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getArticleCount() {
+        return articleCount;
+    }
+
+    long getSizeBytes() {
+        return mapped.capacity();
+    }
+
+    int getFirstId() {
+        return firstIds.length > 0 ? firstIds[0] : 0;
+    }
+
+    int getLastId() {
+        return lastIds.length > 0 ? lastIds[lastIds.length - 1] : 0;
+    }
+}
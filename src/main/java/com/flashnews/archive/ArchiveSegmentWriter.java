@@ -0,0 +1,192 @@
+package com.flashnews.archive;
+
+import com.flashnews.model.NewsArticle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * ArchiveSegmentWriter writing articles into an immutable, block-compressed segment file
+ * Articles are sorted by ID and deflated in blocks; a sparse block index with ID and
+ * published_at ranges and a sorted URL hash index follow the blocks, then a fixed footer
+ */
+final class ArchiveSegmentWriter {
+    static final int MAGIC = 0x464e4153;
+    static final int FOOTER_BYTES = 8 + 4 + 8 + 4 + 4;
+    static final int BLOCK_INDEX_ENTRY_BYTES = 8 + 4 + 4 + 4 + 4 + 8 + 8;
+    static final int URL_INDEX_ENTRY_BYTES = 8 + 4;
+    static final long NO_TIME = Long.MIN_VALUE;
+    private static final int ARTICLES_PER_BLOCK = 64;
+
+    private ArchiveSegmentWriter() {
+    }
+
+    /**
+     * Write a segment durably; the file only appears under its name once complete
+     */
+    static void write(Path target, List<NewsArticle> articles) throws IOException {
+        List<NewsArticle> sorted = new ArrayList<>(articles);
+        sorted.sort(Comparator.comparingInt(NewsArticle::getId));
+
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            int blockCount = (sorted.size() + ARTICLES_PER_BLOCK - 1) / ARTICLES_PER_BLOCK;
+            ByteBuffer blockIndex = ByteBuffer.allocate(blockCount * BLOCK_INDEX_ENTRY_BYTES);
+            long[] urlHashes = new long[sorted.size()];
+            int[] urlBlocks = new int[sorted.size()];
+            Deflater deflater = new Deflater();
+            long position = 0;
+
+            try {
+                for (int block = 0; block < blockCount; block++) {
+                    int from = block * ARTICLES_PER_BLOCK;
+                    int to = Math.min(from + ARTICLES_PER_BLOCK, sorted.size());
+                    byte[] raw = encodeBlock(sorted.subList(from, to));
+                    byte[] compressed = deflate(deflater, raw);
+                    writeFully(channel, ByteBuffer.wrap(compressed));
+
+                    long minPublished = Long.MAX_VALUE;
+                    long maxPublished = Long.MIN_VALUE;
+                    for (int i = from; i < to; i++) {
+                        long published = toEpochSeconds(sorted.get(i).getPublishedAt());
+                        if (published != NO_TIME) {
+                            minPublished = Math.min(minPublished, published);
+                            maxPublished = Math.max(maxPublished, published);
+                        }
+                        urlHashes[i] = hashUrl(sorted.get(i).getUrl());
+                        urlBlocks[i] = block;
+                    }
+
+                    blockIndex.putLong(position)
+                              .putInt(compressed.length)
+                              .putInt(raw.length)
+                              .putInt(sorted.get(from).getId())
+                              .putInt(sorted.get(to - 1).getId())
+                              .putLong(minPublished)
+                              .putLong(maxPublished);
+                    position += compressed.length;
+                }
+            } finally {
+                deflater.end();
+            }
+
+            long blockIndexOffset = position;
+            blockIndex.flip();
+            writeFully(channel, blockIndex);
+
+            long urlIndexOffset = blockIndexOffset + (long) blockCount * BLOCK_INDEX_ENTRY_BYTES;
+            writeFully(channel, encodeUrlIndex(urlHashes, urlBlocks));
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_BYTES);
+            footer.putLong(blockIndexOffset).putInt(blockCount).putLong(urlIndexOffset)
+                  .putInt(sorted.size()).putInt(MAGIC).flip();
+            writeFully(channel, footer);
+            channel.force(true);
+        }
+
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer encodeUrlIndex(long[] hashes, int[] blocks) {
+        Integer[] order = new Integer[hashes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+        ByteBuffer index = ByteBuffer.allocate(hashes.length * URL_INDEX_ENTRY_BYTES);
+        for (int i : order) {
+            index.putLong(hashes[i]).putInt(blocks[i]);
+        }
+        index.flip();
+        return index;
+    }
+
+    private static byte[] encodeBlock(List<NewsArticle> articles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(articles.size() * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(articles.size());
+            for (NewsArticle article : articles) {
+                out.writeInt(article.getId());
+                writeString(out, article.getTitle());
+                writeString(out, article.getDescription());
+                writeString(out, article.getContent());
+                writeString(out, article.getUrl());
+                writeString(out, article.getImageUrl());
+                writeString(out, article.getSourceName());
+                writeString(out, article.getSourceUrl());
+                out.writeInt(article.getCategoryId());
+                out.writeInt(article.getLocationId());
+                out.writeLong(toEpochSeconds(article.getPublishedAt()));
+                out.writeLong(toEpochSeconds(article.getCachedAt()));
+                out.writeBoolean(article.isTrending());
+                out.writeInt(article.getViewCount());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 3 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            compressed.write(buffer, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static long toEpochSeconds(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a URL
+     */
+    static long hashUrl(String url) {
+        long hash = 0xcbf29ce484222325L;
+        if (url != null) {
+            for (int i = 0; i < url.length(); i++) {
+                hash ^= url.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
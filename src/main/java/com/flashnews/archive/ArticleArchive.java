@@ -0,0 +1,185 @@
+package com.flashnews.archive;
+
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ArticleArchive keeping expired articles in immutable segment files on local disk
+ * Rows leave MySQL only after their segment is durably written, so old permalinks
+ * keep resolving while the hot table stays small
+ */
+public class ArticleArchive {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleArchive.class);
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static ArticleArchive instance;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong archivedArticles = new AtomicLong();
+
+    private ArticleArchive() {
+        this.enabled = ApplicationProperties.getBoolean("archive.enabled", true);
+        this.directory = Paths.get(ApplicationProperties.getString("archive.directory",
+            Paths.get(System.getProperty("user.home"), "flashnews", "archive").toString()));
+        if (enabled) {
+            openSegments();
+        }
+    }
+
+    /**
+     * Get singleton instance of ArticleArchive
+     * @return ArticleArchive instance
+     */
+    public static synchronized ArticleArchive getInstance() {
+        if (instance == null) {
+            instance = new ArticleArchive();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void openSegments() {
+        try {
+            Files.createDirectories(directory);
+            List<ArchiveSegment> opened = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    try {
+                        opened.add(new ArchiveSegment(file));
+                    } catch (IOException e) {
+                        logger.warn("Skipping unreadable archive segment {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+            // Newest segments first, since recently archived articles are looked up most
+            opened.sort((a, b) -> b.getPath().getFileName().compareTo(a.getPath().getFileName()));
+            segments.addAll(opened);
+            logger.info("Opened {} archive segments in {}", segments.size(), directory);
+        } catch (IOException e) {
+            logger.error("Error opening article archive in " + directory, e);
+        }
+    }
+
+    /**
+     * Write articles into a new segment
+     * @return True if the segment is durable and the rows may be deleted from MySQL
+     */
+    public boolean archive(List<NewsArticle> articles) {
+        if (!enabled) {
+            return false;
+        }
+        if (articles.isEmpty()) {
+            return true;
+        }
+
+        int firstId = Integer.MAX_VALUE;
+        int lastId = Integer.MIN_VALUE;
+        for (NewsArticle article : articles) {
+            firstId = Math.min(firstId, article.getId());
+            lastId = Math.max(lastId, article.getId());
+        }
+        Path file = directory.resolve(String.format("segment-%d-%010d-%010d%s",
+                                                    System.currentTimeMillis(), firstId, lastId, SEGMENT_SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            ArchiveSegmentWriter.write(file, articles);
+            segments.add(0, new ArchiveSegment(file));
+            archivedArticles.addAndGet(articles.size());
+            logger.info("Archived {} articles into {} ({} bytes)", articles.size(), file.getFileName(), Files.size(file));
+            return true;
+        } catch (IOException e) {
+            logger.error("Error writing archive segment " + file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Find an archived article by ID
+     * @return Article, or null if it was never archived
+     */
+    public NewsArticle getArticleById(int articleId) {
+        if (!enabled) {
+            return null;
+        }
+        lookups.incrementAndGet();
+        for (ArchiveSegment segment : segments) {
+            try {
+                NewsArticle article = segment.getById(articleId);
+                if (article != null) {
+                    hits.incrementAndGet();
+                    return article;
+                }
+            } catch (IOException e) {
+                logger.error("Error reading archive segment " + segment.getPath(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find an archived article by URL
+     * @return Article, or null if it was never archived
+     */
+    public NewsArticle getArticleByUrl(String url) {
+        if (!enabled || url == null) {
+            return null;
+        }
+        lookups.incrementAndGet();
+        for (ArchiveSegment segment : segments) {
+            try {
+                NewsArticle article = segment.getByUrl(url);
+                if (article != null) {
+                    hits.incrementAndGet();
+                    return article;
+                }
+            } catch (IOException e) {
+                logger.error("Error reading archive segment " + segment.getPath(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get archive statistics
+     * @return Map containing segment, article and lookup counts
+     */
+    public Map<String, Object> getStatus() {
+        long articles = 0;
+        long bytes = 0;
+        for (ArchiveSegment segment : segments) {
+            articles += segment.getArticleCount();
+            bytes += segment.getSizeBytes();
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("directory", directory.toString());
+        status.put("segments", segments.size());
+        status.put("articles", articles);
+        status.put("bytes", bytes);
+        status.put("archivedSinceStart", archivedArticles.get());
+        status.put("lookups", lookups.get());
+        status.put("hits", hits.get());
+        return status;
+    }
+}
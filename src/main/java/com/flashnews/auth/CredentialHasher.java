@@ -0,0 +1,157 @@
+package com.flashnews.auth;
+
+import com.flashnews.util.ApplicationProperties;
+import com.flashnews.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CredentialHasher running password hashing on a dedicated bounded pool
+ * Hashing is deliberately expensive, so a login spike queues here. A running PBKDF2
+ * derivation cannot be interrupted, so attempts that would wait longer than the timeout
+ * behind the queue are rejected up front instead of adding work nobody waits for
+ */
+public class CredentialHasher {
+    private static final Logger logger = LoggerFactory.getLogger(CredentialHasher.class);
+    private static CredentialHasher instance;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final AtomicLong threadSequence = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong averageNanos = new AtomicLong();
+
+    private CredentialHasher() {
+        this(ApplicationProperties.getInt("auth.kdf.threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+             ApplicationProperties.getInt("auth.kdf.queueCapacity", 32),
+             ApplicationProperties.getLong("auth.kdf.timeoutMillis", 5000));
+    }
+
+    CredentialHasher(int threads, int queueCapacity, long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "credential-hasher-" + threadSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Get singleton instance of CredentialHasher
+     * @return CredentialHasher instance
+     */
+    public static synchronized CredentialHasher getInstance() {
+        if (instance == null) {
+            instance = new CredentialHasher();
+        }
+        return instance;
+    }
+
+    /**
+     * Hash a new password
+     * @throws RejectedExecutionException if the hashing pool is saturated
+     */
+    public String hash(String password) {
+        return run(() -> PasswordHasher.hash(password));
+    }
+
+    /**
+     * Verify a password against a stored hash
+     * @throws RejectedExecutionException if the hashing pool is saturated
+     */
+    public boolean verify(String password, String storedHash) {
+        return run(() -> PasswordHasher.verify(password, storedHash));
+    }
+
+    <T> T run(Callable<T> task) {
+        if (wouldTimeOut()) {
+            rejected.incrementAndGet();
+            logger.warn("Credential hashing backlog exceeds {} ms, rejecting request", timeoutMillis);
+            throw new RejectedExecutionException("Credential hashing backlog exceeds the timeout");
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    recordDuration(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("Credential hashing pool saturated, rejecting request");
+            throw e;
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Credential hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing credentials", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Credential hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Estimate whether a new task would finish within the timeout, from the work ahead of it
+     * and the average hashing time
+     */
+    private boolean wouldTimeOut() {
+        long average = averageNanos.get();
+        if (average == 0) {
+            return false;
+        }
+        long ahead = executor.getQueue().size() + executor.getActiveCount();
+        long rounds = ahead / executor.getMaximumPoolSize() + 1;
+        return rounds * average > TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    private void recordDuration(long nanos) {
+        averageNanos.updateAndGet(average -> average == 0 ? nanos : average + (nanos - average) / 8);
+    }
+
+    /**
+     * Get hashing pool statistics
+     * @return Map containing queue depth and rejection counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("threads", executor.getMaximumPoolSize());
+        status.put("active", executor.getActiveCount());
+        status.put("queued", executor.getQueue().size());
+        status.put("completed", executor.getCompletedTaskCount());
+        status.put("rejected", rejected.get());
+        status.put("averageMillis", TimeUnit.NANOSECONDS.toMillis(averageNanos.get()));
+        return status;
+    }
+
+    /**
+     * Stop the hashing pool
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        logger.info("Credential hasher shutdown");
+    }
+}
@@ -0,0 +1,201 @@
+package com.flashnews.auth;
+
+import com.flashnews.model.User;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PrincipalCache mapping session tokens to resolved users and preferences
+ * Lets each request find its user without database round trips; entries expire
+ * after a period of inactivity and are marked stale when the user's data changes
+ */
+public class PrincipalCache {
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+    private static final int TOKEN_BYTES = 32;
+    private static PrincipalCache instance;
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final ScheduledExecutorService sweeper;
+
+    private PrincipalCache() {
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ApplicationProperties.getInt("auth.session.ttlMinutes", 30));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "principal-cache-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Get singleton instance of PrincipalCache
+     * @return PrincipalCache instance
+     */
+    public static synchronized PrincipalCache getInstance() {
+        if (instance == null) {
+            instance = new PrincipalCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Create a session for an authenticated user
+     * @return Principal carrying the new token
+     */
+    public SessionPrincipal create(User user, Map<String, Object> preferences) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        random.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        SessionPrincipal principal = new SessionPrincipal(token, user, preferences);
+        entries.put(token, new Entry(principal, System.currentTimeMillis() + ttlMillis));
+        tokensByUser.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet()).add(token);
+        return principal;
+    }
+
+    /**
+     * Look up a session, extending its expiry
+     * @return Entry or null if the token is unknown or expired
+     */
+    public Entry get(String token) {
+        if (token == null) {
+            return null;
+        }
+
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (entry.expiresAt < now) {
+            remove(token);
+            return null;
+        }
+        entry.expiresAt = now + ttlMillis;
+        return entry;
+    }
+
+    /**
+     * Swap in a freshly resolved principal for an existing token
+     */
+    public void refresh(SessionPrincipal principal) {
+        Entry entry = entries.get(principal.getToken());
+        if (entry != null) {
+            entry.principal = principal;
+            entry.stale = false;
+        }
+    }
+
+    /**
+     * Mark all sessions of a user stale so they are resolved again on next use
+     */
+    public void invalidateUser(int userId) {
+        Set<String> tokens = tokensByUser.get(userId);
+        if (tokens != null) {
+            for (String token : tokens) {
+                Entry entry = entries.get(token);
+                if (entry != null) {
+                    entry.stale = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * End all sessions of a user
+     */
+    public void revokeUser(int userId) {
+        Set<String> tokens = tokensByUser.remove(userId);
+        if (tokens != null) {
+            for (String token : tokens) {
+                entries.remove(token);
+            }
+            logger.info("Revoked {} sessions of user {}", tokens.size(), userId);
+        }
+    }
+
+    /**
+     * End one session
+     */
+    public void remove(String token) {
+        Entry entry = entries.remove(token);
+        if (entry != null) {
+            Set<String> tokens = tokensByUser.get(entry.principal.getUserId());
+            if (tokens != null) {
+                tokens.remove(token);
+            }
+        }
+    }
+
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAt < now) {
+                remove(entry.getKey());
+                removed++;
+            }
+        }
+        tokensByUser.values().removeIf(Set::isEmpty);
+        if (removed > 0) {
+            logger.debug("Swept {} expired sessions", removed);
+        }
+    }
+
+    /**
+     * Get cache statistics
+     * @return Map containing session and user counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("sessions", entries.size());
+        status.put("users", tokensByUser.size());
+        status.put("ttlMinutes", TimeUnit.MILLISECONDS.toMinutes(ttlMillis));
+        return status;
+    }
+
+    /**
+     * Stop the expiry sweeper
+     */
+    public void shutdown() {
+        sweeper.shutdownNow();
+        logger.info("Principal cache shutdown");
+    }
+
+    /**
+     * Cached principal with its sliding expiry
+     */
+    public static final class Entry {
+        private volatile SessionPrincipal principal;
+        private volatile long expiresAt;
+        private volatile boolean stale = false;
+
+        Entry(SessionPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+
+        public SessionPrincipal getPrincipal() {
+            return principal;
+        }
+
+        public boolean isStale() {
+            return stale;
+        }
+    }
+}
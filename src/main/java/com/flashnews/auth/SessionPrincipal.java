@@ -0,0 +1,38 @@
+package com.flashnews.auth;
+
+import com.flashnews.model.User;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * SessionPrincipal holding the resolved user and preferences behind a session token
+ * Principals are immutable; the cache swaps in a fresh one when user data changes
+ */
+public class SessionPrincipal {
+    private final String token;
+    private final User user;
+    private final Map<String, Object> preferences;
+
+    public SessionPrincipal(String token, User user, Map<String, Object> preferences) {
+        this.token = token;
+        this.user = user;
+        this.preferences = Collections.unmodifiableMap(preferences);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public int getUserId() {
+        return user.getId();
+    }
+
+    public Map<String, Object> getPreferences() {
+        return preferences;
+    }
+}
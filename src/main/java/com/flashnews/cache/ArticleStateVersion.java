@@ -0,0 +1,68 @@
+package com.flashnews.cache;
+
+import com.flashnews.util.ApplicationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArticleStateVersion tracking changes to per-article values shown in rendered lists
+ * Trending flag changes advance it at once; view counts advance it at most once per
+ * fragmentCache.viewRefreshSeconds, and only after the views had that long to be stored,
+ * so busy articles do not invalidate every cached list on each view
+ */
+public class ArticleStateVersion {
+    private static final ArticleStateVersion instance = new ArticleStateVersion();
+
+    private final long viewDelayMillis;
+    private long version = 0;
+    private long pendingViewMillis = -1;
+    private long lastViewMillis = -1;
+
+    private ArticleStateVersion() {
+        this(TimeUnit.SECONDS.toMillis(ApplicationProperties.getLong("fragmentCache.viewRefreshSeconds", 30)));
+    }
+
+    ArticleStateVersion(long viewDelayMillis) {
+        this.viewDelayMillis = viewDelayMillis;
+    }
+
+    /**
+     * Get singleton instance of ArticleStateVersion
+     * @return ArticleStateVersion instance
+     */
+    public static ArticleStateVersion getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the current version, first advancing it for views old enough to be shown
+     */
+    public synchronized long current() {
+        if (pendingViewMillis >= 0) {
+            long now = System.currentTimeMillis();
+            if (now - pendingViewMillis >= viewDelayMillis) {
+                version++;
+                // Views too recent for this version wait for the next one
+                pendingViewMillis = now - lastViewMillis < viewDelayMillis ? lastViewMillis : -1;
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Note that an article's view count changed
+     */
+    public synchronized void onViewed() {
+        lastViewMillis = System.currentTimeMillis();
+        if (pendingViewMillis < 0) {
+            pendingViewMillis = lastViewMillis;
+        }
+    }
+
+    /**
+     * Advance the version after an article's trending flag was stored
+     */
+    public synchronized void onTrendingChanged() {
+        version++;
+    }
+}
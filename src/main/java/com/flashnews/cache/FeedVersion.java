@@ -0,0 +1,39 @@
+package com.flashnews.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FeedVersion class tracking the content version of the news feed
+ * Advanced whenever articles are ingested so derived caches can be keyed by it
+ */
+public class FeedVersion {
+    private static final FeedVersion instance = new FeedVersion();
+    
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    
+    private FeedVersion() {
+    }
+    
+    /**
+     * Get singleton instance of FeedVersion
+     * @return FeedVersion instance
+     */
+    public static FeedVersion getInstance() {
+        return instance;
+    }
+    
+    /**
+     * Get the current feed content version
+     */
+    public long current() {
+        return version.get();
+    }
+    
+    /**
+     * Advance the feed content version after new articles were stored
+     * @return New version
+     */
+    public long advance() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,199 @@
+package com.flashnews.cache;
+
+import com.flashnews.model.NewsArticle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RecentArticleRing keeping the most recent insertions per category and location
+ * Answers "anything newer than id X" from memory while X is still covered by the rings
+ */
+public class RecentArticleRing {
+    private static final Logger logger = LoggerFactory.getLogger(RecentArticleRing.class);
+    private static final int RING_CAPACITY = 128;
+    private static final int MAX_TRACKED_VERSIONS = 64;
+    private static final RecentArticleRing instance = new RecentArticleRing();
+
+    private final Map<RingKey, Ring> rings = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> versionHighWater = new LinkedHashMap<Long, Integer>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+            return size() > MAX_TRACKED_VERSIONS;
+        }
+    };
+    private volatile int baselineId = -1;
+    private volatile int highestId = 0;
+
+    private RecentArticleRing() {
+    }
+
+    /**
+     * Get singleton instance of RecentArticleRing
+     * @return RecentArticleRing instance
+     */
+    public static RecentArticleRing getInstance() {
+        return instance;
+    }
+
+    /**
+     * Check whether the baseline id has been established
+     */
+    public boolean isInitialized() {
+        return baselineId >= 0;
+    }
+
+    /**
+     * Establish the highest article id stored before this process started recording
+     * Articles above the baseline are guaranteed to be in the rings unless evicted
+     */
+    public synchronized void initialize(int maxStoredId) {
+        if (baselineId < 0) {
+            baselineId = maxStoredId;
+            highestId = Math.max(highestId, maxStoredId);
+            logger.info("Recent article ring initialized at article ID {}", maxStoredId);
+        }
+    }
+
+    /**
+     * Record newly ingested articles under every filter combination they match
+     * @param feedVersion Feed version reached after this batch
+     */
+    public void record(List<NewsArticle> articles, long feedVersion) {
+        int batchHighest = highestId;
+        for (NewsArticle article : articles) {
+            Integer categoryId = article.getCategoryId() > 0 ? article.getCategoryId() : null;
+            Integer locationId = article.getLocationId() > 0 ? article.getLocationId() : null;
+
+            ringFor(null, null).add(article);
+            if (categoryId != null) {
+                ringFor(categoryId, null).add(article);
+            }
+            if (locationId != null) {
+                ringFor(null, locationId).add(article);
+            }
+            if (categoryId != null && locationId != null) {
+                ringFor(categoryId, locationId).add(article);
+            }
+            batchHighest = Math.max(batchHighest, article.getId());
+        }
+
+        synchronized (this) {
+            highestId = Math.max(highestId, batchHighest);
+            versionHighWater.put(feedVersion, highestId);
+        }
+    }
+
+    /**
+     * Get articles newer than the given id from memory
+     * @return Articles in ascending id order, or null if the rings cannot answer
+     */
+    public List<NewsArticle> getSince(int sinceId, Integer categoryId, Integer locationId, int limit) {
+        if (baselineId < 0 || sinceId < baselineId) {
+            return null;
+        }
+
+        // Nothing has been ingested past the client's position
+        if (sinceId >= highestId) {
+            return Collections.emptyList();
+        }
+
+        Ring ring = rings.get(new RingKey(categoryId, locationId));
+        if (ring == null) {
+            return Collections.emptyList();
+        }
+        return ring.getSince(sinceId, limit);
+    }
+
+    /**
+     * Resolve a feed version to the highest article id stored at that version
+     * @return Article id or null if the version is no longer tracked
+     */
+    public synchronized Integer getHighWaterId(long feedVersion) {
+        return versionHighWater.get(feedVersion);
+    }
+
+    /**
+     * Get the highest article id seen by this process
+     */
+    public int getHighestId() {
+        return highestId;
+    }
+
+    private Ring ringFor(Integer categoryId, Integer locationId) {
+        return rings.computeIfAbsent(new RingKey(categoryId, locationId), key -> new Ring(RING_CAPACITY));
+    }
+
+    /**
+     * Fixed-capacity ring of articles ordered by insertion
+     */
+    private static class Ring {
+        private final NewsArticle[] articles;
+        private int head = 0;
+        private int size = 0;
+        private int evictedUpTo = 0;
+
+        Ring(int capacity) {
+            this.articles = new NewsArticle[capacity];
+        }
+
+        synchronized void add(NewsArticle article) {
+            if (size == articles.length) {
+                evictedUpTo = Math.max(evictedUpTo, articles[head].getId());
+            } else {
+                size++;
+            }
+            articles[head] = article;
+            head = (head + 1) % articles.length;
+        }
+
+        synchronized List<NewsArticle> getSince(int sinceId, int limit) {
+            if (sinceId < evictedUpTo) {
+                return null;
+            }
+
+            List<NewsArticle> result = new ArrayList<>();
+            int start = (head - size + articles.length) % articles.length;
+            for (int i = 0; i < size && result.size() < limit; i++) {
+                NewsArticle article = articles[(start + i) % articles.length];
+                if (article.getId() > sinceId) {
+                    result.add(article);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Ring identity by category and location filter
+     */
+    private static final class RingKey {
+        private final Integer categoryId;
+        private final Integer locationId;
+
+        RingKey(Integer categoryId, Integer locationId) {
+            this.categoryId = categoryId;
+            this.locationId = locationId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RingKey that = (RingKey) o;
+            return Objects.equals(categoryId, that.categoryId) && Objects.equals(locationId, that.locationId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, locationId);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.flashnews.cache;
+
+import com.flashnews.dao.Repositories;
+import com.flashnews.model.Category;
+import com.flashnews.model.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReferenceDataCache holding categories and locations in memory
+ * Both tables change only with the schema, so they are loaded once at startup
+ * instead of being queried for every page and filter menu
+ */
+public class ReferenceDataCache {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+    private static final ReferenceDataCache instance = new ReferenceDataCache();
+
+    private volatile List<Category> categories;
+    private volatile List<Location> locations;
+
+    private ReferenceDataCache() {
+    }
+
+    /**
+     * Get singleton instance of ReferenceDataCache
+     * @return ReferenceDataCache instance
+     */
+    public static ReferenceDataCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Load categories and locations from MySQL
+     * @throws IllegalStateException if either table came back empty
+     */
+    public void load() {
+        List<Category> loadedCategories = Repositories.categories().getAllCategories();
+        List<Location> loadedLocations = Repositories.locations().getAllLocations();
+        if (loadedCategories.isEmpty() || loadedLocations.isEmpty()) {
+            throw new IllegalStateException("No categories or locations found");
+        }
+        categories = loadedCategories;
+        locations = loadedLocations;
+        logger.info("Loaded {} categories and {} locations", loadedCategories.size(), loadedLocations.size());
+    }
+
+    /**
+     * Get cached categories
+     * @return Copy of the categories, or null if not loaded yet
+     */
+    public List<Category> getCategories() {
+        List<Category> cached = categories;
+        return cached != null ? new ArrayList<>(cached) : null;
+    }
+
+    /**
+     * Get cached locations
+     * @return Copy of the locations, or null if not loaded yet
+     */
+    public List<Location> getLocations() {
+        List<Location> cached = locations;
+        return cached != null ? new ArrayList<>(cached) : null;
+    }
+}
@@ -0,0 +1,179 @@
+package com.flashnews.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RenderedFragmentCache holding server-rendered HTML of article lists
+ * Entries are keyed by list filters, the feed version and the article state version, so
+ * ingestion, trending flag changes and, with a short delay, new views invalidate them
+ */
+public class RenderedFragmentCache {
+    private static final Logger logger = LoggerFactory.getLogger(RenderedFragmentCache.class);
+    private static final int MAX_ENTRIES = 256;
+    private static final RenderedFragmentCache instance = new RenderedFragmentCache();
+
+    private final Map<FragmentKey, Fragment> fragments = new LinkedHashMap<FragmentKey, Fragment>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FragmentKey, Fragment> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedRenderNanos = new AtomicLong();
+
+    private RenderedFragmentCache() {
+    }
+
+    /**
+     * Get singleton instance of RenderedFragmentCache
+     * @return RenderedFragmentCache instance
+     */
+    public static RenderedFragmentCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Look up a rendered fragment
+     * @return Cached fragment or null on a miss
+     */
+    public Fragment get(FragmentKey key) {
+        Fragment fragment;
+        synchronized (fragments) {
+            fragment = fragments.get(key);
+        }
+
+        if (fragment == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        savedRenderNanos.addAndGet(fragment.getRenderNanos());
+        logger.debug("Fragment cache hit for {} - saved {} us of rendering", key, fragment.getRenderNanos() / 1000);
+        return fragment;
+    }
+
+    /**
+     * Store a rendered fragment, ignoring fragments rendered for an outdated feed version
+     */
+    public void put(FragmentKey key, Fragment fragment) {
+        if (key.feedVersion != FeedVersion.getInstance().current()) {
+            return;
+        }
+        synchronized (fragments) {
+            fragments.put(key, fragment);
+        }
+    }
+
+    /**
+     * Drop all fragments after new content was ingested
+     */
+    public void invalidateAll() {
+        synchronized (fragments) {
+            fragments.clear();
+        }
+        logger.debug("Rendered fragment cache invalidated");
+    }
+
+    /**
+     * Get cache statistics
+     * @return Map containing hit, miss and render time saved statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        synchronized (fragments) {
+            stats.put("entries", fragments.size());
+        }
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("savedRenderMillis", savedRenderNanos.get() / 1_000_000);
+        stats.put("avgSavedMicrosPerHit", hitCount > 0 ? savedRenderNanos.get() / hitCount / 1000 : 0);
+        return stats;
+    }
+
+    /**
+     * Cache key identifying one rendered article list
+     */
+    public static final class FragmentKey {
+        private final String filterType;
+        private final Integer categoryId;
+        private final Integer locationId;
+        private final int limit;
+        private final long feedVersion;
+        private final long rankingVersion;
+        private final long stateVersion;
+
+        /**
+         * Key for a list; rankingVersion is 0 unless its order depends on a ranking that changes between ingestions
+         */
+        public FragmentKey(String filterType, Integer categoryId, Integer locationId, int limit,
+                           long feedVersion, long rankingVersion, long stateVersion) {
+            this.filterType = filterType;
+            this.categoryId = categoryId;
+            this.locationId = locationId;
+            this.limit = limit;
+            this.feedVersion = feedVersion;
+            this.rankingVersion = rankingVersion;
+            this.stateVersion = stateVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FragmentKey that = (FragmentKey) o;
+            return limit == that.limit && feedVersion == that.feedVersion &&
+                   rankingVersion == that.rankingVersion && stateVersion == that.stateVersion &&
+                   Objects.equals(filterType, that.filterType) &&
+                   Objects.equals(categoryId, that.categoryId) &&
+                   Objects.equals(locationId, that.locationId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filterType, categoryId, locationId, limit, feedVersion, rankingVersion, stateVersion);
+        }
+
+        @Override
+        public String toString() {
+            return filterType + "/" + categoryId + "/" + locationId + "/" + limit + "@" + feedVersion + "/" + rankingVersion
+                + "/" + stateVersion;
+        }
+    }
+
+    /**
+     * Rendered HTML of an article list with its render cost
+     */
+    public static final class Fragment {
+        private final String html;
+        private final int articleCount;
+        private final long renderNanos;
+
+        public Fragment(String html, int articleCount, long renderNanos) {
+            this.html = html;
+            this.articleCount = articleCount;
+            this.renderNanos = renderNanos;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+
+        public int getArticleCount() {
+            return articleCount;
+        }
+
+        public long getRenderNanos() {
+            return renderNanos;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.flashnews.cache;
+
+import com.flashnews.archive.ArticleArchive;
+import com.flashnews.dao.HistoryDAO;
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.dao.Repositories;
+import com.flashnews.feed.FeedMaterializer;
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RetentionEngine evicting articles from the news_articles cache table
+ * Articles past the maximum age are deleted in short primary-key ranges, and articles beyond
+ * the row limit of their category and location in short batches, oldest first, with pauses
+ * in between, so every statement locks only a small slice of the table; reading history of
+ * deleted articles follows. With the archive enabled, rows are deleted only after their
+ * segment is written, and staged rows count against the per-run limit like deleted ones
+ */
+public class RetentionEngine {
+    private static final Logger logger = LoggerFactory.getLogger(RetentionEngine.class);
+    private static RetentionEngine instance;
+
+    private final NewsArticleRepository newsArticleDAO;
+    private final HistoryDAO historyDAO;
+    private final int maxAgeDays;
+    private final int maxRowsPerGroup;
+    private final int keepViewedHours;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxDeletesPerRun;
+    private final int segmentArticles;
+    private final ArticleArchive archive;
+    private final List<NewsArticle> pendingArchive = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong totalDeleted = new AtomicLong();
+    private volatile int lastRunDeleted = 0;
+    private volatile long lastRunMillis = 0;
+    private volatile LocalDateTime lastRunAt;
+
+    private RetentionEngine() {
+        this.newsArticleDAO = Repositories.newsArticles();
+        this.historyDAO = new HistoryDAO();
+        this.maxAgeDays = ApplicationProperties.getInt("retention.maxAgeDays", 14);
+        this.maxRowsPerGroup = ApplicationProperties.getInt("retention.maxRowsPerGroup", 2000);
+        this.keepViewedHours = ApplicationProperties.getInt("retention.keepViewedHours", 24);
+        this.chunkSize = Math.max(ApplicationProperties.getInt("retention.chunkSize", 500), 1);
+        this.pauseMillis = ApplicationProperties.getLong("retention.pauseMillis", 100);
+        this.maxDeletesPerRun = ApplicationProperties.getInt("retention.maxDeletesPerRun", 50000);
+        this.segmentArticles = ApplicationProperties.getInt("archive.segmentArticles", 5000);
+        this.archive = ArticleArchive.getInstance();
+        long intervalMinutes = ApplicationProperties.getLong("retention.intervalMinutes", 15);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retention-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (ApplicationProperties.getBoolean("retention.enabled", true)) {
+            scheduler.scheduleWithFixedDelay(this::runSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Get singleton instance of RetentionEngine
+     * @return RetentionEngine instance
+     */
+    public static synchronized RetentionEngine getInstance() {
+        if (instance == null) {
+            instance = new RetentionEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Apply all retention policies once
+     * @return Number of deleted articles
+     */
+    public synchronized int run() throws InterruptedException {
+        long start = System.nanoTime();
+        int deleted = 0;
+
+        int minId = newsArticleDAO.getMinArticleId();
+        int maxId = newsArticleDAO.getMaxArticleId();
+        if (minId > 0 && maxId >= minId) {
+            deleted += evictExpired(minId, maxId);
+            deleted += evictGroupOverflow(deleted);
+        }
+
+        if (deleted > 0) {
+            purgeOrphanedHistory();
+            onArticlesRemoved();
+        }
+
+        lastRunDeleted = deleted;
+        lastRunMillis = (System.nanoTime() - start) / 1_000_000;
+        lastRunAt = LocalDateTime.now();
+        totalDeleted.addAndGet(deleted);
+        logger.info("Retention run deleted {} articles in {} ms", deleted, lastRunMillis);
+        return deleted;
+    }
+
+    /**
+     * Delete reading history of articles that were deleted or whose partition was dropped
+     * @return Number of deleted history rows
+     */
+    public int purgeOrphanedHistory() throws InterruptedException {
+        int deleted = 0;
+        int maxId = historyDAO.getMaxReadingHistoryId();
+        for (int fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            int count = historyDAO.deleteOrphanedReadingHistory(fromId, fromId + chunkSize);
+            if (count < 0) {
+                break;
+            }
+            deleted += count;
+            pause(count);
+        }
+        logger.debug("Purged {} orphaned reading history rows", deleted);
+        return deleted;
+    }
+
+    /**
+     * Refresh caches that may still show removed articles
+     */
+    public void onArticlesRemoved() {
+        FeedVersion.getInstance().advance();
+        RenderedFragmentCache.getInstance().invalidateAll();
+        FeedMaterializer.getInstance().onFeedAdvanced();
+    }
+
+    private int evictExpired(int minId, int maxId) throws InterruptedException {
+        int deleted = 0;
+        for (int fromId = minId; fromId <= maxId && deleted + pendingArchive.size() < maxDeletesPerRun;
+             fromId += chunkSize) {
+            int count;
+            if (archive.isEnabled()) {
+                List<NewsArticle> expired = newsArticleDAO.getExpiredArticles(fromId, fromId + chunkSize, maxAgeDays,
+                                                                              keepViewedHours);
+                count = archiveThenDelete(expired);
+                pause(expired.size());
+            } else {
+                count = newsArticleDAO.deleteExpiredArticles(fromId, fromId + chunkSize, maxAgeDays, keepViewedHours);
+                pause(count);
+            }
+            if (count < 0) {
+                break;
+            }
+            deleted += count;
+        }
+        return deleted + Math.max(flushArchive(), 0);
+    }
+
+    /**
+     * Evict each overfull group's oldest articles beyond its cutoff, a batch at a time
+     */
+    private int evictGroupOverflow(int alreadyDeleted) throws InterruptedException {
+        int deleted = 0;
+        List<Map<String, Object>> groups = newsArticleDAO.getOverfullGroups(maxRowsPerGroup);
+        for (Map<String, Object> group : groups) {
+            Integer categoryId = (Integer) group.get("categoryId");
+            Integer locationId = (Integer) group.get("locationId");
+            Timestamp cutoff = newsArticleDAO.getGroupCutoff(categoryId, locationId, maxRowsPerGroup);
+            if (cutoff == null) {
+                continue;
+            }
+
+            NewsArticle lastStaged = null;
+            int remaining;
+            while ((remaining = maxDeletesPerRun - alreadyDeleted - deleted - pendingArchive.size()) > 0) {
+                int limit = Math.min(chunkSize, remaining);
+                int count;
+                int batch;
+                if (archive.isEnabled()) {
+                    // Staged rows are still in the table, so continue after the last one instead of rereading it
+                    List<NewsArticle> overflow = newsArticleDAO.getGroupOverflowArticles(categoryId, locationId,
+                        cutoff, keepViewedHours, lastStaged, limit);
+                    batch = overflow.size();
+                    if (batch > 0) {
+                        lastStaged = overflow.get(batch - 1);
+                    }
+                    count = archiveThenDelete(overflow);
+                } else {
+                    count = newsArticleDAO.deleteGroupOverflow(categoryId, locationId, cutoff, keepViewedHours, limit);
+                    batch = count;
+                }
+                if (count < 0) {
+                    break;
+                }
+                deleted += count;
+                pause(batch);
+                if (batch < limit) {
+                    break;
+                }
+            }
+            // Flush per group, so a row overflowing two passes is never staged twice
+            deleted += Math.max(flushArchive(), 0);
+        }
+        return deleted;
+    }
+
+    /**
+     * Stage articles for the next archive segment, writing it once it is full
+     * @return Number of deleted articles, or -1 if archiving failed
+     */
+    private int archiveThenDelete(List<NewsArticle> articles) throws InterruptedException {
+        pendingArchive.addAll(articles);
+        return pendingArchive.size() >= segmentArticles ? flushArchive() : 0;
+    }
+
+    /**
+     * Write staged articles to a segment, then delete them in chunks
+     * @return Number of deleted articles, or -1 if the segment could not be written
+     */
+    private int flushArchive() throws InterruptedException {
+        if (pendingArchive.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = new ArrayList<>(pendingArchive.size());
+        for (NewsArticle article : pendingArchive) {
+            ids.add(article.getId());
+        }
+        boolean archived = archive.archive(pendingArchive);
+        pendingArchive.clear();
+        if (!archived) {
+            // Rows stay in MySQL and are picked up again by the next run
+            return -1;
+        }
+
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int count = newsArticleDAO.deleteArticlesByIds(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            if (count < 0) {
+                break;
+            }
+            deleted += count;
+            pause(count);
+        }
+        return deleted;
+    }
+
+    /**
+     * Give readers room between chunks; empty ranges cost little and are not throttled
+     */
+    private void pause(int rowsInChunk) throws InterruptedException {
+        if (rowsInChunk > 0 && pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        }
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Error applying retention policies", e);
+        }
+    }
+
+    /**
+     * Get retention statistics
+     * @return Map containing policies and deletion counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("maxAgeDays", maxAgeDays);
+        status.put("maxRowsPerGroup", maxRowsPerGroup);
+        status.put("keepViewedHours", keepViewedHours);
+        status.put("lastRunDeleted", lastRunDeleted);
+        status.put("lastRunMillis", lastRunMillis);
+        status.put("lastRunAt", lastRunAt);
+        status.put("totalDeleted", totalDeleted.get());
+        return status;
+    }
+
+    /**
+     * Stop the retention schedule, interrupting a run between chunks
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        logger.info("Retention engine shutdown");
+    }
+}
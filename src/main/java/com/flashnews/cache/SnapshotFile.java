@@ -0,0 +1,296 @@
+package com.flashnews.cache;
+
+import com.flashnews.model.Category;
+import com.flashnews.model.Location;
+import com.flashnews.model.NewsArticle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SnapshotFile holding a warm-start snapshot in one memory-mapped file
+ * Layout: a fixed header, article summary records, an ID-sorted record index,
+ * the feed orderings as ID lists, then categories and locations. Feeds and reference
+ * data are decoded on open; article records are decoded from the mapping on demand
+ */
+final class SnapshotFile {
+    static final int MAGIC = 0x464e5753;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + 4;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final MappedByteBuffer mapped;
+    private final long createdAtMillis;
+    private final int[] ids;
+    private final int[] offsets;
+    private final Map<String, int[]> feeds;
+    private final List<Category> categories;
+    private final List<Location> locations;
+
+    private SnapshotFile(MappedByteBuffer mapped) throws IOException {
+        this.mapped = mapped;
+        if (mapped.capacity() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " snapshot");
+        }
+        this.createdAtMillis = mapped.getLong(8);
+        int articleCount = mapped.getInt(16);
+        int indexOffset = mapped.getInt(20);
+        int feedsOffset = mapped.getInt(24);
+        int referenceOffset = mapped.getInt(28);
+
+        this.ids = new int[articleCount];
+        this.offsets = new int[articleCount];
+        for (int i = 0; i < articleCount; i++) {
+            ids[i] = mapped.getInt(indexOffset + i * 8);
+            offsets[i] = mapped.getInt(indexOffset + i * 8 + 4);
+        }
+
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(feedsOffset);
+        int feedCount = buffer.getInt();
+        Map<String, int[]> decodedFeeds = new HashMap<>();
+        for (int i = 0; i < feedCount; i++) {
+            String key = readString(buffer);
+            int[] feed = new int[buffer.getInt()];
+            for (int j = 0; j < feed.length; j++) {
+                feed[j] = buffer.getInt();
+            }
+            decodedFeeds.put(key, feed);
+        }
+        this.feeds = Collections.unmodifiableMap(decodedFeeds);
+
+        buffer.position(referenceOffset);
+        List<Category> decodedCategories = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            Category category = new Category(readString(buffer), readString(buffer));
+            category.setId(buffer.getInt());
+            category.setDescription(readString(buffer));
+            decodedCategories.add(category);
+        }
+        List<Location> decodedLocations = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            Location location = new Location(readString(buffer), readString(buffer));
+            location.setId(buffer.getInt());
+            location.setTimezone(readString(buffer));
+            decodedLocations.add(location);
+        }
+        this.categories = Collections.unmodifiableList(decodedCategories);
+        this.locations = Collections.unmodifiableList(decodedLocations);
+    }
+
+    /**
+     * Map an existing snapshot read-only
+     */
+    static SnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large: " + size);
+            }
+            return new SnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Write a snapshot through a read-write mapping of a temporary file, then move it into place
+     * @return Size of the snapshot in bytes
+     */
+    static int write(Path target, Collection<NewsArticle> articles, Map<String, List<Integer>> feeds,
+                     List<Category> categories, List<Location> locations) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[HEADER_BYTES]);
+
+        List<NewsArticle> sorted = new ArrayList<>(articles);
+        sorted.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        int[] recordOffsets = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            recordOffsets[i] = out.size();
+            writeArticle(out, sorted.get(i));
+        }
+
+        int indexOffset = out.size();
+        for (int i = 0; i < sorted.size(); i++) {
+            out.writeInt(sorted.get(i).getId());
+            out.writeInt(recordOffsets[i]);
+        }
+
+        int feedsOffset = out.size();
+        out.writeInt(feeds.size());
+        for (Map.Entry<String, List<Integer>> feed : feeds.entrySet()) {
+            writeString(out, feed.getKey());
+            out.writeInt(feed.getValue().size());
+            for (int id : feed.getValue()) {
+                out.writeInt(id);
+            }
+        }
+
+        int referenceOffset = out.size();
+        out.writeInt(categories.size());
+        for (Category category : categories) {
+            writeString(out, category.getName());
+            writeString(out, category.getDisplayName());
+            out.writeInt(category.getId());
+            writeString(out, category.getDescription());
+        }
+        out.writeInt(locations.size());
+        for (Location location : locations) {
+            writeString(out, location.getName());
+            writeString(out, location.getCountryCode());
+            out.writeInt(location.getId());
+            writeString(out, location.getTimezone());
+        }
+        out.flush();
+
+        byte[] content = bytes.toByteArray();
+        ByteBuffer.wrap(content).putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis())
+                  .putInt(sorted.size()).putInt(indexOffset).putInt(feedsOffset).putInt(referenceOffset);
+
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, content.length);
+            mapping.put(content);
+            mapping.force();
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return content.length;
+    }
+
+    /**
+     * Decode the articles of a feed in feed order
+     * @return Articles, or null if the snapshot has no such feed
+     */
+    List<NewsArticle> getFeed(String key, int limit) {
+        int[] feed = feeds.get(key);
+        if (feed == null) {
+            return null;
+        }
+        List<NewsArticle> articles = new ArrayList<>(Math.min(limit, feed.length));
+        for (int i = 0; i < feed.length && articles.size() < limit; i++) {
+            NewsArticle article = getArticle(feed[i]);
+            if (article != null) {
+                articles.add(article);
+            }
+        }
+        return articles;
+    }
+
+    int[] getFeedIds(String key) {
+        return feeds.get(key);
+    }
+
+    NewsArticle getArticle(int articleId) {
+        int index = Arrays.binarySearch(ids, articleId);
+        if (index < 0) {
+            return null;
+        }
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(offsets[index]);
+        return readArticle(buffer);
+    }
+
+    List<Category> getCategories() {
+        return categories;
+    }
+
+    List<Location> getLocations() {
+        return locations;
+    }
+
+    long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    int getArticleCount() {
+        return ids.length;
+    }
+
+    int getFeedCount() {
+        return feeds.size();
+    }
+
+    int getSizeBytes() {
+        return mapped.capacity();
+    }
+
+    private static void writeArticle(DataOutputStream out, NewsArticle article) throws IOException {
+        out.writeInt(article.getId());
+        writeString(out, article.getTitle());
+        writeString(out, article.getDescription());
+        writeString(out, article.getUrl());
+        writeString(out, article.getImageUrl());
+        writeString(out, article.getSourceName());
+        writeString(out, article.getSourceUrl());
+        out.writeInt(article.getCategoryId());
+        out.writeInt(article.getLocationId());
+        out.writeLong(toEpochSeconds(article.getPublishedAt()));
+        out.writeLong(toEpochSeconds(article.getCachedAt()));
+        out.writeBoolean(article.isTrending());
+        out.writeInt(article.getViewCount());
+    }
+
+    private static NewsArticle readArticle(ByteBuffer buffer) {
+        NewsArticle article = new NewsArticle();
+        article.setId(buffer.getInt());
+        article.setTitle(readString(buffer));
+        article.setDescription(readString(buffer));
+        article.setUrl(readString(buffer));
+        article.setImageUrl(readString(buffer));
+        article.setSourceName(readString(buffer));
+        article.setSourceUrl(readString(buffer));
+        article.setCategoryId(buffer.getInt());
+        article.setLocationId(buffer.getInt());
+        article.setPublishedAt(toDateTime(buffer.getLong()));
+        article.setCachedAt(toDateTime(buffer.getLong()));
+        article.setTrending(buffer.get() != 0);
+        article.setViewCount(buffer.getInt());
+        return article;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochSeconds(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    private static LocalDateTime toDateTime(long epochSeconds) {
+        return epochSeconds == NO_TIME ? null : LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,312 @@
+package com.flashnews.cache;
+
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.dao.Repositories;
+import com.flashnews.model.Category;
+import com.flashnews.model.Location;
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WarmStartSnapshot keeping hot feeds and reference data in a memory-mapped file across restarts
+ * The snapshot is rewritten periodically and on shutdown. On startup it is mapped and serves
+ * the feeds it holds until MySQL is initialized and the snapshot has been revalidated against it
+ */
+public class WarmStartSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(WarmStartSnapshot.class);
+    private static WarmStartSnapshot instance;
+
+    private final boolean enabled;
+    private final Path file;
+    private final int hotArticles;
+    private final int feedLength;
+    private final long maxAgeMillis;
+    private final ScheduledExecutorService scheduler;
+    private volatile SnapshotFile loaded;
+    private volatile boolean serving = false;
+    private volatile long lastWrittenMillis = 0;
+    private volatile int lastWrittenBytes = 0;
+    private volatile int staleArticles = -1;
+    private volatile long revalidatedAfterMillis = -1;
+    private volatile long firstUsefulResponseMillis = -1;
+    private volatile String firstUsefulResponseSource;
+
+    private WarmStartSnapshot() {
+        this.enabled = ApplicationProperties.getBoolean("snapshot.enabled", true);
+        this.file = Paths.get(ApplicationProperties.getString("snapshot.file",
+            Paths.get(System.getProperty("user.home"), "flashnews", "warm-start.snap").toString()));
+        this.hotArticles = ApplicationProperties.getInt("snapshot.hotArticles", 200);
+        this.feedLength = ApplicationProperties.getInt("snapshot.feedLength", 50);
+        this.maxAgeMillis = TimeUnit.HOURS.toMillis(ApplicationProperties.getLong("snapshot.maxAgeHours", 24));
+        long intervalMinutes = ApplicationProperties.getLong("snapshot.intervalMinutes", 5);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warm-start-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::writeSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Get singleton instance of WarmStartSnapshot
+     * @return WarmStartSnapshot instance
+     */
+    public static synchronized WarmStartSnapshot getInstance() {
+        if (instance == null) {
+            instance = new WarmStartSnapshot();
+        }
+        return instance;
+    }
+
+    /**
+     * Map the snapshot of the previous run and start serving from it
+     * @return True if a usable snapshot was found
+     */
+    public boolean load() {
+        if (!enabled || !Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            SnapshotFile snapshot = SnapshotFile.open(file);
+            long age = System.currentTimeMillis() - snapshot.getCreatedAtMillis();
+            if (age > maxAgeMillis || snapshot.getArticleCount() == 0) {
+                logger.info("Ignoring warm-start snapshot from {} minutes ago", TimeUnit.MILLISECONDS.toMinutes(age));
+                return false;
+            }
+            loaded = snapshot;
+            serving = true;
+            logger.info("Serving {} feeds with {} articles from warm-start snapshot written {} seconds ago",
+                       snapshot.getFeedCount(), snapshot.getArticleCount(), TimeUnit.MILLISECONDS.toSeconds(age));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unreadable warm-start snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean isServing() {
+        return serving;
+    }
+
+    /**
+     * Check whether the snapshot holds a feed while it is serving
+     * @param kind Feed kind, "latest" or "trending"
+     * @return True if the feed can be answered without MySQL
+     */
+    public boolean hasFeed(String kind, Integer categoryId, Integer locationId) {
+        SnapshotFile snapshot = loaded;
+        return serving && snapshot != null && snapshot.getFeedIds(feedKey(kind, categoryId, locationId)) != null;
+    }
+
+    /**
+     * Latest articles from the snapshot while it is serving
+     * @return Articles, or null if the request must go to MySQL
+     */
+    public List<NewsArticle> getLatestNews(Integer categoryId, Integer locationId, int limit) {
+        SnapshotFile snapshot = loaded;
+        return serving && snapshot != null ? snapshot.getFeed(feedKey("latest", categoryId, locationId), limit) : null;
+    }
+
+    /**
+     * Trending articles from the snapshot while it is serving
+     * @return Articles, or null if the request must go to MySQL
+     */
+    public List<NewsArticle> getTrendingNews(Integer categoryId, Integer locationId, int limit) {
+        SnapshotFile snapshot = loaded;
+        return serving && snapshot != null ? snapshot.getFeed(feedKey("trending", categoryId, locationId), limit) : null;
+    }
+
+    /**
+     * Categories from the snapshot while it is serving
+     * @return Categories, or null if the request must go to MySQL
+     */
+    public List<Category> getCategories() {
+        SnapshotFile snapshot = loaded;
+        return serving && snapshot != null ? new ArrayList<>(snapshot.getCategories()) : null;
+    }
+
+    /**
+     * Locations from the snapshot while it is serving
+     * @return Locations, or null if the request must go to MySQL
+     */
+    public List<Location> getLocations() {
+        SnapshotFile snapshot = loaded;
+        return serving && snapshot != null ? new ArrayList<>(snapshot.getLocations()) : null;
+    }
+
+    /**
+     * Compare the snapshot with MySQL once the database is ready, then hand reads back to it
+     */
+    public void revalidate() {
+        SnapshotFile snapshot = loaded;
+        if (!serving || snapshot == null) {
+            return;
+        }
+
+        int[] snapshotLatest = snapshot.getFeedIds(feedKey("latest", null, null));
+        Set<Integer> currentLatest = new HashSet<>();
+        for (NewsArticle article : Repositories.newsArticles().getLatestNews(null, null, hotArticles)) {
+            currentLatest.add(article.getId());
+        }
+        int stale = 0;
+        if (snapshotLatest != null) {
+            for (int articleId : snapshotLatest) {
+                if (!currentLatest.contains(articleId)) {
+                    stale++;
+                }
+            }
+        }
+
+        serving = false;
+        loaded = null;
+        staleArticles = stale;
+        revalidatedAfterMillis = millisSinceStart();
+        // Markup rendered from the snapshot must not outlive it
+        FeedVersion.getInstance().advance();
+        RenderedFragmentCache.getInstance().invalidateAll();
+        logger.info("Warm-start snapshot revalidated against MySQL after {} ms, {} of {} latest articles had changed",
+                   revalidatedAfterMillis, stale, snapshotLatest != null ? snapshotLatest.length : 0);
+    }
+
+    /**
+     * Note a response that showed articles, logging the time to the first one
+     */
+    public void recordUsefulResponse() {
+        if (firstUsefulResponseMillis >= 0) {
+            return;
+        }
+        synchronized (this) {
+            if (firstUsefulResponseMillis < 0) {
+                firstUsefulResponseSource = serving ? "snapshot" : "database";
+                firstUsefulResponseMillis = millisSinceStart();
+                logger.info("First useful response {} ms after JVM start, served from {}",
+                           firstUsefulResponseMillis, firstUsefulResponseSource);
+            }
+        }
+    }
+
+    /**
+     * Capture hot feeds and reference data from MySQL and write them to the snapshot file
+     * @return True if a snapshot was written
+     */
+    public synchronized boolean write() throws IOException {
+        if (!enabled || serving) {
+            // Until revalidated, MySQL may not be reachable and the mapped snapshot is still the best copy
+            return false;
+        }
+
+        NewsArticleRepository newsArticleDAO = Repositories.newsArticles();
+        List<Category> categories = Repositories.categories().getAllCategories();
+        List<Location> locations = Repositories.locations().getAllLocations();
+        Map<Integer, NewsArticle> articles = new HashMap<>();
+        Map<String, List<Integer>> feeds = new LinkedHashMap<>();
+
+        addFeed(feeds, articles, "latest", null, null, newsArticleDAO.getLatestNews(null, null, hotArticles));
+        addFeed(feeds, articles, "trending", null, null, newsArticleDAO.getTrendingNews(null, null, feedLength));
+        for (Category category : categories) {
+            addFeed(feeds, articles, "latest", category.getId(), null,
+                    newsArticleDAO.getLatestNews(category.getId(), null, feedLength));
+            addFeed(feeds, articles, "trending", category.getId(), null,
+                    newsArticleDAO.getTrendingNews(category.getId(), null, feedLength));
+        }
+        for (Location location : locations) {
+            addFeed(feeds, articles, "latest", null, location.getId(),
+                    newsArticleDAO.getLatestNews(null, location.getId(), feedLength));
+        }
+
+        if (articles.isEmpty()) {
+            logger.debug("No articles to snapshot");
+            return false;
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        lastWrittenBytes = SnapshotFile.write(file, articles.values(), feeds, categories, locations);
+        lastWrittenMillis = System.currentTimeMillis();
+        logger.info("Wrote warm-start snapshot with {} feeds and {} articles ({} bytes)",
+                   feeds.size(), articles.size(), lastWrittenBytes);
+        return true;
+    }
+
+    private static void addFeed(Map<String, List<Integer>> feeds, Map<Integer, NewsArticle> articles,
+                                String kind, Integer categoryId, Integer locationId, List<NewsArticle> feed) {
+        if (feed.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(feed.size());
+        for (NewsArticle article : feed) {
+            ids.add(article.getId());
+            NewsArticle known = articles.putIfAbsent(article.getId(), article);
+            if (known != null && article.isTrending()) {
+                known.setTrending(true);
+            }
+        }
+        feeds.put(feedKey(kind, categoryId, locationId), ids);
+    }
+
+    private static String feedKey(String kind, Integer categoryId, Integer locationId) {
+        return kind + ":" + (categoryId != null ? categoryId : "*") + ":" + (locationId != null ? locationId : "*");
+    }
+
+    private static long millisSinceStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    private void writeSafely() {
+        try {
+            write();
+        } catch (Exception e) {
+            logger.error("Error writing warm-start snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Get snapshot statistics
+     * @return Map containing serving state, last write and time to first useful response
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("file", file.toString());
+        status.put("serving", serving);
+        status.put("lastWrittenAt", lastWrittenMillis > 0 ?
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(lastWrittenMillis), ZoneId.systemDefault()) : null);
+        status.put("lastWrittenBytes", lastWrittenBytes);
+        status.put("staleArticles", staleArticles);
+        status.put("revalidatedAfterMillis", revalidatedAfterMillis);
+        status.put("firstUsefulResponseMillis", firstUsefulResponseMillis);
+        status.put("firstUsefulResponseSource", firstUsefulResponseSource);
+        return status;
+    }
+
+    /**
+     * Stop the schedule and write a final snapshot for the next start
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        writeSafely();
+        logger.info("Warm-start snapshot shutdown");
+    }
+}
@@ -14,7 +14,7 @@ import java.util.List;
  * CategoryDAO class for database operations on categories
  * Demonstrates DAO pattern for category management
  */
-public class CategoryDAO {
+public class CategoryDAO implements CategoryRepository {
     private static final Logger logger = LoggerFactory.getLogger(CategoryDAO.class);
     private final DatabaseConnection dbConnection;
     
@@ -25,6 +25,7 @@ public class CategoryDAO {
     /**
      * Get all active categories
      */
+    @Override
     public List<Category> getAllCategories() {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT * FROM categories WHERE is_active = true ORDER BY display_name";
@@ -49,6 +50,7 @@ public class CategoryDAO {
     /**
      * Get category by ID
      */
+    @Override
     public Category getCategoryById(int categoryId) {
         String sql = "SELECT * FROM categories WHERE id = ?";
         
@@ -75,6 +77,7 @@ public class CategoryDAO {
     /**
      * Get category by name
      */
+    @Override
     public Category getCategoryByName(String name) {
         String sql = "SELECT * FROM categories WHERE name = ? AND is_active = true";
         
@@ -101,6 +104,7 @@ public class CategoryDAO {
     /**
      * Save or update category
      */
+    @Override
     public Category saveCategory(Category category) {
         if (category.getId() > 0) {
             return updateCategory(category);
@@ -182,6 +186,7 @@ public class CategoryDAO {
     /**
      * Delete category (soft delete)
      */
+    @Override
     public boolean deleteCategory(int categoryId) {
         String sql = "UPDATE categories SET is_active = false WHERE id = ?";
         
@@ -204,6 +209,7 @@ public class CategoryDAO {
     /**
      * Get categories count
      */
+    @Override
     public int getCategoriesCount() {
         String sql = "SELECT COUNT(*) FROM categories WHERE is_active = true";
         
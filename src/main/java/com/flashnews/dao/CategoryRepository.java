@@ -0,0 +1,43 @@
+package com.flashnews.dao;
+
+import com.flashnews.model.Category;
+
+import java.util.List;
+
+/**
+ * CategoryRepository interface for storage of news categories
+ * Implemented by CategoryDAO over MySQL and InMemoryCategoryRepository
+ */
+public interface CategoryRepository {
+
+    /**
+     * Get all active categories ordered by display name
+     */
+    List<Category> getAllCategories();
+
+    /**
+     * Get category by ID
+     */
+    Category getCategoryById(int categoryId);
+
+    /**
+     * Get active category by name
+     */
+    Category getCategoryByName(String name);
+
+    /**
+     * Save or update category
+     * @return The saved category with its ID set, or null on failure
+     */
+    Category saveCategory(Category category);
+
+    /**
+     * Delete category (soft delete)
+     */
+    boolean deleteCategory(int categoryId);
+
+    /**
+     * Get active categories count
+     */
+    int getCategoriesCount();
+}
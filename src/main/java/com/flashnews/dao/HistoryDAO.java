@@ -0,0 +1,341 @@
+package com.flashnews.dao;
+
+import com.flashnews.database.DatabaseConnection;
+import com.flashnews.model.ReadingHistoryEntry;
+import com.flashnews.model.SearchHistoryEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HistoryDAO class for database operations on reading and search history
+ * Writes are issued in batches to keep round trips independent of traffic
+ */
+public class HistoryDAO {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryDAO.class);
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private final DatabaseConnection dbConnection;
+
+    public HistoryDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Insert or update reading history rows with multi-row statements
+     * Existing rows for the same user and article get the latest read time and accumulated reading time
+     * @return True if all rows were written
+     */
+    public boolean upsertReadingHistory(List<ReadingHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (int start = 0; start < entries.size(); start += MAX_ROWS_PER_STATEMENT) {
+                List<ReadingHistoryEntry> chunk = entries.subList(start,
+                        Math.min(start + MAX_ROWS_PER_STATEMENT, entries.size()));
+
+                try (PreparedStatement stmt = conn.prepareStatement(buildReadingHistoryUpsert(chunk.size()))) {
+                    int index = 1;
+                    for (ReadingHistoryEntry entry : chunk) {
+                        stmt.setInt(index++, entry.getUserId());
+                        stmt.setInt(index++, entry.getArticleId());
+                        stmt.setTimestamp(index++, Timestamp.valueOf(entry.getReadAt()));
+                        stmt.setInt(index++, entry.getTimeSpent());
+                    }
+                    stmt.executeUpdate();
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            logger.error("Error writing " + entries.size() + " reading history entries", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return false;
+    }
+
+    /**
+     * Insert search history rows as a JDBC batch
+     * @return True if all rows were written
+     */
+    public boolean insertSearchHistory(List<SearchHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        String sql = "INSERT INTO search_history (user_id, search_query, results_count, searched_at) " +
+                    "VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int pending = 0;
+            for (SearchHistoryEntry entry : entries) {
+                stmt.setObject(1, entry.getUserId());
+                stmt.setString(2, entry.getSearchQuery());
+                stmt.setInt(3, entry.getResultsCount());
+                stmt.setTimestamp(4, Timestamp.valueOf(entry.getSearchedAt()));
+                stmt.addBatch();
+
+                if (++pending == MAX_ROWS_PER_STATEMENT) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+            return true;
+
+        } catch (SQLException e) {
+            logger.error("Error writing " + entries.size() + " search history entries", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return false;
+    }
+
+    /**
+     * Get reading history of a user, most recent first
+     */
+    public List<Map<String, Object>> getReadingHistory(int userId, int limit) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        String sql = "SELECT rh.article_id, rh.read_at, rh.time_spent, na.title, na.url, na.source_name " +
+                    "FROM reading_history rh JOIN news_articles na ON na.id = rh.article_id " +
+                    "WHERE rh.user_id = ? ORDER BY rh.read_at DESC LIMIT ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("articleId", rs.getInt("article_id"));
+                    entry.put("title", rs.getString("title"));
+                    entry.put("url", rs.getString("url"));
+                    entry.put("sourceName", rs.getString("source_name"));
+                    entry.put("timeSpent", rs.getInt("time_spent"));
+                    Timestamp readAt = rs.getTimestamp("read_at");
+                    entry.put("readAt", readAt != null ? readAt.toLocalDateTime() : null);
+                    history.add(entry);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching reading history for user: " + userId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return history;
+    }
+
+    /**
+     * Get the IDs of all articles a user has read
+     * @return Distinct article IDs in ascending order
+     */
+    public int[] getReadArticleIds(int userId) {
+        String sql = "SELECT article_id FROM reading_history WHERE user_id = ? ORDER BY article_id";
+        int[] ids = new int[64];
+        int size = 0;
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (size == ids.length) {
+                        ids = Arrays.copyOf(ids, size * 2);
+                    }
+                    ids[size++] = rs.getInt(1);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching read article IDs for user: " + userId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Get search history of a user, most recent first
+     */
+    public List<Map<String, Object>> getSearchHistory(int userId, int limit) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        String sql = "SELECT search_query, results_count, searched_at FROM search_history " +
+                    "WHERE user_id = ? ORDER BY searched_at DESC LIMIT ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("searchQuery", rs.getString("search_query"));
+                    entry.put("resultsCount", rs.getInt("results_count"));
+                    Timestamp searchedAt = rs.getTimestamp("searched_at");
+                    entry.put("searchedAt", searchedAt != null ? searchedAt.toLocalDateTime() : null);
+                    history.add(entry);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching search history for user: " + userId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return history;
+    }
+
+    /**
+     * Get the most searched queries across all users
+     * @param days Only searches of the last days are counted
+     * @return Maps containing query, count and lastSearchedAt
+     */
+    public List<Map<String, Object>> getPopularQueries(int days, int limit) {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        String sql = "SELECT LOWER(TRIM(search_query)) AS query, COUNT(*) AS searches, MAX(searched_at) AS last_searched " +
+                    "FROM search_history WHERE searched_at >= DATE_SUB(NOW(), INTERVAL ? DAY) " +
+                    "GROUP BY query ORDER BY searches DESC LIMIT ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, days);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("query", rs.getString("query"));
+                    entry.put("count", rs.getInt("searches"));
+                    Timestamp lastSearched = rs.getTimestamp("last_searched");
+                    entry.put("lastSearchedAt", lastSearched != null ? lastSearched.toLocalDateTime() : null);
+                    queries.add(entry);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching popular queries", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return queries;
+    }
+
+    /**
+     * Get the highest reading history row ID
+     */
+    public int getMaxReadingHistoryId() {
+        String sql = "SELECT COALESCE(MAX(id), 0) FROM reading_history";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error getting max reading history ID", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Delete reading history rows of an ID range whose article no longer exists
+     * news_articles is partitioned and cannot cascade deletes through a foreign key
+     * @return Number of deleted rows, or -1 on error
+     */
+    public int deleteOrphanedReadingHistory(int fromId, int toId) {
+        String sql = "DELETE rh FROM reading_history rh LEFT JOIN news_articles na ON na.id = rh.article_id " +
+                    "WHERE rh.id >= ? AND rh.id < ? AND na.id IS NULL";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, fromId);
+            stmt.setInt(2, toId);
+            return stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            logger.error("Error deleting orphaned reading history in ID range " + fromId + "-" + toId, e);
+            return -1;
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+    }
+
+    /**
+     * Get reading and search totals of a user
+     */
+    public Map<String, Object> getHistoryStatistics(int userId) {
+        Map<String, Object> stats = new HashMap<>();
+        String sql = "SELECT (SELECT COUNT(*) FROM reading_history WHERE user_id = ?) AS articles_read, " +
+                    "(SELECT COALESCE(SUM(time_spent), 0) FROM reading_history WHERE user_id = ?) AS time_spent, " +
+                    "(SELECT COUNT(*) FROM search_history WHERE user_id = ?) AS searches";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.setInt(2, userId);
+            stmt.setInt(3, userId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    stats.put("articlesRead", rs.getInt("articles_read"));
+                    stats.put("totalTimeSpent", rs.getLong("time_spent"));
+                    stats.put("searchCount", rs.getInt("searches"));
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching history statistics for user: " + userId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return stats;
+    }
+
+    /**
+     * Build a multi-row reading history upsert for the given number of rows
+     */
+    private String buildReadingHistoryUpsert(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO reading_history (user_id, article_id, read_at, time_spent) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE read_at = GREATEST(read_at, VALUES(read_at)), " +
+                   "time_spent = time_spent + VALUES(time_spent)");
+        return sql.toString();
+    }
+}
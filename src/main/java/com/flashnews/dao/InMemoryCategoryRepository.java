@@ -0,0 +1,111 @@
+package com.flashnews.dao;
+
+import com.flashnews.model.Category;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryCategoryRepository keeping categories in process memory
+ * Starts with the default categories of migration V1__baseline.sql
+ */
+public class InMemoryCategoryRepository implements CategoryRepository {
+    private static final String[][] DEFAULT_CATEGORIES = {
+        {"technology", "Technology", "Latest technology news and innovations"},
+        {"sports", "Sports", "Sports news and updates"},
+        {"business", "Business", "Business and financial news"},
+        {"health", "Health", "Health and medical news"},
+        {"entertainment", "Entertainment", "Entertainment and celebrity news"},
+        {"science", "Science", "Scientific discoveries and research"},
+        {"politics", "Politics", "Political news and analysis"},
+        {"world", "World", "International news and events"}
+    };
+
+    private final Map<Integer, Category> categories = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryCategoryRepository() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String[] category : DEFAULT_CATEGORIES) {
+            saveCategory(new Category(0, category[0], category[1], category[2], true, now));
+        }
+    }
+
+    @Override
+    public List<Category> getAllCategories() {
+        List<Category> active = new ArrayList<>();
+        for (Category category : categories.values()) {
+            if (category.isActive()) {
+                active.add(copyOf(category));
+            }
+        }
+        active.sort(Comparator.comparing(Category::getDisplayName));
+        return active;
+    }
+
+    @Override
+    public Category getCategoryById(int categoryId) {
+        Category category = categories.get(categoryId);
+        return category != null ? copyOf(category) : null;
+    }
+
+    @Override
+    public Category getCategoryByName(String name) {
+        String key = name.toLowerCase().trim();
+        for (Category category : categories.values()) {
+            if (category.isActive() && key.equals(category.getName())) {
+                return copyOf(category);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized Category saveCategory(Category category) {
+        if (category.getId() > 0) {
+            if (!categories.containsKey(category.getId())) {
+                return null;
+            }
+        } else {
+            for (Category existing : categories.values()) {
+                // name is UNIQUE in the categories table
+                if (existing.getName().equals(category.getName())) {
+                    return null;
+                }
+            }
+            category.setId(nextId.getAndIncrement());
+            if (category.getCreatedAt() == null) {
+                category.setCreatedAt(LocalDateTime.now());
+            }
+        }
+        categories.put(category.getId(), copyOf(category));
+        return category;
+    }
+
+    @Override
+    public boolean deleteCategory(int categoryId) {
+        Category category = categories.get(categoryId);
+        if (category == null) {
+            return false;
+        }
+        Category deactivated = copyOf(category);
+        deactivated.setActive(false);
+        categories.put(categoryId, deactivated);
+        return true;
+    }
+
+    @Override
+    public int getCategoriesCount() {
+        return (int) categories.values().stream().filter(Category::isActive).count();
+    }
+
+    private static Category copyOf(Category category) {
+        return new Category(category.getId(), category.getName(), category.getDisplayName(),
+            category.getDescription(), category.isActive(), category.getCreatedAt());
+    }
+}
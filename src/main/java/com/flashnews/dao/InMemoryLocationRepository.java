@@ -0,0 +1,113 @@
+package com.flashnews.dao;
+
+import com.flashnews.model.Location;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryLocationRepository keeping locations in process memory
+ * Starts with the default locations of migration V1__baseline.sql
+ */
+public class InMemoryLocationRepository implements LocationRepository {
+    private static final String[][] DEFAULT_LOCATIONS = {
+        {"United States", "USA", "America/New_York"},
+        {"United Kingdom", "GBR", "Europe/London"},
+        {"Canada", "CAN", "America/Toronto"},
+        {"Australia", "AUS", "Australia/Sydney"},
+        {"India", "IND", "Asia/Kolkata"},
+        {"Germany", "DEU", "Europe/Berlin"},
+        {"France", "FRA", "Europe/Paris"},
+        {"Japan", "JPN", "Asia/Tokyo"},
+        {"Brazil", "BRA", "America/Sao_Paulo"},
+        {"China", "CHN", "Asia/Shanghai"}
+    };
+
+    private final Map<Integer, Location> locations = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryLocationRepository() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String[] location : DEFAULT_LOCATIONS) {
+            saveLocation(new Location(0, location[0], location[1], location[2], true, now));
+        }
+    }
+
+    @Override
+    public List<Location> getAllLocations() {
+        List<Location> active = new ArrayList<>();
+        for (Location location : locations.values()) {
+            if (location.isActive()) {
+                active.add(copyOf(location));
+            }
+        }
+        active.sort(Comparator.comparing(Location::getName));
+        return active;
+    }
+
+    @Override
+    public Location getLocationById(int locationId) {
+        Location location = locations.get(locationId);
+        return location != null ? copyOf(location) : null;
+    }
+
+    @Override
+    public Location getLocationByCountryCode(String countryCode) {
+        String key = countryCode.toUpperCase().trim();
+        for (Location location : locations.values()) {
+            if (location.isActive() && key.equals(location.getCountryCode())) {
+                return copyOf(location);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized Location saveLocation(Location location) {
+        if (location.getId() > 0) {
+            if (!locations.containsKey(location.getId())) {
+                return null;
+            }
+        } else {
+            for (Location existing : locations.values()) {
+                // name is UNIQUE in the locations table
+                if (existing.getName().equals(location.getName())) {
+                    return null;
+                }
+            }
+            location.setId(nextId.getAndIncrement());
+            if (location.getCreatedAt() == null) {
+                location.setCreatedAt(LocalDateTime.now());
+            }
+        }
+        locations.put(location.getId(), copyOf(location));
+        return location;
+    }
+
+    @Override
+    public boolean deleteLocation(int locationId) {
+        Location location = locations.get(locationId);
+        if (location == null) {
+            return false;
+        }
+        Location deactivated = copyOf(location);
+        deactivated.setActive(false);
+        locations.put(locationId, deactivated);
+        return true;
+    }
+
+    @Override
+    public int getLocationsCount() {
+        return (int) locations.values().stream().filter(Location::isActive).count();
+    }
+
+    private static Location copyOf(Location location) {
+        return new Location(location.getId(), location.getName(), location.getCountryCode(),
+            location.getTimezone(), location.isActive(), location.getCreatedAt());
+    }
+}
@@ -0,0 +1,640 @@
+package com.flashnews.dao;
+
+import com.flashnews.archive.ArticleArchive;
+import com.flashnews.model.NewsArticle;
+import com.flashnews.trending.TrendingScorer;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * InMemoryNewsArticleRepository keeping news articles in process memory
+ * Articles are indexed newest first overall, per category, per location, per category and
+ * location group and by trending flag, so listings walk an index instead of scanning.
+ * Readers share a read lock and always get copies; suits tests, benchmarks and single-node
+ * deployments where losing articles on restart is acceptable
+ */
+public class InMemoryNewsArticleRepository implements NewsArticleRepository {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryNewsArticleRepository.class);
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+        .comparing((Entry entry) -> entry.publishedAt).reversed()
+        .thenComparing(Comparator.comparingInt((Entry entry) -> entry.id).reversed());
+
+    // Same listing window as the MySQL queries
+    private final int windowDays = ApplicationProperties.getInt("news.query.windowDays", 14);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Integer, Entry> byId = new TreeMap<>();
+    private final Map<String, Integer> idByUrl = new HashMap<>();
+    private final NavigableSet<Entry> newest = new TreeSet<>(NEWEST_FIRST);
+    private final NavigableSet<Entry> trending = new TreeSet<>(NEWEST_FIRST);
+    private final Map<Integer, NavigableSet<Entry>> byCategory = new HashMap<>();
+    private final Map<Integer, NavigableSet<Entry>> byLocation = new HashMap<>();
+    private final Map<Long, NavigableSet<Entry>> byGroup = new HashMap<>();
+    private int nextId = 1;
+
+    @Override
+    public List<NewsArticle> getLatestNews(Integer categoryId, Integer locationId, int limit) {
+        lock.readLock().lock();
+        try {
+            return collect(index(categoryId, locationId), categoryId, locationId, windowStart(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the precomputed trending ranking and falls back to the trending flag until one exists
+     */
+    @Override
+    public List<NewsArticle> getTrendingNews(Integer categoryId, Integer locationId, int limit) {
+        List<Integer> ranking = TrendingScorer.getInstance().getRanking(categoryId, locationId, limit);
+        if (!ranking.isEmpty()) {
+            List<NewsArticle> articles = getArticlesByIds(ranking);
+            for (NewsArticle article : articles) {
+                article.setTrending(true);
+            }
+            return articles;
+        }
+
+        lock.readLock().lock();
+        try {
+            return collect(trending, categoryId, locationId, windowStart(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<NewsArticle> getArticlesByIds(List<Integer> articleIds) {
+        List<NewsArticle> articles = new ArrayList<>(articleIds.size());
+        lock.readLock().lock();
+        try {
+            for (Integer articleId : articleIds) {
+                Entry entry = byId.get(articleId);
+                if (entry != null) {
+                    articles.add(entry.copy());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return articles;
+    }
+
+    /**
+     * Case-insensitive substring match, like LIKE under the default MySQL collation
+     */
+    @Override
+    public List<NewsArticle> searchNews(String keyword, Integer categoryId, Integer locationId, int limit) {
+        List<NewsArticle> articles = new ArrayList<>();
+        String needle = keyword.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : index(categoryId, locationId)) {
+                if (articles.size() >= limit) {
+                    break;
+                }
+                if (matches(entry, categoryId, locationId)
+                        && (contains(entry.article.getTitle(), needle) || contains(entry.article.getDescription(), needle))) {
+                    articles.add(entry.copy());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return articles;
+    }
+
+    @Override
+    public List<NewsArticle> getArticlesSince(int sinceId, Integer categoryId, Integer locationId, int limit) {
+        List<NewsArticle> articles = new ArrayList<>();
+        LocalDateTime windowStart = windowStart();
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : byId.tailMap(sinceId, false).values()) {
+                if (articles.size() >= limit) {
+                    break;
+                }
+                if (!entry.publishedAt.isBefore(windowStart) && matches(entry, categoryId, locationId)) {
+                    articles.add(entry.copy());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return articles;
+    }
+
+    @Override
+    public Map<String, LocalDateTime> getRecentTitles(int days, int limit) {
+        Map<String, LocalDateTime> titles = new HashMap<>();
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        int read = 0;
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : newest) {
+                if (read++ >= limit || entry.publishedAt.isBefore(since)) {
+                    break;
+                }
+                titles.putIfAbsent(entry.article.getTitle(), entry.publishedAt);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return titles;
+    }
+
+    @Override
+    public int getMinArticleId() {
+        lock.readLock().lock();
+        try {
+            return byId.isEmpty() ? 0 : byId.firstKey();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getMaxArticleId() {
+        lock.readLock().lock();
+        try {
+            return byId.isEmpty() ? 0 : byId.lastKey();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public NewsArticle getArticleById(int articleId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byId.get(articleId);
+            if (entry != null) {
+                return entry.copy();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Expired articles live on in the archive
+        return ArticleArchive.getInstance().getArticleById(articleId);
+    }
+
+    @Override
+    public NewsArticle getArticleByUrl(String url) {
+        lock.readLock().lock();
+        try {
+            Integer articleId = idByUrl.get(url);
+            if (articleId != null) {
+                return byId.get(articleId).copy();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return ArticleArchive.getInstance().getArticleByUrl(url);
+    }
+
+    @Override
+    public NewsArticle saveArticle(NewsArticle article) {
+        lock.writeLock().lock();
+        try {
+            if (article.getId() > 0) {
+                return updateArticle(article);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            NewsArticle stored = copyOf(article);
+            stored.setId(nextId++);
+            stored.setPublishedAt(article.getPublishedAt() != null ? article.getPublishedAt() : now);
+            stored.setCachedAt(article.getCachedAt() != null ? article.getCachedAt() : now);
+            add(new Entry(stored, null));
+
+            article.setId(stored.getId());
+            logger.debug("Article stored in memory with ID: {}", stored.getId());
+            return article;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace an article; the publish time is kept when none is given, as in the UPDATE statement
+     */
+    private NewsArticle updateArticle(NewsArticle article) {
+        Entry existing = byId.get(article.getId());
+        if (existing == null) {
+            return null;
+        }
+
+        NewsArticle stored = copyOf(article);
+        stored.setPublishedAt(article.getPublishedAt() != null ? article.getPublishedAt() : existing.publishedAt);
+        stored.setCachedAt(existing.article.getCachedAt());
+        remove(existing);
+        add(new Entry(stored, existing.lastViewedAt));
+        return article;
+    }
+
+    @Override
+    public boolean incrementViewCount(int articleId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = byId.get(articleId);
+            if (entry == null) {
+                return false;
+            }
+            entry.article.setViewCount(entry.article.getViewCount() + 1);
+            entry.lastViewedAt = LocalDateTime.now();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<NewsArticle> getExpiredArticles(int fromId, int toId, int maxAgeDays, int keepViewedHours) {
+        List<NewsArticle> articles = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : byId.subMap(fromId, true, toId, false).values()) {
+                if (isExpired(entry, now, maxAgeDays, keepViewedHours)) {
+                    articles.add(entry.copy());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return articles;
+    }
+
+    @Override
+    public int deleteExpiredArticles(int fromId, int toId, int maxAgeDays, int keepViewedHours) {
+        LocalDateTime now = LocalDateTime.now();
+
+        lock.writeLock().lock();
+        try {
+            List<Entry> expired = new ArrayList<>();
+            for (Entry entry : byId.subMap(fromId, true, toId, false).values()) {
+                if (isExpired(entry, now, maxAgeDays, keepViewedHours)) {
+                    expired.add(entry);
+                }
+            }
+            expired.forEach(this::remove);
+            return expired.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getOverfullGroups(int maxRows) {
+        List<Map<String, Object>> groups = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (NavigableSet<Entry> group : byGroup.values()) {
+                if (group.size() > maxRows) {
+                    Entry first = group.first();
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("categoryId", first.article.getCategoryId() > 0 ? first.article.getCategoryId() : null);
+                    row.put("locationId", first.article.getLocationId() > 0 ? first.article.getLocationId() : null);
+                    row.put("rows", group.size());
+                    groups.add(row);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return groups;
+    }
+
+    @Override
+    public Timestamp getGroupCutoff(Integer categoryId, Integer locationId, int maxRows) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> group = byGroup.get(groupKey(orZero(categoryId), orZero(locationId)));
+            if (group == null || group.size() <= maxRows) {
+                return null;
+            }
+            int position = 0;
+            for (Entry entry : group) {
+                if (position++ == maxRows) {
+                    return Timestamp.valueOf(entry.publishedAt);
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<NewsArticle> getGroupOverflowArticles(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                                                      int keepViewedHours, NewsArticle after, int limit) {
+        List<NewsArticle> articles = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : groupOverflow(categoryId, locationId, publishedBefore, keepViewedHours, after, limit)) {
+                articles.add(entry.copy());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return articles;
+    }
+
+    @Override
+    public int deleteGroupOverflow(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                                   int keepViewedHours, int limit) {
+        lock.writeLock().lock();
+        try {
+            List<Entry> overflow = groupOverflow(categoryId, locationId, publishedBefore, keepViewedHours, null, limit);
+            overflow.forEach(this::remove);
+            return overflow.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteArticlesByIds(List<Integer> articleIds) {
+        int deleted = 0;
+
+        lock.writeLock().lock();
+        try {
+            for (Integer articleId : articleIds) {
+                Entry entry = byId.get(articleId);
+                if (entry != null) {
+                    remove(entry);
+                    deleted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean setTrendingStatus(int articleId, boolean trendingStatus) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = byId.get(articleId);
+            if (entry == null) {
+                return false;
+            }
+            entry.article.setTrending(trendingStatus);
+            if (trendingStatus) {
+                trending.add(entry);
+            } else {
+                trending.remove(entry);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int getTotalArticlesCount() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getTrendingArticlesCount() {
+        return countSince(trending, windowStart());
+    }
+
+    @Override
+    public int getRecentArticlesCount() {
+        return countSince(newest, LocalDateTime.now().minusHours(24));
+    }
+
+    @Override
+    public int getTotalViewsCount() {
+        long views = 0;
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : byId.values()) {
+                views += entry.article.getViewCount();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return (int) Math.min(views, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Narrowest index for the filters; the location of a category and location pair is
+     * checked while walking the group index
+     */
+    private NavigableSet<Entry> index(Integer categoryId, Integer locationId) {
+        boolean byCategoryFilter = categoryId != null && categoryId > 0;
+        boolean byLocationFilter = locationId != null && locationId > 0;
+        if (byCategoryFilter && byLocationFilter) {
+            return byGroup.getOrDefault(groupKey(categoryId, locationId), emptyIndex());
+        }
+        if (byCategoryFilter) {
+            return byCategory.getOrDefault(categoryId, emptyIndex());
+        }
+        if (byLocationFilter) {
+            return byLocation.getOrDefault(locationId, emptyIndex());
+        }
+        return newest;
+    }
+
+    private static NavigableSet<Entry> emptyIndex() {
+        return new TreeSet<>(NEWEST_FIRST);
+    }
+
+    private static List<NewsArticle> collect(NavigableSet<Entry> index, Integer categoryId, Integer locationId,
+                                             LocalDateTime windowStart, int limit) {
+        List<NewsArticle> articles = new ArrayList<>(Math.min(Math.max(limit, 0), index.size()));
+        for (Entry entry : index) {
+            if (articles.size() >= limit || entry.publishedAt.isBefore(windowStart)) {
+                break;
+            }
+            if (matches(entry, categoryId, locationId)) {
+                articles.add(entry.copy());
+            }
+        }
+        return articles;
+    }
+
+    private static boolean matches(Entry entry, Integer categoryId, Integer locationId) {
+        return (categoryId == null || categoryId <= 0 || entry.article.getCategoryId() == categoryId)
+            && (locationId == null || locationId <= 0 || entry.article.getLocationId() == locationId);
+    }
+
+    private static boolean contains(String text, String needle) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private boolean isExpired(Entry entry, LocalDateTime now, int maxAgeDays, int keepViewedHours) {
+        LocalDateTime age = entry.article.getPublishedAt() != null ? entry.publishedAt : entry.article.getCachedAt();
+        return age.isBefore(now.minusDays(maxAgeDays)) && isRemovable(entry, now, keepViewedHours);
+    }
+
+    private static boolean isRemovable(Entry entry, LocalDateTime now, int keepViewedHours) {
+        return !entry.article.isTrending()
+            && (entry.lastViewedAt == null || entry.lastViewedAt.isBefore(now.minusHours(keepViewedHours)));
+    }
+
+    /**
+     * Walk a group oldest first, collecting removable articles published before the cutoff
+     */
+    private List<Entry> groupOverflow(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                                      int keepViewedHours, NewsArticle after, int limit) {
+        List<Entry> overflow = new ArrayList<>();
+        NavigableSet<Entry> group = byGroup.get(groupKey(orZero(categoryId), orZero(locationId)));
+        if (group == null) {
+            return overflow;
+        }
+
+        LocalDateTime cutoff = publishedBefore.toLocalDateTime();
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Entry> oldestFirst = group.descendingIterator();
+        while (oldestFirst.hasNext() && overflow.size() < limit) {
+            Entry entry = oldestFirst.next();
+            if (!entry.publishedAt.isBefore(cutoff)) {
+                break;
+            }
+            if (isAfter(entry, after) && isRemovable(entry, now, keepViewedHours)) {
+                overflow.add(entry);
+            }
+        }
+        return overflow;
+    }
+
+    private static boolean isAfter(Entry entry, NewsArticle after) {
+        if (after == null) {
+            return true;
+        }
+        int order = entry.publishedAt.compareTo(after.getPublishedAt());
+        return order > 0 || (order == 0 && entry.id > after.getId());
+    }
+
+    private int countSince(NavigableSet<Entry> index, LocalDateTime since) {
+        int count = 0;
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : index) {
+                if (entry.publishedAt.isBefore(since)) {
+                    break;
+                }
+                count++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count;
+    }
+
+    private void add(Entry entry) {
+        NewsArticle article = entry.article;
+        byId.put(entry.id, entry);
+        if (article.getUrl() != null) {
+            idByUrl.put(article.getUrl(), entry.id);
+        }
+        newest.add(entry);
+        if (article.isTrending()) {
+            trending.add(entry);
+        }
+        if (article.getCategoryId() > 0) {
+            byCategory.computeIfAbsent(article.getCategoryId(), key -> emptyIndex()).add(entry);
+        }
+        if (article.getLocationId() > 0) {
+            byLocation.computeIfAbsent(article.getLocationId(), key -> emptyIndex()).add(entry);
+        }
+        byGroup.computeIfAbsent(groupKey(article.getCategoryId(), article.getLocationId()), key -> emptyIndex()).add(entry);
+    }
+
+    private void remove(Entry entry) {
+        NewsArticle article = entry.article;
+        byId.remove(entry.id);
+        if (article.getUrl() != null) {
+            idByUrl.remove(article.getUrl(), entry.id);
+        }
+        newest.remove(entry);
+        trending.remove(entry);
+        removeFromIndex(byCategory, article.getCategoryId(), entry);
+        removeFromIndex(byLocation, article.getLocationId(), entry);
+        removeFromIndex(byGroup, groupKey(article.getCategoryId(), article.getLocationId()), entry);
+    }
+
+    private static <K> void removeFromIndex(Map<K, NavigableSet<Entry>> indexes, K key, Entry entry) {
+        NavigableSet<Entry> index = indexes.get(key);
+        if (index != null && index.remove(entry) && index.isEmpty()) {
+            indexes.remove(key);
+        }
+    }
+
+    private static long groupKey(int categoryId, int locationId) {
+        return ((long) Math.max(categoryId, 0) << 32) | Math.max(locationId, 0);
+    }
+
+    private static int orZero(Integer id) {
+        return id != null && id > 0 ? id : 0;
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(windowDays);
+    }
+
+    private static NewsArticle copyOf(NewsArticle article) {
+        return new NewsArticle(article.getId(), article.getTitle(), article.getDescription(), article.getContent(),
+            article.getUrl(), article.getImageUrl(), article.getSourceName(), article.getSourceUrl(),
+            Math.max(article.getCategoryId(), 0), Math.max(article.getLocationId(), 0), article.getPublishedAt(),
+            article.getCachedAt(), article.isTrending(), article.getViewCount());
+    }
+
+    /**
+     * Stored article; the ordering fields are fixed, so updates replace the entry
+     */
+    private static final class Entry {
+        private final int id;
+        private final LocalDateTime publishedAt;
+        private final NewsArticle article;
+        private LocalDateTime lastViewedAt;
+
+        private Entry(NewsArticle article, LocalDateTime lastViewedAt) {
+            this.id = article.getId();
+            this.publishedAt = article.getPublishedAt();
+            this.article = article;
+            this.lastViewedAt = lastViewedAt;
+        }
+
+        private NewsArticle copy() {
+            return copyOf(article);
+        }
+    }
+}
@@ -14,7 +14,7 @@ import java.util.List;
  * LocationDAO class for database operations on locations
  * Demonstrates DAO pattern for location management
  */
-public class LocationDAO {
+public class LocationDAO implements LocationRepository {
     private static final Logger logger = LoggerFactory.getLogger(LocationDAO.class);
     private final DatabaseConnection dbConnection;
     
@@ -25,6 +25,7 @@ public class LocationDAO {
     /**
      * Get all active locations
      */
+    @Override
     public List<Location> getAllLocations() {
         List<Location> locations = new ArrayList<>();
         String sql = "SELECT * FROM locations WHERE is_active = true ORDER BY name";
@@ -49,6 +50,7 @@ public class LocationDAO {
     /**
      * Get location by ID
      */
+    @Override
     public Location getLocationById(int locationId) {
         String sql = "SELECT * FROM locations WHERE id = ?";
         
@@ -75,6 +77,7 @@ public class LocationDAO {
     /**
      * Get location by country code
      */
+    @Override
     public Location getLocationByCountryCode(String countryCode) {
         String sql = "SELECT * FROM locations WHERE country_code = ? AND is_active = true";
         
@@ -101,6 +104,7 @@ public class LocationDAO {
     /**
      * Save or update location
      */
+    @Override
     public Location saveLocation(Location location) {
         if (location.getId() > 0) {
             return updateLocation(location);
@@ -182,6 +186,7 @@ public class LocationDAO {
     /**
      * Delete location (soft delete)
      */
+    @Override
     public boolean deleteLocation(int locationId) {
         String sql = "UPDATE locations SET is_active = false WHERE id = ?";
         
@@ -204,6 +209,7 @@ public class LocationDAO {
     /**
      * Get locations count
      */
+    @Override
     public int getLocationsCount() {
         String sql = "SELECT COUNT(*) FROM locations WHERE is_active = true";
         
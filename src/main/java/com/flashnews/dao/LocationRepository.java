@@ -0,0 +1,43 @@
+package com.flashnews.dao;
+
+import com.flashnews.model.Location;
+
+import java.util.List;
+
+/**
+ * LocationRepository interface for storage of news locations
+ * Implemented by LocationDAO over MySQL and InMemoryLocationRepository
+ */
+public interface LocationRepository {
+
+    /**
+     * Get all active locations ordered by name
+     */
+    List<Location> getAllLocations();
+
+    /**
+     * Get location by ID
+     */
+    Location getLocationById(int locationId);
+
+    /**
+     * Get active location by country code
+     */
+    Location getLocationByCountryCode(String countryCode);
+
+    /**
+     * Save or update location
+     * @return The saved location with its ID set, or null on failure
+     */
+    Location saveLocation(Location location);
+
+    /**
+     * Delete location (soft delete)
+     */
+    boolean deleteLocation(int locationId);
+
+    /**
+     * Get active locations count
+     */
+    int getLocationsCount();
+}
@@ -1,21 +1,38 @@
 package com.flashnews.dao;
 
+import com.flashnews.archive.ArticleArchive;
 import com.flashnews.database.DatabaseConnection;
 import com.flashnews.model.NewsArticle;
+import com.flashnews.trending.TrendingScorer;
+import com.flashnews.util.ApplicationProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * NewsArticleDAO class for database operations on news articles
  * Demonstrates DAO pattern and SQL operations
  */
-public class NewsArticleDAO {
+public class NewsArticleDAO implements NewsArticleRepository {
     private static final Logger logger = LoggerFactory.getLogger(NewsArticleDAO.class);
+    // Feed listings and deltas only look this far back, which lets MySQL prune old published_at
+    // partitions; keyword search is left unbounded so older stories can still be found
+    private static final String RECENT_BOUND = " AND published_at >= DATE_SUB(NOW(), INTERVAL " +
+        ApplicationProperties.getInt("news.query.windowDays", 14) + " DAY)";
+    private static final String RETENTION_KEEP_CONDITION =
+        "AND is_trending = FALSE AND (last_viewed_at IS NULL OR last_viewed_at < DATE_SUB(NOW(), INTERVAL ? HOUR))";
+    private static final String EXPIRED_CONDITION =
+        "id >= ? AND id < ? AND COALESCE(published_at, cached_at) < DATE_SUB(NOW(), INTERVAL ? DAY) " +
+        RETENTION_KEEP_CONDITION;
+    private static final String GROUP_OVERFLOW_CONDITION =
+        "category_id <=> ? AND location_id <=> ? AND published_at < ? " + RETENTION_KEEP_CONDITION;
+    private static final String GROUP_OVERFLOW_ORDER = " ORDER BY published_at, id LIMIT ?";
     private final DatabaseConnection dbConnection;
     
     public NewsArticleDAO() {
@@ -25,6 +42,7 @@ public class NewsArticleDAO {
     /**
      * Get latest news articles with optional filters
      */
+    @Override
     public List<NewsArticle> getLatestNews(Integer categoryId, Integer locationId, int limit) {
         List<NewsArticle> articles = new ArrayList<>();
         String sql = buildNewsQuery("latest", categoryId, locationId, limit);
@@ -51,8 +69,72 @@ public class NewsArticleDAO {
     
     /**
      * Get trending news articles with optional filters
+     * Reads the precomputed trending ranking and falls back to the trending flag until one exists
      */
+    @Override
     public List<NewsArticle> getTrendingNews(Integer categoryId, Integer locationId, int limit) {
+        List<Integer> ranking = TrendingScorer.getInstance().getRanking(categoryId, locationId, limit);
+        if (ranking.isEmpty()) {
+            return getFlaggedTrendingNews(categoryId, locationId, limit);
+        }
+        
+        List<NewsArticle> articles = getArticlesByIds(ranking);
+        for (NewsArticle article : articles) {
+            article.setTrending(true);
+        }
+        return articles;
+    }
+    
+    /**
+     * Get articles by ID in the order the IDs are given
+     */
+    @Override
+    public List<NewsArticle> getArticlesByIds(List<Integer> articleIds) {
+        List<NewsArticle> articles = new ArrayList<>();
+        if (articleIds.isEmpty()) {
+            return articles;
+        }
+        
+        StringBuilder sql = new StringBuilder("SELECT * FROM news_articles WHERE id IN (");
+        for (int i = 0; i < articleIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        
+        Map<Integer, NewsArticle> articlesById = new HashMap<>();
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            for (int i = 0; i < articleIds.size(); i++) {
+                stmt.setInt(i + 1, articleIds.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    NewsArticle article = mapResultSetToArticle(rs);
+                    articlesById.put(article.getId(), article);
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching articles by IDs", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        for (Integer articleId : articleIds) {
+            NewsArticle article = articlesById.get(articleId);
+            if (article != null) {
+                articles.add(article);
+            }
+        }
+        return articles;
+    }
+    
+    /**
+     * Get articles flagged as trending, used before any ranking has been computed
+     */
+    private List<NewsArticle> getFlaggedTrendingNews(Integer categoryId, Integer locationId, int limit) {
         List<NewsArticle> articles = new ArrayList<>();
         String sql = buildNewsQuery("trending", categoryId, locationId, limit);
         
@@ -79,6 +161,7 @@ public class NewsArticleDAO {
     /**
      * Search news articles by keyword
      */
+    @Override
     public List<NewsArticle> searchNews(String keyword, Integer categoryId, Integer locationId, int limit) {
         List<NewsArticle> articles = new ArrayList<>();
         String sql = buildSearchQuery(categoryId, locationId, limit);
@@ -105,9 +188,130 @@ public class NewsArticleDAO {
         return articles;
     }
     
+    /**
+     * Get articles inserted after the given article ID, oldest first
+     */
+    @Override
+    public List<NewsArticle> getArticlesSince(int sinceId, Integer categoryId, Integer locationId, int limit) {
+        List<NewsArticle> articles = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM news_articles WHERE id > ?").append(RECENT_BOUND);
+        
+        if (categoryId != null && categoryId > 0) {
+            sql.append(" AND category_id = ?");
+        }
+        
+        if (locationId != null && locationId > 0) {
+            sql.append(" AND location_id = ?");
+        }
+        
+        sql.append(" ORDER BY id ASC LIMIT ?");
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            stmt.setInt(1, sinceId);
+            setQueryParameters(stmt, categoryId, locationId, limit, 2);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    articles.add(mapResultSetToArticle(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching articles since ID: " + sinceId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return articles;
+    }
+    
+    /**
+     * Get titles of recently published articles with their publish time
+     * Only the two columns are read, so this stays cheap for suggestion index rebuilds
+     */
+    @Override
+    public Map<String, LocalDateTime> getRecentTitles(int days, int limit) {
+        Map<String, LocalDateTime> titles = new HashMap<>();
+        String sql = "SELECT title, published_at FROM news_articles " +
+                    "WHERE published_at >= DATE_SUB(NOW(), INTERVAL ? DAY) ORDER BY published_at DESC LIMIT ?";
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, days);
+            stmt.setInt(2, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp publishedAt = rs.getTimestamp("published_at");
+                    titles.putIfAbsent(rs.getString("title"),
+                                       publishedAt != null ? publishedAt.toLocalDateTime() : LocalDateTime.now());
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching recent titles", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return titles;
+    }
+    
+    /**
+     * Get the lowest stored article ID
+     */
+    @Override
+    public int getMinArticleId() {
+        String sql = "SELECT COALESCE(MIN(id), 0) FROM news_articles";
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error getting min article ID", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Get the highest stored article ID
+     */
+    @Override
+    public int getMaxArticleId() {
+        String sql = "SELECT COALESCE(MAX(id), 0) FROM news_articles";
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error getting max article ID", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return -1;
+    }
+    
     /**
      * Get news article by ID
      */
+    @Override
     public NewsArticle getArticleById(int articleId) {
         String sql = "SELECT * FROM news_articles WHERE id = ?";
         
@@ -128,12 +332,14 @@ public class NewsArticleDAO {
             dbConnection.returnConnection(null);
         }
         
-        return null;
+        // Expired articles live on in the archive
+        return ArticleArchive.getInstance().getArticleById(articleId);
     }
     
     /**
      * Get news article by URL
      */
+    @Override
     public NewsArticle getArticleByUrl(String url) {
         String sql = "SELECT * FROM news_articles WHERE url = ?";
         
@@ -154,12 +360,13 @@ public class NewsArticleDAO {
             dbConnection.returnConnection(null);
         }
         
-        return null;
+        return ArticleArchive.getInstance().getArticleByUrl(url);
     }
     
     /**
      * Save or update news article
      */
+    @Override
     public NewsArticle saveArticle(NewsArticle article) {
         if (article.getId() > 0) {
             return updateArticle(article);
@@ -222,7 +429,7 @@ public class NewsArticleDAO {
     private NewsArticle updateArticle(NewsArticle article) {
         String sql = "UPDATE news_articles SET title = ?, description = ?, content = ?, " +
                     "url = ?, image_url = ?, source_name = ?, source_url = ?, category_id = ?, " +
-                    "location_id = ?, published_at = ?, is_trending = ?, view_count = ? WHERE id = ?";
+                    "location_id = ?, published_at = COALESCE(?, published_at), is_trending = ?, view_count = ? WHERE id = ?";
         
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -261,8 +468,9 @@ public class NewsArticleDAO {
     /**
      * Increment article view count
      */
+    @Override
     public boolean incrementViewCount(int articleId) {
-        String sql = "UPDATE news_articles SET view_count = view_count + 1 WHERE id = ?";
+        String sql = "UPDATE news_articles SET view_count = view_count + 1, last_viewed_at = NOW() WHERE id = ?";
         
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -280,9 +488,276 @@ public class NewsArticleDAO {
         }
     }
     
+    /**
+     * Get articles of an ID range published before a maximum age
+     * Trending articles and articles viewed within the keep window are retained
+     */
+    @Override
+    public List<NewsArticle> getExpiredArticles(int fromId, int toId, int maxAgeDays, int keepViewedHours) {
+        List<NewsArticle> articles = new ArrayList<>();
+        String sql = "SELECT * FROM news_articles WHERE " + EXPIRED_CONDITION;
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            setExpiredParameters(stmt, fromId, toId, maxAgeDays, keepViewedHours);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    articles.add(mapResultSetToArticle(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching expired articles in ID range " + fromId + "-" + toId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return articles;
+    }
+    
+    /**
+     * Delete articles of an ID range published before a maximum age
+     * Trending articles and articles viewed within the keep window are retained
+     * @return Number of deleted articles, or -1 on error
+     */
+    @Override
+    public int deleteExpiredArticles(int fromId, int toId, int maxAgeDays, int keepViewedHours) {
+        String sql = "DELETE FROM news_articles WHERE " + EXPIRED_CONDITION;
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            setExpiredParameters(stmt, fromId, toId, maxAgeDays, keepViewedHours);
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            logger.error("Error deleting expired articles in ID range " + fromId + "-" + toId, e);
+            return -1;
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+    }
+    
+    private void setExpiredParameters(PreparedStatement stmt, int fromId, int toId, int maxAgeDays,
+                                      int keepViewedHours) throws SQLException {
+        stmt.setInt(1, fromId);
+        stmt.setInt(2, toId);
+        stmt.setInt(3, maxAgeDays);
+        stmt.setInt(4, keepViewedHours);
+    }
+    
+    /**
+     * Get category and location combinations holding more than a number of articles
+     * @return Maps containing categoryId, locationId and rows
+     */
+    @Override
+    public List<Map<String, Object>> getOverfullGroups(int maxRows) {
+        List<Map<String, Object>> groups = new ArrayList<>();
+        String sql = "SELECT category_id, location_id, COUNT(*) AS article_count FROM news_articles " +
+                    "GROUP BY category_id, location_id HAVING COUNT(*) > ?";
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, maxRows);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> group = new HashMap<>();
+                    group.put("categoryId", rs.getObject("category_id", Integer.class));
+                    group.put("locationId", rs.getObject("location_id", Integer.class));
+                    group.put("rows", rs.getInt("article_count"));
+                    groups.add(group);
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching overfull article groups", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return groups;
+    }
+    
+    /**
+     * Get the publish time of the newest article beyond the rows a group may keep
+     * @return Publish time; articles published before it overflow the group, or null if the group fits
+     */
+    @Override
+    public Timestamp getGroupCutoff(Integer categoryId, Integer locationId, int maxRows) {
+        String sql = "SELECT published_at FROM news_articles WHERE category_id <=> ? AND location_id <=> ? " +
+                    "ORDER BY published_at DESC LIMIT 1 OFFSET ?";
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, categoryId, Types.INTEGER);
+            stmt.setObject(2, locationId, Types.INTEGER);
+            stmt.setInt(3, maxRows);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getTimestamp("published_at");
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching cutoff for category " + categoryId + " and location " + locationId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Get the oldest articles that overflow their category and location group
+     * Trending articles and articles viewed within the keep window are retained; batches
+     * continue after the previous one by publish time and ID
+     */
+    @Override
+    public List<NewsArticle> getGroupOverflowArticles(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                                                      int keepViewedHours, NewsArticle after, int limit) {
+        List<NewsArticle> articles = new ArrayList<>();
+        String sql = "SELECT * FROM news_articles WHERE " + GROUP_OVERFLOW_CONDITION +
+                    (after != null ? " AND (published_at > ? OR (published_at = ? AND id > ?))" : "") +
+                    GROUP_OVERFLOW_ORDER;
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = setGroupOverflowParameters(stmt, categoryId, locationId, publishedBefore, keepViewedHours);
+            if (after != null) {
+                Timestamp afterPublishedAt = Timestamp.valueOf(after.getPublishedAt());
+                stmt.setTimestamp(index++, afterPublishedAt);
+                stmt.setTimestamp(index++, afterPublishedAt);
+                stmt.setInt(index++, after.getId());
+            }
+            stmt.setInt(index, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    articles.add(mapResultSetToArticle(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching overflowing articles for category " + categoryId +
+                        " and location " + locationId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return articles;
+    }
+    
+    /**
+     * Delete the oldest articles that overflow their category and location group
+     * Trending articles and articles viewed within the keep window are retained
+     * @return Number of deleted articles, or -1 on error
+     */
+    @Override
+    public int deleteGroupOverflow(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                                   int keepViewedHours, int limit) {
+        String sql = "DELETE FROM news_articles WHERE " + GROUP_OVERFLOW_CONDITION + GROUP_OVERFLOW_ORDER;
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = setGroupOverflowParameters(stmt, categoryId, locationId, publishedBefore, keepViewedHours);
+            stmt.setInt(index, limit);
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            logger.error("Error deleting overflowing articles for category " + categoryId +
+                        " and location " + locationId, e);
+            return -1;
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+    }
+    
+    /**
+     * Set the group overflow condition parameters
+     * @return Index of the next parameter
+     */
+    private int setGroupOverflowParameters(PreparedStatement stmt, Integer categoryId, Integer locationId,
+                                           Timestamp publishedBefore, int keepViewedHours) throws SQLException {
+        stmt.setObject(1, categoryId, Types.INTEGER);
+        stmt.setObject(2, locationId, Types.INTEGER);
+        stmt.setTimestamp(3, publishedBefore);
+        stmt.setInt(4, keepViewedHours);
+        return 5;
+    }
+    
+    /**
+     * Delete articles by ID, used once they have been archived
+     * @return Number of deleted articles, or -1 on error
+     */
+    @Override
+    public int deleteArticlesByIds(List<Integer> articleIds) {
+        if (articleIds.isEmpty()) {
+            return 0;
+        }
+        
+        StringBuilder sql = new StringBuilder("DELETE FROM news_articles WHERE id IN (");
+        for (int i = 0; i < articleIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            for (int i = 0; i < articleIds.size(); i++) {
+                stmt.setInt(i + 1, articleIds.get(i));
+            }
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            logger.error("Error deleting " + articleIds.size() + " archived articles", e);
+            return -1;
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+    }
+    
+    /**
+     * Get all articles stored in one published_at partition
+     * @return Articles, or null on error
+     */
+    public List<NewsArticle> getArticlesInPartition(String partition) {
+        List<NewsArticle> articles = new ArrayList<>();
+        if (!partition.matches("p_?[0-9a-z_]+")) {
+            throw new IllegalArgumentException("Invalid partition name: " + partition);
+        }
+        String sql = "SELECT * FROM news_articles PARTITION (" + partition + ")";
+        
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                articles.add(mapResultSetToArticle(rs));
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error fetching articles of partition " + partition, e);
+            return null;
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+        
+        return articles;
+    }
+    
     /**
      * Set trending status for article
      */
+    @Override
     public boolean setTrendingStatus(int articleId, boolean trending) {
         String sql = "UPDATE news_articles SET is_trending = ? WHERE id = ?";
         
@@ -306,8 +781,8 @@ public class NewsArticleDAO {
     /**
      * Build news query based on filter type
      */
-    private String buildNewsQuery(String filterType, Integer categoryId, Integer locationId, int limit) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM news_articles WHERE 1=1");
+    String buildNewsQuery(String filterType, Integer categoryId, Integer locationId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM news_articles WHERE 1=1").append(RECENT_BOUND);
         
         if ("trending".equals(filterType)) {
             sql.append(" AND is_trending = true");
@@ -375,6 +850,7 @@ public class NewsArticleDAO {
     /**
      * Get total articles count
      */
+    @Override
     public int getTotalArticlesCount() {
         String sql = "SELECT COUNT(*) FROM news_articles";
         
@@ -398,8 +874,9 @@ public class NewsArticleDAO {
     /**
      * Get trending articles count
      */
+    @Override
     public int getTrendingArticlesCount() {
-        String sql = "SELECT COUNT(*) FROM news_articles WHERE is_trending = true";
+        String sql = "SELECT COUNT(*) FROM news_articles WHERE is_trending = true" + RECENT_BOUND;
         
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
@@ -421,6 +898,7 @@ public class NewsArticleDAO {
     /**
      * Get recent articles count (last 24 hours)
      */
+    @Override
     public int getRecentArticlesCount() {
         String sql = "SELECT COUNT(*) FROM news_articles WHERE published_at >= DATE_SUB(NOW(), INTERVAL 24 HOUR)";
         
@@ -444,6 +922,7 @@ public class NewsArticleDAO {
     /**
      * Get total views count
      */
+    @Override
     public int getTotalViewsCount() {
         String sql = "SELECT SUM(view_count) FROM news_articles";
         
@@ -467,7 +946,7 @@ public class NewsArticleDAO {
     /**
      * Map ResultSet to NewsArticle object
      */
-    private NewsArticle mapResultSetToArticle(ResultSet rs) throws SQLException {
+    NewsArticle mapResultSetToArticle(ResultSet rs) throws SQLException {
         NewsArticle article = new NewsArticle();
         article.setId(rs.getInt("id"));
         article.setTitle(rs.getString("title"));
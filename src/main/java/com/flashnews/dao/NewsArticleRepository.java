@@ -0,0 +1,145 @@
+package com.flashnews.dao;
+
+import com.flashnews.model.NewsArticle;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NewsArticleRepository interface for storage of news articles
+ * Implemented by NewsArticleDAO over MySQL and InMemoryNewsArticleRepository
+ */
+public interface NewsArticleRepository {
+
+    /**
+     * Get latest news articles with optional filters
+     */
+    List<NewsArticle> getLatestNews(Integer categoryId, Integer locationId, int limit);
+
+    /**
+     * Get trending news articles with optional filters
+     */
+    List<NewsArticle> getTrendingNews(Integer categoryId, Integer locationId, int limit);
+
+    /**
+     * Get articles by ID in the order the IDs are given
+     */
+    List<NewsArticle> getArticlesByIds(List<Integer> articleIds);
+
+    /**
+     * Search news articles by keyword in title or description
+     */
+    List<NewsArticle> searchNews(String keyword, Integer categoryId, Integer locationId, int limit);
+
+    /**
+     * Get articles inserted after the given article ID, oldest first
+     */
+    List<NewsArticle> getArticlesSince(int sinceId, Integer categoryId, Integer locationId, int limit);
+
+    /**
+     * Get titles of recently published articles with their publish time
+     */
+    Map<String, LocalDateTime> getRecentTitles(int days, int limit);
+
+    /**
+     * Get the lowest stored article ID, or -1 on error
+     */
+    int getMinArticleId();
+
+    /**
+     * Get the highest stored article ID, or -1 on error
+     */
+    int getMaxArticleId();
+
+    /**
+     * Get news article by ID, falling back to the archive
+     */
+    NewsArticle getArticleById(int articleId);
+
+    /**
+     * Get news article by URL, falling back to the archive
+     */
+    NewsArticle getArticleByUrl(String url);
+
+    /**
+     * Save or update news article
+     * @return The saved article with its ID set, or null on failure
+     */
+    NewsArticle saveArticle(NewsArticle article);
+
+    /**
+     * Increment article view count and record the view time
+     */
+    boolean incrementViewCount(int articleId);
+
+    /**
+     * Get articles of an ID range published before a maximum age
+     * Trending articles and articles viewed within the keep window are retained
+     */
+    List<NewsArticle> getExpiredArticles(int fromId, int toId, int maxAgeDays, int keepViewedHours);
+
+    /**
+     * Delete articles of an ID range published before a maximum age
+     * @return Number of deleted articles, or -1 on error
+     */
+    int deleteExpiredArticles(int fromId, int toId, int maxAgeDays, int keepViewedHours);
+
+    /**
+     * Get category and location combinations holding more than a number of articles
+     * @return Maps containing categoryId, locationId and rows
+     */
+    List<Map<String, Object>> getOverfullGroups(int maxRows);
+
+    /**
+     * Get the publish time of the newest article beyond the rows a group may keep
+     * @return Publish time, or null if the group fits
+     */
+    Timestamp getGroupCutoff(Integer categoryId, Integer locationId, int maxRows);
+
+    /**
+     * Get the oldest articles that overflow their category and location group
+     * @param after Last article of the previous batch, or null to start from the oldest
+     */
+    List<NewsArticle> getGroupOverflowArticles(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                                               int keepViewedHours, NewsArticle after, int limit);
+
+    /**
+     * Delete the oldest articles that overflow their category and location group
+     * @return Number of deleted articles, or -1 on error
+     */
+    int deleteGroupOverflow(Integer categoryId, Integer locationId, Timestamp publishedBefore,
+                            int keepViewedHours, int limit);
+
+    /**
+     * Delete articles by ID, used once they have been archived
+     * @return Number of deleted articles, or -1 on error
+     */
+    int deleteArticlesByIds(List<Integer> articleIds);
+
+    /**
+     * Set trending status for article
+     */
+    boolean setTrendingStatus(int articleId, boolean trending);
+
+    /**
+     * Get total articles count
+     */
+    int getTotalArticlesCount();
+
+    /**
+     * Get trending articles count
+     */
+    int getTrendingArticlesCount();
+
+    /**
+     * Get recent articles count (last 24 hours)
+     */
+    int getRecentArticlesCount();
+
+    /**
+     * Get total views count
+     */
+    int getTotalViewsCount();
+}
@@ -0,0 +1,104 @@
+package com.flashnews.dao;
+
+import com.flashnews.database.DatabaseConnection;
+import com.flashnews.model.ArticlePartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * PartitionDAO class for partition maintenance of the news_articles table
+ * Partition changes are metadata operations, so none of them touch individual rows
+ * except splitting a catch-all partition that still holds data
+ */
+public class PartitionDAO {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionDAO.class);
+    private static final String CATCH_ALL_PARTITION = "p_future";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p_?[0-9a-z_]+");
+    private final DatabaseConnection dbConnection;
+
+    public PartitionDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Get the partitions of news_articles in range order
+     * @return Partitions, empty if the table is not partitioned
+     */
+    public List<ArticlePartition> getPartitions() {
+        List<ArticlePartition> partitions = new ArrayList<>();
+        String sql = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'news_articles' AND PARTITION_NAME IS NOT NULL " +
+                    "ORDER BY PARTITION_ORDINAL_POSITION";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                String description = rs.getString("PARTITION_DESCRIPTION");
+                Long lessThan = "MAXVALUE".equalsIgnoreCase(description) ? null : Long.valueOf(description.trim());
+                partitions.add(new ArticlePartition(rs.getString("PARTITION_NAME"), lessThan, rs.getLong("TABLE_ROWS")));
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching news_articles partitions", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Split new range partitions off the catch-all partition
+     * @param names Partition names in range order
+     * @param lessThanEpochSeconds Exclusive upper bounds matching the names
+     */
+    public boolean addPartitions(List<String> names, List<Long> lessThanEpochSeconds) {
+        StringBuilder sql = new StringBuilder("ALTER TABLE news_articles REORGANIZE PARTITION ")
+            .append(CATCH_ALL_PARTITION).append(" INTO (");
+        for (int i = 0; i < names.size(); i++) {
+            sql.append("PARTITION ").append(checkName(names.get(i)))
+               .append(" VALUES LESS THAN (").append(lessThanEpochSeconds.get(i)).append("), ");
+        }
+        sql.append("PARTITION ").append(CATCH_ALL_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        return executeDdl(sql.toString());
+    }
+
+    /**
+     * Drop a partition with all of its rows
+     */
+    public boolean dropPartition(String name) {
+        return executeDdl("ALTER TABLE news_articles DROP PARTITION " + checkName(name));
+    }
+
+    private boolean executeDdl(String sql) {
+        try (Connection conn = dbConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.execute(sql);
+            return true;
+
+        } catch (SQLException e) {
+            logger.error("Error executing partition DDL: " + sql, e);
+            return false;
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+    }
+
+    /**
+     * Partition names end up in DDL text, which cannot take bind parameters
+     */
+    private static String checkName(String name) {
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,59 @@
+package com.flashnews.dao;
+
+import com.flashnews.metrics.MetricFamily;
+import com.flashnews.metrics.MetricsRegistry;
+import com.flashnews.metrics.TimedProxy;
+import com.flashnews.metrics.Timer;
+import com.flashnews.util.ApplicationProperties;
+
+/**
+ * Repositories selecting the storage backend for articles, categories and locations
+ * storage.backend=jdbc (default) uses the MySQL DAOs; storage.backend=memory keeps
+ * everything in process memory and needs no database for those tables.
+ * Every call through a repository is timed per method
+ */
+public final class Repositories {
+    private static final boolean IN_MEMORY =
+        "memory".equalsIgnoreCase(ApplicationProperties.getString("storage.backend", "jdbc").trim());
+
+    private static final MetricFamily<Timer> CALL_TIMERS = MetricsRegistry.getInstance().timer(
+        "flashnews_repository_call_seconds", "Repository call latency by repository and method", "repository", "method");
+
+    private static NewsArticleRepository newsArticleRepository;
+    private static CategoryRepository categoryRepository;
+    private static LocationRepository locationRepository;
+
+    private Repositories() {
+    }
+
+    /**
+     * Whether the in-memory backend is configured
+     */
+    public static boolean isInMemory() {
+        return IN_MEMORY;
+    }
+
+    public static synchronized NewsArticleRepository newsArticles() {
+        if (newsArticleRepository == null) {
+            newsArticleRepository = TimedProxy.wrap(NewsArticleRepository.class,
+                IN_MEMORY ? new InMemoryNewsArticleRepository() : new NewsArticleDAO(), CALL_TIMERS, "news_articles");
+        }
+        return newsArticleRepository;
+    }
+
+    public static synchronized CategoryRepository categories() {
+        if (categoryRepository == null) {
+            categoryRepository = TimedProxy.wrap(CategoryRepository.class,
+                IN_MEMORY ? new InMemoryCategoryRepository() : new CategoryDAO(), CALL_TIMERS, "categories");
+        }
+        return categoryRepository;
+    }
+
+    public static synchronized LocationRepository locations() {
+        if (locationRepository == null) {
+            locationRepository = TimedProxy.wrap(LocationRepository.class,
+                IN_MEMORY ? new InMemoryLocationRepository() : new LocationDAO(), CALL_TIMERS, "locations");
+        }
+        return locationRepository;
+    }
+}
@@ -0,0 +1,325 @@
+package com.flashnews.dao;
+
+import com.flashnews.database.DatabaseConnection;
+import com.flashnews.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserDAO class for database operations on users and their preferences
+ * Demonstrates DAO pattern for user management
+ */
+public class UserDAO {
+    private static final Logger logger = LoggerFactory.getLogger(UserDAO.class);
+    private final DatabaseConnection dbConnection;
+
+    public UserDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Get user by ID
+     */
+    public User getUserById(int userId) {
+        return getUserBy("id", userId);
+    }
+
+    /**
+     * Get user by username
+     */
+    public User getUserByUsername(String username) {
+        return getUserBy("username", username);
+    }
+
+    /**
+     * Get user by email
+     */
+    public User getUserByEmail(String email) {
+        return getUserBy("email", email);
+    }
+
+    /**
+     * Get all users
+     */
+    public List<User> getAllUsers() {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM users ORDER BY created_at DESC";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                users.add(mapResultSetToUser(rs));
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching all users", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return users;
+    }
+
+    /**
+     * Insert a new user
+     */
+    public User insertUser(User user) {
+        String sql = "INSERT INTO users (username, email, password_hash, full_name, created_at, is_admin) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setString(1, user.getUsername());
+            stmt.setString(2, user.getEmail());
+            stmt.setString(3, user.getPasswordHash());
+            stmt.setString(4, user.getFullName());
+            stmt.setTimestamp(5, Timestamp.valueOf(user.getCreatedAt() != null ?
+                user.getCreatedAt() : LocalDateTime.now()));
+            stmt.setBoolean(6, user.isAdmin());
+
+            if (stmt.executeUpdate() > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        user.setId(generatedKeys.getInt(1));
+                    }
+                }
+                logger.info("User inserted with ID: " + user.getId());
+                return user;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error inserting user: " + user.getUsername(), e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return null;
+    }
+
+    /**
+     * Update user profile fields
+     */
+    public User updateUser(User user) {
+        String sql = "UPDATE users SET username = ?, email = ?, full_name = ?, is_admin = ? WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, user.getUsername());
+            stmt.setString(2, user.getEmail());
+            stmt.setString(3, user.getFullName());
+            stmt.setBoolean(4, user.isAdmin());
+            stmt.setInt(5, user.getId());
+
+            if (stmt.executeUpdate() > 0) {
+                return user;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error updating user: " + user.getId(), e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return null;
+    }
+
+    /**
+     * Update password hash of a user
+     */
+    public boolean updatePasswordHash(int userId, String passwordHash) {
+        return executeUpdate("UPDATE users SET password_hash = ? WHERE id = ?", passwordHash, userId);
+    }
+
+    /**
+     * Record a successful login
+     */
+    public boolean updateLastLogin(int userId, LocalDateTime lastLogin) {
+        return executeUpdate("UPDATE users SET last_login = ? WHERE id = ?", Timestamp.valueOf(lastLogin), userId);
+    }
+
+    /**
+     * Delete a user
+     */
+    public boolean deleteUser(int userId) {
+        return executeUpdate("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    /**
+     * Get preferences of a user
+     * @return Map of preferences, empty if the user has none stored
+     */
+    public Map<String, Object> getUserPreferences(int userId) {
+        Map<String, Object> preferences = new HashMap<>();
+        String sql = "SELECT * FROM user_preferences WHERE user_id = ? ORDER BY id DESC LIMIT 1";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    preferences.putAll(mapResultSetToPreferences(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching preferences for user: " + userId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return preferences;
+    }
+
+    /**
+     * Get preferences of all users that have stored any
+     * @return Map of user ID to preferences
+     */
+    public Map<Integer, Map<String, Object>> getAllUserPreferences() {
+        Map<Integer, Map<String, Object>> preferencesByUser = new HashMap<>();
+        String sql = "SELECT * FROM user_preferences ORDER BY id";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                // Later rows win when a user has more than one
+                preferencesByUser.put(rs.getInt("user_id"), mapResultSetToPreferences(rs));
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching all user preferences", e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return preferencesByUser;
+    }
+
+    /**
+     * Store preferences of a user, updating the existing row if there is one
+     */
+    public boolean saveUserPreferences(int userId, Integer preferredCategoryId, Integer preferredLocationId,
+                                       String newsFilter, Integer autoRefreshInterval) {
+        String updateSql = "UPDATE user_preferences SET preferred_category_id = ?, preferred_location_id = ?, " +
+                          "news_filter = ?, auto_refresh_interval = ? WHERE user_id = ?";
+        String insertSql = "INSERT INTO user_preferences (preferred_category_id, preferred_location_id, " +
+                          "news_filter, auto_refresh_interval, user_id) VALUES (?, ?, ?, ?, ?)";
+
+        try (Connection conn = dbConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                setPreferenceParameters(stmt, userId, preferredCategoryId, preferredLocationId,
+                                        newsFilter, autoRefreshInterval);
+                if (stmt.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                setPreferenceParameters(stmt, userId, preferredCategoryId, preferredLocationId,
+                                        newsFilter, autoRefreshInterval);
+                return stmt.executeUpdate() > 0;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error saving preferences for user: " + userId, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return false;
+    }
+
+    private void setPreferenceParameters(PreparedStatement stmt, int userId, Integer preferredCategoryId,
+                                         Integer preferredLocationId, String newsFilter,
+                                         Integer autoRefreshInterval) throws SQLException {
+        stmt.setObject(1, preferredCategoryId);
+        stmt.setObject(2, preferredLocationId);
+        stmt.setString(3, newsFilter != null ? newsFilter : "latest");
+        stmt.setInt(4, autoRefreshInterval != null ? autoRefreshInterval : 300);
+        stmt.setInt(5, userId);
+    }
+
+    private User getUserBy(String column, Object value) {
+        String sql = "SELECT * FROM users WHERE " + column + " = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setObject(1, value);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToUser(rs);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching user by " + column + ": " + value, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return null;
+    }
+
+    private boolean executeUpdate(String sql, Object... parameters) {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.length; i++) {
+                stmt.setObject(i + 1, parameters[i]);
+            }
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            logger.error("Error executing user update: " + sql, e);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+
+        return false;
+    }
+
+    /**
+     * Map ResultSet row to preferences map
+     */
+    private Map<String, Object> mapResultSetToPreferences(ResultSet rs) throws SQLException {
+        Map<String, Object> preferences = new HashMap<>();
+        preferences.put("preferredCategoryId", (Integer) rs.getObject("preferred_category_id"));
+        preferences.put("preferredLocationId", (Integer) rs.getObject("preferred_location_id"));
+        preferences.put("newsFilter", rs.getString("news_filter"));
+        preferences.put("autoRefreshInterval", rs.getInt("auto_refresh_interval"));
+        return preferences;
+    }
+
+    /**
+     * Map ResultSet to User object
+     */
+    private User mapResultSetToUser(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp lastLogin = rs.getTimestamp("last_login");
+        return new User(
+            rs.getInt("id"),
+            rs.getString("username"),
+            rs.getString("email"),
+            rs.getString("password_hash"),
+            rs.getString("full_name"),
+            createdAt != null ? createdAt.toLocalDateTime() : null,
+            lastLogin != null ? lastLogin.toLocalDateTime() : null,
+            rs.getBoolean("is_admin")
+        );
+    }
+}
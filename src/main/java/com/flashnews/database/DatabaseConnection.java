@@ -1,20 +1,24 @@
 package com.flashnews.database;
 
-import java.io.IOException;
-import java.io.InputStream;
+import com.flashnews.metrics.Counter;
+import com.flashnews.metrics.MetricsRegistry;
+import com.flashnews.metrics.Timer;
+import com.flashnews.util.ApplicationProperties;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * DatabaseConnection class for managing database connections
- * Demonstrates Singleton pattern and connection pooling
+ * Demonstrates Singleton pattern and connection pooling; connections handed out
+ * go back to the pool when closed
  */
 public class DatabaseConnection {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
@@ -26,12 +30,31 @@ public class DatabaseConnection {
     private String url;
     private String username;
     private String password;
+    private final long maxWaitMillis = ApplicationProperties.getLong("db.maxWait", 10000);
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter createdCounter;
+    private final Counter closedCounter;
     private BlockingQueue<Connection> connectionPool;
-    private boolean initialized = false;
+    private volatile boolean initialized = false;
     
     // Private constructor for Singleton pattern
     private DatabaseConnection() {
         loadDatabaseProperties();
+        
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.waitTimer = metrics.timer("flashnews_db_pool_wait_seconds",
+            "Time spent waiting for a pooled database connection").labels();
+        this.createdCounter = metrics.counter("flashnews_db_pool_connections_created_total",
+            "Physical database connections opened").labels();
+        this.closedCounter = metrics.counter("flashnews_db_pool_connections_closed_total",
+            "Physical database connections closed by the pool").labels();
+        metrics.gauge("flashnews_db_pool_connections_active", "Connections currently lent out",
+            activeConnections::get);
+        metrics.gauge("flashnews_db_pool_connections_idle", "Connections waiting in the pool",
+            () -> connectionPool != null ? connectionPool.size() : 0);
+        metrics.gauge("flashnews_db_pool_connections_max", "Maximum number of pooled connections", () -> MAX_POOL_SIZE);
     }
     
     /**
@@ -49,23 +72,15 @@ public class DatabaseConnection {
      * Load database configuration from properties file
      */
     private void loadDatabaseProperties() {
-        Properties props = new Properties();
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("database.properties")) {
-            if (input == null) {
-                throw new RuntimeException("Unable to find database.properties file");
-            }
-            props.load(input);
-            
-            this.driver = props.getProperty("db.driver");
-            this.url = props.getProperty("db.url");
-            this.username = props.getProperty("db.username");
-            this.password = props.getProperty("db.password");
-            
-            logger.info("Database properties loaded successfully");
-        } catch (IOException e) {
-            logger.error("Error loading database properties", e);
-            throw new RuntimeException("Failed to load database properties", e);
+        this.driver = ApplicationProperties.getString("db.driver", null);
+        this.url = ApplicationProperties.getString("db.url", null);
+        this.username = ApplicationProperties.getString("db.username", null);
+        this.password = ApplicationProperties.getString("db.password", "");
+        
+        if (driver == null || url == null) {
+            throw new RuntimeException("Database driver and URL must be configured in database.properties");
         }
+        logger.info("Database properties loaded successfully");
     }
     
     /**
@@ -84,11 +99,8 @@ public class DatabaseConnection {
             connectionPool = new LinkedBlockingQueue<>(MAX_POOL_SIZE);
             
             // Create initial connections
-            for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
-                Connection conn = createConnection();
-                if (conn != null) {
-                    connectionPool.offer(conn);
-                }
+            for (int i = 0; i < INITIAL_POOL_SIZE && reserveConnection(); i++) {
+                connectionPool.offer(createConnection());
             }
             
             initialized = true;
@@ -98,22 +110,50 @@ public class DatabaseConnection {
             logger.error("JDBC driver not found", e);
             throw new RuntimeException("JDBC driver not found", e);
         } catch (SQLException e) {
+            Connection conn;
+            while ((conn = connectionPool.poll()) != null) {
+                discard(conn);
+            }
             logger.error("Error initializing connection pool", e);
             throw new RuntimeException("Failed to initialize connection pool", e);
         }
     }
     
     /**
-     * Create a new database connection
+     * Count a connection about to be opened against the pool size
+     * @return False if the pool is already at its maximum
+     */
+    private boolean reserveConnection() {
+        int open;
+        do {
+            open = openConnections.get();
+            if (open >= MAX_POOL_SIZE) {
+                return false;
+            }
+        } while (!openConnections.compareAndSet(open, open + 1));
+        return true;
+    }
+    
+    /**
+     * Create a new database connection for a reserved slot, freeing the slot if it fails
      * @return Database connection
      * @throws SQLException if connection fails
      */
     private Connection createConnection() throws SQLException {
-        return DriverManager.getConnection(url, username, password);
+        try {
+            Connection conn = DriverManager.getConnection(url, username, password);
+            createdCounter.increment();
+            return conn;
+        } catch (SQLException e) {
+            openConnections.decrementAndGet();
+            throw e;
+        }
     }
     
     /**
-     * Get a connection from the pool
+     * Get a connection from the pool; close it to give it back
+     * An idle connection is used if there is one, a new one is opened below the pool size,
+     * and otherwise the caller waits up to db.maxWait ms for one to be returned
      * @return Database connection
      * @throws SQLException if no connection available
      */
@@ -122,50 +162,87 @@ public class DatabaseConnection {
             initialize();
         }
         
+        long start = System.nanoTime();
         try {
-            Connection conn = connectionPool.poll(10, TimeUnit.SECONDS);
-            if (conn == null || conn.isClosed()) {
-                conn = createConnection();
+            Connection conn = connectionPool.poll();
+            while (conn == null || conn.isClosed()) {
+                if (conn != null) {
+                    discard(conn);
+                }
+                if (reserveConnection()) {
+                    conn = createConnection();
+                    break;
+                }
+                conn = connectionPool.poll(maxWaitMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                                           TimeUnit.MILLISECONDS);
+                if (conn == null) {
+                    throw new SQLException("Timed out after " + maxWaitMillis + " ms waiting for a database connection");
+                }
             }
-            return conn;
+            activeConnections.incrementAndGet();
+            return PooledConnection.lease(this, conn);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new SQLException("Interrupted while waiting for connection", e);
+        } finally {
+            waitTimer.recordSince(start);
         }
     }
     
     /**
      * Return a connection to the pool
+     * Connections from getConnection return themselves when closed, so this only closes the given one
      * @param connection Connection to return
      */
     public void returnConnection(Connection connection) {
         if (connection != null) {
             try {
-                if (!connection.isClosed() && connectionPool.size() < MAX_POOL_SIZE) {
-                    connectionPool.offer(connection);
-                } else {
-                    connection.close();
-                }
+                connection.close();
             } catch (SQLException e) {
                 logger.warn("Error returning connection to pool", e);
             }
         }
     }
     
+    /**
+     * Take back a physical connection from a closed lease
+     */
+    void release(Connection connection) {
+        activeConnections.decrementAndGet();
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (initialized && !connection.isClosed() && connectionPool.offer(connection)) {
+                return;
+            }
+        } catch (SQLException e) {
+            logger.warn("Error returning connection to pool", e);
+        }
+        discard(connection);
+    }
+    
+    private void discard(Connection connection) {
+        openConnections.decrementAndGet();
+        closedCounter.increment();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("Error closing connection", e);
+        }
+    }
+    
     /**
      * Close all connections in the pool
      */
     public synchronized void closeAllConnections() {
         if (connectionPool != null) {
+            initialized = false;
             Connection conn;
             while ((conn = connectionPool.poll()) != null) {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    logger.warn("Error closing connection", e);
-                }
+                discard(conn);
             }
-            initialized = false;
             logger.info("All database connections closed");
         }
     }
@@ -191,6 +268,8 @@ public class DatabaseConnection {
         java.util.Map<String, Object> status = new java.util.HashMap<>();
         status.put("initialized", initialized);
         status.put("poolSize", connectionPool != null ? connectionPool.size() : 0);
+        status.put("activeConnections", activeConnections.get());
+        status.put("openConnections", openConnections.get());
         status.put("maxPoolSize", MAX_POOL_SIZE);
         return status;
     }
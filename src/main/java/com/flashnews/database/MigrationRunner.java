@@ -0,0 +1,293 @@
+package com.flashnews.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MigrationRunner applying versioned schema migrations exactly once
+ * Applied versions and script checksums are kept in schema_version; an up-to-date
+ * database costs one query. Pending migrations run under a MySQL advisory lock, so
+ * nodes starting together wait for each other instead of racing on the same DDL
+ */
+public class MigrationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+    private static final String MIGRATION_PATH = "database/migrations/";
+    private static final String LOCK_NAME = "flashnews_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 300;
+
+    /**
+     * Migration scripts in version order; append new ones, never rename or edit shipped ones
+     */
+    private static final String[] SCRIPTS = {
+        "V1__baseline.sql",
+        "V2__news_articles_last_viewed_at.sql",
+        "V3__partition_news_articles.sql",
+        "V4__search_history_searched_at.sql",
+        "V5__news_articles_group_published_at.sql"
+    };
+
+    private final DatabaseConnection dbConnection;
+    private final String[] scripts;
+
+    public MigrationRunner() {
+        this(SCRIPTS);
+    }
+
+    MigrationRunner(String... scripts) {
+        this.dbConnection = DatabaseConnection.getInstance();
+        this.scripts = scripts;
+    }
+
+    /**
+     * Bring the schema up to the latest version
+     * @return Number of applied migrations
+     * @throws SQLException if a migration fails or an applied script was changed
+     */
+    public int migrate() throws SQLException, IOException {
+        List<Migration> migrations = loadMigrations();
+        try (Connection conn = dbConnection.getConnection()) {
+            Map<Integer, String> applied = getAppliedVersions(conn);
+            if (applied != null && validate(migrations, applied) == migrations.size()) {
+                logger.info("Database schema is up to date at version {}", migrations.size());
+                return 0;
+            }
+            return migrateLocked(conn, migrations);
+        } finally {
+            dbConnection.returnConnection(null);
+        }
+    }
+
+    private int migrateLocked(Connection conn, List<Migration> migrations) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock");
+                }
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                         "version INT PRIMARY KEY, " +
+                         "description VARCHAR(200) NOT NULL, " +
+                         "checksum CHAR(64) NOT NULL, " +
+                         "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                         "execution_millis INT NOT NULL)");
+
+            // Another node may have migrated while this one waited for the lock
+            Map<Integer, String> applied = getAppliedVersions(conn);
+            if (applied == null) {
+                throw new SQLException("schema_version could not be read");
+            }
+            if (applied.isEmpty() && hasTable(conn, "news_articles")) {
+                int baselineVersion = getLegacyBaselineVersion(conn);
+                for (Migration migration : migrations.subList(0, baselineVersion)) {
+                    recordMigration(conn, migration, migration.description + " (baseline)", 0);
+                    applied.put(migration.version, migration.checksum);
+                }
+                logger.info("Recorded existing schema as baseline version {}", baselineVersion);
+            }
+
+            int appliedCount = 0;
+            for (int i = validate(migrations, applied); i < migrations.size(); i++) {
+                Migration migration = migrations.get(i);
+                long start = System.nanoTime();
+                for (String sql : migration.statements) {
+                    stmt.execute(sql);
+                }
+                int millis = (int) ((System.nanoTime() - start) / 1_000_000);
+                recordMigration(conn, migration, migration.description, millis);
+                appliedCount++;
+                logger.info("Applied migration V{} {} in {} ms", migration.version, migration.description, millis);
+            }
+            return appliedCount;
+        } finally {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                stmt.setString(1, LOCK_NAME);
+                stmt.executeQuery().close();
+            } catch (SQLException e) {
+                logger.warn("Error releasing schema migration lock", e);
+            }
+        }
+    }
+
+    /**
+     * Get applied versions with their checksums
+     * @return Checksums by version, or null if schema_version does not exist yet
+     */
+    private Map<Integer, String> getAppliedVersions(Connection conn) {
+        Map<Integer, String> applied = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version ORDER BY version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+            return applied;
+        } catch (SQLException e) {
+            logger.debug("schema_version not readable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Check applied migrations against the scripts
+     * @return Number of leading migrations already applied
+     * @throws SQLException if an applied script changed or the database is ahead of this build
+     */
+    private int validate(List<Migration> migrations, Map<Integer, String> applied) throws SQLException {
+        for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+            int version = entry.getKey();
+            if (version > migrations.size()) {
+                throw new SQLException("Database schema version " + version + " is newer than this build");
+            }
+            if (!migrations.get(version - 1).checksum.equals(entry.getValue())) {
+                throw new SQLException("Checksum mismatch for applied migration " + scripts[version - 1]);
+            }
+        }
+        int count = 0;
+        while (count < migrations.size() && applied.containsKey(count + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Version an unversioned database, created by replaying the old schema script on boot, already matches
+     * V1 is the original schema script; replays of later copies of it may also have added the V2 column.
+     * V3 and V4 inspect the schema themselves, so they run on legacy and new databases alike
+     */
+    private int getLegacyBaselineVersion(Connection conn) throws SQLException {
+        return hasColumn(conn, "news_articles", "last_viewed_at") ? 2 : 1;
+    }
+
+    private boolean hasTable(Connection conn, String table) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    private boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM information_schema.columns " +
+                     "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    private void recordMigration(Connection conn, Migration migration, String description, int millis)
+            throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description, checksum, execution_millis) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, description);
+            stmt.setString(3, migration.checksum);
+            stmt.setInt(4, millis);
+            stmt.executeUpdate();
+        }
+    }
+
+    private List<Migration> loadMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (int i = 0; i < scripts.length; i++) {
+            String script = readScript(scripts[i]);
+            String description = scripts[i].substring(scripts[i].indexOf("__") + 2, scripts[i].lastIndexOf('.'))
+                                           .replace('_', ' ');
+            migrations.add(new Migration(i + 1, description, checksum(script), splitStatements(script)));
+        }
+        return migrations;
+    }
+
+    private String readScript(String name) throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(MIGRATION_PATH + name)) {
+            if (input == null) {
+                throw new IOException("Migration script not found: " + name);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                bytes.write(buffer, 0, length);
+            }
+            // Line endings depend on the checkout, so they do not count towards the checksum
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+
+    /**
+     * Split a script into statements ending with a semicolon at the end of a line
+     */
+    private static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (line.trim().isEmpty() || line.trim().startsWith("--")) {
+                continue;
+            }
+            statement.append(line).append("\n");
+            if (line.trim().endsWith(";")) {
+                statements.add(statement.toString().trim());
+                statement.setLength(0);
+            }
+        }
+        if (statement.length() > 0) {
+            statements.add(statement.toString().trim());
+        }
+        return statements;
+    }
+
+    private static String checksum(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(script.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One migration script with its parsed statements
+     */
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final String checksum;
+        private final List<String> statements;
+
+        Migration(int version, String description, String checksum, List<String> statements) {
+            this.version = version;
+            this.description = description;
+            this.checksum = checksum;
+            this.statements = statements;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.flashnews.database;
+
+import com.flashnews.archive.ArticleArchive;
+import com.flashnews.cache.RetentionEngine;
+import com.flashnews.dao.NewsArticleDAO;
+import com.flashnews.dao.PartitionDAO;
+import com.flashnews.model.NewsArticle;
+import com.flashnews.model.ArticlePartition;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PartitionMaintenanceJob rotating the daily published_at partitions of news_articles
+ * Partitions for the coming days are created ahead of time so inserts never land in
+ * the catch-all partition, and partitions past retention are dropped whole, after
+ * their rows were written to an archive segment when archiving is enabled
+ */
+public class PartitionMaintenanceJob {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static PartitionMaintenanceJob instance;
+
+    private final PartitionDAO partitionDAO;
+    private final NewsArticleDAO newsArticleDAO;
+    private final int aheadDays;
+    private final int retentionDays;
+    private final boolean archiveExpired;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong partitionsCreated = new AtomicLong();
+    private final AtomicLong partitionsExpired = new AtomicLong();
+    private volatile int partitionCount = 0;
+
+    private PartitionMaintenanceJob() {
+        this.partitionDAO = new PartitionDAO();
+        this.newsArticleDAO = new NewsArticleDAO();
+        this.aheadDays = ApplicationProperties.getInt("partition.aheadDays", 7);
+        this.retentionDays = ApplicationProperties.getInt("partition.retentionDays", 30);
+        this.archiveExpired = "archive".equalsIgnoreCase(ApplicationProperties.getString("partition.expireMode", "drop"));
+        long intervalMinutes = ApplicationProperties.getLong("partition.intervalMinutes", 60);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Get singleton instance of PartitionMaintenanceJob
+     * @return PartitionMaintenanceJob instance
+     */
+    public static synchronized PartitionMaintenanceJob getInstance() {
+        if (instance == null) {
+            instance = new PartitionMaintenanceJob();
+        }
+        return instance;
+    }
+
+    /**
+     * Create missing future partitions and expire old ones
+     */
+    public void run() throws InterruptedException {
+        List<ArticlePartition> partitions = partitionDAO.getPartitions();
+        if (partitions.isEmpty()) {
+            logger.warn("news_articles is not partitioned, skipping partition maintenance; check schema migration V3");
+            return;
+        }
+
+        createFuturePartitions(partitions);
+        int expired = expireOldPartitions(partitions);
+        if (expired > 0) {
+            RetentionEngine.getInstance().purgeOrphanedHistory();
+            RetentionEngine.getInstance().onArticlesRemoved();
+        }
+        partitionCount = partitionDAO.getPartitions().size();
+    }
+
+    private void createFuturePartitions(List<ArticlePartition> partitions) {
+        long highestBound = Long.MIN_VALUE;
+        for (ArticlePartition partition : partitions) {
+            if (!partition.isCatchAll()) {
+                highestBound = Math.max(highestBound, partition.getLessThanEpochSeconds());
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Long> bounds = new ArrayList<>();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (LocalDate day = today; !day.isAfter(today.plusDays(aheadDays)); day = day.plusDays(1)) {
+            long lessThan = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            if (lessThan > highestBound) {
+                names.add("p" + day.format(PARTITION_DAY));
+                bounds.add(lessThan);
+            }
+        }
+
+        if (!names.isEmpty() && partitionDAO.addPartitions(names, bounds)) {
+            partitionsCreated.addAndGet(names.size());
+            logger.info("Created news_articles partitions {} to {}", names.get(0), names.get(names.size() - 1));
+        }
+    }
+
+    private int expireOldPartitions(List<ArticlePartition> partitions) {
+        long cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        int expired = 0;
+        for (ArticlePartition partition : partitions) {
+            if (partition.isCatchAll() || partition.getLessThanEpochSeconds() > cutoff) {
+                continue;
+            }
+
+            if (archiveExpired && ArticleArchive.getInstance().isEnabled()) {
+                List<NewsArticle> articles = newsArticleDAO.getArticlesInPartition(partition.getName());
+                if (articles == null || !ArticleArchive.getInstance().archive(articles)) {
+                    logger.warn("Keeping partition {} because its articles could not be archived", partition.getName());
+                    continue;
+                }
+            }
+            if (partitionDAO.dropPartition(partition.getName())) {
+                logger.info("Dropped partition {} with about {} articles", partition.getName(), partition.getRows());
+                expired++;
+                partitionsExpired.incrementAndGet();
+            }
+        }
+        return expired;
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Error maintaining news_articles partitions", e);
+        }
+    }
+
+    /**
+     * Get partition maintenance statistics
+     * @return Map containing partition count and rotation counters
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("partitions", partitionCount);
+        status.put("aheadDays", aheadDays);
+        status.put("retentionDays", retentionDays);
+        status.put("expireMode", archiveExpired ? "archive" : "drop");
+        status.put("partitionsCreated", partitionsCreated.get());
+        status.put("partitionsExpired", partitionsExpired.get());
+        return status;
+    }
+
+    /**
+     * Stop the maintenance schedule
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        logger.info("Partition maintenance job shutdown");
+    }
+}
@@ -0,0 +1,67 @@
+package com.flashnews.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * PooledConnection handing a pooled JDBC connection to one borrower
+ * Closing it, as the DAOs' try-with-resources blocks do, gives the physical
+ * connection back to the pool instead of closing it. Prepared statements are
+ * timed by StatementStats unless db.statementTiming.enabled is off
+ */
+final class PooledConnection implements InvocationHandler {
+    private final DatabaseConnection pool;
+    private final Connection physical;
+    private boolean returned = false;
+
+    private PooledConnection(DatabaseConnection pool, Connection physical) {
+        this.pool = pool;
+        this.physical = physical;
+    }
+
+    static Connection lease(DatabaseConnection pool, Connection physical) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            new PooledConnection(pool, physical));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                if (!returned) {
+                    returned = true;
+                    pool.release(physical);
+                }
+                return null;
+            case "isClosed":
+                return returned || physical.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PooledConnection[" + physical + "]";
+            default:
+                break;
+        }
+        if (returned) {
+            throw new SQLException("Connection has already been returned to the pool");
+        }
+        Object result;
+        try {
+            result = method.invoke(physical, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (result instanceof PreparedStatement && "prepareStatement".equals(method.getName())
+                && StatementStats.getInstance().isEnabled()) {
+            return TimedStatement.wrap(StatementStats.getInstance(), (String) args[0], (PreparedStatement) result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package com.flashnews.database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SqlShape reducing a SQL statement to the shape it is grouped under
+ * Literals become ?, whitespace is collapsed, and IN lists and multi-row VALUES
+ * collapse to (?+), so statements built for a varying number of ids share one shape
+ */
+final class SqlShape {
+    private static final int MAX_CACHED = 1024;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("\\(\\?\\+\\)(?:\\s*,\\s*\\(\\?\\+\\))+");
+
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    private SqlShape() {
+    }
+
+    /**
+     * Get the normalized shape of a statement
+     */
+    static String of(String sql) {
+        String shape = cache.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (cache.size() < MAX_CACHED) {
+                cache.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("(?+)");
+        return REPEATED_ROWS.matcher(shape).replaceAll("(?+), ...");
+    }
+}
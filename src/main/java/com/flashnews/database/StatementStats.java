@@ -0,0 +1,291 @@
+package com.flashnews.database;
+
+import com.flashnews.metrics.Counter;
+import com.flashnews.metrics.MetricFamily;
+import com.flashnews.metrics.MetricsRegistry;
+import com.flashnews.metrics.Timer;
+import com.flashnews.util.ApplicationProperties;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * StatementStats collecting execution and fetch times of prepared statements per SQL shape
+ * Keeps the slowest executions seen in a bounded top-N, logs those above db.slowQuery.thresholdMillis
+ * to the SlowQueryLog logger and, when db.slowQuery.explain is set, captures the plan of each slow
+ * SELECT shape once in the background
+ */
+public class StatementStats {
+    private static final Logger logger = LoggerFactory.getLogger(StatementStats.class);
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("com.flashnews.database.SlowQueryLog");
+    private static final StatementStats instance = new StatementStats();
+    private static final String EXPLAIN_PENDING = "";
+
+    private final boolean enabled = ApplicationProperties.getBoolean("db.statementTiming.enabled", true);
+    private final long thresholdNanos =
+        TimeUnit.MILLISECONDS.toNanos(ApplicationProperties.getLong("db.slowQuery.thresholdMillis", 250));
+    private final int topSize = Math.max(1, ApplicationProperties.getInt("db.slowQuery.topN", 20));
+    private final boolean explainEnabled = ApplicationProperties.getBoolean("db.slowQuery.explain", false);
+
+    private final MetricFamily<Timer> executeTimers;
+    private final MetricFamily<Timer> fetchTimers;
+    private final MetricFamily<Counter> rowCounters;
+    private final Counter slowCounter;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+    private final PriorityQueue<Execution> slowest =
+        new PriorityQueue<>(Comparator.comparingLong(Execution::getTotalNanos));
+    private volatile long topFloorNanos = 0;
+    private ThreadPoolExecutor explainExecutor;
+
+    private StatementStats() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.executeTimers = metrics.timer("flashnews_db_statement_execute_seconds",
+            "Prepared statement execution time by SQL shape", "shape");
+        this.fetchTimers = metrics.timer("flashnews_db_statement_fetch_seconds",
+            "Time spent fetching result rows by SQL shape", "shape");
+        this.rowCounters = metrics.counter("flashnews_db_statement_rows_total",
+            "Rows fetched or updated by SQL shape", "shape");
+        this.slowCounter = metrics.counter("flashnews_db_slow_statements_total",
+            "Statements slower than db.slowQuery.thresholdMillis").labels();
+    }
+
+    /**
+     * Get singleton instance of StatementStats
+     * @return StatementStats instance
+     */
+    public static StatementStats getInstance() {
+        return instance;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean isExplainEnabled() {
+        return explainEnabled;
+    }
+
+    /**
+     * Get the metrics of a statement's shape; resolved once per prepared statement
+     */
+    Shape shapeOf(String sql) {
+        String shape = SqlShape.of(sql);
+        Shape stats = shapes.get(shape);
+        return stats != null ? stats : shapes.computeIfAbsent(shape,
+            text -> new Shape(text, executeTimers.labels(text), fetchTimers.labels(text), rowCounters.labels(text)));
+    }
+
+    /**
+     * Record one completed execution; bindings are only described when the execution is kept or logged
+     */
+    void record(Shape shape, String sql, long executeNanos, long fetchNanos, long rows, Bindings bindings) {
+        shape.executeTimer.record(executeNanos);
+        if (fetchNanos > 0) {
+            shape.fetchTimer.record(fetchNanos);
+        }
+        if (rows > 0) {
+            shape.rowCounter.increment(rows);
+        }
+
+        long totalNanos = executeNanos + fetchNanos;
+        if (totalNanos <= topFloorNanos && totalNanos < thresholdNanos) {
+            return;
+        }
+
+        Execution execution = new Execution(shape.text, bindings.describe(), executeNanos, fetchNanos, rows);
+        offer(execution);
+        if (totalNanos >= thresholdNanos) {
+            slowCounter.increment();
+            slowQueryLog.warn("Slow statement: {} ms (execute {} ms, fetch {} ms, {} rows) {} params {}",
+                millis(totalNanos), millis(executeNanos), millis(fetchNanos), rows, shape.text, execution.params);
+            if (explainEnabled && shape.text.regionMatches(true, 0, "SELECT", 0, 6)) {
+                explain(shape.text, sql, bindings.values());
+            }
+        }
+    }
+
+    private synchronized void offer(Execution execution) {
+        if (slowest.size() < topSize) {
+            slowest.add(execution);
+        } else if (execution.getTotalNanos() > slowest.peek().getTotalNanos()) {
+            slowest.poll();
+            slowest.add(execution);
+        }
+        if (slowest.size() == topSize) {
+            topFloorNanos = slowest.peek().getTotalNanos();
+        }
+    }
+
+    /**
+     * Get the slowest executions seen, slowest first, with the captured plan of their shape
+     */
+    public List<Map<String, Object>> getSlowest() {
+        List<Execution> executions;
+        synchronized (this) {
+            executions = new ArrayList<>(slowest);
+        }
+        executions.sort(Comparator.comparingLong(Execution::getTotalNanos).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>(executions.size());
+        for (Execution execution : executions) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("shape", execution.shape);
+            entry.put("params", execution.params);
+            entry.put("totalMillis", millis(execution.getTotalNanos()));
+            entry.put("executeMillis", millis(execution.executeNanos));
+            entry.put("fetchMillis", millis(execution.fetchNanos));
+            entry.put("rows", execution.rows);
+            entry.put("at", execution.at.toString());
+            String plan = plans.get(execution.shape);
+            if (plan != null && !plan.isEmpty()) {
+                entry.put("explain", plan);
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Get the timing settings along with the slowest executions
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("thresholdMillis", TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        status.put("topN", topSize);
+        status.put("explain", explainEnabled);
+        status.put("shapes", shapes.size());
+        status.put("slowStatements", slowCounter.get());
+        status.put("slowest", getSlowest());
+        return status;
+    }
+
+    /**
+     * Capture the plan of a shape once, on a connection of its own
+     * The EXPLAIN runs on the unwrapped connection so it is not timed itself
+     */
+    private void explain(String shape, String sql, Object[] values) {
+        if (plans.putIfAbsent(shape, EXPLAIN_PENDING) != null) {
+            return;
+        }
+        try {
+            explainExecutor().execute(() -> runExplain(shape, sql, values));
+        } catch (RejectedExecutionException e) {
+            plans.remove(shape, EXPLAIN_PENDING);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor explainExecutor() {
+        if (explainExecutor == null) {
+            explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return explainExecutor;
+    }
+
+    private void runExplain(String shape, String sql, Object[] values) {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.unwrap(Connection.class).prepareStatement("EXPLAIN " + sql)) {
+
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    if (plan.length() > 0) {
+                        plan.append('\n');
+                    }
+                    for (int column = 1; column <= meta.getColumnCount(); column++) {
+                        Object value = rs.getObject(column);
+                        if (value != null) {
+                            plan.append(meta.getColumnLabel(column).toLowerCase(Locale.ROOT)).append('=')
+                                .append(value).append(' ');
+                        }
+                    }
+                }
+            }
+            plans.put(shape, plan.toString().trim());
+            slowQueryLog.warn("Plan for {}:\n{}", shape, plans.get(shape));
+
+        } catch (SQLException | RuntimeException e) {
+            plans.remove(shape, EXPLAIN_PENDING);
+            logger.error("Error explaining slow statement: {}", shape, e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1e4) / 100.0;
+    }
+
+    /**
+     * Metrics of one SQL shape
+     */
+    static final class Shape {
+        private final String text;
+        private final Timer executeTimer;
+        private final Timer fetchTimer;
+        private final Counter rowCounter;
+
+        private Shape(String text, Timer executeTimer, Timer fetchTimer, Counter rowCounter) {
+            this.text = text;
+            this.executeTimer = executeTimer;
+            this.fetchTimer = fetchTimer;
+            this.rowCounter = rowCounter;
+        }
+    }
+
+    /**
+     * Bind parameters of an execution, described lazily
+     */
+    interface Bindings {
+        String describe();
+
+        Object[] values();
+    }
+
+    private static final class Execution {
+        private final String shape;
+        private final String params;
+        private final long executeNanos;
+        private final long fetchNanos;
+        private final long rows;
+        private final Instant at = Instant.now();
+
+        private Execution(String shape, String params, long executeNanos, long fetchNanos, long rows) {
+            this.shape = shape;
+            this.params = params;
+            this.executeNanos = executeNanos;
+            this.fetchNanos = fetchNanos;
+            this.rows = rows;
+        }
+
+        private long getTotalNanos() {
+            return executeNanos + fetchNanos;
+        }
+    }
+}
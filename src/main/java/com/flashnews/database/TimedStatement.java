@@ -0,0 +1,232 @@
+package com.flashnews.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimedStatement timing the executions of one prepared statement for StatementStats
+ * Bind values are remembered by index so slow executions can report their parameter
+ * shapes; the rows of a query are timed as they are fetched, until the result set is
+ * exhausted or closed
+ */
+final class TimedStatement implements InvocationHandler, StatementStats.Bindings {
+    private static final int MAX_DESCRIBED_PARAMS = 32;
+
+    private final StatementStats stats;
+    private final StatementStats.Shape shape;
+    private final String sql;
+    private final PreparedStatement target;
+    private final List<Object> params = new ArrayList<>();
+    private int batches = 0;
+    private TimedResultSet openResult;
+
+    private TimedStatement(StatementStats stats, String sql, PreparedStatement target) {
+        this.stats = stats;
+        this.shape = stats.shapeOf(sql);
+        this.sql = sql;
+        this.target = target;
+    }
+
+    static PreparedStatement wrap(StatementStats stats, String sql, PreparedStatement target) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class}, new TimedStatement(stats, sql, target));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "executeQuery":
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "execute":
+            case "executeBatch":
+            case "executeLargeBatch":
+                if (args == null) {
+                    return execute(method, name);
+                }
+                break;
+            case "addBatch":
+                batches++;
+                break;
+            case "clearParameters":
+                params.clear();
+                break;
+            case "close":
+                finishResult();
+                break;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bind((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+                }
+                break;
+        }
+        return call(method, args);
+    }
+
+    private Object execute(Method method, String name) throws Throwable {
+        finishResult();
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = call(method, null);
+        } finally {
+            long executeNanos = System.nanoTime() - start;
+            if (result instanceof ResultSet) {
+                openResult = new TimedResultSet(executeNanos);
+                result = openResult.wrap((ResultSet) result);
+            } else {
+                stats.record(shape, sql, executeNanos, 0, affectedRows(result), this);
+            }
+            if (name.endsWith("Batch")) {
+                batches = 0;
+            }
+        }
+        return result;
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void bind(int index, Object value) {
+        while (params.size() < index) {
+            params.add(null);
+        }
+        params.set(index - 1, value);
+    }
+
+    private void finishResult() {
+        if (openResult != null) {
+            openResult.finish();
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Number) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public String describe() {
+        StringBuilder shapes = new StringBuilder("[");
+        for (int i = 0; i < params.size(); i++) {
+            if (i == MAX_DESCRIBED_PARAMS) {
+                shapes.append(", ... ").append(params.size() - i).append(" more");
+                break;
+            }
+            if (i > 0) {
+                shapes.append(", ");
+            }
+            Object value = params.get(i);
+            if (value == null) {
+                shapes.append("NULL");
+            } else if (value instanceof CharSequence) {
+                shapes.append("String(").append(((CharSequence) value).length()).append(')');
+            } else {
+                shapes.append(value.getClass().getSimpleName());
+            }
+        }
+        shapes.append(']');
+        if (batches > 1) {
+            shapes.append(" x").append(batches).append(" batches");
+        }
+        return shapes.toString();
+    }
+
+    @Override
+    public Object[] values() {
+        return params.toArray();
+    }
+
+    /**
+     * Result set of a timed query, timing next() until it is exhausted or closed
+     */
+    private final class TimedResultSet implements InvocationHandler {
+        private final long executeNanos;
+        private ResultSet target;
+        private long fetchNanos = 0;
+        private long rows = 0;
+        private boolean finished = false;
+
+        private TimedResultSet(long executeNanos) {
+            this.executeNanos = executeNanos;
+        }
+
+        private ResultSet wrap(ResultSet resultSet) {
+            this.target = resultSet;
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    long start = System.nanoTime();
+                    boolean hasRow = (Boolean) call(method, args);
+                    fetchNanos += System.nanoTime() - start;
+                    if (hasRow) {
+                        rows++;
+                    } else {
+                        finish();
+                    }
+                    return hasRow;
+                case "close":
+                    finish();
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return call(method, args);
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                if (openResult == this) {
+                    openResult = null;
+                }
+                stats.record(shape, sql, executeNanos, fetchNanos, rows, TimedStatement.this);
+            }
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.flashnews.external;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashnews.metrics.Counter;
+import com.flashnews.metrics.MetricFamily;
+import com.flashnews.metrics.MetricsRegistry;
+import com.flashnews.metrics.Timer;
 import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ApplicationProperties;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -16,7 +21,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
 
 /**
  * NewsAPIClient class for integrating with external news APIs
@@ -24,47 +28,60 @@ import java.util.Properties;
  */
 public class NewsAPIClient {
     private static final Logger logger = LoggerFactory.getLogger(NewsAPIClient.class);
-    private static final String NEWS_API_BASE_URL = "https://newsapi.org/v2";
     private static final DateTimeFormatter API_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
     private static final DateTimeFormatter API_DATE_FORMAT_WITH_Z = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
     
     private final String apiKey;
+    private final String baseUrl;
     private final CloseableHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final Timer successTimer;
+    private final Timer httpErrorTimer;
+    private final Timer errorTimer;
+    private final Counter articlesCounter;
     
     public NewsAPIClient() {
-        this.apiKey = loadApiKey();
+        this.apiKey = ApplicationProperties.getString("news.api.key", "");
+        this.baseUrl = ApplicationProperties.getString("news.api.url", "https://newsapi.org/v2");
         this.httpClient = HttpClients.createDefault();
         this.objectMapper = new ObjectMapper();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        MetricFamily<Timer> requestTimers = metrics.timer("flashnews_newsapi_request_seconds",
+            "NewsAPI request latency by outcome", "outcome");
+        this.successTimer = requestTimers.labels("success");
+        this.httpErrorTimer = requestTimers.labels("http_error");
+        this.errorTimer = requestTimers.labels("error");
+        this.articlesCounter = metrics.counter("flashnews_newsapi_articles_total",
+            "Articles parsed from NewsAPI responses").labels();
     }
     
     /**
-     * Load API key from properties file
+     * Fetch news articles from external API
+     * @return Articles, or an empty list if the request failed
      */
-    private String loadApiKey() {
-        Properties props = new Properties();
-        try (var input = getClass().getClassLoader().getResourceAsStream("database.properties")) {
-            if (input != null) {
-                props.load(input);
-                return props.getProperty("news.api.key", "");
-            }
+    public List<NewsArticle> fetchNews(String category, String countryCode, int limit) {
+        try {
+            return fetchNewsOrThrow(category, countryCode, limit);
         } catch (IOException e) {
-            logger.error("Error loading API key from properties", e);
+            logger.error("Error fetching news from API", e);
+            return new ArrayList<>();
         }
-        return "";
     }
     
     /**
-     * Fetch news articles from external API
+     * Fetch news articles from external API, failing if the request does
+     * @return Articles parsed from the response
+     * @throws IOException if the API key is missing, the request fails or the API answers with an error
      */
-    public List<NewsArticle> fetchNews(String category, String countryCode, int limit) {
-        List<NewsArticle> articles = new ArrayList<>();
+    public List<NewsArticle> fetchNewsOrThrow(String category, String countryCode, int limit) throws IOException {
+        List<NewsArticle> articles;
         
         if (apiKey == null || apiKey.trim().isEmpty()) {
-            logger.warn("News API key not configured, returning empty list");
-            return articles;
+            throw new IOException("News API key not configured");
         }
         
+        long start = System.nanoTime();
+        Timer outcome = errorTimer;
         try {
             String url = buildApiUrl(category, countryCode, limit);
             // Mask API key in logs for security
@@ -80,14 +97,17 @@ public class NewsAPIClient {
                 if (statusCode == 200) {
                     String responseBody = EntityUtils.toString(response.getEntity());
                     articles = parseApiResponse(responseBody);
+                    articlesCounter.increment(articles.size());
+                    outcome = successTimer;
                     logger.info("Successfully fetched {} articles from API", articles.size());
                 } else {
-                    logger.error("API request failed with status code: {}", statusCode);
+                    outcome = httpErrorTimer;
+                    throw new IOException("News API request failed with status code " + statusCode);
                 }
             }
             
-        } catch (Exception e) {
-            logger.error("Error fetching news from API", e);
+        } finally {
+            outcome.recordSince(start);
         }
         
         return articles;
@@ -97,7 +117,7 @@ public class NewsAPIClient {
      * Build API URL with parameters
      */
     private String buildApiUrl(String category, String countryCode, int limit) {
-        StringBuilder url = new StringBuilder(NEWS_API_BASE_URL);
+        StringBuilder url = new StringBuilder(baseUrl);
         
         if (category != null && !category.trim().isEmpty()) {
             url.append("/top-headlines?category=").append(category);
@@ -120,7 +140,7 @@ public class NewsAPIClient {
     /**
      * Parse API response JSON
      */
-    private List<NewsArticle> parseApiResponse(String responseBody) {
+    List<NewsArticle> parseApiResponse(String responseBody) {
         List<NewsArticle> articles = new ArrayList<>();
         
         try {
@@ -165,27 +185,7 @@ public class NewsAPIClient {
             article.setSourceUrl(getStringValue(articleNode, "source", "url"));
             article.setContent(getStringValue(articleNode, "content"));
             
-            // Parse published date
-            if (publishedAt != null && !publishedAt.trim().isEmpty()) {
-                try {
-                    LocalDateTime publishedDateTime;
-                    if (publishedAt.endsWith("Z")) {
-                        // Handle format: 2025-10-26T06:52:51Z
-                        String cleanDate = publishedAt.replace("Z", "");
-                        publishedDateTime = LocalDateTime.parse(cleanDate, API_DATE_FORMAT);
-                    } else {
-                        // Handle format: 2025-10-26T06:52:51.000Z
-                        String cleanDate = publishedAt.replace("Z", "").replaceAll("\\.\\d+", "");
-                        publishedDateTime = LocalDateTime.parse(cleanDate, API_DATE_FORMAT);
-                    }
-                    article.setPublishedAt(publishedDateTime);
-                } catch (Exception e) {
-                    logger.debug("Error parsing published date: {}, using current time", publishedAt);
-                    article.setPublishedAt(LocalDateTime.now());
-                }
-            } else {
-                article.setPublishedAt(LocalDateTime.now());
-            }
+            article.setPublishedAt(parsePublishedAt(publishedAt));
             
             article.setCachedAt(LocalDateTime.now());
             
@@ -197,6 +197,28 @@ public class NewsAPIClient {
         }
     }
     
+    /**
+     * Parse the publishedAt value of an article, falling back to the current time
+     */
+    static LocalDateTime parsePublishedAt(String publishedAt) {
+        if (publishedAt == null || publishedAt.trim().isEmpty()) {
+            return LocalDateTime.now();
+        }
+        try {
+            if (publishedAt.endsWith("Z")) {
+                // Handle format: 2025-10-26T06:52:51Z
+                String cleanDate = publishedAt.replace("Z", "");
+                return LocalDateTime.parse(cleanDate, API_DATE_FORMAT);
+            }
+            // Handle format: 2025-10-26T06:52:51.000Z
+            String cleanDate = publishedAt.replace("Z", "").replaceAll("\\.\\d+", "");
+            return LocalDateTime.parse(cleanDate, API_DATE_FORMAT);
+        } catch (Exception e) {
+            logger.debug("Error parsing published date: {}, using current time", publishedAt);
+            return LocalDateTime.now();
+        }
+    }
+    
     /**
      * Get string value from JSON node
      */
@@ -0,0 +1,215 @@
+package com.flashnews.feed;
+
+import com.flashnews.cache.FeedVersion;
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.dao.UserDAO;
+import com.flashnews.dao.Repositories;
+import com.flashnews.model.NewsArticle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FeedMaterializer precomputing personalized front pages
+ * Users with identical preferences share one feed, which is built once per
+ * ingestion cycle instead of once per user request
+ */
+public class FeedMaterializer {
+    private static final Logger logger = LoggerFactory.getLogger(FeedMaterializer.class);
+    private static final int FEED_SIZE = 100;
+    private static final FeedMaterializer instance = new FeedMaterializer();
+
+    private final NewsArticleRepository newsArticleDAO;
+    private final UserDAO userDAO;
+    private final Map<Integer, FeedKey> userKeys = new ConcurrentHashMap<>();
+    private final Map<FeedKey, MaterializedFeed> feeds = new ConcurrentHashMap<>();
+    private final Map<FeedKey, Object> buildLocks = new ConcurrentHashMap<>();
+    private final ExecutorService rebuilder;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong servedFromShared = new AtomicLong();
+    private volatile boolean assignmentsLoaded = false;
+
+    private FeedMaterializer() {
+        this.newsArticleDAO = Repositories.newsArticles();
+        this.userDAO = new UserDAO();
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feed-materializer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get singleton instance of FeedMaterializer
+     * @return FeedMaterializer instance
+     */
+    public static FeedMaterializer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Place a user in the group for their preferences
+     */
+    public void assign(int userId, Map<String, Object> preferences) {
+        userKeys.put(userId, FeedKey.fromPreferences(preferences));
+    }
+
+    /**
+     * Get the shared feed for a user's preference group, building it if it is outdated
+     */
+    public List<NewsArticle> getFeed(int userId) {
+        FeedKey key = userKeys.get(userId);
+        if (key == null) {
+            key = FeedKey.fromPreferences(userDAO.getUserPreferences(userId));
+            userKeys.put(userId, key);
+        }
+
+        long version = FeedVersion.getInstance().current();
+        MaterializedFeed feed = feeds.get(key);
+        if (feed != null && feed.version == version) {
+            servedFromShared.incrementAndGet();
+            return feed.articles;
+        }
+        return build(key, version).articles;
+    }
+
+    /**
+     * Rebuild the feeds of all preference groups after new articles were ingested
+     * Requests arriving while a rebuild is queued collapse into it
+     */
+    public void onFeedAdvanced() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        rebuilder.execute(() -> {
+            rebuildPending.set(false);
+            try {
+                rebuildAll();
+            } catch (Exception e) {
+                logger.error("Error rebuilding materialized feeds", e);
+            }
+        });
+    }
+
+    private void rebuildAll() {
+        if (!assignmentsLoaded) {
+            for (Map.Entry<Integer, Map<String, Object>> entry : userDAO.getAllUserPreferences().entrySet()) {
+                userKeys.putIfAbsent(entry.getKey(), FeedKey.fromPreferences(entry.getValue()));
+            }
+            assignmentsLoaded = true;
+        }
+
+        Set<FeedKey> activeKeys = new HashSet<>(userKeys.values());
+        feeds.keySet().retainAll(activeKeys);
+
+        long version = FeedVersion.getInstance().current();
+        long start = System.nanoTime();
+        for (FeedKey key : activeKeys) {
+            build(key, version);
+        }
+        logger.info("Materialized {} feeds for {} users in {} ms", activeKeys.size(), userKeys.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private MaterializedFeed build(FeedKey key, long version) {
+        synchronized (buildLocks.computeIfAbsent(key, k -> new Object())) {
+            MaterializedFeed existing = feeds.get(key);
+            if (existing != null && existing.version >= version) {
+                return existing;
+            }
+
+            List<NewsArticle> articles = "trending".equals(key.newsFilter) ?
+                newsArticleDAO.getTrendingNews(key.categoryId, key.locationId, FEED_SIZE) :
+                newsArticleDAO.getLatestNews(key.categoryId, key.locationId, FEED_SIZE);
+
+            MaterializedFeed feed = new MaterializedFeed(version, Collections.unmodifiableList(articles));
+            feeds.put(key, feed);
+            builds.incrementAndGet();
+            return feed;
+        }
+    }
+
+    /**
+     * Get materializer statistics
+     * @return Map containing group, user and build counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("users", userKeys.size());
+        status.put("groups", new HashSet<>(userKeys.values()).size());
+        status.put("feeds", feeds.size());
+        status.put("builds", builds.get());
+        status.put("servedFromShared", servedFromShared.get());
+        return status;
+    }
+
+    /**
+     * Stop background rebuilds
+     */
+    public void shutdown() {
+        rebuilder.shutdownNow();
+        logger.info("Feed materializer shutdown");
+    }
+
+    /**
+     * Materialized article list for one preference group
+     */
+    private static final class MaterializedFeed {
+        private final long version;
+        private final List<NewsArticle> articles;
+
+        MaterializedFeed(long version, List<NewsArticle> articles) {
+            this.version = version;
+            this.articles = articles;
+        }
+    }
+
+    /**
+     * Preference tuple identifying a group of users with the same feed
+     */
+    private static final class FeedKey {
+        private final Integer categoryId;
+        private final Integer locationId;
+        private final String newsFilter;
+
+        FeedKey(Integer categoryId, Integer locationId, String newsFilter) {
+            this.categoryId = categoryId;
+            this.locationId = locationId;
+            this.newsFilter = newsFilter;
+        }
+
+        static FeedKey fromPreferences(Map<String, Object> preferences) {
+            Object filter = preferences.get("newsFilter");
+            return new FeedKey((Integer) preferences.get("preferredCategoryId"),
+                               (Integer) preferences.get("preferredLocationId"),
+                               filter != null ? filter.toString() : "latest");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FeedKey that = (FeedKey) o;
+            return Objects.equals(categoryId, that.categoryId) && Objects.equals(locationId, that.locationId) &&
+                   Objects.equals(newsFilter, that.newsFilter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, locationId, newsFilter);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.flashnews.feed;
+
+import java.util.Arrays;
+
+/**
+ * ReadSet holding the article IDs a user has read as a Roaring-style compressed bitmap
+ * IDs are split by their high 16 bits into chunks; sparse chunks are sorted arrays
+ * of the low 16 bits and dense chunks switch to a fixed 8 KB bitmap
+ */
+public class ReadSet {
+    private static final int ARRAY_CONTAINER_MAX = 4096;
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int containerCount = 0;
+    private int cardinality = 0;
+
+    public ReadSet() {
+    }
+
+    /**
+     * Create from article IDs in ascending order
+     */
+    public ReadSet(int[] sortedIds) {
+        for (int id : sortedIds) {
+            add(id);
+        }
+    }
+
+    /**
+     * Add an article ID
+     * @return True if the ID was not yet present
+     */
+    public synchronized boolean add(int articleId) {
+        char high = (char) (articleId >>> 16);
+        int index = findContainer(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high, new ArrayContainer());
+        }
+
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) articleId);
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Add all IDs of another set
+     */
+    public void addAll(ReadSet other) {
+        for (int id : other.toArray()) {
+            add(id);
+        }
+    }
+
+    /**
+     * Check whether an article ID is in the set
+     */
+    public synchronized boolean contains(int articleId) {
+        int index = findContainer((char) (articleId >>> 16));
+        return index >= 0 && containers[index].contains((char) articleId);
+    }
+
+    public synchronized int size() {
+        return cardinality;
+    }
+
+    /**
+     * Get all IDs in ascending order
+     */
+    public synchronized int[] toArray() {
+        int[] ids = new int[cardinality];
+        int position = 0;
+        for (int i = 0; i < containerCount; i++) {
+            position = containers[i].copyTo(ids, position, keys[i] << 16);
+        }
+        return ids;
+    }
+
+    /**
+     * Get the memory held by the set in bytes
+     */
+    public synchronized long getMemoryBytes() {
+        long bytes = OBJECT_OVERHEAD_BYTES + (long) keys.length * Character.BYTES + (long) containers.length * 8;
+        for (int i = 0; i < containerCount; i++) {
+            bytes += containers[i].memoryBytes();
+        }
+        return bytes;
+    }
+
+    private int findContainer(char high) {
+        return Arrays.binarySearch(keys, 0, containerCount, high);
+    }
+
+    private void insertContainer(int index, char high, Container container) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, containerCount * 2);
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        keys[index] = high;
+        containers[index] = container;
+        containerCount++;
+    }
+
+    /**
+     * Set of low 16-bit values within one chunk
+     */
+    private abstract static class Container {
+        /**
+         * Add a value, returning the container to use from now on
+         */
+        abstract Container add(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract long memoryBytes();
+
+        abstract int copyTo(int[] target, int position, int base);
+    }
+
+    /**
+     * Sorted array of values, used while a chunk holds at most 4096 values
+     */
+    private static final class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int cardinality = 0;
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_CONTAINER_MAX) {
+                return toBitmap().add(value);
+            }
+
+            int insertAt = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_CONTAINER_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        long memoryBytes() {
+            return OBJECT_OVERHEAD_BYTES + (long) values.length * Character.BYTES;
+        }
+
+        @Override
+        int copyTo(int[] target, int position, int base) {
+            for (int i = 0; i < cardinality; i++) {
+                target[position++] = base | values[i];
+            }
+            return position;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Fixed 65536-bit bitmap, used once a chunk is dense
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[1024];
+        private int cardinality = 0;
+
+        @Override
+        Container add(char value) {
+            long mask = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        long memoryBytes() {
+            return OBJECT_OVERHEAD_BYTES + (long) words.length * Long.BYTES;
+        }
+
+        @Override
+        int copyTo(int[] target, int position, int base) {
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    target[position++] = base | ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.flashnews.feed;
+
+import com.flashnews.dao.HistoryDAO;
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * ReadSetStore keeping compressed read sets of active users in memory
+ * Sets are loaded from reading_history on first use, updated as users read and
+ * evicted least recently used, so unread filtering never joins against reading_history
+ */
+public class ReadSetStore {
+    private static final Logger logger = LoggerFactory.getLogger(ReadSetStore.class);
+    private static final ReadSetStore instance = new ReadSetStore();
+
+    private final IntFunction<int[]> readArticleIds;
+    private final int maxUsers;
+    private final Map<Integer, Holder> readSets;
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private ReadSetStore() {
+        this(new HistoryDAO()::getReadArticleIds, ApplicationProperties.getInt("readset.maxUsers", 10000));
+    }
+
+    /**
+     * @param readArticleIds Loads the stored read article IDs of a user in ascending order
+     * @param maxUsers Number of users whose sets are kept in memory
+     */
+    ReadSetStore(IntFunction<int[]> readArticleIds, int maxUsers) {
+        this.readArticleIds = readArticleIds;
+        this.maxUsers = maxUsers;
+        this.readSets = new LinkedHashMap<Integer, Holder>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Holder> eldest) {
+                if (size() > maxUsers) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get singleton instance of ReadSetStore
+     * @return ReadSetStore instance
+     */
+    public static ReadSetStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Record that a user read an article
+     * Reads recorded before the set is loaded are merged into it on load, since the
+     * history appender may not have written them yet
+     */
+    public void markRead(int userId, int articleId) {
+        Holder holder = holderFor(userId);
+        synchronized (holder) {
+            holder.readSet.add(articleId);
+        }
+    }
+
+    /**
+     * Get the read set of a user, loading it on first use
+     */
+    public ReadSet get(int userId) {
+        Holder holder = holderFor(userId);
+        if (!holder.loaded) {
+            synchronized (holder) {
+                if (!holder.loaded) {
+                    ReadSet stored = new ReadSet(readArticleIds.apply(userId));
+                    stored.addAll(holder.readSet);
+                    holder.readSet = stored;
+                    holder.loaded = true;
+                    loads.incrementAndGet();
+                    logger.debug("Loaded read set of user {} with {} articles in {} bytes",
+                                 userId, stored.size(), stored.getMemoryBytes());
+                }
+            }
+        }
+        return holder.readSet;
+    }
+
+    /**
+     * Remove articles a user has already read
+     */
+    public List<NewsArticle> filterUnread(int userId, List<NewsArticle> articles, int limit) {
+        ReadSet readSet = get(userId);
+        List<NewsArticle> unread = new ArrayList<>(Math.min(limit, articles.size()));
+        for (NewsArticle article : articles) {
+            if (!readSet.contains(article.getId())) {
+                unread.add(article);
+                if (unread.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return unread;
+    }
+
+    /**
+     * Get the memory held by one user's read set in bytes
+     * @return Bytes, or 0 if the user's set is not in memory
+     */
+    public long getMemoryBytes(int userId) {
+        Holder holder;
+        synchronized (readSets) {
+            holder = readSets.get(userId);
+        }
+        return holder != null ? holder.readSet.getMemoryBytes() : 0;
+    }
+
+    private Holder holderFor(int userId) {
+        synchronized (readSets) {
+            return readSets.computeIfAbsent(userId, id -> new Holder());
+        }
+    }
+
+    /**
+     * Get store statistics
+     * @return Map containing user count and memory held by read sets
+     */
+    public Map<String, Object> getStatus() {
+        List<Holder> holders;
+        synchronized (readSets) {
+            holders = new ArrayList<>(readSets.values());
+        }
+
+        long memoryBytes = 0;
+        long maxUserBytes = 0;
+        long articles = 0;
+        for (Holder holder : holders) {
+            long bytes = holder.readSet.getMemoryBytes();
+            memoryBytes += bytes;
+            maxUserBytes = Math.max(maxUserBytes, bytes);
+            articles += holder.readSet.size();
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("users", holders.size());
+        status.put("maxUsers", maxUsers);
+        status.put("readArticles", articles);
+        status.put("memoryBytes", memoryBytes);
+        status.put("avgBytesPerUser", holders.isEmpty() ? 0 : memoryBytes / holders.size());
+        status.put("maxBytesPerUser", maxUserBytes);
+        status.put("loads", loads.get());
+        status.put("evictions", evictions.get());
+        return status;
+    }
+
+    /**
+     * Read set with its load state
+     */
+    private static final class Holder {
+        private volatile ReadSet readSet = new ReadSet();
+        private volatile boolean loaded = false;
+    }
+}
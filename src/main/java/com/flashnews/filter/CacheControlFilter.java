@@ -1,13 +1,20 @@
 package com.flashnews.filter;
 
+import com.flashnews.util.StaticResourceRegistry;
+import com.flashnews.util.StaticResourceRegistry.StaticResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.*;
 import javax.servlet.annotation.WebFilter;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 
 /**
  * CacheControlFilter to set appropriate cache headers for static resources
@@ -16,10 +23,22 @@ import java.io.IOException;
 @WebFilter(urlPatterns = {"*.css", "*.js", "*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg"})
 public class CacheControlFilter implements Filter {
     private static final Logger logger = LoggerFactory.getLogger(CacheControlFilter.class);
+    private static final DateTimeFormatter HTTP_DATE_FORMAT =
+            DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final int IMMUTABLE_MAX_AGE = 31536000;
+    
+    private StaticResourceRegistry resourceRegistry;
     
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        logger.info("CacheControlFilter initialized");
+        resourceRegistry = StaticResourceRegistry.getInstance(filterConfig.getServletContext());
+        
+        // Hash stylesheets and scripts up front so pages can link fingerprinted URLs
+        resourceRegistry.registerAssets("/css/");
+        resourceRegistry.registerAssets("/js/");
+        
+        logger.info("CacheControlFilter initialized with {} fingerprinted assets", 
+                   resourceRegistry.getAssetPaths().size());
     }
     
     @Override
@@ -32,15 +51,47 @@ public class CacheControlFilter implements Filter {
         String requestURI = httpRequest.getRequestURI();
         String extension = getFileExtension(requestURI);
         
-        // Set cache headers based on file type
-        if (isStaticResource(extension)) {
+        if (!isStaticResource(extension)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        String resourcePath = requestURI.substring(httpRequest.getContextPath().length());
+        boolean immutable = false;
+        
+        // Fingerprinted URLs map back to the original resource and never change
+        String originalPath = resourceRegistry.resolveFingerprintedPath(resourcePath);
+        if (originalPath != null) {
+            resourcePath = originalPath;
+            immutable = true;
+            httpRequest = new FingerprintedResourceRequest(httpRequest, originalPath);
+        }
+        
+        if (immutable) {
+            setImmutableCacheHeaders(httpResponse);
+        } else {
             setCacheHeaders(httpResponse, extension);
         }
         
+        StaticResource resource = resourceRegistry.getResource(resourcePath);
+        if (resource != null) {
+            httpResponse.setHeader("ETag", resource.getEtag());
+            
+            if (matchesETag(httpRequest.getHeader("If-None-Match"), resource.getEtag())) {
+                httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                logger.debug("Resource not modified: {}", resourcePath);
+                return;
+            }
+            
+            // Keep the content hash ETag instead of the container's weak one;
+            // CompressionFilter replaces it with the tag of a compressed variant it serves
+            httpResponse = new ETagPreservingResponse(httpResponse);
+        }
+        
         logger.debug("Cache headers set for resource: {}", requestURI);
         
         // Continue with the filter chain
-        chain.doFilter(request, response);
+        chain.doFilter(httpRequest, httpResponse);
     }
     
     /**
@@ -68,9 +119,39 @@ public class CacheControlFilter implements Filter {
                 response.setHeader("Cache-Control", "public, max-age=3600");
                 response.setHeader("Expires", getExpirationTime(3600));
         }
+    }
+    
+    /**
+     * Set cache headers for fingerprinted resources whose content never changes
+     */
+    private void setImmutableCacheHeaders(HttpServletResponse response) {
+        response.setHeader("Cache-Control", "public, max-age=" + IMMUTABLE_MAX_AGE + ", immutable");
+        response.setHeader("Expires", getExpirationTime(IMMUTABLE_MAX_AGE));
+    }
+    
+    /**
+     * Check whether an If-None-Match header matches the resource ETag
+     */
+    static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
         
-        // Set ETag for better caching
-        response.setHeader("ETag", "\"" + System.currentTimeMillis() + "\"");
+        return false;
     }
     
     /**
@@ -106,11 +187,76 @@ public class CacheControlFilter implements Filter {
      */
     private String getExpirationTime(int maxAgeSeconds) {
         long expirationTime = System.currentTimeMillis() + (maxAgeSeconds * 1000L);
-        return new java.util.Date(expirationTime).toGMTString();
+        return HTTP_DATE_FORMAT.format(Instant.ofEpochMilli(expirationTime));
     }
     
     @Override
     public void destroy() {
         logger.info("CacheControlFilter destroyed");
     }
+    
+    /**
+     * Request wrapper presenting a fingerprinted URL as its original resource path
+     */
+    private static class FingerprintedResourceRequest extends HttpServletRequestWrapper {
+        private final String resourcePath;
+        
+        FingerprintedResourceRequest(HttpServletRequest request, String resourcePath) {
+            super(request);
+            this.resourcePath = resourcePath;
+        }
+        
+        @Override
+        public String getServletPath() {
+            return resourcePath;
+        }
+        
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+        
+        @Override
+        public String getRequestURI() {
+            return getContextPath() + resourcePath;
+        }
+        
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer();
+            url.append(getScheme()).append("://").append(getServerName());
+            if (getServerPort() != 80 && getServerPort() != 443) {
+                url.append(':').append(getServerPort());
+            }
+            return url.append(getRequestURI());
+        }
+    }
+    
+    /**
+     * Response wrapper ignoring the weak ETags the container sets downstream
+     */
+    private static class ETagPreservingResponse extends HttpServletResponseWrapper {
+        
+        ETagPreservingResponse(HttpServletResponse response) {
+            super(response);
+        }
+        
+        @Override
+        public void setHeader(String name, String value) {
+            if (!isWeakETag(name, value)) {
+                super.setHeader(name, value);
+            }
+        }
+        
+        @Override
+        public void addHeader(String name, String value) {
+            if (!isWeakETag(name, value)) {
+                super.addHeader(name, value);
+            }
+        }
+        
+        private static boolean isWeakETag(String name, String value) {
+            return "ETag".equalsIgnoreCase(name) && (value == null || value.startsWith("W/"));
+        }
+    }
 }
@@ -13,7 +13,7 @@ import java.io.IOException;
  * CharacterEncodingFilter to ensure UTF-8 encoding for all requests and responses
  * Demonstrates filter pattern and request/response preprocessing
  */
-@WebFilter("/*")
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
 public class CharacterEncodingFilter implements Filter {
     private static final Logger logger = LoggerFactory.getLogger(CharacterEncodingFilter.class);
     private String encoding = "UTF-8";
@@ -0,0 +1,327 @@
+package com.flashnews.filter;
+
+import com.flashnews.util.BufferPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CompressionFilter negotiating gzip and brotli content encoding
+ * Dynamic HTML and JSON are gzipped on the fly above a size threshold;
+ * static assets are served from precompressed variants cached after first use
+ */
+public class CompressionFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(CompressionFilter.class);
+    private static final int DEFAULT_MIN_SIZE = 1024;
+    private static final int POOL_RETENTION = 64;
+    private static final int ENCODER_BUFFER_SIZE = 8192;
+    private static final Set<String> STATIC_EXTENSIONS = new HashSet<>(Arrays.asList("css", "js", "svg", "json"));
+
+    private final Map<String, PrecompressedResource> precompressed = new ConcurrentHashMap<>();
+    private ServletContext servletContext;
+    private Set<String> compressibleTypes;
+    private BufferPool bufferPool;
+    private GzipEncoder.Pool encoderPool;
+    private int minSize = DEFAULT_MIN_SIZE;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        this.servletContext = filterConfig.getServletContext();
+
+        String minSizeParam = filterConfig.getInitParameter("minSize");
+        if (minSizeParam != null && !minSizeParam.trim().isEmpty()) {
+            this.minSize = Integer.parseInt(minSizeParam.trim());
+        }
+
+        String typesParam = filterConfig.getInitParameter("compressibleTypes");
+        if (typesParam == null || typesParam.trim().isEmpty()) {
+            typesParam = "text/html,application/json";
+        }
+        compressibleTypes = new HashSet<>();
+        for (String type : typesParam.split(",")) {
+            compressibleTypes.add(type.trim().toLowerCase());
+        }
+
+        this.bufferPool = new BufferPool(minSize, POOL_RETENTION);
+        this.encoderPool = new GzipEncoder.Pool(Deflater.DEFAULT_COMPRESSION, POOL_RETENTION, ENCODER_BUFFER_SIZE);
+
+        logger.info("CompressionFilter initialized - minimum size: {} bytes, types: {}", minSize, compressibleTypes);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        String acceptEncoding = httpRequest.getHeader("Accept-Encoding");
+        boolean acceptsGzip = acceptsEncoding(acceptEncoding, "gzip");
+        boolean acceptsBrotli = acceptsEncoding(acceptEncoding, "br");
+
+        String path = httpRequest.getServletPath();
+        if (httpRequest.getPathInfo() != null) {
+            path = path + httpRequest.getPathInfo();
+        }
+
+        if (isStaticAsset(path)) {
+            httpResponse.addHeader("Vary", "Accept-Encoding");
+            if ((acceptsGzip || acceptsBrotli) && servePrecompressed(httpRequest, httpResponse, path, acceptsBrotli, acceptsGzip)) {
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!acceptsGzip || httpResponse.isCommitted()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CompressionResponseWrapper wrapper =
+                new CompressionResponseWrapper(httpResponse, compressibleTypes, bufferPool, encoderPool);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            completed = true;
+        } finally {
+            if (completed && request.isAsyncStarted()) {
+                // Finish once the asynchronous response completes
+                request.getAsyncContext().addListener(new FinishOnCompleteListener(wrapper));
+            } else if (completed) {
+                wrapper.finish();
+            } else {
+                wrapper.release();
+            }
+        }
+    }
+
+    /**
+     * Serve a static asset from a precompressed variant
+     * @return True if the response was written
+     */
+    private boolean servePrecompressed(HttpServletRequest request, HttpServletResponse response, String path,
+                                       boolean acceptsBrotli, boolean acceptsGzip) throws IOException {
+        if (!"GET".equals(request.getMethod()) || request.getHeader("Range") != null) {
+            return false;
+        }
+
+        PrecompressedResource resource = null;
+        if (acceptsBrotli) {
+            // Brotli variants are only produced at build time
+            resource = getPrecompressed(path, "br");
+        }
+        if (resource == null && acceptsGzip) {
+            resource = getPrecompressed(path, "gzip");
+        }
+        if (resource == null) {
+            return false;
+        }
+
+        // Each encoding is a different representation and gets its own strong validator
+        String etag = response.getHeader("ETag");
+        if (etag != null) {
+            etag = variantETag(etag, resource.encoding);
+            response.setHeader("ETag", etag);
+            if (CacheControlFilter.matchesETag(request.getHeader("If-None-Match"), etag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+        }
+
+        String mimeType = servletContext.getMimeType(path);
+        if (mimeType != null) {
+            response.setContentType(mimeType);
+        }
+        response.setHeader("Content-Encoding", resource.encoding);
+        response.setContentLength(resource.data.length);
+        response.getOutputStream().write(resource.data);
+
+        logger.debug("Served {} variant of {}", resource.encoding, path);
+        return true;
+    }
+
+    /**
+     * Derive the ETag of an encoded variant from the identity ETag, e.g. "abc" becomes "abc-gz"
+     */
+    static String variantETag(String etag, String encoding) {
+        String suffix = "br".equals(encoding) ? "-br" : "-gz";
+        if (etag.length() > 1 && etag.endsWith("\"")) {
+            return etag.substring(0, etag.length() - 1) + suffix + "\"";
+        }
+        return etag + suffix;
+    }
+
+    /**
+     * Get a precompressed variant, preferring a build-time file next to the asset
+     * and otherwise compressing the asset once and caching the result
+     */
+    private PrecompressedResource getPrecompressed(String path, String encoding) {
+        String key = encoding + ":" + path;
+        PrecompressedResource resource = precompressed.get(key);
+        if (resource != null) {
+            return resource.data.length > 0 ? resource : null;
+        }
+
+        String suffix = "br".equals(encoding) ? ".br" : ".gz";
+        byte[] data = readResource(path + suffix);
+        if (data == null && "gzip".equals(encoding)) {
+            byte[] original = readResource(path);
+            if (original != null) {
+                data = gzip(original);
+            }
+        }
+
+        // Cache misses as empty markers so missing variants are probed only once
+        resource = new PrecompressedResource(encoding, data != null ? data : new byte[0]);
+        PrecompressedResource previous = precompressed.putIfAbsent(key, resource);
+        if (previous != null) {
+            resource = previous;
+        }
+
+        return resource.data.length > 0 ? resource : null;
+    }
+
+    private byte[] readResource(String path) {
+        try (InputStream input = servletContext.getResourceAsStream(path)) {
+            if (input == null) {
+                return null;
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        } catch (IOException e) {
+            logger.warn("Error reading static resource: {}", path, e);
+            return null;
+        }
+    }
+
+    private byte[] gzip(byte[] data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            logger.warn("Error precompressing static resource", e);
+            return null;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Check whether Accept-Encoding lists the coding with a non-zero quality
+     */
+    private boolean acceptsEncoding(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim();
+            if (!name.equalsIgnoreCase(coding) && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean isStaticAsset(String path) {
+        int lastDotIndex = path.lastIndexOf('.');
+        return lastDotIndex > 0 && STATIC_EXTENSIONS.contains(path.substring(lastDotIndex + 1).toLowerCase());
+    }
+
+    /**
+     * Get compression statistics
+     * @return Map containing buffer pool and precompressed cache statistics
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new java.util.HashMap<>(bufferPool.getStatus());
+        status.put("precompressedEntries", precompressed.size());
+        status.put("encoderBuffers", encoderPool.getBuffers().getStatus());
+        return status;
+    }
+
+    @Override
+    public void destroy() {
+        precompressed.clear();
+        if (encoderPool != null) {
+            encoderPool.close();
+        }
+        logger.info("CompressionFilter destroyed");
+    }
+
+    /**
+     * Precompressed bytes of a static asset in one content coding
+     */
+    private static class PrecompressedResource {
+        private final String encoding;
+        private final byte[] data;
+
+        PrecompressedResource(String encoding, byte[] data) {
+            this.encoding = encoding;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Async listener completing compression when an async response ends
+     */
+    private static class FinishOnCompleteListener implements AsyncListener {
+        private final CompressionResponseWrapper wrapper;
+
+        FinishOnCompleteListener(CompressionResponseWrapper wrapper) {
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            wrapper.finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            wrapper.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.flashnews.filter;
+
+import com.flashnews.util.BufferPool;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Set;
+
+/**
+ * CompressionResponseWrapper buffering the start of a response to decide on gzip
+ * Bodies below the size threshold or of non-compressible types are written unchanged, and so are
+ * non-blocking responses, which write straight to the underlying stream once a WriteListener is set
+ */
+class CompressionResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum State { BUFFERING, PASSTHROUGH, COMPRESSING, FINISHED }
+
+    private final HttpServletResponse response;
+    private final Set<String> compressibleTypes;
+    private final BufferPool bufferPool;
+    private final GzipEncoder.Pool encoderPool;
+
+    private State state = State.BUFFERING;
+    private byte[] buffer;
+    private int buffered = 0;
+    private long contentLength = -1;
+    private GzipEncoder encoder;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private ServletOutputStream nonBlockingOutput;
+
+    CompressionResponseWrapper(HttpServletResponse response, Set<String> compressibleTypes,
+                               BufferPool bufferPool, GzipEncoder.Pool encoderPool) {
+        super(response);
+        this.response = response;
+        this.compressibleTypes = compressibleTypes;
+        this.bufferPool = bufferPool;
+        this.encoderPool = encoderPool;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new CompressionOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            outputStream = new CompressionOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        // Length is only known to be valid once we decide not to compress
+        if (state == State.PASSTHROUGH) {
+            response.setContentLengthLong(length);
+        } else {
+            contentLength = length;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        flushOutput();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        buffered = 0;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        buffered = 0;
+        contentLength = -1;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        abandonCompression();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        abandonCompression();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        abandonCompression();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Complete the response, writing any buffered body and the gzip trailer
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+
+        switch (state) {
+            case BUFFERING:
+                state = State.FINISHED;
+                if (buffered > 0) {
+                    response.setContentLength(buffered);
+                    response.getOutputStream().write(buffer, 0, buffered);
+                } else if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+                break;
+            case COMPRESSING:
+                state = State.FINISHED;
+                encoder.finish();
+                break;
+            default:
+                state = State.FINISHED;
+        }
+
+        releaseBuffer();
+    }
+
+    /**
+     * Return pooled resources if the response ended abnormally
+     */
+    void release() {
+        if (encoder != null && state == State.COMPRESSING) {
+            encoder.release();
+        }
+        releaseBuffer();
+    }
+
+    private void write(byte[] data, int offset, int length) throws IOException {
+        switch (state) {
+            case BUFFERING:
+                if (!isCompressible()) {
+                    startPassthrough();
+                    response.getOutputStream().write(data, offset, length);
+                    return;
+                }
+                if (buffer == null) {
+                    buffer = bufferPool.acquire();
+                }
+                if (buffered + length <= buffer.length) {
+                    System.arraycopy(data, offset, buffer, buffered, length);
+                    buffered += length;
+                    return;
+                }
+                startCompression();
+                encoder.write(data, offset, length);
+                break;
+            case COMPRESSING:
+                encoder.write(data, offset, length);
+                break;
+            case PASSTHROUGH:
+                response.getOutputStream().write(data, offset, length);
+                break;
+            default:
+                throw new IOException("Response already finished");
+        }
+    }
+
+    private void flushOutput() throws IOException {
+        switch (state) {
+            case BUFFERING:
+                // Streaming responses such as event streams must reach the client now
+                if (!isCompressible()) {
+                    startPassthrough();
+                    response.flushBuffer();
+                }
+                break;
+            case COMPRESSING:
+                encoder.flush();
+                break;
+            case PASSTHROUGH:
+                response.flushBuffer();
+                break;
+            default:
+        }
+    }
+
+    private boolean isCompressible() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        int separator = contentType.indexOf(';');
+        String mimeType = (separator >= 0 ? contentType.substring(0, separator) : contentType).trim().toLowerCase();
+        return compressibleTypes.contains(mimeType) && !containsHeader("Content-Encoding");
+    }
+
+    private void startPassthrough() throws IOException {
+        state = State.PASSTHROUGH;
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+        if (buffered > 0) {
+            response.getOutputStream().write(buffer, 0, buffered);
+        }
+        releaseBuffer();
+    }
+
+    private void startCompression() throws IOException {
+        state = State.COMPRESSING;
+        response.setHeader("Content-Encoding", "gzip");
+        response.addHeader("Vary", "Accept-Encoding");
+        encoder = new GzipEncoder(response.getOutputStream(), encoderPool);
+        if (buffered > 0) {
+            encoder.write(buffer, 0, buffered);
+        }
+        releaseBuffer();
+    }
+
+    /**
+     * Hand a non-blocking response to the underlying stream, uncompressed
+     */
+    private void setWriteListener(WriteListener writeListener) throws IOException {
+        if (state == State.COMPRESSING) {
+            throw new IllegalStateException("Response is already being compressed");
+        }
+        if (state == State.BUFFERING) {
+            startPassthrough();
+        }
+        nonBlockingOutput = response.getOutputStream();
+        nonBlockingOutput.setWriteListener(writeListener);
+    }
+
+    private void abandonCompression() {
+        if (state == State.BUFFERING) {
+            state = State.PASSTHROUGH;
+            releaseBuffer();
+        }
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            bufferPool.release(buffer);
+            buffer = null;
+        }
+        buffered = 0;
+    }
+
+    /**
+     * Output stream routing writes through the compression decision
+     */
+    private class CompressionOutputStream extends ServletOutputStream {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            CompressionResponseWrapper.this.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            CompressionResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushOutput();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return nonBlockingOutput == null || nonBlockingOutput.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                CompressionResponseWrapper.this.setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new IllegalStateException("Output stream is not available", e);
+            }
+        }
+    }
+}
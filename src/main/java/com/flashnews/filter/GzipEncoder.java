@@ -0,0 +1,145 @@
+package com.flashnews.filter;
+
+import com.flashnews.util.BufferPool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GzipEncoder writing the gzip format with pooled deflaters and output buffers
+ * Avoids the per-stream Deflater and buffer that GZIPOutputStream allocates
+ */
+class GzipEncoder {
+    private static final byte[] GZIP_HEADER = {
+        (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private final OutputStream target;
+    private final Pool pool;
+    private final Deflater deflater;
+    private final byte[] outputBuffer;
+    private final CRC32 crc = new CRC32();
+    private boolean finished = false;
+
+    GzipEncoder(OutputStream target, Pool pool) throws IOException {
+        this.target = target;
+        this.pool = pool;
+        this.deflater = pool.acquireDeflater();
+        this.outputBuffer = pool.buffers.acquire();
+        target.write(GZIP_HEADER);
+    }
+
+    void write(byte[] data, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        crc.update(data, offset, length);
+        deflater.setInput(data, offset, length);
+        while (!deflater.needsInput()) {
+            drain(Deflater.NO_FLUSH);
+        }
+    }
+
+    /**
+     * Flush compressed output so far, keeping the stream open
+     */
+    void flush() throws IOException {
+        int written;
+        do {
+            written = drain(Deflater.SYNC_FLUSH);
+        } while (written == outputBuffer.length);
+        target.flush();
+    }
+
+    /**
+     * Write remaining compressed data and the gzip trailer, then return pooled resources
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(Deflater.NO_FLUSH);
+            }
+
+            long checksum = crc.getValue();
+            long inputSize = deflater.getBytesRead();
+            byte[] trailer = new byte[8];
+            writeIntLE(trailer, 0, checksum);
+            writeIntLE(trailer, 4, inputSize);
+            target.write(trailer);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Return pooled resources without writing the trailer
+     */
+    void release() {
+        pool.releaseDeflater(deflater);
+        pool.buffers.release(outputBuffer);
+        finished = true;
+    }
+
+    private int drain(int flushMode) throws IOException {
+        int count = deflater.deflate(outputBuffer, 0, outputBuffer.length, flushMode);
+        if (count > 0) {
+            target.write(outputBuffer, 0, count);
+        }
+        return count;
+    }
+
+    private static void writeIntLE(byte[] bytes, int offset, long value) {
+        bytes[offset] = (byte) (value & 0xff);
+        bytes[offset + 1] = (byte) ((value >> 8) & 0xff);
+        bytes[offset + 2] = (byte) ((value >> 16) & 0xff);
+        bytes[offset + 3] = (byte) ((value >> 24) & 0xff);
+    }
+
+    /**
+     * Pool of raw deflaters and their output buffers shared by all responses
+     */
+    static class Pool {
+        private final int level;
+        private final BlockingQueue<Deflater> deflaters;
+        private final BufferPool buffers;
+
+        Pool(int level, int maxRetained, int bufferSize) {
+            this.level = level;
+            this.deflaters = new ArrayBlockingQueue<>(maxRetained);
+            this.buffers = new BufferPool(bufferSize, maxRetained);
+        }
+
+        Deflater acquireDeflater() {
+            Deflater deflater = deflaters.poll();
+            return deflater != null ? deflater : new Deflater(level, true);
+        }
+
+        void releaseDeflater(Deflater deflater) {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+
+        void close() {
+            Deflater deflater;
+            while ((deflater = deflaters.poll()) != null) {
+                deflater.end();
+            }
+        }
+
+        BufferPool getBuffers() {
+            return buffers;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.flashnews.filter;
+
+import com.flashnews.cache.WarmStartSnapshot;
+import com.flashnews.startup.ApplicationReadiness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * ReadinessFilter answering requests with a fast 503 until startup has completed
+ * Static resources, the page shell and the readiness endpoint always pass; reference data
+ * and the feeds the warm-start snapshot holds pass while it is serving. A feed the snapshot
+ * lacks gets the 503 too, rather than reaching MySQL before it is ready
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class ReadinessFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(ReadinessFilter.class);
+    private static final Set<String> ALWAYS_AVAILABLE = new HashSet<>(Arrays.asList(
+        "/", "/index.jsp", "/api/ready", "/metrics", "/metrics/queries"));
+    private static final Set<String> SNAPSHOT_REFERENCE_ACTIONS = new HashSet<>(Arrays.asList(
+        "categories", "locations"));
+    private static final Set<String> STATIC_PREFIXES = new HashSet<>(Arrays.asList("/css/", "/js/"));
+    
+    private ApplicationReadiness readiness;
+    private WarmStartSnapshot warmStartSnapshot;
+    
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        this.readiness = ApplicationReadiness.getInstance();
+        this.warmStartSnapshot = WarmStartSnapshot.getInstance();
+        logger.info("ReadinessFilter initialized");
+    }
+    
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        
+        if (readiness.isReady()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        
+        if (isAvailable(path, httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        logger.debug("Rejecting {} while starting up", path);
+        httpResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        httpResponse.setHeader("Retry-After", String.valueOf(readiness.getRetryAfterSeconds()));
+        httpResponse.setHeader("Cache-Control", "no-store");
+        httpResponse.setContentType("application/json");
+        httpResponse.setCharacterEncoding("UTF-8");
+        httpResponse.getWriter().write("{\"error\":\"FlashNews is starting up, please retry shortly\"}");
+    }
+    
+    private boolean isAvailable(String path, HttpServletRequest request) {
+        if (ALWAYS_AVAILABLE.contains(path)) {
+            return true;
+        }
+        for (String prefix : STATIC_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        
+        if (warmStartSnapshot.isServing() && "GET".equals(request.getMethod()) &&
+            ("/news".equals(path) || "/api/news".equals(path))) {
+            String queryString = request.getQueryString();
+            String action = getParameter(queryString, "action");
+            if (action == null) {
+                action = "list";
+            }
+            if (SNAPSHOT_REFERENCE_ACTIONS.contains(action)) {
+                return true;
+            }
+            if (!"list".equals(action) && !"trending".equals(action)) {
+                return false;
+            }
+            
+            // Same feed choice as NewsServiceImpl.getNewsByFilter
+            String kind = "trending".equals(action) ||
+                          "trending".equalsIgnoreCase(getParameter(queryString, "filter")) ? "trending" : "latest";
+            return warmStartSnapshot.hasFeed(kind, getIntegerParameter(queryString, "category"),
+                                             getIntegerParameter(queryString, "location"));
+        }
+        return false;
+    }
+    
+    /**
+     * Read a parameter from the query string, leaving parameter parsing to the encoding filter
+     */
+    private String getParameter(String queryString, String name) {
+        if (queryString != null) {
+            String prefix = name + "=";
+            for (String pair : queryString.split("&")) {
+                if (pair.startsWith(prefix)) {
+                    return pair.substring(prefix.length());
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Read an integer parameter the way NewsServlet does, treating invalid values as absent
+     */
+    private Integer getIntegerParameter(String queryString, String name) {
+        String value = getParameter(queryString, name);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        logger.info("ReadinessFilter destroyed");
+    }
+}
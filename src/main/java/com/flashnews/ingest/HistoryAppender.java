@@ -0,0 +1,172 @@
+package com.flashnews.ingest;
+
+import com.flashnews.dao.HistoryDAO;
+import com.flashnews.model.ReadingHistoryEntry;
+import com.flashnews.model.SearchHistoryEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HistoryAppender writing reading and search history off the request thread
+ * Entries queue in a bounded buffer and are flushed in batches by a single writer;
+ * when the buffer is full new entries are shed instead of blocking page views
+ */
+public class HistoryAppender {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryAppender.class);
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final long FLUSH_INTERVAL_MILLIS = 500;
+    private static final long SHUTDOWN_DRAIN_MILLIS = 10000;
+    private static final Object STOP = new Object();
+    private static HistoryAppender instance;
+
+    private final HistoryDAO historyDAO;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile boolean running = true;
+
+    private HistoryAppender() {
+        this(new HistoryDAO());
+    }
+
+    HistoryAppender(HistoryDAO historyDAO) {
+        this.historyDAO = historyDAO;
+        this.writer = new Thread(this::writeLoop, "history-appender");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Get singleton instance of HistoryAppender
+     * @return HistoryAppender instance
+     */
+    public static synchronized HistoryAppender getInstance() {
+        if (instance == null) {
+            instance = new HistoryAppender();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a reading history entry
+     * @return False if the entry was shed because the buffer is full or the appender stopped
+     */
+    public boolean append(ReadingHistoryEntry entry) {
+        return offer(entry);
+    }
+
+    /**
+     * Queue a search history entry
+     * @return False if the entry was shed because the buffer is full or the appender stopped
+     */
+    public boolean append(SearchHistoryEntry entry) {
+        return offer(entry);
+    }
+
+    private boolean offer(Object entry) {
+        if (running && queue.offer(entry)) {
+            appended.incrementAndGet();
+            return true;
+        }
+        long droppedCount = dropped.incrementAndGet();
+        if (droppedCount % 1000 == 1) {
+            logger.warn("History buffer full, {} entries dropped so far", droppedCount);
+        }
+        return false;
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null || first == STOP) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                batch.remove(STOP);
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (Exception e) {
+                failedBatches.incrementAndGet();
+                logger.error("Error writing history batch of {} entries", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        // Collapse repeated reads of the same article, matching the unique_user_article key
+        Map<Long, ReadingHistoryEntry> reads = new LinkedHashMap<>();
+        List<SearchHistoryEntry> searches = new ArrayList<>();
+        for (Object entry : batch) {
+            if (entry instanceof ReadingHistoryEntry) {
+                ReadingHistoryEntry read = (ReadingHistoryEntry) entry;
+                long key = ((long) read.getUserId() << 32) | (read.getArticleId() & 0xFFFFFFFFL);
+                reads.merge(key, read, ReadingHistoryEntry::merge);
+            } else {
+                searches.add((SearchHistoryEntry) entry);
+            }
+        }
+
+        boolean readsWritten = historyDAO.upsertReadingHistory(new ArrayList<>(reads.values()));
+        boolean searchesWritten = historyDAO.insertSearchHistory(searches);
+        if (readsWritten && searchesWritten) {
+            written.addAndGet(batch.size());
+        } else {
+            failedBatches.incrementAndGet();
+        }
+        logger.debug("Flushed history batch - {} reads ({} rows), {} searches",
+                     batch.size() - searches.size(), reads.size(), searches.size());
+    }
+
+    /**
+     * Get appender statistics
+     * @return Map containing queue depth and entry counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("queued", queue.size());
+        status.put("capacity", QUEUE_CAPACITY);
+        status.put("appended", appended.get());
+        status.put("written", written.get());
+        status.put("dropped", dropped.get());
+        status.put("failedBatches", failedBatches.get());
+        return status;
+    }
+
+    /**
+     * Stop accepting entries and drain what is queued
+     * The writer is woken rather than interrupted, so a batch waiting for a connection is not lost
+     */
+    public void shutdown() {
+        running = false;
+        queue.offer(STOP);
+        try {
+            writer.join(SHUTDOWN_DRAIN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("History appender did not drain within {} ms, {} entries left", SHUTDOWN_DRAIN_MILLIS, queue.size());
+        }
+        logger.info("History appender shutdown");
+    }
+}
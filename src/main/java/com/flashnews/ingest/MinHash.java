@@ -0,0 +1,97 @@
+package com.flashnews.ingest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * MinHash utility computing signatures that estimate word-set similarity of texts
+ * The fraction of equal signature positions approximates the Jaccard similarity of
+ * the two texts' words, which stays high when a republished story changes a few words
+ */
+public final class MinHash {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] multipliers;
+    private final long[] offsets;
+
+    /**
+     * Create a family of hash functions
+     * @param size Signature length
+     * @param seed Seed, fixed so signatures stay comparable across restarts
+     */
+    public MinHash(int size, long seed) {
+        Random random = new Random(seed);
+        this.multipliers = new long[size];
+        this.offsets = new long[size];
+        for (int i = 0; i < size; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Signature of the distinct words of a text
+     * @return Signature, or null if the text has fewer distinct words than required
+     */
+    public int[] signature(String text, int minWords) {
+        Set<Long> words = new HashSet<>();
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int position = 0;
+        while (position < length) {
+            while (position < length && !Character.isLetterOrDigit(normalized.charAt(position))) {
+                position++;
+            }
+            int start = position;
+            while (position < length && Character.isLetterOrDigit(normalized.charAt(position))) {
+                position++;
+            }
+            if (position > start) {
+                words.add(hash(normalized, start, position));
+            }
+        }
+
+        if (words.size() < minWords) {
+            return null;
+        }
+
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long word : words) {
+            for (int i = 0; i < signature.length; i++) {
+                // Multiply-shift hashing: the high bits of a*x+b form a universal hash family
+                int value = (int) ((multipliers[i] * word + offsets[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of two signatures
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static long hash(String text, int start, int end) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = start; i < end; i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
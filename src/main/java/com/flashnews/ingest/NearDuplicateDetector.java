@@ -0,0 +1,212 @@
+package com.flashnews.ingest;
+
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.dao.Repositories;
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NearDuplicateDetector recognizing the same story republished under different URLs
+ * Titles and descriptions are reduced to MinHash signatures and looked up in banded
+ * LSH tables, so only articles sharing a whole band are compared
+ */
+public class NearDuplicateDetector {
+    private static final Logger logger = LoggerFactory.getLogger(NearDuplicateDetector.class);
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 4;
+    private static final long SIGNATURE_SEED = 0x5eed_f1a5_4e75L;
+    private static final int MIN_WORDS = 5;
+    private static final int SEED_ARTICLES = 1000;
+    private static NearDuplicateDetector instance;
+
+    private final NewsArticleRepository newsArticleDAO;
+    private final MinHash minHash;
+    private final double minSimilarity;
+    private final long windowMillis;
+    private final List<Map<Long, List<Fingerprint>>> bandTables;
+    private final Deque<Fingerprint> insertionOrder = new ArrayDeque<>();
+    private boolean seeded = false;
+    private long checked = 0;
+    private long duplicates = 0;
+    private long candidatesCompared = 0;
+    private long checkNanos = 0;
+
+    private NearDuplicateDetector() {
+        this(Repositories.newsArticles(),
+            ApplicationProperties.getInt("dedupe.minSimilarityPercent", 70) / 100.0,
+            TimeUnit.HOURS.toMillis(ApplicationProperties.getLong("dedupe.windowHours", 48)));
+    }
+
+    NearDuplicateDetector(NewsArticleRepository newsArticleDAO, double minSimilarity, long windowMillis) {
+        this.newsArticleDAO = newsArticleDAO;
+        this.minHash = new MinHash(BANDS * ROWS_PER_BAND, SIGNATURE_SEED);
+        this.minSimilarity = minSimilarity;
+        this.windowMillis = windowMillis;
+        this.bandTables = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            bandTables.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Get singleton instance of NearDuplicateDetector
+     * @return NearDuplicateDetector instance
+     */
+    public static synchronized NearDuplicateDetector getInstance() {
+        if (instance == null) {
+            instance = new NearDuplicateDetector();
+        }
+        return instance;
+    }
+
+    /**
+     * Find an indexed article telling the same story
+     * @return ID of the most similar matching article, or null if the article is new
+     */
+    public synchronized Integer findDuplicate(NewsArticle article) {
+        seedIfNeeded();
+        long start = System.nanoTime();
+        try {
+            int[] signature = signature(article);
+            if (signature == null) {
+                return null;
+            }
+
+            Fingerprint best = null;
+            double bestSimilarity = minSimilarity;
+            for (int band = 0; band < BANDS; band++) {
+                List<Fingerprint> bucket = bandTables.get(band).get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Fingerprint candidate : bucket) {
+                    candidatesCompared++;
+                    double similarity = MinHash.similarity(signature, candidate.signature);
+                    if (similarity >= bestSimilarity) {
+                        best = candidate;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+
+            if (best != null) {
+                duplicates++;
+                return best.articleId;
+            }
+            return null;
+        } finally {
+            checked++;
+            checkNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Index a stored article so later copies of its story are recognized
+     */
+    public synchronized void register(NewsArticle article) {
+        seedIfNeeded();
+        index(article);
+    }
+
+    private void index(NewsArticle article) {
+        int[] signature = signature(article);
+        if (signature == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        expire(now);
+        Fingerprint entry = new Fingerprint(article.getId(), signature, now);
+        insertionOrder.addLast(entry);
+        for (int band = 0; band < BANDS; band++) {
+            bandTables.get(band).computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(2)).add(entry);
+        }
+    }
+
+    private void expire(long now) {
+        while (!insertionOrder.isEmpty() && now - insertionOrder.peekFirst().indexedAtMillis > windowMillis) {
+            Fingerprint expired = insertionOrder.removeFirst();
+            for (int band = 0; band < BANDS; band++) {
+                Map<Long, List<Fingerprint>> table = bandTables.get(band);
+                long key = bandKey(expired.signature, band);
+                List<Fingerprint> bucket = table.get(key);
+                if (bucket != null) {
+                    bucket.remove(expired);
+                    if (bucket.isEmpty()) {
+                        table.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Index the latest stored articles once, so duplicates of stories ingested
+     * before a restart are still recognized
+     */
+    private void seedIfNeeded() {
+        if (seeded) {
+            return;
+        }
+        seeded = true;
+        List<NewsArticle> recent = newsArticleDAO.getLatestNews(null, null, SEED_ARTICLES);
+        for (NewsArticle article : recent) {
+            index(article);
+        }
+        logger.info("Seeded near-duplicate index with {} articles", insertionOrder.size());
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = 1;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            key = key * 1_000_003L + signature[row];
+        }
+        return key;
+    }
+
+    private int[] signature(NewsArticle article) {
+        String title = article.getTitle() != null ? article.getTitle() : "";
+        String description = article.getDescription() != null ? article.getDescription() : "";
+        return minHash.signature(title + " " + description, MIN_WORDS);
+    }
+
+    /**
+     * Get detector statistics
+     * @return Map containing index size, duplicate count and throughput
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("indexedArticles", insertionOrder.size());
+        status.put("checked", checked);
+        status.put("duplicates", duplicates);
+        status.put("candidatesCompared", candidatesCompared);
+        status.put("minSimilarity", minSimilarity);
+        status.put("articlesPerSecond", checkNanos > 0 ? checked * 1_000_000_000L / checkNanos : 0);
+        return status;
+    }
+
+    /**
+     * Indexed signature of one article
+     */
+    private static final class Fingerprint {
+        private final int articleId;
+        private final int[] signature;
+        private final long indexedAtMillis;
+
+        Fingerprint(int articleId, int[] signature, long indexedAtMillis) {
+            this.articleId = articleId;
+            this.signature = signature;
+            this.indexedAtMillis = indexedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.flashnews.ingest;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RefreshJob class tracking one queued upstream news refresh
+ * Status transitions: PENDING -> RUNNING -> COMPLETED or FAILED
+ */
+public class RefreshJob {
+    
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+    
+    private final String id;
+    private final Integer categoryId;
+    private final Integer locationId;
+    private final LocalDateTime createdAt;
+    private volatile Status status = Status.PENDING;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile int fetchedCount;
+    private volatile String error;
+    
+    RefreshJob(String id, Integer categoryId, Integer locationId) {
+        this.id = id;
+        this.categoryId = categoryId;
+        this.locationId = locationId;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+    
+    public Integer getLocationId() {
+        return locationId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public int getFetchedCount() {
+        return fetchedCount;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    /**
+     * Check whether the job is still waiting or running
+     */
+    public boolean isActive() {
+        return status == Status.PENDING || status == Status.RUNNING;
+    }
+    
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+    
+    void markCompleted(int fetchedCount) {
+        this.fetchedCount = fetchedCount;
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+    
+    void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+    
+    /**
+     * Convert the job to its client-facing field map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jobId", id);
+        json.put("status", status.name());
+        json.put("categoryId", categoryId);
+        json.put("locationId", locationId);
+        json.put("fetchedCount", fetchedCount);
+        json.put("createdAt", createdAt.toString());
+        json.put("startedAt", startedAt != null ? startedAt.toString() : null);
+        json.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        if (error != null) {
+            json.put("error", error);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,146 @@
+package com.flashnews.ingest;
+
+import com.flashnews.push.ArticleBroadcastHub;
+import com.flashnews.service.NewsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RefreshJobQueue running upstream news refreshes off the request thread
+ * Requests for the same category and location collapse into the job already queued
+ */
+public class RefreshJobQueue {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshJobQueue.class);
+    private static final int WORKER_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 32;
+    private static final int MAX_TRACKED_JOBS = 256;
+
+    private final NewsService newsService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, RefreshJob> activeJobs = new ConcurrentHashMap<>();
+    private final Map<String, RefreshJob> jobsById = new LinkedHashMap<String, RefreshJob>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RefreshJob> eldest) {
+            return size() > MAX_TRACKED_JOBS;
+        }
+    };
+    private final AtomicLong jobSequence = new AtomicLong();
+    private final AtomicLong threadSequence = new AtomicLong();
+    private final AtomicLong collapsedRequests = new AtomicLong();
+
+    public RefreshJobQueue(NewsService newsService) {
+        this.newsService = newsService;
+        this.executor = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "news-refresh-" + threadSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Enqueue a refresh, or return the job already pending for the same filters
+     * @return Queued or existing job
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public RefreshJob submit(Integer categoryId, Integer locationId) {
+        String key = categoryId + ":" + locationId;
+
+        RefreshJob[] created = new RefreshJob[1];
+        RefreshJob job = activeJobs.compute(key, (k, existing) -> {
+            if (existing != null && existing.isActive()) {
+                return existing;
+            }
+            created[0] = new RefreshJob("refresh-" + jobSequence.incrementAndGet(), categoryId, locationId);
+            return created[0];
+        });
+
+        if (created[0] == null) {
+            collapsedRequests.incrementAndGet();
+            logger.debug("Refresh for {} collapsed into job {}", key, job.getId());
+            return job;
+        }
+
+        synchronized (jobsById) {
+            jobsById.put(job.getId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(key, job));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(key, job);
+            synchronized (jobsById) {
+                jobsById.remove(job.getId());
+            }
+            logger.warn("Refresh queue full, rejecting refresh for {}", key);
+            throw e;
+        }
+
+        logger.info("Queued refresh job {} - Category: {}, Location: {}", job.getId(), categoryId, locationId);
+        return job;
+    }
+
+    /**
+     * Look up a job by ID
+     * @return Job or null if unknown or expired
+     */
+    public RefreshJob getJob(String jobId) {
+        synchronized (jobsById) {
+            return jobsById.get(jobId);
+        }
+    }
+
+    private void run(String key, RefreshJob job) {
+        job.markRunning();
+        try {
+            int fetchedCount = newsService.refreshNewsCacheOrThrow(job.getCategoryId(), job.getLocationId());
+            job.markCompleted(fetchedCount);
+            logger.info("Refresh job {} completed with {} new articles", job.getId(), fetchedCount);
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            logger.error("Refresh job {} failed", job.getId(), e);
+        } finally {
+            activeJobs.remove(key, job);
+            ArticleBroadcastHub.getInstance().publishEvent("refresh", job.toMap(),
+                    job.getCategoryId(), job.getLocationId());
+        }
+    }
+
+    /**
+     * Get queue statistics
+     * @return Map containing queue depth and job counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new java.util.HashMap<>();
+        status.put("queued", executor.getQueue().size());
+        status.put("running", executor.getActiveCount());
+        status.put("completed", executor.getCompletedTaskCount());
+        status.put("collapsedRequests", collapsedRequests.get());
+        return status;
+    }
+
+    /**
+     * Stop accepting jobs and wait briefly for running refreshes
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Refresh job queue shutdown");
+    }
+}
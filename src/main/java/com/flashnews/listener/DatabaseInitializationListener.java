@@ -1,19 +1,29 @@
 package com.flashnews.listener;
 
+import com.flashnews.auth.CredentialHasher;
+import com.flashnews.auth.PrincipalCache;
+import com.flashnews.cache.ReferenceDataCache;
+import com.flashnews.cache.RetentionEngine;
+import com.flashnews.cache.WarmStartSnapshot;
 import com.flashnews.database.DatabaseConnection;
+import com.flashnews.database.MigrationRunner;
+import com.flashnews.dao.Repositories;
+import com.flashnews.database.PartitionMaintenanceJob;
+import com.flashnews.feed.FeedMaterializer;
+import com.flashnews.ingest.HistoryAppender;
+import com.flashnews.push.ArticleBroadcastHub;
+import com.flashnews.search.SuggestionService;
 import com.flashnews.service.NewsService;
 import com.flashnews.service.impl.NewsServiceImpl;
+import com.flashnews.startup.ApplicationReadiness;
+import com.flashnews.trending.TrendingScorer;
+import com.flashnews.util.ApplicationProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 import javax.servlet.annotation.WebListener;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.sql.Connection;
-import java.sql.Statement;
 
 /**
  * DatabaseInitializationListener for initializing database on application startup
@@ -28,35 +38,62 @@ public class DatabaseInitializationListener implements ServletContextListener {
     public void contextInitialized(ServletContextEvent sce) {
         logger.info("FlashNews application starting up...");
         
-        try {
-            // Initialize database connection
-            DatabaseConnection dbConnection = DatabaseConnection.getInstance();
-            dbConnection.initialize();
-            
-            // Test database connection
-            if (dbConnection.testConnection()) {
-                logger.info("Database connection established successfully");
-                
-                // Initialize database schema if needed
-                initializeDatabaseSchema();
-                
-                // Initialize news service
-                newsService = new NewsServiceImpl();
-                
-                // Pre-populate with some news if database is empty
-                preloadNewsData();
-                
-                // Store news service in servlet context
-                sce.getServletContext().setAttribute("newsService", newsService);
-                
-                logger.info("FlashNews application initialized successfully");
-            } else {
-                logger.error("Failed to establish database connection");
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error during application initialization", e);
+        // Feeds in a snapshot from the previous run are served while the phases below run
+        WarmStartSnapshot.getInstance().load();
+        
+        // Run startup in phases off the deployment thread; requests are gated until the required ones complete
+        ApplicationReadiness readiness = ApplicationReadiness.getInstance();
+        readiness.addPhase("pool", true, this::warmUpConnectionPool);
+        readiness.addPhase("schema", true, () -> new MigrationRunner().migrate());
+        readiness.addPhase("referenceData", true, () -> ReferenceDataCache.getInstance().load());
+        readiness.addPhase("caches", true, () -> warmUpCaches(sce));
+        readiness.addPhase("preload", false, this::preloadNewsData);
+        if (!ApplicationProperties.getBoolean("startup.preloadEnabled", true)) {
+            readiness.skipPhase("preload");
         }
+        if (Repositories.isInMemory()) {
+            // Articles, categories and locations live in memory; there is no pool or schema to wait for
+            readiness.skipPhase("pool");
+            readiness.skipPhase("schema");
+        }
+        readiness.start();
+    }
+    
+    /**
+     * Open the connection pool and check that MySQL answers
+     */
+    private void warmUpConnectionPool() {
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        dbConnection.initialize();
+        if (!dbConnection.testConnection()) {
+            throw new IllegalStateException("Failed to establish database connection");
+        }
+        logger.info("Database connection established successfully");
+    }
+    
+    /**
+     * Create the news service, warm in-memory caches and start background jobs
+     */
+    private void warmUpCaches(ServletContextEvent sce) {
+        newsService = new NewsServiceImpl();
+        sce.getServletContext().setAttribute("newsService", newsService);
+        
+        // Seed trending scores so the first trending request does not rank from scratch
+        TrendingScorer trendingScorer = TrendingScorer.getInstance();
+        trendingScorer.register(Repositories.newsArticles().getLatestNews(null, null, 100));
+        trendingScorer.recompute();
+        
+        // Build the search suggestion index in the background
+        SuggestionService.getInstance();
+        
+        // Schedule eviction of old articles and partition rotation
+        RetentionEngine.getInstance();
+        if (!Repositories.isInMemory()) {
+            PartitionMaintenanceJob.getInstance();
+        }
+        
+        // Hand reads from the warm-start snapshot back to MySQL
+        WarmStartSnapshot.getInstance().revalidate();
     }
     
     @Override
@@ -64,11 +101,36 @@ public class DatabaseInitializationListener implements ServletContextListener {
         logger.info("FlashNews application shutting down...");
         
         try {
+            // Stop startup phases that are still running
+            ApplicationReadiness.getInstance().shutdown();
+            
             // Shutdown news service
             if (newsService instanceof NewsServiceImpl) {
                 ((NewsServiceImpl) newsService).shutdown();
             }
             
+            // Write the warm-start snapshot while the database is still open
+            WarmStartSnapshot.getInstance().shutdown();
+            
+            // Close open event streams
+            ArticleBroadcastHub.getInstance().shutdown();
+            
+            // Stop trending recomputation and feed materialization
+            TrendingScorer.getInstance().shutdown();
+            FeedMaterializer.getInstance().shutdown();
+            SuggestionService.getInstance().shutdown();
+            RetentionEngine.getInstance().shutdown();
+            if (!Repositories.isInMemory()) {
+                PartitionMaintenanceJob.getInstance().shutdown();
+            }
+            
+            // Flush queued history before connections close
+            HistoryAppender.getInstance().shutdown();
+            
+            // Stop authentication workers
+            CredentialHasher.getInstance().shutdown();
+            PrincipalCache.getInstance().shutdown();
+            
             // Close database connections
             DatabaseConnection dbConnection = DatabaseConnection.getInstance();
             dbConnection.closeAllConnections();
@@ -80,57 +142,6 @@ public class DatabaseInitializationListener implements ServletContextListener {
         }
     }
     
-    /**
-     * Initialize database schema
-     */
-    private void initializeDatabaseSchema() {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("database/schema.sql");
-             BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
-            
-            if (input == null) {
-                logger.warn("Database schema file not found, skipping initialization");
-                return;
-            }
-            
-            DatabaseConnection dbConnection = DatabaseConnection.getInstance();
-            try (Connection conn = dbConnection.getConnection();
-                 Statement stmt = conn.createStatement()) {
-                
-                StringBuilder sqlScript = new StringBuilder();
-                String line;
-                
-                while ((line = reader.readLine()) != null) {
-                    // Skip comments and empty lines
-                    if (line.trim().isEmpty() || line.trim().startsWith("--")) {
-                        continue;
-                    }
-                    
-                    sqlScript.append(line).append("\n");
-                    
-                    // Execute when we hit a semicolon
-                    if (line.trim().endsWith(";")) {
-                        try {
-                            stmt.execute(sqlScript.toString());
-                            logger.debug("Executed SQL: {}", sqlScript.toString().trim());
-                        } catch (Exception e) {
-                            // Ignore errors for existing tables/constraints
-                            logger.debug("SQL execution warning (likely existing object): {}", e.getMessage());
-                        }
-                        sqlScript.setLength(0);
-                    }
-                }
-                
-                logger.info("Database schema initialization completed");
-                
-            } finally {
-                dbConnection.returnConnection(null);
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error initializing database schema", e);
-        }
-    }
-    
     /**
      * Preload some news data if database is empty
      */
@@ -0,0 +1,23 @@
+package com.flashnews.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter metric that only goes up
+ * Backed by a LongAdder, so concurrent increments do not contend
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void increment(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,65 @@
+package com.flashnews.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * MetricFamily grouping the metrics of one name by their label values
+ * Resolve a child once and keep it where a hot path records into it; labels() allocates a key
+ */
+public class MetricFamily<T> {
+
+    public enum Type { COUNTER, GAUGE, SUMMARY }
+
+    private final String name;
+    private final String help;
+    private final Type type;
+    private final String[] labelNames;
+    private final Supplier<T> factory;
+    private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, Type type, String[] labelNames, Supplier<T> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames;
+        this.factory = factory;
+    }
+
+    /**
+     * Get the metric for the given label values, creating it on first use
+     */
+    public T labels(String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+        }
+        return children.computeIfAbsent(Arrays.asList(labelValues), key -> factory.get());
+    }
+
+    void put(T child, String... labelValues) {
+        children.put(Arrays.asList(labelValues), child);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    String[] getLabelNames() {
+        return labelNames;
+    }
+
+    Map<List<String>, T> getChildren() {
+        return children;
+    }
+}
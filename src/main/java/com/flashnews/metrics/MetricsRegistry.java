@@ -0,0 +1,155 @@
+package com.flashnews.metrics;
+
+import com.flashnews.util.ApplicationProperties;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * MetricsRegistry holding the application's counters, gauges and timers
+ * Registration is idempotent, so components ask for their families wherever they are created.
+ * Written out in the Prometheus text exposition format, timers as summaries in seconds
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry instance = new MetricsRegistry();
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, MetricFamily<?>> families = new ConcurrentSkipListMap<>();
+    private final long timerWindowMillis;
+
+    private MetricsRegistry() {
+        this.timerWindowMillis =
+            TimeUnit.SECONDS.toMillis(ApplicationProperties.getLong("metrics.quantileWindowSeconds", 60));
+    }
+
+    /**
+     * Get singleton instance of MetricsRegistry
+     * @return MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.COUNTER, labelNames, Counter::new);
+    }
+
+    public MetricFamily<Timer> timer(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.SUMMARY, labelNames, () -> new Timer(timerWindowMillis));
+    }
+
+    /**
+     * Register a gauge read on every scrape; a later registration replaces the supplier
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        MetricFamily<DoubleSupplier> family = register(name, help, MetricFamily.Type.GAUGE, new String[0], () -> value);
+        family.put(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> MetricFamily<T> register(String name, String help, MetricFamily.Type type, String[] labelNames,
+                                         Supplier<T> factory) {
+        MetricFamily<?> family = families.computeIfAbsent(name,
+            key -> new MetricFamily<>(name, help, type, labelNames, factory));
+        if (family.getType() != type || family.getLabelNames().length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered differently");
+        }
+        return (MetricFamily<T>) family;
+    }
+
+    /**
+     * Write all metrics in the Prometheus text exposition format (version 0.0.4)
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        StringBuilder text = new StringBuilder(8192);
+        for (MetricFamily<?> family : families.values()) {
+            if (family.getChildren().isEmpty()) {
+                continue;
+            }
+            text.append("# HELP ").append(family.getName()).append(' ').append(family.getHelp()).append('\n');
+            text.append("# TYPE ").append(family.getName()).append(' ')
+                .append(family.getType().name().toLowerCase()).append('\n');
+            for (Map.Entry<List<String>, ?> child : family.getChildren().entrySet()) {
+                writeChild(text, family, child.getKey(), child.getValue());
+            }
+        }
+        out.write(text.toString());
+    }
+
+    private void writeChild(StringBuilder text, MetricFamily<?> family, List<String> labelValues, Object metric) {
+        String name = family.getName();
+        String[] labelNames = family.getLabelNames();
+        switch (family.getType()) {
+            case COUNTER:
+                sample(text, name, labelNames, labelValues, null, ((Counter) metric).get());
+                break;
+            case GAUGE:
+                sample(text, name, labelNames, labelValues, null, ((DoubleSupplier) metric).getAsDouble());
+                break;
+            case SUMMARY:
+                Timer timer = (Timer) metric;
+                Histogram histogram = timer.snapshot();
+                for (double quantile : QUANTILES) {
+                    double seconds = histogram.getTotalCount() == 0 ? Double.NaN
+                        : histogram.getValueAtPercentile(quantile * 100) / 1e6;
+                    sample(text, name, labelNames, labelValues, String.valueOf(quantile), seconds);
+                }
+                sample(text, name + "_count", labelNames, labelValues, null, timer.getCount());
+                sample(text, name + "_sum", labelNames, labelValues, null, timer.getSumSeconds());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void sample(StringBuilder text, String name, String[] labelNames, List<String> labelValues,
+                               String quantile, double value) {
+        text.append(name);
+        if (labelNames.length > 0 || quantile != null) {
+            text.append('{');
+            for (int i = 0; i < labelNames.length; i++) {
+                if (i > 0) {
+                    text.append(',');
+                }
+                text.append(labelNames[i]).append("=\"");
+                escape(text, labelValues.get(i));
+                text.append('"');
+            }
+            if (quantile != null) {
+                text.append(labelNames.length > 0 ? "," : "").append("quantile=\"").append(quantile).append('"');
+            }
+            text.append('}');
+        }
+        text.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static void escape(StringBuilder text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                text.append('\\').append(c);
+            } else if (c == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.flashnews.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TimedProxy timing every call made through an interface
+ * Each method records into the child of the family labelled with the given leading
+ * values and the method name; the child is resolved on the first call of the method
+ */
+public final class TimedProxy implements InvocationHandler {
+    private final Object target;
+    private final MetricFamily<Timer> family;
+    private final String[] leadingLabels;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    private TimedProxy(Object target, MetricFamily<Timer> family, String[] leadingLabels) {
+        this.target = target;
+        this.family = family;
+        this.leadingLabels = leadingLabels;
+    }
+
+    /**
+     * Wrap a target so calls through the interface are timed
+     */
+    public static <T> T wrap(Class<T> type, T target, MetricFamily<Timer> family, String... leadingLabels) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            new TimedProxy(target, family, leadingLabels));
+        return type.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, this::timerFor);
+        }
+        long start = System.nanoTime();
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            timer.recordSince(start);
+        }
+    }
+
+    private Timer timerFor(Method method) {
+        String[] labels = Arrays.copyOf(leadingLabels, leadingLabels.length + 1);
+        labels[leadingLabels.length] = method.getName();
+        return family.labels(labels);
+    }
+}
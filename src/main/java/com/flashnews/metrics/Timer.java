@@ -0,0 +1,82 @@
+package com.flashnews.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timer metric recording durations into an HdrHistogram
+ * Recording goes through a Recorder and is wait-free; quantiles are computed on scrape
+ * over the current and the previous window, while count and sum cover the whole uptime
+ */
+public class Timer {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final long windowMillis;
+    private Histogram current;
+    private Histogram previous;
+    private Histogram recycled;
+    private long windowStartMillis = System.currentTimeMillis();
+
+    Timer(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Record a duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        recorder.recordValue(micros);
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Record the time elapsed since a System.nanoTime() reading
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+
+    /**
+     * Durations of the current and previous window, in microseconds
+     */
+    synchronized Histogram snapshot() {
+        Histogram interval = recorder.getIntervalHistogram(recycled);
+        if (current == null) {
+            current = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        }
+        current.add(interval);
+        recycled = interval;
+
+        long now = System.currentTimeMillis();
+        if (now - windowStartMillis >= windowMillis) {
+            Histogram expired = previous;
+            previous = current;
+            current = expired != null ? expired : new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            current.reset();
+            windowStartMillis = now;
+        }
+
+        Histogram merged = current.copy();
+        if (previous != null) {
+            merged.add(previous);
+        }
+        return merged;
+    }
+}
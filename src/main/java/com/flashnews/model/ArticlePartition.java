@@ -0,0 +1,35 @@
+package com.flashnews.model;
+
+/**
+ * ArticlePartition model class representing one published_at range partition of news_articles
+ */
+public class ArticlePartition {
+    private final String name;
+    private final Long lessThanEpochSeconds;
+    private final long rows;
+
+    public ArticlePartition(String name, Long lessThanEpochSeconds, long rows) {
+        this.name = name;
+        this.lessThanEpochSeconds = lessThanEpochSeconds;
+        this.rows = rows;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Exclusive upper bound of the partition in epoch seconds, null for the MAXVALUE partition
+     */
+    public Long getLessThanEpochSeconds() {
+        return lessThanEpochSeconds;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isCatchAll() {
+        return lessThanEpochSeconds == null;
+    }
+}
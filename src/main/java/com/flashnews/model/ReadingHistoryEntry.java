@@ -0,0 +1,44 @@
+package com.flashnews.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * ReadingHistoryEntry model class representing one article read by a user
+ * Entries for the same user and article merge by adding their reading time
+ */
+public class ReadingHistoryEntry {
+    private final int userId;
+    private final int articleId;
+    private final LocalDateTime readAt;
+    private final int timeSpent;
+
+    public ReadingHistoryEntry(int userId, int articleId, LocalDateTime readAt, int timeSpent) {
+        this.userId = userId;
+        this.articleId = articleId;
+        this.readAt = readAt;
+        this.timeSpent = Math.max(timeSpent, 0);
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getArticleId() {
+        return articleId;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public int getTimeSpent() {
+        return timeSpent;
+    }
+
+    /**
+     * Merge a later read of the same article into this entry
+     */
+    public ReadingHistoryEntry merge(ReadingHistoryEntry later) {
+        return new ReadingHistoryEntry(userId, articleId, later.readAt, timeSpent + later.timeSpent);
+    }
+}
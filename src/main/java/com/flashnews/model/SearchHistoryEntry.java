@@ -0,0 +1,36 @@
+package com.flashnews.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * SearchHistoryEntry model class representing one search made by a user or visitor
+ */
+public class SearchHistoryEntry {
+    private final Integer userId;
+    private final String searchQuery;
+    private final int resultsCount;
+    private final LocalDateTime searchedAt;
+
+    public SearchHistoryEntry(Integer userId, String searchQuery, int resultsCount, LocalDateTime searchedAt) {
+        this.userId = userId;
+        this.searchQuery = searchQuery;
+        this.resultsCount = resultsCount;
+        this.searchedAt = searchedAt;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getSearchQuery() {
+        return searchQuery;
+    }
+
+    public int getResultsCount() {
+        return resultsCount;
+    }
+
+    public LocalDateTime getSearchedAt() {
+        return searchedAt;
+    }
+}
@@ -0,0 +1,164 @@
+package com.flashnews.push;
+
+import com.flashnews.model.NewsArticle;
+import com.flashnews.util.ArticleJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ArticleBroadcastHub fanning out newly ingested articles to Server-Sent Events clients
+ * Each subscriber writes with non-blocking I/O, so no thread is held per connection
+ */
+public class ArticleBroadcastHub {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleBroadcastHub.class);
+    private static final long HEARTBEAT_SECONDS = 20;
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static ArticleBroadcastHub instance;
+
+    private final List<StreamSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong eventsPublished = new AtomicLong();
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    private ArticleBroadcastHub() {
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get singleton instance of ArticleBroadcastHub
+     * @return ArticleBroadcastHub instance
+     */
+    public static synchronized ArticleBroadcastHub getInstance() {
+        if (instance == null) {
+            instance = new ArticleBroadcastHub();
+        }
+        return instance;
+    }
+
+    /**
+     * Register an event stream client
+     * @param asyncContext Async context of the open stream request
+     * @param categoryId Category filter (optional)
+     * @param locationId Location filter (optional)
+     * @return Subscriber handle to install as the stream's write listener
+     */
+    public StreamSubscriber subscribe(AsyncContext asyncContext, Integer categoryId, Integer locationId) {
+        StreamSubscriber subscriber = new StreamSubscriber(this, asyncContext, categoryId, locationId);
+        subscribers.add(subscriber);
+        logger.debug("Stream subscriber added - Category: {}, Location: {}, Total: {}",
+                    categoryId, locationId, subscribers.size());
+        return subscriber;
+    }
+
+    /**
+     * Remove a subscriber whose stream has ended
+     */
+    public void unsubscribe(StreamSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            logger.debug("Stream subscriber removed - Total: {}", subscribers.size());
+        }
+    }
+
+    /**
+     * Send newly ingested articles to every subscriber whose filters match
+     */
+    public void publish(List<NewsArticle> articles) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        for (NewsArticle article : articles) {
+            // Serialize once and share the bytes across all matching subscribers
+            byte[] event = formatEvent(String.valueOf(article.getId()), "article",
+                                       ArticleJson.toJson(ArticleJson.toMap(article)));
+            for (StreamSubscriber subscriber : subscribers) {
+                if (subscriber.matches(article)) {
+                    subscriber.send(event);
+                }
+            }
+            eventsPublished.incrementAndGet();
+        }
+    }
+
+    /**
+     * Send a named event to subscribers of the given filters
+     * @param categoryId Category the event concerns (null for all)
+     * @param locationId Location the event concerns (null for all)
+     */
+    public void publishEvent(String eventName, Map<String, Object> data, Integer categoryId, Integer locationId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        byte[] event = formatEvent(null, eventName, ArticleJson.toJson(data));
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.matches(categoryId, locationId)) {
+                subscriber.send(event);
+            }
+        }
+        eventsPublished.incrementAndGet();
+    }
+
+    /**
+     * Format a Server-Sent Events frame
+     */
+    static byte[] formatEvent(String id, String eventName, String data) {
+        StringBuilder frame = new StringBuilder(data.length() + 64);
+        if (id != null) {
+            frame.append("id: ").append(id).append('\n');
+        }
+        frame.append("event: ").append(eventName).append('\n');
+        frame.append("data: ").append(data).append("\n\n");
+        return frame.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void sendHeartbeat() {
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.send(HEARTBEAT);
+        }
+    }
+
+    /**
+     * Get number of connected stream clients
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Get hub statistics
+     * @return Map containing subscriber and event counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new java.util.HashMap<>();
+        status.put("subscribers", subscribers.size());
+        status.put("eventsPublished", eventsPublished.get());
+        return status;
+    }
+
+    /**
+     * Close all streams and stop the heartbeat
+     */
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        subscribers.clear();
+        logger.info("Article broadcast hub shutdown");
+    }
+}
@@ -0,0 +1,144 @@
+package com.flashnews.push;
+
+import com.flashnews.model.NewsArticle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * StreamSubscriber representing one open event stream
+ * Queues events and writes them only while the output stream is ready
+ */
+public class StreamSubscriber implements WriteListener {
+    private static final Logger logger = LoggerFactory.getLogger(StreamSubscriber.class);
+    private static final int MAX_PENDING_EVENTS = 256;
+
+    private final ArticleBroadcastHub hub;
+    private final AsyncContext asyncContext;
+    private final Integer categoryId;
+    private final Integer locationId;
+    private final Queue<byte[]> pending = new ArrayDeque<>();
+    private ServletOutputStream outputStream;
+    private boolean closed = false;
+
+    StreamSubscriber(ArticleBroadcastHub hub, AsyncContext asyncContext, Integer categoryId, Integer locationId) {
+        this.hub = hub;
+        this.asyncContext = asyncContext;
+        this.categoryId = categoryId;
+        this.locationId = locationId;
+    }
+
+    /**
+     * Attach to the response output stream and start non-blocking writes
+     */
+    public void start(ServletOutputStream outputStream, byte[] greeting) {
+        synchronized (this) {
+            this.outputStream = outputStream;
+            pending.add(greeting);
+        }
+        // The container calls onWritePossible once the listener is installed
+        outputStream.setWriteListener(this);
+    }
+
+    /**
+     * Check whether an article matches this subscriber's filters
+     */
+    boolean matches(NewsArticle article) {
+        return (categoryId == null || categoryId == article.getCategoryId()) &&
+               (locationId == null || locationId == article.getLocationId());
+    }
+
+    /**
+     * Check whether an event for the given filters concerns this subscriber
+     */
+    boolean matches(Integer eventCategoryId, Integer eventLocationId) {
+        return (eventCategoryId == null || categoryId == null || eventCategoryId.equals(categoryId)) &&
+               (eventLocationId == null || locationId == null || eventLocationId.equals(locationId));
+    }
+
+    /**
+     * Queue an event frame and write it if the stream can accept data
+     */
+    void send(byte[] event) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= MAX_PENDING_EVENTS) {
+                // The client is not keeping up; it reconnects and catches up through the delta feed
+                logger.debug("Dropping slow stream subscriber with {} pending events", pending.size());
+                close();
+                return;
+            }
+            pending.add(event);
+        }
+        drain();
+    }
+
+    @Override
+    public void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        logger.debug("Event stream write failed: {}", throwable.getMessage());
+        close();
+    }
+
+    private synchronized void drain() {
+        if (closed || outputStream == null) {
+            return;
+        }
+
+        try {
+            while (outputStream.isReady()) {
+                byte[] event = pending.poll();
+                if (event == null) {
+                    return;
+                }
+                outputStream.write(event);
+                if (outputStream.isReady()) {
+                    outputStream.flush();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Event stream closed by client: {}", e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * End the stream and detach from the hub
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.clear();
+        hub.unsubscribe(this);
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    /**
+     * Mark the stream as ended by the container
+     */
+    public void onContainerComplete() {
+        synchronized (this) {
+            closed = true;
+            pending.clear();
+        }
+        hub.unsubscribe(this);
+    }
+}
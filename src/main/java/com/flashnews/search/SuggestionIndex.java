@@ -0,0 +1,177 @@
+package com.flashnews.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SuggestionIndex answering prefix completions from an immutable compact trie
+ * Every node stores its best completions, precomputed at build time, so a lookup
+ * is one walk down the prefix with no scoring or sorting per keystroke
+ */
+public final class SuggestionIndex {
+    private static final SuggestionIndex EMPTY = new Builder(1).build();
+
+    private final String[] terms;
+    private final char[][] childChars;
+    private final int[][] childNodes;
+    private final int[][] topTerms;
+
+    private SuggestionIndex(String[] terms, char[][] childChars, int[][] childNodes, int[][] topTerms) {
+        this.terms = terms;
+        this.childChars = childChars;
+        this.childNodes = childNodes;
+        this.topTerms = topTerms;
+    }
+
+    /**
+     * Get an index without any terms
+     */
+    public static SuggestionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get the best completions of a prefix
+     * @param prefix Normalized prefix
+     * @param limit Maximum number of completions, at most the build-time top-N
+     */
+    public List<String> complete(String prefix, int limit) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int index = Arrays.binarySearch(childChars[node], prefix.charAt(i));
+            if (index < 0) {
+                return Collections.emptyList();
+            }
+            node = childNodes[node][index];
+        }
+
+        int[] best = topTerms[node];
+        int count = Math.min(limit, best.length);
+        List<String> completions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            completions.add(terms[best[i]]);
+        }
+        return completions;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public int nodeCount() {
+        return childChars.length;
+    }
+
+    /**
+     * Builder collecting weighted terms before freezing them into an index
+     */
+    public static final class Builder {
+        private final int topN;
+        private final Map<String, Double> weights = new TreeMap<>();
+
+        public Builder(int topN) {
+            this.topN = topN;
+        }
+
+        /**
+         * Add weight to a term; weights of repeated terms accumulate
+         */
+        public Builder add(String term, double weight) {
+            if (term != null && !term.isEmpty() && weight > 0) {
+                weights.merge(term, weight, Double::sum);
+            }
+            return this;
+        }
+
+        public SuggestionIndex build() {
+            String[] terms = weights.keySet().toArray(new String[0]);
+            double[] termWeights = new double[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                termWeights[i] = weights.get(terms[i]);
+            }
+
+            // Terms are sorted, so each node's children are created in ascending character order
+            List<MutableNode> nodes = new ArrayList<>();
+            nodes.add(new MutableNode());
+            for (int termIndex = 0; termIndex < terms.length; termIndex++) {
+                int node = 0;
+                String term = terms[termIndex];
+                for (int i = 0; i < term.length(); i++) {
+                    MutableNode current = nodes.get(node);
+                    int child = current.find(term.charAt(i));
+                    if (child < 0) {
+                        child = nodes.size();
+                        nodes.add(new MutableNode());
+                        current.addChild(term.charAt(i), child);
+                    }
+                    node = child;
+                }
+                nodes.get(node).termIndex = termIndex;
+            }
+
+            int nodeCount = nodes.size();
+            char[][] childChars = new char[nodeCount][];
+            int[][] childNodes = new int[nodeCount][];
+            int[][] topTerms = new int[nodeCount][];
+
+            // Children always have higher indexes than their parent, so a reverse pass is bottom-up
+            for (int node = nodeCount - 1; node >= 0; node--) {
+                MutableNode current = nodes.get(node);
+                childChars[node] = Arrays.copyOf(current.chars, current.childCount);
+                childNodes[node] = Arrays.copyOf(current.children, current.childCount);
+                topTerms[node] = selectTop(current, childNodes[node], topTerms, termWeights);
+            }
+
+            return new SuggestionIndex(terms, childChars, childNodes, topTerms);
+        }
+
+        private int[] selectTop(MutableNode node, int[] children, int[][] topTerms, double[] termWeights) {
+            List<Integer> candidates = new ArrayList<>();
+            if (node.termIndex >= 0) {
+                candidates.add(node.termIndex);
+            }
+            for (int child : children) {
+                for (int termIndex : topTerms[child]) {
+                    candidates.add(termIndex);
+                }
+            }
+            candidates.sort((a, b) -> Double.compare(termWeights[b], termWeights[a]));
+
+            int count = Math.min(topN, candidates.size());
+            int[] top = new int[count];
+            for (int i = 0; i < count; i++) {
+                top[i] = candidates.get(i);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Trie node used only while building
+     */
+    private static final class MutableNode {
+        private char[] chars = new char[2];
+        private int[] children = new int[2];
+        private int childCount = 0;
+        private int termIndex = -1;
+
+        int find(char c) {
+            // Children are appended in ascending order, so the newest is the only possible match
+            return childCount > 0 && chars[childCount - 1] == c ? children[childCount - 1] : -1;
+        }
+
+        void addChild(char c, int node) {
+            if (childCount == chars.length) {
+                chars = Arrays.copyOf(chars, childCount * 2);
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            chars[childCount] = c;
+            children[childCount] = node;
+            childCount++;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.flashnews.search;
+
+import com.flashnews.dao.HistoryDAO;
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.dao.Repositories;
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SuggestionService completing search input from article title terms and popular queries
+ * The index is rebuilt in the background and swapped in whole, so lookups on every
+ * keystroke never touch the database or take a lock
+ */
+public class SuggestionService {
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+    private static final double TITLE_HALF_LIFE_HOURS = 24.0;
+    private static final double QUERY_HALF_LIFE_HOURS = 72.0;
+    private static final double QUERY_BOOST = 3.0;
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int MAX_PREFIX_LENGTH = 100;
+    private static final int MAX_TITLES = 20000;
+    private static final int MAX_QUERIES = 5000;
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "the", "and", "for", "with", "from", "that", "this", "are", "was", "were", "has", "have",
+        "had", "but", "not", "its", "into", "over", "after", "about", "than", "will", "says", "said",
+        "what", "who", "how", "why", "when", "new", "you", "your", "they", "their", "his", "her"));
+    private static SuggestionService instance;
+
+    private final NewsArticleRepository newsArticleDAO;
+    private final HistoryDAO historyDAO;
+    private final int topN;
+    private final int titleDays;
+    private final int queryDays;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lookups = new AtomicLong();
+    private volatile SuggestionIndex index = SuggestionIndex.empty();
+    private volatile long lastBuildMillis = 0;
+    private volatile LocalDateTime builtAt;
+
+    private SuggestionService() {
+        this.newsArticleDAO = Repositories.newsArticles();
+        this.historyDAO = new HistoryDAO();
+        this.topN = ApplicationProperties.getInt("suggest.topN", 10);
+        this.titleDays = ApplicationProperties.getInt("suggest.titleDays", 7);
+        this.queryDays = ApplicationProperties.getInt("suggest.queryDays", 30);
+        long rebuildMinutes = ApplicationProperties.getLong("suggest.rebuildMinutes", 5);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggestion-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Get singleton instance of SuggestionService
+     * @return SuggestionService instance
+     */
+    public static synchronized SuggestionService getInstance() {
+        if (instance == null) {
+            instance = new SuggestionService();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the best completions of what the user has typed so far
+     * @return Completions best first, empty until the first build finished
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lookups.incrementAndGet();
+        return index.complete(normalized, Math.min(limit, topN));
+    }
+
+    /**
+     * Rebuild the index from recent titles and search history
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder(topN);
+
+        Map<String, LocalDateTime> titles = newsArticleDAO.getRecentTitles(titleDays, MAX_TITLES);
+        for (Map.Entry<String, LocalDateTime> title : titles.entrySet()) {
+            double weight = decay(title.getValue(), now, TITLE_HALF_LIFE_HOURS);
+            for (String term : normalize(title.getKey()).split("[^\\p{L}\\p{N}]+")) {
+                if (term.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(term)) {
+                    builder.add(term, weight);
+                }
+            }
+        }
+
+        List<Map<String, Object>> queries = historyDAO.getPopularQueries(queryDays, MAX_QUERIES);
+        for (Map<String, Object> query : queries) {
+            String text = normalize((String) query.get("query"));
+            if (text.length() >= MIN_TERM_LENGTH) {
+                double recency = decay((LocalDateTime) query.get("lastSearchedAt"), now, QUERY_HALF_LIFE_HOURS);
+                builder.add(text, QUERY_BOOST * (Integer) query.get("count") * recency);
+            }
+        }
+
+        index = builder.build();
+        builtAt = now;
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Built suggestion index with {} terms and {} nodes from {} titles and {} queries in {} ms",
+                    index.size(), index.nodeCount(), titles.size(), queries.size(), lastBuildMillis);
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Error rebuilding suggestion index", e);
+        }
+    }
+
+    private static double decay(LocalDateTime time, LocalDateTime now, double halfLifeHours) {
+        if (time == null) {
+            return 0.5;
+        }
+        double ageHours = Math.max(0, Duration.between(time, now).toMinutes() / 60.0);
+        return Math.pow(0.5, ageHours / halfLifeHours);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return normalized.length() > MAX_PREFIX_LENGTH ? normalized.substring(0, MAX_PREFIX_LENGTH) : normalized;
+    }
+
+    /**
+     * Get suggestion index statistics
+     * @return Map containing index size, build time and lookup count
+     */
+    public Map<String, Object> getStatus() {
+        SuggestionIndex current = index;
+        Map<String, Object> status = new HashMap<>();
+        status.put("terms", current.size());
+        status.put("nodes", current.nodeCount());
+        status.put("lastBuildMillis", lastBuildMillis);
+        status.put("builtAt", builtAt);
+        status.put("lookups", lookups.get());
+        return status;
+    }
+
+    /**
+     * Stop the rebuild schedule
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        logger.info("Suggestion service shutdown");
+    }
+}
@@ -3,6 +3,7 @@ package com.flashnews.service;
 import com.flashnews.model.NewsArticle;
 import com.flashnews.model.Category;
 import com.flashnews.model.Location;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -87,6 +88,15 @@ public interface NewsService {
      */
     int refreshNewsCache(Integer categoryId, Integer locationId);
     
+    /**
+     * Refresh news cache from external API, failing if the upstream fetch fails
+     * @param categoryId Category ID filter (optional)
+     * @param locationId Location ID filter (optional)
+     * @return Number of articles cached
+     * @throws IOException if News API cannot be reached or answers with an error
+     */
+    int refreshNewsCacheOrThrow(Integer categoryId, Integer locationId) throws IOException;
+    
     /**
      * Get news statistics
      * @return Map containing various news statistics
@@ -109,4 +119,48 @@ public interface NewsService {
      * @return List of filtered news articles
      */
     List<NewsArticle> getNewsByFilter(String filterType, Integer categoryId, Integer locationId, int limit);
+    
+    /**
+     * Get articles added since the client's last-seen article or feed version
+     * @param sinceId Last-seen article ID (optional)
+     * @param sinceVersion Last-seen feed version (optional)
+     * @param categoryId Category ID filter (optional)
+     * @param locationId Location ID filter (optional)
+     * @param limit Maximum number of articles to return
+     * @return Map containing the current version, newer articles and whether the client must reload
+     */
+    Map<String, Object> getFeedDelta(Integer sinceId, Long sinceVersion, Integer categoryId, 
+                                     Integer locationId, int limit);
+    
+    /**
+     * Get the most viewed articles in a recent time window
+     * @param window Window label (5m, 1h, 1d)
+     * @param limit Maximum number of articles to return
+     * @return List of maps containing the article and its estimated view count
+     */
+    List<Map<String, Object>> getTopArticles(String window, int limit);
+    
+    /**
+     * Get the most frequent search queries in a recent time window
+     * @param window Window label (5m, 1h, 1d)
+     * @param limit Maximum number of queries to return
+     * @return List of maps containing the query and its estimated count
+     */
+    List<Map<String, Object>> getTopQueries(String window, int limit);
+    
+    /**
+     * Get the personalized front page of a user, excluding articles they already read
+     * @param userId User ID
+     * @param limit Maximum number of articles to return
+     * @return List of unread articles matching the user's preferences
+     */
+    List<NewsArticle> getPersonalizedFeed(int userId, int limit);
+    
+    /**
+     * Get search completions for partially typed input
+     * @param prefix Text typed so far
+     * @param limit Maximum number of completions to return
+     * @return Completions from article title terms and popular queries, best first
+     */
+    List<String> getSearchSuggestions(String prefix, int limit);
 }
@@ -1,5 +1,6 @@
 package com.flashnews.service;
 
+import com.flashnews.auth.SessionPrincipal;
 import com.flashnews.model.User;
 import com.flashnews.model.Category;
 import com.flashnews.model.Location;
@@ -20,6 +21,27 @@ public interface UserService {
      */
     User authenticateUser(String username, String password);
     
+    /**
+     * Authenticate user and open a session for them
+     * @param username Username
+     * @param password Plain text password
+     * @return Session principal carrying the session token, null if authentication failed
+     */
+    SessionPrincipal createSession(String username, String password);
+    
+    /**
+     * Resolve a session token to its user and preferences
+     * @param token Session token
+     * @return Session principal or null if the session is unknown or expired
+     */
+    SessionPrincipal resolveSession(String token);
+    
+    /**
+     * End a session
+     * @param token Session token
+     */
+    void endSession(String token);
+    
     /**
      * Register a new user
      * @param username Username
@@ -1,16 +1,32 @@
 package com.flashnews.service.impl;
 
-import com.flashnews.dao.NewsArticleDAO;
-import com.flashnews.dao.CategoryDAO;
-import com.flashnews.dao.LocationDAO;
+import com.flashnews.cache.ArticleStateVersion;
+import com.flashnews.cache.FeedVersion;
+import com.flashnews.cache.RecentArticleRing;
+import com.flashnews.cache.ReferenceDataCache;
+import com.flashnews.cache.RenderedFragmentCache;
+import com.flashnews.cache.WarmStartSnapshot;
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.feed.FeedMaterializer;
+import com.flashnews.feed.ReadSetStore;
+import com.flashnews.dao.CategoryRepository;
+import com.flashnews.dao.LocationRepository;
+import com.flashnews.dao.Repositories;
 import com.flashnews.model.NewsArticle;
 import com.flashnews.model.Category;
 import com.flashnews.model.Location;
+import com.flashnews.push.ArticleBroadcastHub;
+import com.flashnews.search.SuggestionService;
 import com.flashnews.service.NewsService;
+import com.flashnews.trending.HeavyHitterTracker;
+import com.flashnews.trending.SlidingWindowCounter.HeavyHitter;
+import com.flashnews.trending.TrendingScorer;
 import com.flashnews.external.NewsAPIClient;
+import com.flashnews.ingest.NearDuplicateDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -25,18 +41,24 @@ public class NewsServiceImpl implements NewsService {
     private static final int DEFAULT_LIMIT = 20;
     private static final int MAX_LIMIT = 100;
     
-    private final NewsArticleDAO newsArticleDAO;
-    private final CategoryDAO categoryDAO;
-    private final LocationDAO locationDAO;
+    private final NewsArticleRepository newsArticleDAO;
+    private final CategoryRepository categoryDAO;
+    private final LocationRepository locationDAO;
     private final NewsAPIClient newsAPIClient;
     private final ExecutorService executorService;
+    private final TrendingScorer trendingScorer;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final WarmStartSnapshot warmStartSnapshot;
     
     public NewsServiceImpl() {
-        this.newsArticleDAO = new NewsArticleDAO();
-        this.categoryDAO = new CategoryDAO();
-        this.locationDAO = new LocationDAO();
+        this.newsArticleDAO = Repositories.newsArticles();
+        this.categoryDAO = Repositories.categories();
+        this.locationDAO = Repositories.locations();
         this.newsAPIClient = new NewsAPIClient();
         this.executorService = Executors.newFixedThreadPool(5);
+        this.trendingScorer = TrendingScorer.getInstance();
+        this.heavyHitterTracker = HeavyHitterTracker.getInstance();
+        this.warmStartSnapshot = WarmStartSnapshot.getInstance();
     }
     
     @Override
@@ -47,6 +69,12 @@ public class NewsServiceImpl implements NewsService {
         // Validate and adjust limit
         limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
         
+        // Serve from the warm-start snapshot until MySQL has been revalidated
+        List<NewsArticle> snapshotArticles = warmStartSnapshot.getLatestNews(categoryId, locationId, limit);
+        if (snapshotArticles != null) {
+            return snapshotArticles;
+        }
+        
         List<NewsArticle> articles = newsArticleDAO.getLatestNews(categoryId, locationId, limit);
         
         // If not enough articles in cache, fetch from News API
@@ -56,6 +84,8 @@ public class NewsServiceImpl implements NewsService {
             articles = newsArticleDAO.getLatestNews(categoryId, locationId, limit);
         }
         
+        // Articles served in a list become candidates for trending
+        trendingScorer.register(articles);
         return articles;
     }
     
@@ -66,12 +96,24 @@ public class NewsServiceImpl implements NewsService {
         
         limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
         
+        List<NewsArticle> snapshotArticles = warmStartSnapshot.getTrendingNews(categoryId, locationId, limit);
+        if (snapshotArticles != null) {
+            return snapshotArticles;
+        }
+        
+        // Seed the scorer from stored articles after a cold start
+        if (trendingScorer.getRanking(categoryId, locationId, 1).isEmpty()) {
+            trendingScorer.register(newsArticleDAO.getLatestNews(categoryId, locationId, MAX_LIMIT));
+            trendingScorer.recompute();
+        }
+        
         List<NewsArticle> articles = newsArticleDAO.getTrendingNews(categoryId, locationId, limit);
         
         // If not enough trending articles, fetch from News API
         if (articles.size() < limit) {
             logger.info("Insufficient trending articles, fetching from News API");
             fetchAndCacheNewsFromAPI(categoryId, locationId, limit);
+            trendingScorer.recompute();
             articles = newsArticleDAO.getTrendingNews(categoryId, locationId, limit);
         }
         
@@ -88,6 +130,7 @@ public class NewsServiceImpl implements NewsService {
         }
         
         limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        heavyHitterTracker.recordQuery(keyword);
         
         return newsArticleDAO.searchNews(keyword.trim(), categoryId, locationId, limit);
     }
@@ -98,10 +141,14 @@ public class NewsServiceImpl implements NewsService {
         
         NewsArticle article = newsArticleDAO.getArticleById(articleId);
         if (article != null) {
+            trendingScorer.recordView(article);
+            heavyHitterTracker.recordArticleView(articleId);
+            
             // Increment view count asynchronously
             CompletableFuture.runAsync(() -> {
                 newsArticleDAO.incrementViewCount(articleId);
             }, executorService);
+            ArticleStateVersion.getInstance().onViewed();
         }
         
         return article;
@@ -116,48 +163,67 @@ public class NewsServiceImpl implements NewsService {
     @Override
     public NewsArticle saveArticle(NewsArticle article) {
         logger.info("Saving article: {}", article.getTitle());
-        return newsArticleDAO.saveArticle(article);
+        boolean isNew = article.getId() <= 0;
+        NewsArticle saved = newsArticleDAO.saveArticle(article);
+        if (saved != null && isNew) {
+            onArticlesIngested(Collections.singletonList(saved));
+        }
+        return saved;
     }
     
     @Override
     public void incrementViewCount(int articleId) {
         logger.debug("Incrementing view count for article: {}", articleId);
         newsArticleDAO.incrementViewCount(articleId);
+        trendingScorer.recordView(articleId);
+        ArticleStateVersion.getInstance().onViewed();
     }
     
     @Override
     public List<Category> getAllCategories() {
         logger.info("Fetching all categories");
-        return categoryDAO.getAllCategories();
+        List<Category> categories = ReferenceDataCache.getInstance().getCategories();
+        if (categories == null) {
+            categories = warmStartSnapshot.getCategories();
+        }
+        return categories != null ? categories : categoryDAO.getAllCategories();
     }
     
     @Override
     public List<Location> getAllLocations() {
         logger.info("Fetching all locations");
-        return locationDAO.getAllLocations();
+        List<Location> locations = ReferenceDataCache.getInstance().getLocations();
+        if (locations == null) {
+            locations = warmStartSnapshot.getLocations();
+        }
+        return locations != null ? locations : locationDAO.getAllLocations();
     }
     
     @Override
     public int refreshNewsCache(Integer categoryId, Integer locationId) {
-        logger.info("Refreshing news cache from News API - Category: {}, Location: {}", categoryId, locationId);
-        
         try {
-            // Fetch fresh news from API
-            int fetchedCount = fetchAndCacheNewsFromAPI(categoryId, locationId, 100);
-            
-            // Get count of articles after refresh
-            var stats = getNewsStatistics();
-            int totalArticles = (Integer) stats.getOrDefault("totalArticles", 0);
-            
-            logger.info("News cache refresh completed. Fetched {} new articles. Total articles: {}", fetchedCount, totalArticles);
-            return fetchedCount;
-            
+            return refreshNewsCacheOrThrow(categoryId, locationId);
         } catch (Exception e) {
             logger.error("Error refreshing news cache", e);
             return 0;
         }
     }
     
+    @Override
+    public int refreshNewsCacheOrThrow(Integer categoryId, Integer locationId) throws IOException {
+        logger.info("Refreshing news cache from News API - Category: {}, Location: {}", categoryId, locationId);
+        
+        // Fetch fresh news from API
+        int fetchedCount = fetchAndCacheNews(categoryId, locationId, 100);
+        
+        // Get count of articles after refresh
+        var stats = getNewsStatistics();
+        int totalArticles = (Integer) stats.getOrDefault("totalArticles", 0);
+        
+        logger.info("News cache refresh completed. Fetched {} new articles. Total articles: {}", fetchedCount, totalArticles);
+        return fetchedCount;
+    }
+    
     @Override
     public Map<String, Object> getNewsStatistics() {
         logger.info("Fetching news statistics");
@@ -170,7 +236,10 @@ public class NewsServiceImpl implements NewsService {
             stats.put("totalArticles", totalArticles);
             
             // Get trending articles count
-            int trendingArticles = newsArticleDAO.getTrendingArticlesCount();
+            int trendingArticles = (Integer) trendingScorer.getStatus().get("globalRankingSize");
+            if (trendingArticles == 0) {
+                trendingArticles = newsArticleDAO.getTrendingArticlesCount();
+            }
             stats.put("trendingArticles", trendingArticles);
             
             // Get recent articles count (last 24 hours)
@@ -200,6 +269,7 @@ public class NewsServiceImpl implements NewsService {
     public void setTrendingStatus(int articleId, boolean trending) {
         logger.info("Setting trending status for article {}: {}", articleId, trending);
         newsArticleDAO.setTrendingStatus(articleId, trending);
+        ArticleStateVersion.getInstance().onTrendingChanged();
     }
     
     @Override
@@ -223,77 +293,213 @@ public class NewsServiceImpl implements NewsService {
         }
     }
     
+    @Override
+    public Map<String, Object> getFeedDelta(Integer sinceId, Long sinceVersion, Integer categoryId,
+                                            Integer locationId, int limit) {
+        limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        categoryId = categoryId != null && categoryId > 0 ? categoryId : null;
+        locationId = locationId != null && locationId > 0 ? locationId : null;
+        
+        RecentArticleRing ring = RecentArticleRing.getInstance();
+        long currentVersion = FeedVersion.getInstance().current();
+        
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("version", currentVersion);
+        delta.put("reset", false);
+        
+        // Resolve a feed version to the article position it stood for
+        if (sinceId == null && sinceVersion != null) {
+            if (sinceVersion == currentVersion) {
+                delta.put("articles", Collections.emptyList());
+                delta.put("source", "memory");
+                return delta;
+            }
+            sinceId = ring.getHighWaterId(sinceVersion);
+        }
+        
+        if (sinceId == null) {
+            // Unknown position, the client has to reload the full list
+            delta.put("reset", true);
+            delta.put("articles", Collections.emptyList());
+            return delta;
+        }
+        
+        if (!ring.isInitialized()) {
+            int maxStoredId = newsArticleDAO.getMaxArticleId();
+            if (maxStoredId >= 0) {
+                ring.initialize(maxStoredId);
+            }
+        }
+        
+        List<NewsArticle> articles = ring.getSince(sinceId, categoryId, locationId, limit);
+        if (articles != null) {
+            delta.put("source", "memory");
+        } else {
+            logger.debug("Delta since article {} not covered in memory, querying database", sinceId);
+            articles = newsArticleDAO.getArticlesSince(sinceId, categoryId, locationId, limit);
+            delta.put("source", "database");
+        }
+        
+        delta.put("articles", articles);
+        return delta;
+    }
+    
+    @Override
+    public List<Map<String, Object>> getTopArticles(String window, int limit) {
+        limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<HeavyHitter<Integer>> hitters = heavyHitterTracker.getTopArticles(HeavyHitterTracker.Window.fromLabel(window), limit);
+        
+        List<Integer> articleIds = new ArrayList<>(hitters.size());
+        for (HeavyHitter<Integer> hitter : hitters) {
+            articleIds.add(hitter.getKey());
+        }
+        
+        Map<Integer, NewsArticle> articlesById = new HashMap<>();
+        for (NewsArticle article : newsArticleDAO.getArticlesByIds(articleIds)) {
+            articlesById.put(article.getId(), article);
+        }
+        
+        List<Map<String, Object>> topArticles = new ArrayList<>();
+        for (HeavyHitter<Integer> hitter : hitters) {
+            NewsArticle article = articlesById.get(hitter.getKey());
+            if (article != null) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("article", article);
+                entry.put("count", hitter.getCount());
+                topArticles.add(entry);
+            }
+        }
+        return topArticles;
+    }
+    
+    @Override
+    public List<Map<String, Object>> getTopQueries(String window, int limit) {
+        limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<Map<String, Object>> topQueries = new ArrayList<>();
+        for (HeavyHitter<String> hitter : heavyHitterTracker.getTopQueries(HeavyHitterTracker.Window.fromLabel(window), limit)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("query", hitter.getKey());
+            entry.put("count", hitter.getCount());
+            topQueries.add(entry);
+        }
+        return topQueries;
+    }
+    
+    @Override
+    public List<NewsArticle> getPersonalizedFeed(int userId, int limit) {
+        limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<NewsArticle> feed = FeedMaterializer.getInstance().getFeed(userId);
+        return ReadSetStore.getInstance().filterUnread(userId, feed, limit);
+    }
+    
+    @Override
+    public List<String> getSearchSuggestions(String prefix, int limit) {
+        return SuggestionService.getInstance().suggest(prefix, Math.max(limit, 1));
+    }
+    
     /**
      * Fetch and cache news from News API
      */
     private int fetchAndCacheNewsFromAPI(Integer categoryId, Integer locationId, int limit) {
         try {
-            // Map category and location to News API parameters
-            String apiCategory = mapCategoryToAPICategory(categoryId);
-            String countryCode = mapLocationToCountryCode(locationId);
-            
-            // Fetch news from API
-            List<NewsArticle> apiArticles = newsAPIClient.fetchNews(apiCategory, countryCode, limit);
-            
-            if (apiArticles.isEmpty()) {
-                logger.warn("No articles fetched from News API");
-                return 0;
-            }
-            
-            // Get category and location objects for mapping
-            Category category = categoryId != null ? categoryDAO.getCategoryById(categoryId) : null;
-            Location location = locationId != null ? locationDAO.getLocationById(locationId) : null;
-            
-            // Save articles to database with proper category and location mapping
-            int savedCount = 0;
-            for (NewsArticle article : apiArticles) {
-                try {
-                    // Check if article already exists
-                    NewsArticle existing = newsArticleDAO.getArticleByUrl(article.getUrl());
-                    if (existing == null) {
-                        // Set category and location if provided
-                        if (category != null) {
-                            article.setCategoryId(category.getId());
-                        } else if (apiCategory != null) {
-                            // Try to find matching category
-                            Category matchedCategory = categoryDAO.getCategoryByName(apiCategory);
-                            if (matchedCategory != null) {
-                                article.setCategoryId(matchedCategory.getId());
-                            }
-                        }
-                        
-                        if (location != null) {
-                            article.setLocationId(location.getId());
-                        } else if (countryCode != null) {
-                            // Try to find matching location by country code
-                            Location matchedLocation = locationDAO.getLocationByCountryCode(countryCode);
-                            if (matchedLocation != null) {
-                                article.setLocationId(matchedLocation.getId());
-                            }
-                        }
-                        
-                        // Mark some articles as trending (top 30% by default)
-                        if (savedCount < limit * 0.3) {
-                            article.setTrending(true);
+            return fetchAndCacheNews(categoryId, locationId, limit);
+        } catch (Exception e) {
+            logger.error("Error fetching news from API", e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Fetch and cache news from News API, failing if the fetch itself fails
+     */
+    private int fetchAndCacheNews(Integer categoryId, Integer locationId, int limit) throws IOException {
+        // Map category and location to News API parameters
+        String apiCategory = mapCategoryToAPICategory(categoryId);
+        String countryCode = mapLocationToCountryCode(locationId);
+        
+        // Fetch news from API
+        List<NewsArticle> apiArticles = newsAPIClient.fetchNewsOrThrow(apiCategory, countryCode, limit);
+        
+        if (apiArticles.isEmpty()) {
+            logger.warn("No articles fetched from News API");
+            return 0;
+        }
+        
+        // Get category and location objects for mapping
+        Category category = categoryId != null ? categoryDAO.getCategoryById(categoryId) : null;
+        Location location = locationId != null ? locationDAO.getLocationById(locationId) : null;
+        
+        // Save articles to database with proper category and location mapping
+        int savedCount = 0;
+        int duplicateCount = 0;
+        List<NewsArticle> savedArticles = new ArrayList<>();
+        NearDuplicateDetector duplicateDetector = NearDuplicateDetector.getInstance();
+        for (NewsArticle article : apiArticles) {
+            try {
+                // Check if article already exists
+                NewsArticle existing = newsArticleDAO.getArticleByUrl(article.getUrl());
+                if (existing == null) {
+                    // Skip the same story republished by another source
+                    Integer duplicateOf = duplicateDetector.findDuplicate(article);
+                    if (duplicateOf != null) {
+                        logger.debug("Skipping near duplicate of article {}: {}", duplicateOf, article.getTitle());
+                        duplicateCount++;
+                        continue;
+                    }
+                    
+                    // Set category and location if provided
+                    if (category != null) {
+                        article.setCategoryId(category.getId());
+                    } else if (apiCategory != null) {
+                        // Try to find matching category
+                        Category matchedCategory = categoryDAO.getCategoryByName(apiCategory);
+                        if (matchedCategory != null) {
+                            article.setCategoryId(matchedCategory.getId());
                         }
-                        
-                        NewsArticle saved = newsArticleDAO.saveArticle(article);
-                        if (saved != null) {
-                            savedCount++;
+                    }
+                    
+                    if (location != null) {
+                        article.setLocationId(location.getId());
+                    } else if (countryCode != null) {
+                        // Try to find matching location by country code
+                        Location matchedLocation = locationDAO.getLocationByCountryCode(countryCode);
+                        if (matchedLocation != null) {
+                            article.setLocationId(matchedLocation.getId());
                         }
                     }
-                } catch (Exception e) {
-                    logger.debug("Error saving article from API: {}", article.getTitle(), e);
+                    
+                    NewsArticle saved = newsArticleDAO.saveArticle(article);
+                    if (saved != null) {
+                        savedCount++;
+                        savedArticles.add(saved);
+                        duplicateDetector.register(saved);
+                    }
                 }
+            } catch (Exception e) {
+                logger.debug("Error saving article from API: {}", article.getTitle(), e);
             }
-            
-            logger.info("Successfully cached {} new articles from News API", savedCount);
-            return savedCount;
-            
-        } catch (Exception e) {
-            logger.error("Error fetching news from API", e);
-            return 0;
         }
+        
+        if (!savedArticles.isEmpty()) {
+            onArticlesIngested(savedArticles);
+        }
+        
+        logger.info("Successfully cached {} new articles from News API, skipped {} near duplicates",
+                   savedCount, duplicateCount);
+        return savedCount;
+    }
+    
+    /**
+     * Publish newly stored articles to the caches derived from the feed
+     */
+    private void onArticlesIngested(List<NewsArticle> articles) {
+        long version = FeedVersion.getInstance().advance();
+        RenderedFragmentCache.getInstance().invalidateAll();
+        RecentArticleRing.getInstance().record(articles, version);
+        trendingScorer.register(articles);
+        FeedMaterializer.getInstance().onFeedAdvanced();
+        ArticleBroadcastHub.getInstance().publish(articles);
+        logger.debug("Feed advanced to version {} after ingesting {} articles", version, articles.size());
     }
     
     /**
@@ -0,0 +1,266 @@
+package com.flashnews.service.impl;
+
+import com.flashnews.auth.CredentialHasher;
+import com.flashnews.auth.PrincipalCache;
+import com.flashnews.auth.SessionPrincipal;
+import com.flashnews.dao.HistoryDAO;
+import com.flashnews.dao.UserDAO;
+import com.flashnews.feed.FeedMaterializer;
+import com.flashnews.feed.ReadSetStore;
+import com.flashnews.ingest.HistoryAppender;
+import com.flashnews.model.ReadingHistoryEntry;
+import com.flashnews.model.SearchHistoryEntry;
+import com.flashnews.model.User;
+import com.flashnews.service.UserService;
+import com.flashnews.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * UserServiceImpl class implementing UserService interface
+ * History writes are handed to the batching appender so requests never wait on them
+ */
+public class UserServiceImpl implements UserService {
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final int MAX_HISTORY_LIMIT = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 255;
+    private static final Set<String> NEWS_FILTERS = new HashSet<>(Arrays.asList("latest", "trending", "local"));
+
+    private final UserDAO userDAO;
+    private final HistoryDAO historyDAO;
+    private final HistoryAppender historyAppender;
+    private final CredentialHasher credentialHasher;
+    private final PrincipalCache principalCache;
+
+    public UserServiceImpl() {
+        this.userDAO = new UserDAO();
+        this.historyDAO = new HistoryDAO();
+        this.historyAppender = HistoryAppender.getInstance();
+        this.credentialHasher = CredentialHasher.getInstance();
+        this.principalCache = PrincipalCache.getInstance();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing pool is saturated
+     */
+    @Override
+    public User authenticateUser(String username, String password) {
+        if (username == null || password == null) {
+            return null;
+        }
+
+        User user = userDAO.getUserByUsername(username.trim());
+        if (user == null || !credentialHasher.verify(password, user.getPasswordHash())) {
+            logger.info("Authentication failed for user: {}", username);
+            return null;
+        }
+
+        // Upgrade hashes made with an older cost setting while the password is at hand
+        if (PasswordHasher.needsRehash(user.getPasswordHash())) {
+            String upgraded = credentialHasher.hash(password);
+            if (userDAO.updatePasswordHash(user.getId(), upgraded)) {
+                user.setPasswordHash(upgraded);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        userDAO.updateLastLogin(user.getId(), now);
+        user.setLastLogin(now);
+        logger.info("User authenticated: {}", user.getUsername());
+        return user;
+    }
+
+    @Override
+    public SessionPrincipal createSession(String username, String password) {
+        User user = authenticateUser(username, password);
+        if (user == null) {
+            return null;
+        }
+        return principalCache.create(user, userDAO.getUserPreferences(user.getId()));
+    }
+
+    @Override
+    public SessionPrincipal resolveSession(String token) {
+        PrincipalCache.Entry entry = principalCache.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.isStale()) {
+            return entry.getPrincipal();
+        }
+
+        // User data changed since the session was resolved
+        User user = userDAO.getUserById(entry.getPrincipal().getUserId());
+        if (user == null) {
+            principalCache.remove(token);
+            return null;
+        }
+        SessionPrincipal principal = new SessionPrincipal(token, user, userDAO.getUserPreferences(user.getId()));
+        principalCache.refresh(principal);
+        return principal;
+    }
+
+    @Override
+    public void endSession(String token) {
+        if (token != null) {
+            principalCache.remove(token);
+        }
+    }
+
+    @Override
+    public User registerUser(String username, String email, String password, String fullName) {
+        if (username == null || email == null) {
+            throw new IllegalArgumentException("Username and email are required");
+        }
+        if (password == null || password.length() < 8) {
+            throw new IllegalArgumentException("Password must be at least 8 characters");
+        }
+
+        // Reject duplicates before spending a hasher slot on the password
+        if (!isUsernameAvailable(username)) {
+            throw new IllegalArgumentException("Username is already taken");
+        }
+        if (!isEmailAvailable(email)) {
+            throw new IllegalArgumentException("Email is already registered");
+        }
+
+        User user = new User();
+        user.setUsername(username.trim());
+        user.setEmail(email.trim());
+        user.setFullName(fullName);
+        user.setPasswordHash(credentialHasher.hash(password));
+        user.setCreatedAt(LocalDateTime.now());
+
+        logger.info("Registering user: {}", user.getUsername());
+        return userDAO.insertUser(user);
+    }
+
+    @Override
+    public User getUserById(int userId) {
+        return userDAO.getUserById(userId);
+    }
+
+    @Override
+    public User getUserByUsername(String username) {
+        return username != null ? userDAO.getUserByUsername(username.trim()) : null;
+    }
+
+    @Override
+    public User getUserByEmail(String email) {
+        return email != null ? userDAO.getUserByEmail(email.trim()) : null;
+    }
+
+    @Override
+    public User updateUser(User user) {
+        logger.info("Updating user: {}", user.getId());
+        User updated = userDAO.updateUser(user);
+        principalCache.invalidateUser(user.getId());
+        return updated;
+    }
+
+    @Override
+    public boolean updatePassword(int userId, String newPassword) {
+        if (newPassword == null || newPassword.length() < 8) {
+            throw new IllegalArgumentException("Password must be at least 8 characters");
+        }
+        logger.info("Updating password for user: {}", userId);
+        boolean updated = userDAO.updatePasswordHash(userId, credentialHasher.hash(newPassword));
+        if (updated) {
+            // Existing sessions must sign in again with the new password
+            principalCache.revokeUser(userId);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteUser(int userId) {
+        logger.info("Deleting user: {}", userId);
+        boolean deleted = userDAO.deleteUser(userId);
+        if (deleted) {
+            principalCache.revokeUser(userId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean updateUserPreferences(int userId, Integer preferredCategoryId,
+                                         Integer preferredLocationId, String newsFilter,
+                                         Integer autoRefreshInterval) {
+        if (newsFilter != null && !NEWS_FILTERS.contains(newsFilter)) {
+            throw new IllegalArgumentException("Invalid news filter: " + newsFilter);
+        }
+        logger.info("Updating preferences for user: {}", userId);
+        boolean saved = userDAO.saveUserPreferences(userId, preferredCategoryId, preferredLocationId,
+                                                    newsFilter, autoRefreshInterval);
+        principalCache.invalidateUser(userId);
+        if (saved) {
+            FeedMaterializer.getInstance().assign(userId, userDAO.getUserPreferences(userId));
+        }
+        return saved;
+    }
+
+    @Override
+    public Map<String, Object> getUserPreferences(int userId) {
+        return userDAO.getUserPreferences(userId);
+    }
+
+    @Override
+    public boolean addToReadingHistory(int userId, int articleId, int timeSpent) {
+        ReadSetStore.getInstance().markRead(userId, articleId);
+        return historyAppender.append(new ReadingHistoryEntry(userId, articleId, LocalDateTime.now(), timeSpent));
+    }
+
+    @Override
+    public List<Map<String, Object>> getReadingHistory(int userId, int limit) {
+        return historyDAO.getReadingHistory(userId, Math.min(Math.max(limit, 1), MAX_HISTORY_LIMIT));
+    }
+
+    @Override
+    public boolean addToSearchHistory(Integer userId, String searchQuery, int resultsCount) {
+        if (searchQuery == null || searchQuery.trim().isEmpty()) {
+            return false;
+        }
+
+        String query = searchQuery.trim();
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            query = query.substring(0, MAX_SEARCH_QUERY_LENGTH);
+        }
+        return historyAppender.append(new SearchHistoryEntry(userId, query, resultsCount, LocalDateTime.now()));
+    }
+
+    @Override
+    public List<Map<String, Object>> getSearchHistory(int userId, int limit) {
+        return historyDAO.getSearchHistory(userId, Math.min(Math.max(limit, 1), MAX_HISTORY_LIMIT));
+    }
+
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return username != null && userDAO.getUserByUsername(username.trim()) == null;
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return email != null && userDAO.getUserByEmail(email.trim()) == null;
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return userDAO.getAllUsers();
+    }
+
+    @Override
+    public Map<String, Object> getUserStatistics(int userId) {
+        Map<String, Object> stats = new HashMap<>(historyDAO.getHistoryStatistics(userId));
+
+        User user = userDAO.getUserById(userId);
+        if (user != null) {
+            stats.put("memberSince", user.getCreatedAt());
+            stats.put("lastLogin", user.getLastLogin());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,92 @@
+package com.flashnews.servlet;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * CapturingResponseWrapper collecting included output instead of sending it
+ * Used to render page fragments once and reuse the markup. Captured output goes to memory,
+ * so it is always ready and a WriteListener is told so right away
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+    private final CharArrayWriter charOutput = new CharArrayWriter(16384);
+    private final ByteArrayOutputStream byteOutput = new ByteArrayOutputStream();
+    private PrintWriter writer;
+    private ServletOutputStream outputStream;
+    
+    CapturingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+    
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(charOutput);
+        }
+        return writer;
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    byteOutput.write(b);
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    byteOutput.write(b, off, len);
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    try {
+                        writeListener.onWritePossible();
+                    } catch (IOException e) {
+                        writeListener.onError(e);
+                    }
+                }
+            };
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+    
+    @Override
+    public void resetBuffer() {
+        charOutput.reset();
+        byteOutput.reset();
+    }
+    
+    /**
+     * Get everything written to the wrapper so far
+     */
+    String getCapturedOutput() {
+        if (writer != null) {
+            writer.flush();
+        }
+        String bytes = byteOutput.size() > 0 ? 
+            new String(byteOutput.toByteArray(), Charset.forName(getCharacterEncoding())) : "";
+        return charOutput.toString() + bytes;
+    }
+}
@@ -0,0 +1,38 @@
+package com.flashnews.servlet;
+
+import com.flashnews.database.StatementStats;
+import com.flashnews.metrics.MetricsRegistry;
+import com.flashnews.util.ArticleJson;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * MetricsServlet exposing application metrics for Prometheus to scrape
+ * /metrics/queries lists the slowest prepared statement executions as JSON
+ */
+@WebServlet(name = "MetricsServlet", urlPatterns = {"/metrics", "/metrics/queries"})
+public class MetricsServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if ("/metrics/queries".equals(request.getServletPath())) {
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Cache-Control", "no-store");
+            response.getWriter().write(ArticleJson.toJson(StatementStats.getInstance().getStatus()));
+            return;
+        }
+
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        MetricsRegistry.getInstance().writePrometheus(response.getWriter());
+    }
+}
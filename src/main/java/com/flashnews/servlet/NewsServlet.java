@@ -1,10 +1,28 @@
 package com.flashnews.servlet;
 
+import com.flashnews.auth.SessionPrincipal;
+import com.flashnews.cache.ArticleStateVersion;
+import com.flashnews.cache.FeedVersion;
+import com.flashnews.cache.RenderedFragmentCache;
+import com.flashnews.cache.RenderedFragmentCache.Fragment;
+import com.flashnews.cache.RenderedFragmentCache.FragmentKey;
+import com.flashnews.cache.WarmStartSnapshot;
+import com.flashnews.ingest.RefreshJob;
+import com.flashnews.ingest.RefreshJobQueue;
+import com.flashnews.metrics.MetricFamily;
+import com.flashnews.metrics.MetricsRegistry;
+import com.flashnews.metrics.TimedProxy;
+import com.flashnews.metrics.Timer;
 import com.flashnews.model.NewsArticle;
 import com.flashnews.model.Category;
 import com.flashnews.model.Location;
 import com.flashnews.service.NewsService;
+import com.flashnews.service.UserService;
 import com.flashnews.service.impl.NewsServiceImpl;
+import com.flashnews.service.impl.UserServiceImpl;
+import com.flashnews.trending.HeavyHitterTracker;
+import com.flashnews.trending.TrendingScorer;
+import com.flashnews.util.ArticleJson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,8 +31,16 @@ import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * NewsServlet class handling news-related HTTP requests
@@ -23,15 +49,53 @@ import java.util.List;
 @WebServlet(name = "NewsServlet", urlPatterns = {"/news", "/api/news"})
 public class NewsServlet extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(NewsServlet.class);
+    private static final String ARTICLE_LIST_FRAGMENT = "/WEB-INF/views/fragments/article-list.jsp";
+    private static final int REFRESH_RETRY_AFTER_SECONDS = 30;
+    private static final int LOGIN_RETRY_AFTER_SECONDS = 5;
+    private static final String SESSION_AUTH_TOKEN = "authToken";
+    // Known actions become metric labels as they are; anything else is counted as "other"
+    private static final Set<String> ACTIONS = new HashSet<>(Arrays.asList("list", "trending", "search", "article",
+        "refresh", "categories", "locations", "delta", "refreshStatus", "top", "forYou", "suggest", "login", "logout"));
     private NewsService newsService;
+    private NewsServiceImpl newsServiceImpl;
+    private MetricFamily<Timer> requestTimers;
+    private UserService userService;
+    private RenderedFragmentCache fragmentCache;
+    private RefreshJobQueue refreshJobQueue;
     
     @Override
     public void init() throws ServletException {
         super.init();
-        this.newsService = new NewsServiceImpl();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.requestTimers = metrics.timer("flashnews_http_request_seconds",
+            "NewsServlet request latency by action and status", "method", "action", "status");
+        this.newsServiceImpl = new NewsServiceImpl();
+        this.newsService = TimedProxy.wrap(NewsService.class, newsServiceImpl,
+            metrics.timer("flashnews_service_call_seconds", "NewsService call latency by method", "method"));
+        this.userService = new UserServiceImpl();
+        this.fragmentCache = RenderedFragmentCache.getInstance();
+        this.refreshJobQueue = new RefreshJobQueue(newsService);
         logger.info("NewsServlet initialized");
     }
     
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) 
+            throws ServletException, IOException {
+        
+        long start = System.nanoTime();
+        try {
+            super.service(request, response);
+        } finally {
+            String action = request.getParameter("action");
+            if (action == null) {
+                action = "GET".equals(request.getMethod()) ? "list" : "none";
+            } else if (!ACTIONS.contains(action)) {
+                action = "other";
+            }
+            requestTimers.labels(request.getMethod(), action, String.valueOf(response.getStatus())).recordSince(start);
+        }
+    }
+    
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
@@ -64,6 +128,21 @@ public class NewsServlet extends HttpServlet {
                 case "locations":
                     handleGetLocations(request, response);
                     break;
+                case "delta":
+                    handleFeedDelta(request, response);
+                    break;
+                case "refreshStatus":
+                    handleRefreshStatus(request, response);
+                    break;
+                case "top":
+                    handleTopItems(request, response);
+                    break;
+                case "forYou":
+                    handlePersonalizedFeed(request, response);
+                    break;
+                case "suggest":
+                    handleSuggestions(request, response);
+                    break;
                 default:
                     response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid action");
             }
@@ -91,6 +170,12 @@ public class NewsServlet extends HttpServlet {
                 case "refresh":
                     handleRefreshCache(request, response);
                     break;
+                case "login":
+                    handleLogin(request, response);
+                    break;
+                case "logout":
+                    handleLogout(request, response);
+                    break;
                 default:
                     response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid action");
             }
@@ -115,10 +200,11 @@ public class NewsServlet extends HttpServlet {
         Integer locationId = getIntegerParameter(request, "location");
         int limit = getIntegerParameter(request, "limit", 20);
         
-        List<NewsArticle> articles = newsService.getNewsByFilter(filterType, categoryId, locationId, limit);
+        final String filter = filterType;
+        renderArticleList(request, response, filterType, categoryId, locationId, limit,
+            () -> newsService.getNewsByFilter(filter, categoryId, locationId, limit));
         
         // Set request attributes for JSP
-        request.setAttribute("articles", articles);
         request.setAttribute("filterType", filterType);
         request.setAttribute("categoryId", categoryId);
         request.setAttribute("locationId", locationId);
@@ -138,9 +224,9 @@ public class NewsServlet extends HttpServlet {
         Integer locationId = getIntegerParameter(request, "location");
         int limit = getIntegerParameter(request, "limit", 20);
         
-        List<NewsArticle> articles = newsService.getTrendingNews(categoryId, locationId, limit);
+        renderArticleList(request, response, "trending", categoryId, locationId, limit,
+            () -> newsService.getTrendingNews(categoryId, locationId, limit));
         
-        request.setAttribute("articles", articles);
         request.setAttribute("filterType", "trending");
         request.setAttribute("categoryId", categoryId);
         request.setAttribute("locationId", locationId);
@@ -149,6 +235,38 @@ public class NewsServlet extends HttpServlet {
         request.getRequestDispatcher("/WEB-INF/views/news.jsp").forward(request, response);
     }
     
+    /**
+     * Render the article list fragment, reusing cached markup for the same filters and feed version
+     */
+    private void renderArticleList(HttpServletRequest request, HttpServletResponse response, String filterType,
+                                   Integer categoryId, Integer locationId, int limit,
+                                   Supplier<List<NewsArticle>> articleLoader) throws ServletException, IOException {
+        
+        long rankingVersion = "trending".equals(filterType) ? TrendingScorer.getInstance().getRankingVersion() : 0;
+        FragmentKey key = new FragmentKey(filterType, categoryId, locationId, limit, 
+                                          FeedVersion.getInstance().current(), rankingVersion,
+                                          ArticleStateVersion.getInstance().current());
+        Fragment fragment = fragmentCache.get(key);
+        
+        if (fragment == null) {
+            List<NewsArticle> articles = articleLoader.get();
+            request.setAttribute("articles", articles);
+            
+            CapturingResponseWrapper capture = new CapturingResponseWrapper(response);
+            long start = System.nanoTime();
+            request.getRequestDispatcher(ARTICLE_LIST_FRAGMENT).include(request, capture);
+            fragment = new Fragment(capture.getCapturedOutput(), articles.size(), System.nanoTime() - start);
+            
+            fragmentCache.put(key, fragment);
+        }
+        
+        request.setAttribute("articleListHtml", fragment.getHtml());
+        request.setAttribute("articleCount", fragment.getArticleCount());
+        if (fragment.getArticleCount() > 0) {
+            WarmStartSnapshot.getInstance().recordUsefulResponse();
+        }
+    }
+    
     /**
      * Handle news search
      */
@@ -156,7 +274,8 @@ public class NewsServlet extends HttpServlet {
             throws ServletException, IOException {
         
         String keyword = request.getParameter("keyword");
-        if (keyword == null || keyword.trim().isEmpty()) {
+        keyword = keyword != null ? keyword.trim() : "";
+        if (keyword.isEmpty()) {
             request.setAttribute("error", "Search keyword is required");
             request.getRequestDispatcher("/WEB-INF/views/search.jsp").forward(request, response);
             return;
@@ -166,7 +285,8 @@ public class NewsServlet extends HttpServlet {
         Integer locationId = getIntegerParameter(request, "location");
         int limit = getIntegerParameter(request, "limit", 20);
         
-        List<NewsArticle> articles = newsService.searchNews(keyword.trim(), categoryId, locationId, limit);
+        List<NewsArticle> articles = newsService.searchNews(keyword, categoryId, locationId, limit);
+        userService.addToSearchHistory(getSessionUserId(request), keyword, articles.size());
         
         request.setAttribute("articles", articles);
         request.setAttribute("keyword", keyword);
@@ -195,12 +315,17 @@ public class NewsServlet extends HttpServlet {
             return;
         }
         
+        Integer userId = getSessionUserId(request);
+        if (userId != null) {
+            userService.addToReadingHistory(userId, articleId, 0);
+        }
+        
         request.setAttribute("article", article);
         request.getRequestDispatcher("/WEB-INF/views/article.jsp").forward(request, response);
     }
     
     /**
-     * Handle refreshing news cache
+     * Handle refreshing news cache by queueing a refresh job
      */
     private void handleRefreshCache(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
@@ -208,13 +333,139 @@ public class NewsServlet extends HttpServlet {
         Integer categoryId = getIntegerParameter(request, "category");
         Integer locationId = getIntegerParameter(request, "location");
         
-        int refreshedCount = newsService.refreshNewsCache(categoryId, locationId);
+        RefreshJob job;
+        try {
+            job = refreshJobQueue.submit(categoryId, locationId);
+        } catch (RejectedExecutionException e) {
+            response.setHeader("Retry-After", String.valueOf(REFRESH_RETRY_AFTER_SECONDS));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Refresh queue is full");
+            return;
+        }
         
-        request.setAttribute("refreshedCount", refreshedCount);
-        request.setAttribute("categoryId", categoryId);
-        request.setAttribute("locationId", locationId);
+        if (!acceptsJson(request)) {
+            // Plain form submissions go back to the list; new articles are pushed once the job finishes
+            StringBuilder location = new StringBuilder(request.getContextPath()).append("/news?action=list");
+            if (categoryId != null) {
+                location.append("&category=").append(categoryId);
+            }
+            if (locationId != null) {
+                location.append("&location=").append(locationId);
+            }
+            response.setStatus(HttpServletResponse.SC_SEE_OTHER);
+            response.setHeader("Location", location.toString());
+            return;
+        }
+        
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        writeJson(response, job.toMap());
+    }
+    
+    /**
+     * Handle signing in
+     * The session id is rotated once the credentials check out, so an id planted before
+     * sign-in does not carry the new token
+     */
+    private void handleLogin(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        String username = request.getParameter("username");
+        String password = request.getParameter("password");
+        if (username == null || username.trim().isEmpty() || password == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Username and password required");
+            return;
+        }
+        
+        SessionPrincipal principal;
+        try {
+            principal = userService.createSession(username, password);
+        } catch (RejectedExecutionException e) {
+            response.setHeader("Retry-After", String.valueOf(LOGIN_RETRY_AFTER_SECONDS));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Sign-in is busy, try again shortly");
+            return;
+        }
+        if (principal == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid username or password");
+            return;
+        }
+        
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Object previousToken = session.getAttribute(SESSION_AUTH_TOKEN);
+            if (previousToken instanceof String) {
+                userService.endSession((String) previousToken);
+            }
+            request.changeSessionId();
+        } else {
+            session = request.getSession(true);
+        }
+        session.setAttribute(SESSION_AUTH_TOKEN, principal.getToken());
         
-        request.getRequestDispatcher("/WEB-INF/views/refresh.jsp").forward(request, response);
+        if (!acceptsJson(request)) {
+            redirectToList(request, response);
+            return;
+        }
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("userId", principal.getUserId());
+        body.put("username", principal.getUser().getUsername());
+        writeJson(response, body);
+    }
+    
+    /**
+     * Handle signing out, dropping the session token and the session itself
+     */
+    private void handleLogout(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Object token = session.getAttribute(SESSION_AUTH_TOKEN);
+            if (token instanceof String) {
+                userService.endSession((String) token);
+            }
+            session.invalidate();
+        }
+        
+        if (!acceptsJson(request)) {
+            redirectToList(request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+    
+    /**
+     * Send a plain form submission back to the article list
+     */
+    private void redirectToList(HttpServletRequest request, HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SEE_OTHER);
+        response.setHeader("Location", request.getContextPath() + "/news?action=list");
+    }
+    
+    /**
+     * Handle polling the status of a queued refresh job
+     */
+    private void handleRefreshStatus(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        String jobId = request.getParameter("job");
+        RefreshJob job = jobId != null ? refreshJobQueue.getJob(jobId.trim()) : null;
+        if (job == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Refresh job not found");
+            writeJson(response, error);
+            return;
+        }
+        
+        writeJson(response, job.toMap());
+    }
+    
+    /**
+     * Check whether the client asked for a JSON response
+     */
+    private boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.contains("application/json");
     }
     
     /**
@@ -241,6 +492,139 @@ public class NewsServlet extends HttpServlet {
         request.getRequestDispatcher("/WEB-INF/views/locations.jsp").forward(request, response);
     }
     
+    /**
+     * Handle polling for articles newer than the client's last-seen article or feed version
+     */
+    private void handleFeedDelta(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        Integer sinceId = getIntegerParameter(request, "since");
+        Long sinceVersion = getLongParameter(request, "version");
+        Integer categoryId = getIntegerParameter(request, "category");
+        Integer locationId = getIntegerParameter(request, "location");
+        int limit = getIntegerParameter(request, "limit", 50);
+        
+        Map<String, Object> delta = newsService.getFeedDelta(sinceId, sinceVersion, categoryId, locationId, limit);
+        
+        @SuppressWarnings("unchecked")
+        List<NewsArticle> articles = (List<NewsArticle>) delta.get("articles");
+        delta.put("articles", ArticleJson.toMaps(articles));
+        
+        writeJson(response, delta);
+    }
+    
+    /**
+     * Handle most viewed articles or most frequent searches in a recent window
+     */
+    private void handleTopItems(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        String type = request.getParameter("type");
+        String window = HeavyHitterTracker.Window.fromLabel(request.getParameter("window")).getLabel();
+        int limit = getIntegerParameter(request, "limit", 10);
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("window", window);
+        
+        if ("queries".equals(type)) {
+            body.put("type", "queries");
+            body.put("items", newsService.getTopQueries(window, limit));
+        } else {
+            List<Map<String, Object>> topArticles = newsService.getTopArticles(window, limit);
+            for (Map<String, Object> entry : topArticles) {
+                entry.put("article", ArticleJson.toMap((NewsArticle) entry.get("article")));
+            }
+            body.put("type", "articles");
+            body.put("items", topArticles);
+        }
+        
+        writeJson(response, body);
+    }
+    
+    /**
+     * Handle the signed-in user's personalized feed
+     */
+    private void handlePersonalizedFeed(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        Integer userId = getSessionUserId(request);
+        if (userId == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Sign in required");
+            return;
+        }
+        
+        int limit = getIntegerParameter(request, "limit", 20);
+        List<NewsArticle> articles = newsService.getPersonalizedFeed(userId, limit);
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("version", FeedVersion.getInstance().current());
+        body.put("articles", ArticleJson.toMaps(articles));
+        writeJson(response, body);
+    }
+    
+    /**
+     * Handle search-as-you-type completions
+     * Answers are served from memory and may be cached briefly, since the index only
+     * changes on its rebuild schedule
+     */
+    private void handleSuggestions(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        String prefix = request.getParameter("q");
+        int limit = getIntegerParameter(request, "limit", 8);
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", prefix);
+        body.put("suggestions", newsService.getSearchSuggestions(prefix, limit));
+        
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "private, max-age=60");
+        response.getWriter().write(ArticleJson.toJson(body));
+    }
+    
+    /**
+     * Write a JSON response that clients must not cache
+     */
+    private void writeJson(HttpServletResponse response, Object body) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.getWriter().write(ArticleJson.toJson(body));
+    }
+    
+    /**
+     * Get the signed-in user's ID from the session, if any
+     */
+    private Integer getSessionUserId(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null || !(session.getAttribute(SESSION_AUTH_TOKEN) instanceof String)) {
+            return null;
+        }
+        
+        SessionPrincipal principal = userService.resolveSession((String) session.getAttribute(SESSION_AUTH_TOKEN));
+        if (principal == null) {
+            session.removeAttribute(SESSION_AUTH_TOKEN);
+            return null;
+        }
+        return principal.getUserId();
+    }
+    
+    /**
+     * Get long parameter from request
+     */
+    private Long getLongParameter(HttpServletRequest request, String paramName) {
+        String paramValue = request.getParameter(paramName);
+        if (paramValue != null && !paramValue.trim().isEmpty()) {
+            try {
+                return Long.parseLong(paramValue.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid long parameter {}: {}", paramName, paramValue);
+            }
+        }
+        return null;
+    }
+    
     /**
      * Get integer parameter from request
      */
@@ -267,8 +651,11 @@ public class NewsServlet extends HttpServlet {
     @Override
     public void destroy() {
         super.destroy();
-        if (newsService instanceof NewsServiceImpl) {
-            ((NewsServiceImpl) newsService).shutdown();
+        if (refreshJobQueue != null) {
+            refreshJobQueue.shutdown();
+        }
+        if (newsServiceImpl != null) {
+            newsServiceImpl.shutdown();
         }
         logger.info("NewsServlet destroyed");
     }
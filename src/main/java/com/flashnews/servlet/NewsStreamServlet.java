@@ -0,0 +1,105 @@
+package com.flashnews.servlet;
+
+import com.flashnews.push.ArticleBroadcastHub;
+import com.flashnews.push.StreamSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * NewsStreamServlet serving newly ingested articles as Server-Sent Events
+ * Connections are held with async servlets instead of one blocked thread per client
+ */
+@WebServlet(name = "NewsStreamServlet", urlPatterns = {"/api/news/stream"}, asyncSupported = true)
+public class NewsStreamServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(NewsStreamServlet.class);
+    private static final long STREAM_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final long RECONNECT_DELAY_MILLIS = 10000L;
+    private ArticleBroadcastHub broadcastHub;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        this.broadcastHub = ArticleBroadcastHub.getInstance();
+        logger.info("NewsStreamServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Integer categoryId = getIntegerParameter(request, "category");
+        Integer locationId = getIntegerParameter(request, "location");
+
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync();
+        // Clients reconnect automatically once the stream times out
+        asyncContext.setTimeout(STREAM_TIMEOUT_MILLIS);
+
+        StreamSubscriber subscriber = broadcastHub.subscribe(asyncContext, categoryId, locationId);
+        asyncContext.addListener(new StreamLifecycleListener(subscriber));
+
+        byte[] greeting = ("retry: " + RECONNECT_DELAY_MILLIS + "\n: connected\n\n").getBytes(StandardCharsets.UTF_8);
+        subscriber.start(asyncContext.getResponse().getOutputStream(), greeting);
+    }
+
+    /**
+     * Get integer parameter from request
+     */
+    private Integer getIntegerParameter(HttpServletRequest request, String paramName) {
+        String paramValue = request.getParameter(paramName);
+        if (paramValue != null && !paramValue.trim().isEmpty()) {
+            try {
+                return Integer.parseInt(paramValue.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid integer parameter {}: {}", paramName, paramValue);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Async listener detaching the subscriber when its stream ends
+     */
+    private static class StreamLifecycleListener implements AsyncListener {
+        private final StreamSubscriber subscriber;
+
+        StreamLifecycleListener(StreamSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            subscriber.onContainerComplete();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            subscriber.onContainerComplete();
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            subscriber.onContainerComplete();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.flashnews.servlet;
+
+import com.flashnews.cache.WarmStartSnapshot;
+import com.flashnews.startup.ApplicationReadiness;
+import com.flashnews.util.ArticleJson;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * ReadinessServlet reporting startup progress for load balancers and operators
+ * Answers 200 once every required startup phase has completed and 503 before that
+ */
+@WebServlet(name = "ReadinessServlet", urlPatterns = {"/api/ready"})
+public class ReadinessServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        ApplicationReadiness readiness = ApplicationReadiness.getInstance();
+        Map<String, Object> body = readiness.getStatus();
+        body.put("warmStart", WarmStartSnapshot.getInstance().getStatus());
+
+        if (!readiness.isReady()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(readiness.getRetryAfterSeconds()));
+        }
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.getWriter().write(ArticleJson.toJson(body));
+    }
+}
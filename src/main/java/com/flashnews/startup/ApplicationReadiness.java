@@ -0,0 +1,152 @@
+package com.flashnews.startup;
+
+import com.flashnews.util.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApplicationReadiness running startup phases off the deployment thread and tracking readiness
+ * Phases run in order on one background thread; a failing required phase is retried after
+ * a delay, and the application is ready once every required phase has completed
+ */
+public class ApplicationReadiness {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationReadiness.class);
+    private static ApplicationReadiness instance;
+
+    private final List<StartupPhase> phases = new CopyOnWriteArrayList<>();
+    private final long retryMillis;
+    private final int retryAfterSeconds;
+    private final ExecutorService executor;
+    private volatile boolean ready = false;
+    private volatile long readyAfterMillis = -1;
+
+    private ApplicationReadiness() {
+        this.retryMillis = TimeUnit.SECONDS.toMillis(ApplicationProperties.getLong("startup.retrySeconds", 10));
+        this.retryAfterSeconds = ApplicationProperties.getInt("startup.retryAfterSeconds", 5);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "application-startup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get singleton instance of ApplicationReadiness
+     * @return ApplicationReadiness instance
+     */
+    public static synchronized ApplicationReadiness getInstance() {
+        if (instance == null) {
+            instance = new ApplicationReadiness();
+        }
+        return instance;
+    }
+
+    /**
+     * Add a phase to run after the ones added before it
+     */
+    public void addPhase(String name, boolean required, StartupPhase.Action action) {
+        phases.add(new StartupPhase(name, required, action));
+    }
+
+    /**
+     * Start running the phases in the background
+     */
+    public void start() {
+        executor.execute(this::runPhases);
+    }
+
+    private void runPhases() {
+        try {
+            for (StartupPhase phase : phases) {
+                if (phase.getStatus() == StartupPhase.Status.SKIPPED) {
+                    continue;
+                }
+                while (!phase.attempt()) {
+                    if (!phase.isRequired()) {
+                        logger.warn("Optional startup phase {} failed: {}", phase.getName(), phase.getError());
+                        break;
+                    }
+                    logger.error("Startup phase {} failed, retrying in {} ms: {}",
+                                phase.getName(), retryMillis, phase.getError());
+                    Thread.sleep(retryMillis);
+                }
+                logger.info("Startup phase {} {} in {} ms", phase.getName(), phase.getStatus().name().toLowerCase(),
+                           phase.toMap().get("durationMillis"));
+
+                if (!ready && remainingRequired() == 0) {
+                    ready = true;
+                    readyAfterMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+                    logger.info("FlashNews application ready {} ms after JVM start", readyAfterMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Application startup interrupted");
+        }
+    }
+
+    private int remainingRequired() {
+        int remaining = 0;
+        for (StartupPhase phase : phases) {
+            if (phase.isRequired() && phase.getStatus() != StartupPhase.Status.COMPLETED
+                    && phase.getStatus() != StartupPhase.Status.SKIPPED) {
+                remaining++;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Mark a phase as skipped before startup begins
+     */
+    public void skipPhase(String name) {
+        for (StartupPhase phase : phases) {
+            if (phase.getName().equals(name)) {
+                phase.skip();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Get readiness with per-phase progress
+     * @return Map containing the ready flag and phase statuses and durations
+     */
+    public Map<String, Object> getStatus() {
+        List<Map<String, Object>> phaseStatus = new ArrayList<>();
+        for (StartupPhase phase : phases) {
+            phaseStatus.add(phase.toMap());
+        }
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", ready);
+        status.put("readyAfterMillis", readyAfterMillis);
+        status.put("phases", phaseStatus);
+        return status;
+    }
+
+    /**
+     * Stop startup work that is still running
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        logger.info("Application startup executor shutdown");
+    }
+}
@@ -0,0 +1,98 @@
+package com.flashnews.startup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * StartupPhase describing one step of application startup and its progress
+ * Required phases must complete before the application reports ready; optional ones may fail
+ */
+public class StartupPhase {
+
+    /**
+     * Work done by a phase; an exception fails the attempt
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED, SKIPPED }
+
+    private final String name;
+    private final boolean required;
+    private final Action action;
+    private volatile Status status = Status.PENDING;
+    private volatile int attempts = 0;
+    private volatile long startedAtMillis = 0;
+    private volatile long durationMillis = 0;
+    private volatile String error;
+
+    StartupPhase(String name, boolean required, Action action) {
+        this.name = name;
+        this.required = required;
+        this.action = action;
+    }
+
+    /**
+     * Run one attempt of the phase
+     * @return True if the phase completed
+     */
+    boolean attempt() {
+        if (startedAtMillis == 0) {
+            startedAtMillis = System.currentTimeMillis();
+        }
+        attempts++;
+        status = Status.RUNNING;
+        try {
+            action.run();
+            status = Status.COMPLETED;
+            error = null;
+            return true;
+        } catch (Exception e) {
+            status = Status.FAILED;
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return false;
+        } finally {
+            durationMillis = System.currentTimeMillis() - startedAtMillis;
+        }
+    }
+
+    void skip() {
+        status = Status.SKIPPED;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Get phase progress for the readiness endpoint
+     * @return Map containing status, attempts and duration
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> phase = new LinkedHashMap<>();
+        phase.put("name", name);
+        phase.put("required", required);
+        phase.put("status", status.name().toLowerCase());
+        phase.put("attempts", attempts);
+        phase.put("durationMillis", status == Status.RUNNING ?
+            System.currentTimeMillis() - startedAtMillis : durationMillis);
+        if (error != null) {
+            phase.put("error", error);
+        }
+        return phase;
+    }
+}
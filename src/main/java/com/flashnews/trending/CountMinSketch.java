@@ -0,0 +1,90 @@
+package com.flashnews.trending;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CountMinSketch estimating event frequencies in fixed memory
+ * Estimates never undercount; overcounting is bounded by the table width
+ */
+public class CountMinSketch {
+    private static final long[] ROW_SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth Number of hash rows, at most 8
+     * @param width Counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > ROW_SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + ROW_SEEDS.length);
+        }
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.counters = new AtomicLongArray(this.depth * this.width);
+    }
+
+    /**
+     * Count one occurrence of a key
+     * @return Estimated count of the key including this occurrence
+     */
+    public long add(long keyHash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, keyHash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Get the estimated count of a key
+     */
+    public long estimate(long keyHash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, keyHash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Reset all counters
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * Get the memory held by the counters in bytes
+     */
+    public long getMemoryBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    private int index(int row, long keyHash) {
+        long h = (keyHash ^ ROW_SEEDS[row]) * 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return row * width + (int) (h & (width - 1));
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a string key
+     */
+    public static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,137 @@
+package com.flashnews.trending;
+
+import com.flashnews.trending.SlidingWindowCounter.HeavyHitter;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HeavyHitterTracker counting article views and search queries in sliding windows
+ * Memory is fixed per window regardless of catalog size or traffic
+ */
+public class HeavyHitterTracker {
+    private static final int MAX_CANDIDATES = 256;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final HeavyHitterTracker instance = new HeavyHitterTracker();
+
+    private final Map<Window, SlidingWindowCounter<Integer>> articleViews = new EnumMap<>(Window.class);
+    private final Map<Window, SlidingWindowCounter<String>> searchQueries = new EnumMap<>(Window.class);
+
+    /**
+     * Reporting windows with their bucket layout
+     */
+    public enum Window {
+        FIVE_MINUTES("5m", TimeUnit.MINUTES.toMillis(5), 10),
+        HOUR("1h", TimeUnit.HOURS.toMillis(1), 12),
+        DAY("1d", TimeUnit.DAYS.toMillis(1), 24);
+
+        private final String label;
+        private final long millis;
+        private final int buckets;
+
+        Window(String label, long millis, int buckets) {
+            this.label = label;
+            this.millis = millis;
+            this.buckets = buckets;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Resolve a window from its label, defaulting to the hour window
+         */
+        public static Window fromLabel(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            return HOUR;
+        }
+    }
+
+    private HeavyHitterTracker() {
+        for (Window window : Window.values()) {
+            articleViews.put(window, new SlidingWindowCounter<>(window.millis, window.buckets, MAX_CANDIDATES,
+                                                                articleId -> articleId));
+            searchQueries.put(window, new SlidingWindowCounter<>(window.millis, window.buckets, MAX_CANDIDATES,
+                                                                 CountMinSketch::hash));
+        }
+    }
+
+    /**
+     * Get singleton instance of HeavyHitterTracker
+     * @return HeavyHitterTracker instance
+     */
+    public static HeavyHitterTracker getInstance() {
+        return instance;
+    }
+
+    /**
+     * Count a view of an article
+     */
+    public void recordArticleView(int articleId) {
+        long now = System.currentTimeMillis();
+        for (SlidingWindowCounter<Integer> counter : articleViews.values()) {
+            counter.add(articleId, now);
+        }
+    }
+
+    /**
+     * Count a search query, normalized so trivially different spellings count together
+     */
+    public void recordQuery(String query) {
+        String normalized = normalizeQuery(query);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (SlidingWindowCounter<String> counter : searchQueries.values()) {
+            counter.add(normalized, now);
+        }
+    }
+
+    /**
+     * Get the most viewed articles in a window
+     */
+    public List<HeavyHitter<Integer>> getTopArticles(Window window, int limit) {
+        return articleViews.get(window).getTop(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * Get the most frequent search queries in a window
+     */
+    public List<HeavyHitter<String>> getTopQueries(Window window, int limit) {
+        return searchQueries.get(window).getTop(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * Get tracker statistics
+     * @return Map containing candidate counts and sketch memory per window
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        long memoryBytes = 0;
+        for (Window window : Window.values()) {
+            status.put("articleCandidates." + window.label, articleViews.get(window).getCandidateCount());
+            status.put("queryCandidates." + window.label, searchQueries.get(window).getCandidateCount());
+            memoryBytes += articleViews.get(window).getMemoryBytes() + searchQueries.get(window).getMemoryBytes();
+        }
+        status.put("sketchMemoryBytes", memoryBytes);
+        return status;
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = query.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+}
@@ -0,0 +1,164 @@
+package com.flashnews.trending;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * SlidingWindowCounter tracking heavy hitters over a sliding time window
+ * The window is a ring of time buckets, each with its own Count-Min Sketch;
+ * a bounded candidate set remembers which keys are worth reporting
+ */
+public class SlidingWindowCounter<K> {
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+
+    private final long bucketMillis;
+    private final CountMinSketch[] buckets;
+    private final AtomicLongArray bucketEpochs;
+    private final ToLongFunction<K> hasher;
+    private final int maxCandidates;
+    private final Map<K, Boolean> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    /**
+     * @param windowMillis Length of the window
+     * @param bucketCount Number of buckets the window is divided into
+     * @param maxCandidates Number of keys kept as top-K candidates
+     */
+    public SlidingWindowCounter(long windowMillis, int bucketCount, int maxCandidates, ToLongFunction<K> hasher) {
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new CountMinSketch[bucketCount];
+        this.bucketEpochs = new AtomicLongArray(bucketCount);
+        this.hasher = hasher;
+        this.maxCandidates = maxCandidates;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+            bucketEpochs.set(i, -1);
+        }
+    }
+
+    /**
+     * Count one occurrence of a key at the given time
+     */
+    public void add(K key, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % buckets.length);
+        long slotEpoch = bucketEpochs.get(slot);
+
+        // The first writer in a new bucket period recycles the slot; a few concurrent
+        // increments may land before the reset, which the sketch's error bound absorbs
+        if (slotEpoch < epoch && bucketEpochs.compareAndSet(slot, slotEpoch, epoch)) {
+            buckets[slot].clear();
+        }
+
+        buckets[slot].add(hasher.applyAsLong(key));
+
+        // Candidates may grow to twice their bound before the lowest counts are dropped
+        if (candidates.putIfAbsent(key, Boolean.TRUE) == null && candidates.size() > maxCandidates * 2) {
+            prune(epoch);
+        }
+    }
+
+    /**
+     * Get the keys with the highest counts in the window, highest first
+     */
+    public List<HeavyHitter<K>> getTop(int limit, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        PriorityQueue<HeavyHitter<K>> top = new PriorityQueue<>(limit + 1, Comparator.comparingLong(HeavyHitter::getCount));
+
+        for (K key : candidates.keySet()) {
+            long count = estimate(hasher.applyAsLong(key), epoch);
+            if (count == 0) {
+                candidates.remove(key);
+                continue;
+            }
+            top.add(new HeavyHitter<>(key, count));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<HeavyHitter<K>> result = new ArrayList<>(top);
+        result.sort(Collections.reverseOrder(Comparator.comparingLong(HeavyHitter::getCount)));
+        return result;
+    }
+
+    /**
+     * Get the number of tracked candidate keys
+     */
+    public int getCandidateCount() {
+        return candidates.size();
+    }
+
+    /**
+     * Get the memory held by the sketches in bytes
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (CountMinSketch bucket : buckets) {
+            bytes += bucket.getMemoryBytes();
+        }
+        return bytes;
+    }
+
+    private long estimate(long keyHash, long currentEpoch) {
+        long total = 0;
+        for (int slot = 0; slot < buckets.length; slot++) {
+            long slotEpoch = bucketEpochs.get(slot);
+            if (slotEpoch > currentEpoch - buckets.length && slotEpoch <= currentEpoch) {
+                total += buckets[slot].estimate(keyHash);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Shrink the candidate set back to its bound, keeping the highest current counts
+     */
+    private void prune(long epoch) {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            PriorityQueue<HeavyHitter<K>> keep = new PriorityQueue<>(maxCandidates + 1,
+                    Comparator.comparingLong(HeavyHitter::getCount));
+            for (K key : candidates.keySet()) {
+                keep.add(new HeavyHitter<>(key, estimate(hasher.applyAsLong(key), epoch)));
+                if (keep.size() > maxCandidates) {
+                    candidates.remove(keep.poll().getKey());
+                }
+            }
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    /**
+     * Key with its estimated count in the window
+     */
+    public static final class HeavyHitter<K> {
+        private final K key;
+        private final long count;
+
+        HeavyHitter(K key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.flashnews.trending;
+
+import com.flashnews.model.NewsArticle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TrendingScorer ranking articles by time-decayed engagement
+ * Combines view velocity, recency and source diversity into per-filter top-K lists
+ * that are recomputed incrementally for the filters touched since the last pass
+ */
+public class TrendingScorer {
+    private static final Logger logger = LoggerFactory.getLogger(TrendingScorer.class);
+    private static final double VIEW_HALF_LIFE_MINUTES = 120.0;
+    private static final double RECENCY_TIME_CONSTANT_HOURS = 12.0;
+    private static final double FRESH_ARTICLE_PRIOR = 1.0;
+    private static final double SOURCE_REPEAT_PENALTY = 0.7;
+    private static final long MAX_TRACKED_AGE_MILLIS = TimeUnit.DAYS.toMillis(3);
+    private static final int TOP_K = 100;
+    private static final long RECOMPUTE_INTERVAL_SECONDS = 30;
+    private static final long FULL_RECOMPUTE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final double DECAY_RATE_PER_MILLI = Math.log(2) / (VIEW_HALF_LIFE_MINUTES * 60_000.0);
+    private static final ZoneId STORAGE_ZONE = ZoneId.systemDefault();
+    private static TrendingScorer instance;
+
+    private final Map<Integer, ArticleSignal> signals = new ConcurrentHashMap<>();
+    private final Map<FilterKey, Set<Integer>> membership = new ConcurrentHashMap<>();
+    private final Map<FilterKey, int[]> rankings = new ConcurrentHashMap<>();
+    private final Set<FilterKey> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong rankingVersion = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+    private long lastFullRecompute = 0;
+
+    private TrendingScorer() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trending-scorer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::recomputeSafely, RECOMPUTE_INTERVAL_SECONDS,
+                                         RECOMPUTE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get singleton instance of TrendingScorer
+     * @return TrendingScorer instance
+     */
+    public static synchronized TrendingScorer getInstance() {
+        if (instance == null) {
+            instance = new TrendingScorer();
+        }
+        return instance;
+    }
+
+    /**
+     * Start tracking articles so they can enter the rankings
+     */
+    public void register(Collection<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            signalFor(article);
+        }
+    }
+
+    /**
+     * Record a view of an article
+     */
+    public void recordView(NewsArticle article) {
+        signalFor(article).recordView(System.currentTimeMillis());
+        markDirty(signals.get(article.getId()));
+    }
+
+    /**
+     * Record a view of an already tracked article
+     * @return True if the article is tracked
+     */
+    public boolean recordView(int articleId) {
+        ArticleSignal signal = signals.get(articleId);
+        if (signal == null) {
+            return false;
+        }
+        signal.recordView(System.currentTimeMillis());
+        markDirty(signal);
+        return true;
+    }
+
+    /**
+     * Get the precomputed ranking for a category and location filter
+     * @return Article IDs best first, empty if nothing is ranked yet
+     */
+    public List<Integer> getRanking(Integer categoryId, Integer locationId, int limit) {
+        int[] ranking = rankings.get(new FilterKey(normalize(categoryId), normalize(locationId)));
+        if (ranking == null) {
+            return Collections.emptyList();
+        }
+
+        int size = Math.min(limit, ranking.length);
+        List<Integer> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(ranking[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Get a version that changes whenever any ranking changes
+     */
+    public long getRankingVersion() {
+        return rankingVersion.get();
+    }
+
+    /**
+     * Recompute rankings for filters touched since the last pass,
+     * and periodically for all filters so recency decay is reflected
+     * Request threads, warm-up and the scheduler may call this at the same time; passes run one at a time
+     */
+    public synchronized void recompute() {
+        long now = System.currentTimeMillis();
+        pruneExpired(now);
+
+        Collection<FilterKey> keys;
+        if (now - lastFullRecompute >= FULL_RECOMPUTE_INTERVAL_MILLIS) {
+            keys = new ArrayList<>(membership.keySet());
+            dirtyKeys.clear();
+            lastFullRecompute = now;
+        } else {
+            keys = new ArrayList<>(dirtyKeys);
+            dirtyKeys.removeAll(keys);
+        }
+
+        boolean changed = false;
+        for (FilterKey key : keys) {
+            changed |= recomputeKey(key, now);
+        }
+
+        if (changed) {
+            rankingVersion.incrementAndGet();
+            logger.debug("Recomputed {} trending rankings", keys.size());
+        }
+    }
+
+    private void recomputeSafely() {
+        try {
+            recompute();
+        } catch (Exception e) {
+            logger.error("Error recomputing trending rankings", e);
+        }
+    }
+
+    private boolean recomputeKey(FilterKey key, long now) {
+        Set<Integer> members = membership.get(key);
+        if (members == null || members.isEmpty()) {
+            return rankings.remove(key) != null;
+        }
+
+        // Keep the best candidates in a bounded min-heap
+        int candidateLimit = TOP_K * 2;
+        PriorityQueue<ScoredArticle> best = new PriorityQueue<>(candidateLimit + 1);
+        for (Integer articleId : members) {
+            ArticleSignal signal = signals.get(articleId);
+            if (signal == null) {
+                continue;
+            }
+            best.add(new ScoredArticle(signal, signal.score(now)));
+            if (best.size() > candidateLimit) {
+                best.poll();
+            }
+        }
+
+        int[] ranking = diversify(best);
+        int[] previous = rankings.put(key, ranking);
+        return previous == null || !Arrays.equals(previous, ranking);
+    }
+
+    /**
+     * Select the top-K, discounting each further article from an already selected source
+     */
+    private int[] diversify(Collection<ScoredArticle> candidates) {
+        PriorityQueue<ScoredArticle> queue = new PriorityQueue<>(Collections.reverseOrder());
+        queue.addAll(candidates);
+
+        Map<String, Integer> sourceCounts = new HashMap<>();
+        int[] ranking = new int[Math.min(TOP_K, candidates.size())];
+        int selected = 0;
+
+        while (!queue.isEmpty() && selected < ranking.length) {
+            ScoredArticle top = queue.poll();
+            int repeats = sourceCounts.getOrDefault(top.signal.sourceKey, 0);
+            double effective = top.baseScore * Math.pow(SOURCE_REPEAT_PENALTY, repeats);
+
+            // Penalties only lower scores, so re-queue until the best effective score surfaces
+            if (effective < top.score) {
+                queue.add(new ScoredArticle(top.signal, top.baseScore, effective));
+                continue;
+            }
+
+            ranking[selected++] = top.signal.articleId;
+            sourceCounts.merge(top.signal.sourceKey, 1, Integer::sum);
+        }
+
+        return selected == ranking.length ? ranking : Arrays.copyOf(ranking, selected);
+    }
+
+    private void pruneExpired(long now) {
+        signals.values().removeIf(signal -> {
+            if (now - signal.publishedAtMillis > MAX_TRACKED_AGE_MILLIS) {
+                for (FilterKey key : signal.filterKeys) {
+                    Set<Integer> members = membership.get(key);
+                    if (members != null) {
+                        members.remove(signal.articleId);
+                        dirtyKeys.add(key);
+                    }
+                }
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private ArticleSignal signalFor(NewsArticle article) {
+        ArticleSignal signal = signals.get(article.getId());
+        if (signal != null) {
+            return signal;
+        }
+
+        ArticleSignal created = new ArticleSignal(article);
+        signal = signals.putIfAbsent(article.getId(), created);
+        if (signal != null) {
+            return signal;
+        }
+
+        for (FilterKey key : created.filterKeys) {
+            membership.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(created.articleId);
+        }
+        markDirty(created);
+        return created;
+    }
+
+    private void markDirty(ArticleSignal signal) {
+        if (signal != null) {
+            Collections.addAll(dirtyKeys, signal.filterKeys);
+        }
+    }
+
+    private static Integer normalize(Integer id) {
+        return id != null && id > 0 ? id : null;
+    }
+
+    /**
+     * Get scorer statistics
+     * @return Map containing tracked article and ranking counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("trackedArticles", signals.size());
+        status.put("rankings", rankings.size());
+        status.put("rankingVersion", rankingVersion.get());
+        int[] global = rankings.get(new FilterKey(null, null));
+        status.put("globalRankingSize", global != null ? global.length : 0);
+        return status;
+    }
+
+    /**
+     * Stop the recompute schedule
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        logger.info("Trending scorer shutdown");
+    }
+
+    /**
+     * Engagement state of one article
+     */
+    private static class ArticleSignal {
+        private final int articleId;
+        private final long publishedAtMillis;
+        private final String sourceKey;
+        private final FilterKey[] filterKeys;
+        private double decayedViews = 0;
+        private long lastViewMillis;
+
+        ArticleSignal(NewsArticle article) {
+            this.articleId = article.getId();
+            this.publishedAtMillis = article.getPublishedAt() != null ?
+                article.getPublishedAt().atZone(STORAGE_ZONE).toInstant().toEpochMilli() : System.currentTimeMillis();
+            this.sourceKey = article.getSourceName() != null ? article.getSourceName().toLowerCase() : "";
+            this.lastViewMillis = System.currentTimeMillis();
+
+            Integer categoryId = normalize(article.getCategoryId());
+            Integer locationId = normalize(article.getLocationId());
+            List<FilterKey> keys = new ArrayList<>(4);
+            keys.add(new FilterKey(null, null));
+            if (categoryId != null) {
+                keys.add(new FilterKey(categoryId, null));
+            }
+            if (locationId != null) {
+                keys.add(new FilterKey(null, locationId));
+            }
+            if (categoryId != null && locationId != null) {
+                keys.add(new FilterKey(categoryId, locationId));
+            }
+            this.filterKeys = keys.toArray(new FilterKey[0]);
+        }
+
+        /**
+         * Add one view to the exponentially decayed counter
+         */
+        synchronized void recordView(long now) {
+            decayedViews = decayedViewsAt(now) + 1.0;
+            lastViewMillis = now;
+        }
+
+        synchronized double decayedViewsAt(long now) {
+            long elapsed = Math.max(0, now - lastViewMillis);
+            return decayedViews * Math.exp(-DECAY_RATE_PER_MILLI * elapsed);
+        }
+
+        /**
+         * Score = (decayed views + prior) weighted by exponential recency of publication
+         */
+        double score(long now) {
+            double ageHours = Math.max(0, now - publishedAtMillis) / 3_600_000.0;
+            double recency = Math.exp(-ageHours / RECENCY_TIME_CONSTANT_HOURS);
+            return (decayedViewsAt(now) + FRESH_ARTICLE_PRIOR) * recency;
+        }
+    }
+
+    /**
+     * Article with its raw and source-discounted score
+     */
+    private static class ScoredArticle implements Comparable<ScoredArticle> {
+        private final ArticleSignal signal;
+        private final double baseScore;
+        private final double score;
+
+        ScoredArticle(ArticleSignal signal, double score) {
+            this(signal, score, score);
+        }
+
+        ScoredArticle(ArticleSignal signal, double baseScore, double score) {
+            this.signal = signal;
+            this.baseScore = baseScore;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredArticle other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.signal.articleId, signal.articleId);
+        }
+    }
+
+    /**
+     * Ranking identity by category and location filter
+     */
+    private static final class FilterKey {
+        private final Integer categoryId;
+        private final Integer locationId;
+
+        FilterKey(Integer categoryId, Integer locationId) {
+            this.categoryId = categoryId;
+            this.locationId = locationId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FilterKey that = (FilterKey) o;
+            return Objects.equals(categoryId, that.categoryId) && Objects.equals(locationId, that.locationId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, locationId);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.flashnews.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * ApplicationProperties utility for tunables kept in database.properties
+ * The file is read once; a system property of the same name takes precedence,
+ * and missing or malformed values fall back to the given default
+ */
+public final class ApplicationProperties {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationProperties.class);
+    private static final Properties properties = load();
+
+    private ApplicationProperties() {
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream input = ApplicationProperties.class.getClassLoader().getResourceAsStream("database.properties")) {
+            if (input != null) {
+                props.load(input);
+            }
+        } catch (IOException e) {
+            logger.error("Error loading application properties", e);
+        }
+        return props;
+    }
+
+    private static String lookup(String key) {
+        return System.getProperty(key, properties.getProperty(key));
+    }
+
+    /**
+     * Get a string property
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = lookup(key);
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Get an integer property
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = lookup(key);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid integer property {}: {}", key, value);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Get a long property
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = lookup(key);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid long property {}: {}", key, value);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Get a boolean property
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = lookup(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+}
@@ -0,0 +1,62 @@
+package com.flashnews.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashnews.model.NewsArticle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ArticleJson utility for the JSON representation of articles sent to clients
+ * Keeps the field set in one place for streaming and polling endpoints
+ */
+public final class ArticleJson {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private ArticleJson() {
+    }
+    
+    /**
+     * Convert an article to the client-facing field map
+     */
+    public static Map<String, Object> toMap(NewsArticle article) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", article.getId());
+        json.put("title", article.getTitle());
+        json.put("shortDescription", article.getShortDescription());
+        json.put("url", article.getUrl());
+        json.put("imageUrl", article.getImageUrl());
+        json.put("sourceName", article.getSourceName());
+        json.put("categoryId", article.getCategoryId());
+        json.put("locationId", article.getLocationId());
+        json.put("publishedAt", article.getPublishedAt() != null ? article.getPublishedAt().toString() : null);
+        json.put("trending", article.isTrending());
+        json.put("viewCount", article.getViewCount());
+        return json;
+    }
+    
+    /**
+     * Convert a list of articles to client-facing field maps
+     */
+    public static List<Map<String, Object>> toMaps(List<NewsArticle> articles) {
+        List<Map<String, Object>> json = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            json.add(toMap(article));
+        }
+        return json;
+    }
+    
+    /**
+     * Serialize a value to JSON
+     */
+    public static String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize value to JSON", e);
+        }
+    }
+}
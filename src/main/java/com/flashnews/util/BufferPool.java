@@ -0,0 +1,64 @@
+package com.flashnews.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BufferPool class recycling fixed-size byte arrays
+ * Bounded so idle buffers never exceed the configured retention
+ */
+public class BufferPool {
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+    private final AtomicLong allocations = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+
+    public BufferPool(int bufferSize, int maxRetained) {
+        if (bufferSize <= 0 || maxRetained <= 0) {
+            throw new IllegalArgumentException("Buffer size and retention must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxRetained);
+    }
+
+    /**
+     * Take a buffer from the pool, allocating one if none is idle
+     */
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        if (buffer != null) {
+            reuses.incrementAndGet();
+            return buffer;
+        }
+        allocations.incrementAndGet();
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Return a buffer to the pool; buffers of a foreign size or beyond the
+     * retention limit are left to the garbage collector
+     */
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Get pool statistics
+     * @return Map containing pool statistics
+     */
+    public java.util.Map<String, Object> getStatus() {
+        java.util.Map<String, Object> status = new java.util.HashMap<>();
+        status.put("bufferSize", bufferSize);
+        status.put("idle", buffers.size());
+        status.put("allocations", allocations.get());
+        status.put("reuses", reuses.get());
+        return status;
+    }
+}
@@ -3,9 +3,10 @@ package com.flashnews.util;
 import com.flashnews.model.NewsArticle;
 import com.flashnews.model.Category;
 import com.flashnews.model.Location;
-import com.flashnews.dao.NewsArticleDAO;
-import com.flashnews.dao.CategoryDAO;
-import com.flashnews.dao.LocationDAO;
+import com.flashnews.dao.NewsArticleRepository;
+import com.flashnews.dao.CategoryRepository;
+import com.flashnews.dao.LocationRepository;
+import com.flashnews.dao.Repositories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,14 +21,14 @@ import java.util.List;
 public class MockDataGenerator {
     private static final Logger logger = LoggerFactory.getLogger(MockDataGenerator.class);
     
-    private final NewsArticleDAO newsArticleDAO;
-    private final CategoryDAO categoryDAO;
-    private final LocationDAO locationDAO;
+    private final NewsArticleRepository newsArticleDAO;
+    private final CategoryRepository categoryDAO;
+    private final LocationRepository locationDAO;
     
     public MockDataGenerator() {
-        this.newsArticleDAO = new NewsArticleDAO();
-        this.categoryDAO = new CategoryDAO();
-        this.locationDAO = new LocationDAO();
+        this.newsArticleDAO = Repositories.newsArticles();
+        this.categoryDAO = Repositories.categories();
+        this.locationDAO = Repositories.locations();
     }
     
     /**
@@ -0,0 +1,84 @@
+package com.flashnews.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PasswordHasher utility for salted PBKDF2 password hashes
+ * Hashes are stored as "pbkdf2$iterations$salt$hash" so the cost can change over time;
+ * the cost for new hashes is read from auth.kdf.iterations
+ */
+public final class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2";
+    private static final int DEFAULT_ITERATIONS = 120000;
+    private static final int MIN_ITERATIONS = 10000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom random = new SecureRandom();
+    private static final int iterations = Math.max(MIN_ITERATIONS,
+            ApplicationProperties.getInt("auth.kdf.iterations", DEFAULT_ITERATIONS));
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Hash a password with a new random salt
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Check a password against a stored hash in constant time
+     */
+    public static boolean verify(String password, String storedHash) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check whether a stored hash was made with a different cost than the configured one
+     */
+    public static boolean needsRehash(String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        String[] parts = storedHash.split("\\$");
+        return parts.length == 4 && PREFIX.equals(parts[0]) && !String.valueOf(iterations).equals(parts[1]);
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing unavailable", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.flashnews.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * StaticResourceRegistry computing content hashes for static web resources
+ * Each resource is hashed once and reused for ETags and fingerprinted URLs
+ */
+public class StaticResourceRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(StaticResourceRegistry.class);
+
+    public static final String CONTEXT_ATTRIBUTE = "staticResourceRegistry";
+    public static final String ASSET_PATHS_ATTRIBUTE = "assetPaths";
+
+    private static final int FINGERPRINT_LENGTH = 10;
+    private static final Pattern FINGERPRINTED_PATH =
+            Pattern.compile("^(.+)\\.([0-9a-f]{" + FINGERPRINT_LENGTH + "})\\.([A-Za-z0-9]+)$");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ServletContext servletContext;
+    private final Map<String, StaticResource> resources = new ConcurrentHashMap<>();
+    private final Map<String, String> assetPaths = new AssetPathMap();
+
+    private StaticResourceRegistry(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    /**
+     * Get the registry bound to the given servlet context, creating it on first use
+     */
+    public static StaticResourceRegistry getInstance(ServletContext servletContext) {
+        synchronized (servletContext) {
+            Object existing = servletContext.getAttribute(CONTEXT_ATTRIBUTE);
+            if (existing instanceof StaticResourceRegistry) {
+                return (StaticResourceRegistry) existing;
+            }
+
+            StaticResourceRegistry registry = new StaticResourceRegistry(servletContext);
+            servletContext.setAttribute(CONTEXT_ATTRIBUTE, registry);
+            servletContext.setAttribute(ASSET_PATHS_ATTRIBUTE, registry.assetPaths);
+            return registry;
+        }
+    }
+
+    /**
+     * Hash every resource below the given directory and publish its fingerprinted path
+     */
+    public void registerAssets(String directory) {
+        Set<String> paths = servletContext.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                registerAssets(path);
+                continue;
+            }
+
+            StaticResource resource = getResource(path);
+            if (resource != null) {
+                assetPaths.put(path, resource.getFingerprintedPath());
+                logger.debug("Registered static asset {} as {}", path, resource.getFingerprintedPath());
+            }
+        }
+    }
+
+    /**
+     * Get hashed resource metadata, computing it on first access
+     * @return Resource metadata or null if the resource does not exist
+     */
+    public StaticResource getResource(String path) {
+        StaticResource resource = resources.get(path);
+        if (resource == null) {
+            resource = loadResource(path);
+            if (resource != null) {
+                StaticResource previous = resources.putIfAbsent(path, resource);
+                if (previous != null) {
+                    resource = previous;
+                }
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * Resolve a fingerprinted path such as /css/style.0123456789.css to its original path
+     * @return Original path or null if the path is not a valid fingerprinted path
+     */
+    public String resolveFingerprintedPath(String path) {
+        Matcher matcher = FINGERPRINTED_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        String originalPath = matcher.group(1) + "." + matcher.group(3);
+        StaticResource resource = getResource(originalPath);
+        if (resource != null && resource.getFingerprint().equals(matcher.group(2))) {
+            return originalPath;
+        }
+        return null;
+    }
+
+    /**
+     * Get logical to fingerprinted path mappings for registered assets
+     */
+    public Map<String, String> getAssetPaths() {
+        return Collections.unmodifiableMap(assetPaths);
+    }
+
+    /**
+     * Read resource content and compute its SHA-256 hash
+     */
+    private StaticResource loadResource(String path) {
+        try (InputStream input = servletContext.getResourceAsStream(path)) {
+            if (input == null) {
+                return null;
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            long length = 0;
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                length += read;
+            }
+
+            return new StaticResource(path, toHex(digest.digest()), length);
+
+        } catch (IOException e) {
+            logger.warn("Error hashing static resource: {}", path, e);
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Asset path map falling back to the logical path for unregistered assets,
+     * so JSP lookups never produce an empty URL
+     */
+    private static class AssetPathMap extends ConcurrentHashMap<String, String> {
+        @Override
+        public String get(Object key) {
+            String value = super.get(key);
+            return value != null ? value : (key != null ? key.toString() : null);
+        }
+    }
+
+    /**
+     * Hashed metadata for a single static resource
+     */
+    public static class StaticResource {
+        private final String path;
+        private final String contentHash;
+        private final String etag;
+        private final String fingerprint;
+        private final String fingerprintedPath;
+        private final long length;
+
+        StaticResource(String path, String contentHash, long length) {
+            this.path = path;
+            this.contentHash = contentHash;
+            this.etag = "\"" + contentHash + "\"";
+            this.fingerprint = contentHash.substring(0, FINGERPRINT_LENGTH);
+            this.length = length;
+
+            int lastDotIndex = path.lastIndexOf('.');
+            int lastSlashIndex = path.lastIndexOf('/');
+            if (lastDotIndex > lastSlashIndex + 1) {
+                this.fingerprintedPath = path.substring(0, lastDotIndex) + "." + fingerprint + path.substring(lastDotIndex);
+            } else {
+                this.fingerprintedPath = path;
+            }
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getFingerprintedPath() {
+            return fingerprintedPath;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
@@ -1,8 +1,6 @@
--- FlashNews Database Schema
--- This script creates the database structure for the FlashNews application
-
-CREATE DATABASE IF NOT EXISTS flashnews_db;
-USE flashnews_db;
+-- FlashNews migration 1: baseline schema
+-- Creates the database structure in the database of the configured connection.
+-- Applied once by MigrationRunner; never edit a migration after it shipped, add a new one
 
 -- Users table for authentication and personalization
 CREATE TABLE users (
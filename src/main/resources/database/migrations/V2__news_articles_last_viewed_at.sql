@@ -0,0 +1,4 @@
+-- FlashNews migration 2: last view time of articles
+-- Retention keeps articles that are still being read
+
+ALTER TABLE news_articles ADD COLUMN last_viewed_at TIMESTAMP NULL DEFAULT NULL;
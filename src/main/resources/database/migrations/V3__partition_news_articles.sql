@@ -0,0 +1,54 @@
+-- FlashNews migration 3: range-partition news_articles by published_at
+-- Databases whose news_articles is already partitioned are left as they are. On others
+-- the ALTER statements rebuild the table, so the first boot after upgrading takes longer.
+-- Afterwards PartitionMaintenanceJob splits daily partitions off p_future.
+-- Every step is built from information_schema, as constraint names differ between installs
+
+SET @partitioned = (SELECT COUNT(*) FROM information_schema.partitions
+                    WHERE table_schema = DATABASE() AND table_name = 'news_articles' AND partition_name IS NOT NULL);
+
+-- Partitioned tables cannot take part in foreign keys
+SET @step = (SELECT COALESCE(CONCAT('ALTER TABLE reading_history ',
+                                    GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`') SEPARATOR ', ')),
+                             'DO 0')
+             FROM information_schema.referential_constraints
+             WHERE constraint_schema = DATABASE() AND table_name = 'reading_history'
+               AND referenced_table_name = 'news_articles');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
+
+SET @step = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE reading_history ADD INDEX idx_reading_history_article (article_id)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'reading_history'
+               AND index_name = 'idx_reading_history_article');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
+
+SET @step = (SELECT COALESCE(CONCAT('ALTER TABLE news_articles ',
+                                    GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`') SEPARATOR ', ')),
+                             'DO 0')
+             FROM information_schema.referential_constraints
+             WHERE constraint_schema = DATABASE() AND table_name = 'news_articles');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
+
+-- The partitioning column must be set and be part of every unique key
+UPDATE news_articles SET published_at = COALESCE(cached_at, NOW()) WHERE published_at IS NULL;
+SET @step = IF(@partitioned = 0,
+               'ALTER TABLE news_articles MODIFY published_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, DROP PRIMARY KEY, ADD PRIMARY KEY (id, published_at)',
+               'DO 0');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
+
+-- Existing rows start in the catch-all partition; the first maintenance run moves
+-- them into the partition of the current day, which expires with that day
+SET @step = IF(@partitioned = 0,
+               'ALTER TABLE news_articles PARTITION BY RANGE (UNIX_TIMESTAMP(published_at)) (PARTITION p_future VALUES LESS THAN MAXVALUE)',
+               'DO 0');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
@@ -0,0 +1,11 @@
+-- FlashNews migration 4: index search_history by search time
+-- Popular queries for search suggestions are read from the most recent searches.
+-- Databases that replayed the schema script before migrations existed may already have it
+
+SET @step = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_search_history_searched_at ON search_history(searched_at)', 'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'search_history'
+               AND index_name = 'idx_search_history_searched_at');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
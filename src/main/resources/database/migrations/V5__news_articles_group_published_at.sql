@@ -0,0 +1,13 @@
+-- FlashNews migration 5: index news_articles by group and publish time
+-- Retention reads and deletes each overfull group's oldest articles in publish order,
+-- and the group cutoff is read in the same order, so both walk this index
+
+SET @step = (SELECT IF(COUNT(*) = 0,
+                       'CREATE INDEX idx_group_published_at ON news_articles(category_id, location_id, published_at)',
+                       'DO 0')
+             FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'news_articles'
+               AND index_name = 'idx_group_published_at');
+PREPARE migration_step FROM @step;
+EXECUTE migration_step;
+DEALLOCATE PREPARE migration_step;
@@ -0,0 +1,64 @@
+<%@ page language="java" pageEncoding="UTF-8"%>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%-- Article list rendered once per filter, feed version and article state version, see RenderedFragmentCache --%>
+<c:choose>
+    <c:when test="${empty articles}">
+        <div class="no-news">
+            <i class="fas fa-newspaper"></i>
+            <h3>No news articles found</h3>
+            <p>Try adjusting your filters or refresh the news cache.</p>
+            <a href="${pageContext.request.contextPath}/news" class="btn btn-primary">View All News</a>
+        </div>
+    </c:when>
+    <c:otherwise>
+        <c:forEach var="article" items="${articles}">
+            <article class="news-card" data-article-id="${article.id}">
+                <c:if test="${not empty article.imageUrl}">
+                    <div class="news-image">
+                        <img src="${article.imageUrl}" alt="${article.title}" loading="lazy">
+                        <c:if test="${article.trending}">
+                            <span class="trending-badge">
+                                <i class="fas fa-fire"></i> Trending
+                            </span>
+                        </c:if>
+                    </div>
+                </c:if>
+                
+                <div class="news-content">
+                    <h3 class="news-title">
+                        <a href="${pageContext.request.contextPath}/news?action=article&id=${article.id}">
+                            ${article.title}
+                        </a>
+                    </h3>
+                    
+                    <p class="news-description">
+                        ${article.shortDescription}
+                    </p>
+                    
+                    <div class="news-meta">
+                        <span class="news-source">
+                            <i class="fas fa-newspaper"></i> ${article.sourceName}
+                        </span>
+                        <span class="news-date">
+                            <i class="fas fa-clock"></i> 
+                            ${article.publishedAt}
+                        </span>
+                        <span class="news-views">
+                            <i class="fas fa-eye"></i> ${article.viewCount}
+                        </span>
+                    </div>
+                    
+                    <div class="news-actions">
+                        <a href="${article.url}" target="_blank" class="btn btn-outline">
+                            <i class="fas fa-external-link-alt"></i> Read More
+                        </a>
+                        <a href="${pageContext.request.contextPath}/news?action=article&id=${article.id}" 
+                           class="btn btn-primary">
+                            <i class="fas fa-book-open"></i> View Details
+                        </a>
+                    </div>
+                </div>
+            </article>
+        </c:forEach>
+    </c:otherwise>
+</c:choose>
@@ -4,7 +4,8 @@
  */
 
 // Global variables
-let refreshInterval;
+let newsStream;
+let deltaPollInterval;
 let isLoading = false;
 
 // Initialize when DOM is loaded
@@ -24,6 +25,9 @@ function initializeApp() {
     // Initialize auto-refresh
     initializeAutoRefresh();
     
+    // Initialize live article updates
+    initializeLiveUpdates();
+    
     // Initialize search functionality
     initializeSearch();
     
@@ -68,46 +72,277 @@ function initializeAutoRefresh() {
             refreshNews();
         });
     }
+}
+
+/**
+ * Get the application base URL from the refresh form
+ */
+function getBaseUrl() {
+    const refreshForm = document.querySelector('.refresh-form');
+    if (!refreshForm) {
+        return null;
+    }
+    return refreshForm.getAttribute('action').replace(/\/news$/, '');
+}
+
+/**
+ * Get the category and location filters of the current page
+ */
+function getFeedParams() {
+    const params = new URLSearchParams();
+    const refreshForm = document.querySelector('.refresh-form');
+    if (refreshForm) {
+        ['category', 'location'].forEach(name => {
+            const input = refreshForm.querySelector(`input[name="${name}"]`);
+            if (input && input.value) {
+                params.set(name, input.value);
+            }
+        });
+    }
+    return params;
+}
+
+/**
+ * Initialize live article updates pushed by the server
+ */
+function initializeLiveUpdates() {
+    const newsGrid = document.querySelector('.news-grid');
+    const baseUrl = getBaseUrl();
+    if (!newsGrid || baseUrl === null) {
+        return;
+    }
     
-    // Auto-refresh every 5 minutes
-    refreshInterval = setInterval(function() {
-        if (!isLoading) {
-            refreshNews();
+    // Trending lists are ranked, so new articles are not simply prepended
+    const filterSelect = document.querySelector('#filter');
+    if (filterSelect && filterSelect.value === 'trending') {
+        return;
+    }
+    
+    if (!window.EventSource) {
+        // Poll the delta feed when streaming is unavailable
+        deltaPollInterval = setInterval(fetchDelta, 60000);
+        return;
+    }
+    
+    let reconnecting = false;
+    newsStream = new EventSource(`${baseUrl}/api/news/stream?${getFeedParams()}`);
+    newsStream.addEventListener('article', function(e) {
+        prependArticle(JSON.parse(e.data));
+    });
+    newsStream.addEventListener('error', function() {
+        reconnecting = true;
+    });
+    newsStream.addEventListener('open', function() {
+        // Catch up on anything published while the stream was down
+        if (reconnecting) {
+            reconnecting = false;
+            fetchDelta();
         }
-    }, 300000); // 5 minutes
+    });
 }
 
 /**
- * Refresh news content
+ * Get the highest article ID shown on the page
+ */
+function getLastSeenArticleId() {
+    let lastSeenId = 0;
+    document.querySelectorAll('[data-article-id]').forEach(card => {
+        lastSeenId = Math.max(lastSeenId, parseInt(card.getAttribute('data-article-id'), 10) || 0);
+    });
+    return lastSeenId;
+}
+
+/**
+ * Fetch articles newer than the last one shown and prepend them
+ */
+function fetchDelta() {
+    const baseUrl = getBaseUrl();
+    if (baseUrl === null) {
+        return;
+    }
+    
+    const params = getFeedParams();
+    params.set('action', 'delta');
+    params.set('since', getLastSeenArticleId());
+    
+    fetch(`${baseUrl}/api/news?${params}`)
+        .then(response => response.json())
+        .then(delta => {
+            delta.articles.forEach(prependArticle);
+        })
+        .catch(error => {
+            console.error('Error fetching news updates:', error);
+        });
+}
+
+/**
+ * Escape text for safe insertion into HTML
+ */
+function escapeHtml(value) {
+    if (value === null || value === undefined) {
+        return '';
+    }
+    return String(value)
+        .replace(/&/g, '&amp;')
+        .replace(/</g, '&lt;')
+        .replace(/>/g, '&gt;')
+        .replace(/"/g, '&quot;')
+        .replace(/'/g, '&#39;');
+}
+
+/**
+ * Prepend a newly published article card to the list
+ */
+function prependArticle(article) {
+    const newsGrid = document.querySelector('.news-grid');
+    if (!newsGrid || newsGrid.querySelector(`[data-article-id="${article.id}"]`)) {
+        return;
+    }
+    
+    const noNews = newsGrid.querySelector('.no-news');
+    if (noNews) {
+        noNews.remove();
+    }
+    
+    const baseUrl = getBaseUrl();
+    const detailsUrl = `${baseUrl}/news?action=article&id=${article.id}`;
+    const card = document.createElement('article');
+    card.className = 'news-card';
+    card.setAttribute('data-article-id', article.id);
+    card.innerHTML = `
+        ${article.imageUrl ? `
+        <div class="news-image">
+            <img src="${escapeHtml(article.imageUrl)}" alt="${escapeHtml(article.title)}" loading="lazy">
+        </div>` : ''}
+        <div class="news-content">
+            <h3 class="news-title">
+                <a href="${detailsUrl}">${escapeHtml(article.title)}</a>
+            </h3>
+            <p class="news-description">${escapeHtml(article.shortDescription)}</p>
+            <div class="news-meta">
+                <span class="news-source">
+                    <i class="fas fa-newspaper"></i> ${escapeHtml(article.sourceName)}
+                </span>
+                <span class="news-date">
+                    <i class="fas fa-clock"></i> ${escapeHtml(article.publishedAt)}
+                </span>
+                <span class="news-views">
+                    <i class="fas fa-eye"></i> ${article.viewCount}
+                </span>
+            </div>
+            <div class="news-actions">
+                <a href="${escapeHtml(article.url)}" target="_blank" class="btn btn-outline">
+                    <i class="fas fa-external-link-alt"></i> Read More
+                </a>
+                <a href="${detailsUrl}" class="btn btn-primary">
+                    <i class="fas fa-book-open"></i> View Details
+                </a>
+            </div>
+        </div>
+    `;
+    
+    const image = card.querySelector('img');
+    if (image) {
+        image.addEventListener('error', function() {
+            handleImageError(this);
+        });
+    }
+    
+    newsGrid.insertBefore(card, newsGrid.firstChild);
+    
+    const newsCount = document.querySelector('.news-count');
+    if (newsCount) {
+        const count = parseInt(newsCount.textContent, 10) || 0;
+        newsCount.textContent = `${count + 1} articles found`;
+    }
+}
+
+/**
+ * Refresh news content by queueing a refresh job on the server
  */
 function refreshNews() {
     if (isLoading) return;
     
+    const refreshForm = document.querySelector('.refresh-form');
+    if (!refreshForm) return;
+    
     isLoading = true;
     showLoadingState();
     
-    const refreshForm = document.querySelector('.refresh-form');
-    if (refreshForm) {
-        const formData = new FormData(refreshForm);
-        
-        fetch(refreshForm.action, {
-            method: 'POST',
-            body: formData
-        })
-        .then(response => response.text())
-        .then(data => {
-            // Reload the page to show updated content
-            window.location.reload();
-        })
-        .catch(error => {
-            console.error('Error refreshing news:', error);
-            hideLoadingState();
-            showNotification('Error refreshing news. Please try again.', 'error');
-        })
-        .finally(() => {
-            isLoading = false;
-        });
+    fetch(refreshForm.action, {
+        method: 'POST',
+        body: new URLSearchParams(new FormData(refreshForm)),
+        headers: { 'Accept': 'application/json' }
+    })
+    .then(response => {
+        if (!response.ok) {
+            throw new Error(`Refresh request failed with status ${response.status}`);
+        }
+        return response.json();
+    })
+    .then(job => waitForRefresh(job))
+    .then(job => {
+        if (job.status === 'FAILED') {
+            throw new Error(job.error || 'Refresh job failed');
+        }
+        // Streamed pages receive the new articles as they are stored
+        if (!newsStream) {
+            fetchDelta();
+        }
+        showNotification(`News refreshed: ${job.fetchedCount} new articles`, 'success');
+    })
+    .catch(error => {
+        console.error('Error refreshing news:', error);
+        showNotification('Error refreshing news. Please try again.', 'error');
+    })
+    .finally(() => {
+        isLoading = false;
+        hideLoadingState();
+    });
+}
+
+/**
+ * Wait for a refresh job to finish, via the event stream or by polling its status
+ */
+function waitForRefresh(job) {
+    if (job.status === 'COMPLETED' || job.status === 'FAILED') {
+        return Promise.resolve(job);
     }
+    
+    return new Promise(resolve => {
+        let pollTimer;
+        
+        const onRefreshEvent = function(e) {
+            const finished = JSON.parse(e.data);
+            if (finished.jobId === job.jobId) {
+                finish(finished);
+            }
+        };
+        
+        function finish(finishedJob) {
+            clearInterval(pollTimer);
+            if (newsStream) {
+                newsStream.removeEventListener('refresh', onRefreshEvent);
+            }
+            resolve(finishedJob);
+        }
+        
+        if (newsStream) {
+            newsStream.addEventListener('refresh', onRefreshEvent);
+        }
+        
+        // Poll as a fallback in case the completion event is missed
+        pollTimer = setInterval(function() {
+            fetch(`${getBaseUrl()}/api/news?action=refreshStatus&job=${encodeURIComponent(job.jobId)}`)
+                .then(response => response.json())
+                .then(status => {
+                    if (status.status === 'COMPLETED' || status.status === 'FAILED') {
+                        finish(status);
+                    }
+                })
+                .catch(error => console.error('Error checking refresh status:', error));
+        }, newsStream ? 10000 : 2000);
+    });
 }
 
 /**
@@ -127,15 +362,47 @@ function initializeSearch() {
         });
     }
     
-    // Search suggestions (basic implementation)
+    // Search suggestions, fetched once typing pauses; a newer keystroke aborts the older request
     const searchInput = document.querySelector('input[name="keyword"]');
-    if (searchInput) {
+    if (searchInput && searchInput.form) {
+        const suggestUrl = searchInput.form.getAttribute('action');
+        const datalist = document.createElement('datalist');
+        datalist.id = 'keyword-suggestions';
+        searchInput.after(datalist);
+        searchInput.setAttribute('list', datalist.id);
+        searchInput.setAttribute('autocomplete', 'off');
+        
+        let debounceTimer = null;
+        let pendingRequest = null;
+        
         searchInput.addEventListener('input', function() {
             const value = this.value.trim();
-            if (value.length > 2) {
-                // Could implement search suggestions here
-                console.log('Searching for:', value);
+            clearTimeout(debounceTimer);
+            if (value.length < 2) {
+                datalist.innerHTML = '';
+                return;
             }
+            
+            debounceTimer = setTimeout(() => {
+                if (pendingRequest) {
+                    pendingRequest.abort();
+                }
+                pendingRequest = new AbortController();
+                
+                fetch(`${suggestUrl}?action=suggest&limit=8&q=${encodeURIComponent(value)}`,
+                      { signal: pendingRequest.signal })
+                    .then(response => response.json())
+                    .then(data => {
+                        datalist.innerHTML = data.suggestions
+                            .map(suggestion => `<option value="${escapeHtml(suggestion)}"></option>`)
+                            .join('');
+                    })
+                    .catch(error => {
+                        if (error.name !== 'AbortError') {
+                            console.error('Error loading suggestions:', error);
+                        }
+                    });
+            }, 150);
         });
     }
 }
@@ -438,7 +705,10 @@ document.addEventListener('DOMContentLoaded', function() {
 
 // Cleanup on page unload
 window.addEventListener('beforeunload', function() {
-    if (refreshInterval) {
-        clearInterval(refreshInterval);
+    if (newsStream) {
+        newsStream.close();
+    }
+    if (deltaPollInterval) {
+        clearInterval(deltaPollInterval);
     }
 });
@@ -0,0 +1,211 @@
+package com.flashnews.archive;
+
+import com.flashnews.model.NewsArticle;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ArchiveSegmentTest {
+    // Three blocks of 64, 64 and 22 articles with gaps between IDs
+    private static final int ARTICLES = 150;
+    private static final LocalDateTime PUBLISHED = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void articlesRoundTripByIdAcrossBlockBoundaries() throws IOException {
+        List<NewsArticle> articles = articles();
+        ArchiveSegment segment = write(articles);
+
+        assertEquals(ARTICLES, segment.getArticleCount());
+        assertEquals(id(0), segment.getFirstId());
+        assertEquals(id(ARTICLES - 1), segment.getLastId());
+        for (int i : new int[] {0, 1, 63, 64, 65, 127, 128, ARTICLES - 1}) {
+            assertArticle(articles.get(i), segment.getById(id(i)));
+        }
+
+        assertNull(segment.getById(id(0) - 1));
+        assertNull(segment.getById(id(63) + 1));
+        assertNull(segment.getById(id(ARTICLES - 1) + 1));
+    }
+
+    @Test
+    public void articlesRoundTripByUrl() throws IOException {
+        List<NewsArticle> articles = articles();
+        ArchiveSegment segment = write(articles);
+
+        for (int i : new int[] {0, 63, 64, 128, ARTICLES - 1}) {
+            assertArticle(articles.get(i), segment.getByUrl(articles.get(i).getUrl()));
+        }
+        assertNull(segment.getByUrl("https://example.com/missing"));
+        assertNull(segment.getByUrl(null));
+    }
+
+    @Test
+    public void nullFieldsAndMissingTimesRoundTrip() throws IOException {
+        NewsArticle sparse = new NewsArticle();
+        sparse.setId(7);
+        sparse.setUrl("https://example.com/sparse");
+        ArchiveSegment segment = write(Collections.singletonList(sparse));
+
+        NewsArticle read = segment.getById(7);
+        assertNotNull(read);
+        assertNull(read.getTitle());
+        assertNull(read.getDescription());
+        assertNull(read.getContent());
+        assertNull(read.getImageUrl());
+        assertNull(read.getSourceName());
+        assertNull(read.getSourceUrl());
+        assertNull(read.getPublishedAt());
+        assertNull(read.getCachedAt());
+        assertFalse(read.isTrending());
+        assertArticle(sparse, segment.getByUrl("https://example.com/sparse"));
+    }
+
+    @Test
+    public void collidingUrlHashesCheckEveryCandidateBlock() throws IOException {
+        List<NewsArticle> articles = articles();
+        Path path = folder.getRoot().toPath().resolve("collision.seg");
+        ArchiveSegmentWriter.write(path, shuffled(articles));
+
+        // Give an article of the last block the URL hash of an article in the first, listed first
+        NewsArticle wanted = articles.get(0);
+        NewsArticle colliding = articles.get(ARTICLES - 1);
+        long wantedHash = ArchiveSegmentWriter.hashUrl(wanted.getUrl());
+        long collidingHash = ArchiveSegmentWriter.hashUrl(colliding.getUrl());
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        int footer = file.capacity() - ArchiveSegmentWriter.FOOTER_BYTES;
+        int urlIndex = (int) file.getLong(footer + 12);
+        long[][] entries = new long[ARTICLES][];
+        for (int i = 0; i < ARTICLES; i++) {
+            int position = urlIndex + i * ArchiveSegmentWriter.URL_INDEX_ENTRY_BYTES;
+            long hash = file.getLong(position);
+            entries[i] = new long[] {hash == collidingHash ? wantedHash : hash, file.getInt(position + 8)};
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(b[1], a[1]));
+        for (int i = 0; i < ARTICLES; i++) {
+            int position = urlIndex + i * ArchiveSegmentWriter.URL_INDEX_ENTRY_BYTES;
+            file.putLong(position, entries[i][0]).putInt(position + 8, (int) entries[i][1]);
+        }
+        Files.write(path, file.array());
+
+        ArchiveSegment segment = new ArchiveSegment(path);
+        assertArticle(wanted, segment.getByUrl(wanted.getUrl()));
+        assertNull(segment.getByUrl(colliding.getUrl()));
+        assertArticle(colliding, segment.getById(colliding.getId()));
+    }
+
+    @Test
+    public void shortOrForeignFilesAreRejected() throws IOException {
+        Path empty = folder.newFile("empty.seg").toPath();
+        assertOpenFails(empty);
+
+        Path segment = folder.getRoot().toPath().resolve("truncated.seg");
+        ArchiveSegmentWriter.write(segment, articles());
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 1));
+        assertOpenFails(segment);
+
+        Path foreign = folder.newFile("foreign.seg").toPath();
+        Files.write(foreign, new byte[ArchiveSegmentWriter.FOOTER_BYTES * 4]);
+        assertOpenFails(foreign);
+    }
+
+    @Test
+    public void corruptBlockFailsTheLookup() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("corrupt.seg");
+        ArchiveSegmentWriter.write(path, articles());
+        byte[] bytes = Files.readAllBytes(path);
+        // Blocks start at offset 0; a broken zlib header makes the first one unreadable
+        bytes[0] = (byte) 0xff;
+        bytes[1] = (byte) 0xff;
+        Files.write(path, bytes);
+
+        ArchiveSegment segment = new ArchiveSegment(path);
+        try {
+            segment.getById(id(0));
+            fail("expected the corrupt block to be reported");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("Corrupt block 0"));
+        }
+        assertNotNull(segment.getById(id(64)));
+    }
+
+    private ArchiveSegment write(List<NewsArticle> articles) throws IOException {
+        Path path = folder.getRoot().toPath().resolve("segment-" + articles.size() + ".seg");
+        ArchiveSegmentWriter.write(path, shuffled(articles));
+        assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+        return new ArchiveSegment(path);
+    }
+
+    private static void assertOpenFails(Path path) {
+        try {
+            new ArchiveSegment(path);
+            fail("expected " + path.getFileName() + " to be rejected");
+        } catch (IOException expected) {
+            // rejected on open
+        }
+    }
+
+    private static int id(int index) {
+        return 1000 + index * 3;
+    }
+
+    private static List<NewsArticle> articles() {
+        List<NewsArticle> articles = new ArrayList<>();
+        for (int i = 0; i < ARTICLES; i++) {
+            NewsArticle article = new NewsArticle(id(i), "Headline " + i, "Description " + i, "Content é " + i,
+                "https://example.com/news/" + i, i % 2 == 0 ? null : "https://example.com/img/" + i, "Source",
+                null, i % 5, i % 7, i % 10 == 0 ? null : PUBLISHED.plusMinutes(i), PUBLISHED.plusHours(1),
+                i % 3 == 0, i * 11);
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    /**
+     * The writer sorts by ID, so hand it the articles out of order
+     */
+    private static List<NewsArticle> shuffled(List<NewsArticle> articles) {
+        List<NewsArticle> shuffled = new ArrayList<>(articles);
+        Collections.shuffle(shuffled, new Random(42));
+        return shuffled;
+    }
+
+    private static void assertArticle(NewsArticle expected, NewsArticle actual) {
+        assertNotNull("article " + expected.getId() + " missing", actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getContent(), actual.getContent());
+        assertEquals(expected.getUrl(), actual.getUrl());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+        assertEquals(expected.getSourceName(), actual.getSourceName());
+        assertEquals(expected.getSourceUrl(), actual.getSourceUrl());
+        assertEquals(expected.getCategoryId(), actual.getCategoryId());
+        assertEquals(expected.getLocationId(), actual.getLocationId());
+        assertEquals(expected.getPublishedAt(), actual.getPublishedAt());
+        assertEquals(expected.getCachedAt(), actual.getCachedAt());
+        assertEquals(expected.isTrending(), actual.isTrending());
+        assertEquals(expected.getViewCount(), actual.getViewCount());
+    }
+}
@@ -0,0 +1,81 @@
+package com.flashnews.auth;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CredentialHasherTest {
+
+    private CredentialHasher hasher;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        // One task ahead fits the timeout with room to spare, two do not even at the shortest sleep
+        hasher = new CredentialHasher(1, 8, 1000);
+        hasher.run(() -> {
+            Thread.sleep(350);
+            return null;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    public void idlePoolAcceptsWork() {
+        assertEquals(Integer.valueOf(7), hasher.run(() -> 7));
+    }
+
+    @Test
+    public void rejectsUpFrontWhenBacklogExceedsTimeout() throws Exception {
+        submitBlocked();
+        awaitStatus(() -> (Integer) hasher.getStatus().get("active"), 1);
+        submitBlocked();
+        awaitStatus(() -> (Integer) hasher.getStatus().get("queued"), 1);
+
+        long start = System.nanoTime();
+        try {
+            hasher.run(() -> 1);
+            fail("expected the request to be rejected");
+        } catch (RejectedExecutionException expected) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue("rejection waited " + elapsedMillis + " ms", elapsedMillis < 100);
+        }
+        assertEquals(Integer.valueOf(1), hasher.getStatus().get("queued"));
+    }
+
+    private void submitBlocked() {
+        Thread caller = new Thread(() -> {
+            try {
+                hasher.run(() -> {
+                    release.await();
+                    return null;
+                });
+            } catch (RejectedExecutionException ignored) {
+                // times out while blocked
+            }
+        });
+        caller.setDaemon(true);
+        caller.start();
+    }
+
+    private static void awaitStatus(IntSupplier value, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (value.getAsInt() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, value.getAsInt());
+    }
+}
@@ -0,0 +1,45 @@
+package com.flashnews.cache;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ArticleStateVersionTest {
+
+    @Test
+    public void trendingChangesAdvanceAtOnce() {
+        ArticleStateVersion state = new ArticleStateVersion(TimeUnit.HOURS.toMillis(1));
+        long before = state.current();
+
+        state.onTrendingChanged();
+
+        assertNotEquals(before, state.current());
+    }
+
+    @Test
+    public void viewsWaitForTheRefreshDelay() {
+        ArticleStateVersion state = new ArticleStateVersion(TimeUnit.HOURS.toMillis(1));
+        long before = state.current();
+
+        state.onViewed();
+        state.onViewed();
+
+        assertEquals(before, state.current());
+    }
+
+    @Test
+    public void viewsAdvanceOnceAfterTheDelay() {
+        ArticleStateVersion state = new ArticleStateVersion(0);
+        long before = state.current();
+
+        state.onViewed();
+        state.onViewed();
+        long afterViews = state.current();
+
+        assertNotEquals(before, afterViews);
+        assertEquals(afterViews, state.current());
+    }
+}
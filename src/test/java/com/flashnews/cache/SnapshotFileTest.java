@@ -0,0 +1,151 @@
+package com.flashnews.cache;
+
+import com.flashnews.model.Category;
+import com.flashnews.model.Location;
+import com.flashnews.model.NewsArticle;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SnapshotFileTest {
+    private static final LocalDateTime PUBLISHED = LocalDateTime.of(2024, 5, 10, 8, 15, 30);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void feedsAndReferenceDataRoundTrip() throws IOException {
+        List<NewsArticle> articles = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            articles.add(article(id));
+        }
+        NewsArticle sparse = new NewsArticle();
+        sparse.setId(9);
+        articles.add(sparse);
+
+        Map<String, List<Integer>> feeds = new LinkedHashMap<>();
+        feeds.put("latest:*:*", Arrays.asList(5, 4, 3, 2, 1, 9));
+        // Feeds may name articles that did not make it into the snapshot; they are skipped
+        feeds.put("trending:2:*", Arrays.asList(3, 42, 1));
+
+        Category category = new Category("world", "World");
+        category.setId(2);
+        category.setDescription("International news");
+        Location location = new Location("Berlin", "DE");
+        location.setId(4);
+
+        Path path = folder.getRoot().toPath().resolve("warm-start.snap");
+        long before = System.currentTimeMillis();
+        int size = SnapshotFile.write(path, articles, feeds, Collections.singletonList(category),
+                                      Collections.singletonList(location));
+        assertFalse(Files.exists(path.resolveSibling("warm-start.snap.tmp")));
+
+        SnapshotFile snapshot = SnapshotFile.open(path);
+        assertEquals(size, snapshot.getSizeBytes());
+        assertEquals(6, snapshot.getArticleCount());
+        assertEquals(2, snapshot.getFeedCount());
+        assertTrue(snapshot.getCreatedAtMillis() >= before);
+
+        assertEquals(Arrays.asList(5, 4, 3), ids(snapshot.getFeed("latest:*:*", 3)));
+        assertEquals(Arrays.asList(5, 4, 3, 2, 1, 9), ids(snapshot.getFeed("latest:*:*", 50)));
+        assertEquals(Arrays.asList(3, 1), ids(snapshot.getFeed("trending:2:*", 50)));
+        assertArrayEquals(new int[] {3, 42, 1}, snapshot.getFeedIds("trending:2:*"));
+
+        NewsArticle read = snapshot.getArticle(3);
+        NewsArticle written = articles.get(2);
+        assertEquals(written.getTitle(), read.getTitle());
+        assertEquals(written.getDescription(), read.getDescription());
+        assertEquals(written.getUrl(), read.getUrl());
+        assertEquals(written.getImageUrl(), read.getImageUrl());
+        assertEquals(written.getSourceName(), read.getSourceName());
+        assertEquals(written.getCategoryId(), read.getCategoryId());
+        assertEquals(written.getPublishedAt(), read.getPublishedAt());
+        assertEquals(written.getCachedAt(), read.getCachedAt());
+        assertEquals(written.isTrending(), read.isTrending());
+        assertEquals(written.getViewCount(), read.getViewCount());
+
+        NewsArticle readSparse = snapshot.getArticle(9);
+        assertNull(readSparse.getTitle());
+        assertNull(readSparse.getPublishedAt());
+        assertNull(snapshot.getArticle(42));
+
+        assertEquals(1, snapshot.getCategories().size());
+        Category readCategory = snapshot.getCategories().get(0);
+        assertEquals(2, readCategory.getId());
+        assertEquals("world", readCategory.getName());
+        assertEquals("World", readCategory.getDisplayName());
+        assertEquals("International news", readCategory.getDescription());
+        assertEquals(1, snapshot.getLocations().size());
+        Location readLocation = snapshot.getLocations().get(0);
+        assertEquals(4, readLocation.getId());
+        assertEquals("Berlin", readLocation.getName());
+        assertEquals("DE", readLocation.getCountryCode());
+        assertNull(readLocation.getTimezone());
+    }
+
+    @Test
+    public void missingFeedKeyIsNotAnEmptyFeed() throws IOException {
+        Map<String, List<Integer>> feeds = new LinkedHashMap<>();
+        feeds.put("latest:*:*", Collections.singletonList(1));
+        Path path = folder.getRoot().toPath().resolve("warm-start.snap");
+        SnapshotFile.write(path, Collections.singletonList(article(1)), feeds,
+                           Collections.emptyList(), Collections.emptyList());
+
+        SnapshotFile snapshot = SnapshotFile.open(path);
+        assertNull(snapshot.getFeed("latest:7:*", 10));
+        assertNull(snapshot.getFeed("trending:*:*", 10));
+        assertNull(snapshot.getFeedIds("latest:7:*"));
+        assertEquals(1, snapshot.getFeed("latest:*:*", 10).size());
+    }
+
+    @Test
+    public void foreignFileIsRejected() throws IOException {
+        Path path = folder.newFile("foreign.snap").toPath();
+        Files.write(path, new byte[64]);
+        try {
+            SnapshotFile.open(path);
+            fail("expected a file without the snapshot header to be rejected");
+        } catch (IOException expected) {
+            // rejected on open
+        }
+    }
+
+    private static NewsArticle article(int id) {
+        NewsArticle article = new NewsArticle("Headline " + id, "Description " + id,
+                                              "https://example.com/news/" + id, "Source");
+        article.setId(id);
+        article.setImageUrl("https://example.com/img/" + id);
+        article.setCategoryId(2);
+        article.setPublishedAt(PUBLISHED.plusMinutes(id));
+        article.setCachedAt(PUBLISHED.plusHours(1));
+        article.setTrending(id % 2 == 1);
+        article.setViewCount(id * 10);
+        return article;
+    }
+
+    private static List<Integer> ids(List<NewsArticle> articles) {
+        List<Integer> ids = new ArrayList<>();
+        for (NewsArticle article : articles) {
+            ids.add(article.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,66 @@
+package com.flashnews.dao;
+
+import com.flashnews.model.NewsArticle;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryNewsArticleRepositoryTest {
+
+    @Test
+    public void searchFindsArticlesOlderThanTheListingWindow() {
+        InMemoryNewsArticleRepository repository = new InMemoryNewsArticleRepository();
+        NewsArticle old = article("Election results announced in the capital", LocalDateTime.now().minusDays(30));
+        NewsArticle recent = article("Election campaign enters its final week", LocalDateTime.now().minusHours(1));
+        repository.saveArticle(old);
+        repository.saveArticle(recent);
+
+        List<NewsArticle> latest = repository.getLatestNews(null, null, 10);
+        assertEquals(1, latest.size());
+        assertEquals(recent.getId(), latest.get(0).getId());
+
+        List<NewsArticle> found = repository.searchNews("election", null, null, 10);
+        assertEquals(2, found.size());
+        assertEquals(recent.getId(), found.get(0).getId());
+        assertEquals(old.getId(), found.get(1).getId());
+        assertTrue(repository.getArticlesSince(0, null, null, 10).stream().noneMatch(a -> a.getId() == old.getId()));
+    }
+
+    @Test
+    public void groupOverflowIsReturnedOldestFirstInBatches() {
+        InMemoryNewsArticleRepository repository = new InMemoryNewsArticleRepository();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            repository.saveArticle(article("Overflow story " + i, now.minusHours(10 - i)));
+        }
+        NewsArticle trending = article("Overflow story trending", now.minusHours(12));
+        trending.setTrending(true);
+        repository.saveArticle(trending);
+
+        Timestamp cutoff = repository.getGroupCutoff(null, null, 2);
+        List<NewsArticle> first = repository.getGroupOverflowArticles(null, null, cutoff, 24, null, 2);
+        assertEquals(2, first.size());
+        assertEquals("Overflow story 0", first.get(0).getTitle());
+        assertEquals("Overflow story 1", first.get(1).getTitle());
+
+        List<NewsArticle> rest = repository.getGroupOverflowArticles(null, null, cutoff, 24, first.get(1), 2);
+        assertEquals(1, rest.size());
+        assertEquals("Overflow story 2", rest.get(0).getTitle());
+
+        assertEquals(2, repository.deleteGroupOverflow(null, null, cutoff, 24, 2));
+        List<NewsArticle> remaining = repository.getGroupOverflowArticles(null, null, cutoff, 24, null, 10);
+        assertEquals(1, remaining.size());
+        assertEquals("Overflow story 2", remaining.get(0).getTitle());
+    }
+
+    private static NewsArticle article(String title, LocalDateTime publishedAt) {
+        NewsArticle article = new NewsArticle(title, "", "https://example.com/" + title.hashCode(), "Example");
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+}
@@ -0,0 +1,157 @@
+package com.flashnews.database;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DatabaseConnectionTest {
+    private static DatabaseConnection pool;
+
+    @BeforeClass
+    public static void configure() {
+        TestDatabase.configure();
+        pool = DatabaseConnection.getInstance();
+        pool.initialize();
+    }
+
+    @After
+    public void nothingLeased() {
+        assertEquals(0, status("activeConnections"));
+    }
+
+    @Test
+    public void closingALeaseReturnsTheConnectionToThePool() throws SQLException {
+        int idle = status("poolSize");
+        int open = status("openConnections");
+
+        Connection conn = pool.getConnection();
+        assertEquals(1, status("activeConnections"));
+        assertEquals(idle - 1, status("poolSize"));
+        conn.close();
+
+        assertEquals(idle, status("poolSize"));
+        assertEquals(open, status("openConnections"));
+    }
+
+    @Test
+    public void aClosedLeaseCannotBeUsedOrReturnedTwice() throws SQLException {
+        int idle = status("poolSize");
+        Connection conn = pool.getConnection();
+        conn.close();
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertEquals(idle, status("poolSize"));
+        try {
+            conn.createStatement();
+            fail("Expected a returned lease to reject calls");
+        } catch (SQLException expected) {
+            // returned to the pool
+        }
+    }
+
+    @Test
+    public void opensConnectionsUpToTheMaximumThenTimesOut() throws SQLException {
+        int max = status("maxPoolSize");
+        List<Connection> leases = new ArrayList<>();
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < max; i++) {
+                leases.add(pool.getConnection());
+            }
+            assertTrue("Opening below the maximum should not wait",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < TestDatabase.MAX_WAIT_MILLIS);
+            assertEquals(max, status("openConnections"));
+
+            start = System.nanoTime();
+            try {
+                leases.add(pool.getConnection());
+                fail("Expected the exhausted pool to time out");
+            } catch (SQLException expected) {
+                assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= TestDatabase.MAX_WAIT_MILLIS - 20);
+            }
+            assertEquals(max, status("openConnections"));
+        } finally {
+            for (Connection conn : leases) {
+                conn.close();
+            }
+        }
+    }
+
+    @Test
+    public void aWaitingCallerGetsTheNextReturnedConnection() throws Exception {
+        int max = status("maxPoolSize");
+        List<Connection> leases = new ArrayList<>();
+        ExecutorService waiter = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < max; i++) {
+                leases.add(pool.getConnection());
+            }
+            Future<Connection> waiting = waiter.submit(() -> pool.getConnection());
+            Thread.sleep(TestDatabase.MAX_WAIT_MILLIS / 3);
+            assertFalse(waiting.isDone());
+
+            leases.remove(0).close();
+            Connection conn = waiting.get(TestDatabase.MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            assertNotNull(conn);
+            leases.add(conn);
+        } finally {
+            waiter.shutdownNow();
+            for (Connection conn : leases) {
+                conn.close();
+            }
+        }
+    }
+
+    @Test
+    public void returningRollsBackUncommittedWork() throws SQLException {
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS pool_test (id INT)");
+            stmt.execute("DELETE FROM pool_test");
+        }
+
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.execute("INSERT INTO pool_test VALUES (1)");
+        }
+
+        List<Connection> leases = new ArrayList<>();
+        try {
+            for (int i = status("poolSize"); i > 0; i--) {
+                Connection conn = pool.getConnection();
+                leases.add(conn);
+                assertTrue(conn.getAutoCommit());
+            }
+            try (Statement stmt = leases.get(0).createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM pool_test")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        } finally {
+            for (Connection conn : leases) {
+                conn.close();
+            }
+        }
+    }
+
+    private static int status(String key) {
+        return (Integer) pool.getPoolStatus().get(key);
+    }
+}
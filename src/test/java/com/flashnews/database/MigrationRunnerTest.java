@@ -0,0 +1,95 @@
+package com.flashnews.database;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MigrationRunnerTest {
+
+    @BeforeClass
+    public static void configure() throws SQLException {
+        TestDatabase.configure();
+        TestDatabase.registerLockAliases();
+    }
+
+    @Before
+    public void dropSchema() throws SQLException {
+        TestDatabase.dropSchema();
+    }
+
+    @Test
+    public void emptyDatabaseRunsEveryMigration() throws Exception {
+        assertEquals(2, runner().migrate());
+
+        assertTrue(hasLastViewedAt());
+        List<String> versions = appliedVersions();
+        assertEquals(2, versions.size());
+        assertEquals("1 baseline", versions.get(0));
+        assertEquals("2 news articles last viewed at", versions.get(1));
+
+        assertEquals(0, runner().migrate());
+    }
+
+    @Test
+    public void legacySchemaWithoutLastViewedAtIsBaselinedAtV1AndMigrated() throws Exception {
+        TestDatabase.execute("CREATE TABLE news_articles (id INT PRIMARY KEY, title VARCHAR(100))");
+
+        assertEquals(1, runner().migrate());
+
+        assertTrue(hasLastViewedAt());
+        List<String> versions = appliedVersions();
+        assertEquals(2, versions.size());
+        assertEquals("1 baseline (baseline)", versions.get(0));
+        assertEquals("2 news articles last viewed at", versions.get(1));
+
+        assertEquals(0, runner().migrate());
+    }
+
+    @Test
+    public void legacySchemaWithLastViewedAtIsBaselinedAtV2() throws Exception {
+        TestDatabase.execute("CREATE TABLE news_articles (id INT PRIMARY KEY, title VARCHAR(100), " +
+                "last_viewed_at TIMESTAMP NULL DEFAULT NULL)");
+
+        assertEquals(0, runner().migrate());
+
+        List<String> versions = appliedVersions();
+        assertEquals(2, versions.size());
+        assertEquals("1 baseline (baseline)", versions.get(0));
+        assertEquals("2 news articles last viewed at (baseline)", versions.get(1));
+    }
+
+    private static MigrationRunner runner() {
+        return TestDatabase.migrationRunner();
+    }
+
+    private static boolean hasLastViewedAt() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM information_schema.columns " +
+                 "WHERE table_schema = DATABASE() AND table_name = 'news_articles' AND column_name = 'last_viewed_at'")) {
+            return rs.next() && rs.getInt(1) == 1;
+        }
+    }
+
+    private static List<String> appliedVersions() throws SQLException {
+        List<String> versions = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, description FROM schema_version ORDER BY version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt("version") + " " + rs.getString("description"));
+            }
+        }
+        return versions;
+    }
+}
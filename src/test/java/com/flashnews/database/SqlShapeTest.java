@@ -0,0 +1,58 @@
+package com.flashnews.database;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SqlShapeTest {
+
+    @Test
+    public void literalsBecomePlaceholders() {
+        assertEquals("SELECT * FROM news_articles WHERE title = ? AND view_count > ? LIMIT ?",
+            SqlShape.normalize("SELECT * FROM news_articles WHERE title = 'it''s' AND view_count > 1.5 LIMIT 20"));
+        assertEquals(SqlShape.normalize("SELECT * FROM users WHERE username = 'alice'"),
+            SqlShape.normalize("SELECT * FROM users WHERE username = ?"));
+    }
+
+    @Test
+    public void whitespaceIsCollapsed() {
+        assertEquals("SELECT id FROM news_articles WHERE id > ?",
+            SqlShape.normalize("  SELECT id\r\n  FROM   news_articles\n\tWHERE id > ?  "));
+    }
+
+    @Test
+    public void inListsOfAnySizeShareOneShape() {
+        String shape = "SELECT * FROM news_articles WHERE id IN (?+)";
+        assertEquals(shape, SqlShape.normalize("SELECT * FROM news_articles WHERE id IN (?)"));
+        assertEquals(shape, SqlShape.normalize("SELECT * FROM news_articles WHERE id IN (?, ?, ?)"));
+        assertEquals(shape, SqlShape.normalize("SELECT * FROM news_articles WHERE id IN (?,?,?,?,?,?,?,?)"));
+        assertEquals(shape, SqlShape.normalize("SELECT * FROM news_articles WHERE id IN (4, 8, 15, 16, 23, 42)"));
+    }
+
+    @Test
+    public void multiRowValuesShareOneShape() {
+        String shape = "INSERT INTO reading_history (user_id, article_id) VALUES (?+), ... "
+            + "ON DUPLICATE KEY UPDATE read_at = VALUES(read_at)";
+        assertEquals(shape, SqlShape.normalize("INSERT INTO reading_history (user_id, article_id) VALUES (?, ?), (?, ?) "
+            + "ON DUPLICATE KEY UPDATE read_at = VALUES(read_at)"));
+        assertEquals(shape, SqlShape.normalize("INSERT INTO reading_history (user_id, article_id) "
+            + "VALUES (?, ?), (?, ?), (?, ?), (1, 2) ON DUPLICATE KEY UPDATE read_at = VALUES(read_at)"));
+        assertEquals("INSERT INTO reading_history (user_id, article_id) VALUES (?+)",
+            SqlShape.normalize("INSERT INTO reading_history (user_id, article_id) VALUES (?, ?)"));
+    }
+
+    @Test
+    public void identifiersWithDigitsAreKept() {
+        assertEquals("ALTER TABLE news_articles DROP PARTITION p20240101",
+            SqlShape.normalize("ALTER TABLE news_articles DROP PARTITION p20240101"));
+        assertEquals("SELECT t1.id FROM news_articles t1 WHERE t1.id = ?",
+            SqlShape.normalize("SELECT t1.id FROM news_articles t1 WHERE t1.id = 7"));
+    }
+
+    @Test
+    public void cachedShapeMatchesNormalizedShape() {
+        String sql = "SELECT * FROM news_articles WHERE id IN (?, ?)";
+        assertEquals(SqlShape.normalize(sql), SqlShape.of(sql));
+        assertEquals(SqlShape.of(sql), SqlShape.of(sql));
+    }
+}
@@ -0,0 +1,72 @@
+package com.flashnews.feed;
+
+import com.flashnews.model.NewsArticle;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReadSetStoreTest {
+
+    @Test
+    public void leastRecentlyUsedSetIsEvicted() {
+        AtomicInteger loads = new AtomicInteger();
+        ReadSetStore store = new ReadSetStore(userId -> {
+            loads.incrementAndGet();
+            return new int[] {userId * 10};
+        }, 2);
+
+        store.get(1);
+        store.get(2);
+        store.get(1);
+        store.get(3);
+
+        assertTrue(store.getMemoryBytes(1) > 0);
+        assertEquals(0, store.getMemoryBytes(2));
+        assertTrue(store.getMemoryBytes(3) > 0);
+        assertEquals(1L, store.getStatus().get("evictions"));
+        assertEquals(2, store.getStatus().get("users"));
+
+        // An evicted set is loaded again on its next use
+        assertTrue(store.get(2).contains(20));
+        assertEquals(4, loads.get());
+        assertEquals(2L, store.getStatus().get("evictions"));
+    }
+
+    @Test
+    public void readsRecordedBeforeLoadAreMergedIntoTheStoredSet() {
+        ReadSetStore store = new ReadSetStore(userId -> new int[] {1, 2, 3}, 10);
+
+        store.markRead(7, 99);
+        ReadSet readSet = store.get(7);
+        store.markRead(7, 100);
+
+        assertEquals(5, readSet.size());
+        assertTrue(readSet.contains(2));
+        assertTrue(readSet.contains(99));
+        assertTrue(store.get(7).contains(100));
+    }
+
+    @Test
+    public void filterUnreadSkipsReadArticlesUpToTheLimit() {
+        ReadSetStore store = new ReadSetStore(userId -> new int[] {2, 4}, 10);
+        List<NewsArticle> articles = new ArrayList<>();
+        for (int id = 1; id <= 6; id++) {
+            NewsArticle article = new NewsArticle();
+            article.setId(id);
+            articles.add(article);
+        }
+
+        List<NewsArticle> unread = store.filterUnread(1, articles, 3);
+
+        assertEquals(Arrays.asList(1, 3, 5), Arrays.asList(unread.get(0).getId(), unread.get(1).getId(),
+            unread.get(2).getId()));
+        assertFalse(store.filterUnread(1, articles, 10).contains(articles.get(3)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.flashnews.feed;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReadSetTest {
+    private static final int CHUNK = 1 << 16;
+
+    @Test
+    public void addAndContainsAcrossChunkBoundaries() {
+        ReadSet set = new ReadSet();
+        int[] ids = {0, CHUNK - 1, CHUNK, 2 * CHUNK - 1, 2 * CHUNK, 40 * CHUNK + 7, Integer.MAX_VALUE};
+        for (int id : ids) {
+            assertTrue(set.add(id));
+        }
+
+        for (int id : ids) {
+            assertTrue("Missing " + id, set.contains(id));
+            assertFalse("Duplicate accepted " + id, set.add(id));
+        }
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(CHUNK + 1));
+        assertFalse(set.contains(3 * CHUNK));
+        assertFalse(set.contains(Integer.MAX_VALUE - 1));
+        assertEquals(ids.length, set.size());
+        assertArrayEquals(ids, set.toArray());
+    }
+
+    @Test
+    public void chunkSwitchesFromArrayToBitmapPastTheArrayLimit() {
+        ReadSet set = new ReadSet();
+        int base = 3 * CHUNK;
+        for (int i = 0; i < 4096; i++) {
+            set.add(base + i * 16);
+        }
+        long arrayBytes = set.getMemoryBytes();
+        assertTrue("4096 sparse values should stay an array", arrayBytes < 8192 + 1024);
+
+        assertTrue(set.add(base + 1));
+        assertTrue("The 4097th value should switch to a bitmap", set.getMemoryBytes() >= 8192);
+
+        assertEquals(4097, set.size());
+        assertTrue(set.contains(base + 1));
+        assertFalse(set.contains(base + 2));
+        for (int i = 0; i < 4096; i++) {
+            assertTrue(set.contains(base + i * 16));
+            assertFalse(set.add(base + i * 16));
+        }
+        assertEquals(4097, set.size());
+
+        int[] ids = set.toArray();
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i - 1] < ids[i]);
+        }
+    }
+
+    @Test
+    public void matchesASortedSetForMixedDensities() {
+        Random random = new Random(11);
+        ReadSet set = new ReadSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Mostly one dense chunk, the rest spread over many sparse ones
+            int id = i % 4 == 0 ? random.nextInt(1 << 24) : 5 * CHUNK + random.nextInt(CHUNK);
+            assertEquals(expected.add(id), set.add(id));
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), set.toArray());
+        assertArrayEquals(set.toArray(), new ReadSet(set.toArray()).toArray());
+    }
+}
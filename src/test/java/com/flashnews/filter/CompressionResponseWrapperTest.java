@@ -0,0 +1,148 @@
+package com.flashnews.filter;
+
+import com.flashnews.util.BufferPool;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompressionResponseWrapperTest {
+    private static final int MIN_SIZE = 16;
+
+    private final Map<String, String> headers = new HashMap<>();
+    private final RecordingOutputStream body = new RecordingOutputStream();
+    private final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+        HttpServletResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+        (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getOutputStream":
+                    return body;
+                case "setHeader":
+                case "addHeader":
+                    headers.put((String) args[0], (String) args[1]);
+                    return null;
+                case "containsHeader":
+                    return headers.containsKey(args[0]);
+                case "getContentType":
+                    return headers.get("Content-Type");
+                case "getCharacterEncoding":
+                    return "UTF-8";
+                case "isCommitted":
+                    return false;
+                default:
+                    return null;
+            }
+        });
+
+    @Test
+    public void largeCompressibleBodyIsGzipped() throws IOException {
+        CompressionResponseWrapper wrapper = wrapper();
+        wrapper.getOutputStream().write(bytes(text(64)));
+        wrapper.finish();
+
+        assertEquals("gzip", headers.get("Content-Encoding"));
+        assertEquals(0x1f, body.bytes.toByteArray()[0] & 0xff);
+    }
+
+    @Test
+    public void writeListenerSwitchesToUncompressedPassthrough() throws IOException {
+        CompressionResponseWrapper wrapper = wrapper();
+        ServletOutputStream output = wrapper.getOutputStream();
+        output.write(bytes(text(4)));
+        WriteListener listener = new NoOpListener();
+
+        output.setWriteListener(listener);
+        assertSame(listener, body.listener);
+        body.ready = false;
+        assertFalse(output.isReady());
+        body.ready = true;
+        assertTrue(output.isReady());
+
+        output.write(bytes(text(4)));
+        output.write(bytes(text(60)));
+        wrapper.finish();
+
+        assertNull(headers.get("Content-Encoding"));
+        assertEquals(text(4) + text(4) + text(60), body.bytes.toString("UTF-8"));
+    }
+
+    @Test
+    public void writeListenerCannotJoinACompressedResponse() throws IOException {
+        CompressionResponseWrapper wrapper = wrapper();
+        ServletOutputStream output = wrapper.getOutputStream();
+        output.write(bytes(text(64)));
+
+        try {
+            output.setWriteListener(new NoOpListener());
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertNull(body.listener);
+        }
+        wrapper.release();
+    }
+
+    private CompressionResponseWrapper wrapper() {
+        headers.put("Content-Type", "text/html;charset=UTF-8");
+        return new CompressionResponseWrapper(response, Collections.singleton("text/html"),
+            new BufferPool(MIN_SIZE, 2), new GzipEncoder.Pool(Deflater.DEFAULT_COMPRESSION, 2, 1024));
+    }
+
+    private static String text(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        return text.toString();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class RecordingOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private WriteListener listener;
+        private boolean ready = true;
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.listener = writeListener;
+        }
+    }
+
+    private static final class NoOpListener implements WriteListener {
+        @Override
+        public void onWritePossible() {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.flashnews.filter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ETagTest {
+
+    @Test
+    public void encodedVariantsGetTheirOwnTags() {
+        assertEquals("\"abc123-gz\"", CompressionFilter.variantETag("\"abc123\"", "gzip"));
+        assertEquals("\"abc123-br\"", CompressionFilter.variantETag("\"abc123\"", "br"));
+    }
+
+    @Test
+    public void variantTagsDoNotMatchTheIdentityTag() {
+        String identity = "\"abc123\"";
+        String gzip = CompressionFilter.variantETag(identity, "gzip");
+
+        assertTrue(CacheControlFilter.matchesETag(gzip, gzip));
+        assertFalse(CacheControlFilter.matchesETag(identity, gzip));
+        assertFalse(CacheControlFilter.matchesETag(gzip, identity));
+        assertTrue(CacheControlFilter.matchesETag("\"other\", W/" + gzip, gzip));
+    }
+}
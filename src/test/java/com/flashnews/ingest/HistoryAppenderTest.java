@@ -0,0 +1,80 @@
+package com.flashnews.ingest;
+
+import com.flashnews.dao.HistoryDAO;
+import com.flashnews.database.TestDatabase;
+import com.flashnews.model.ReadingHistoryEntry;
+import com.flashnews.model.SearchHistoryEntry;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class HistoryAppenderTest {
+
+    @BeforeClass
+    public static void configure() {
+        // HistoryDAO takes the shared pool, which must point at the test database
+        TestDatabase.configure();
+    }
+
+    @Test
+    public void shutdownDrainsQueuedEntriesWithoutInterruptingTheWriter() {
+        SlowHistory history = new SlowHistory();
+        HistoryAppender appender = new HistoryAppender(history);
+        for (int i = 1; i <= 50; i++) {
+            appender.append(new ReadingHistoryEntry(1, i, LocalDateTime.now(), 0));
+            appender.append(new SearchHistoryEntry(1, "query " + i, i, LocalDateTime.now()));
+        }
+
+        appender.shutdown();
+
+        assertEquals(0, history.interrupted.get());
+        assertEquals(50, history.reads.get());
+        assertEquals(50, history.searches.get());
+        assertEquals(100L, appender.getStatus().get("written"));
+        assertEquals(0L, appender.getStatus().get("failedBatches"));
+    }
+
+    @Test
+    public void entriesAfterShutdownAreShed() {
+        HistoryAppender appender = new HistoryAppender(new SlowHistory());
+        appender.shutdown();
+
+        assertEquals(false, appender.append(new SearchHistoryEntry(null, "late", 0, LocalDateTime.now())));
+        assertEquals(1L, appender.getStatus().get("dropped"));
+    }
+
+    /**
+     * History store that takes a while per batch, like a write waiting for a pooled connection
+     */
+    private static final class SlowHistory extends HistoryDAO {
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AtomicInteger searches = new AtomicInteger();
+        private final AtomicInteger interrupted = new AtomicInteger();
+
+        @Override
+        public boolean upsertReadingHistory(List<ReadingHistoryEntry> entries) {
+            pause();
+            reads.addAndGet(entries.size());
+            return true;
+        }
+
+        @Override
+        public boolean insertSearchHistory(List<SearchHistoryEntry> entries) {
+            searches.addAndGet(entries.size());
+            return true;
+        }
+
+        private void pause() {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.flashnews.ingest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MinHashTest {
+    private static final String STORY =
+        "Heavy rain floods low lying streets in the old city as officials open relief camps for residents";
+
+    private final MinHash minHash = new MinHash(64, 42L);
+
+    @Test
+    public void caseAndPunctuationDoNotChangeTheSignature() {
+        int[] plain = minHash.signature(STORY, 5);
+        int[] shouted = minHash.signature("HEAVY rain -- floods low-lying streets, in the OLD city; as officials "
+            + "open relief camps for residents!", 5);
+
+        assertArrayEquals(plain, shouted);
+        assertEquals(1.0, MinHash.similarity(plain, shouted), 0.0);
+    }
+
+    @Test
+    public void sameSeedGivesComparableSignatures() {
+        assertArrayEquals(minHash.signature(STORY, 5), new MinHash(64, 42L).signature(STORY, 5));
+    }
+
+    @Test
+    public void oneChangedWordKeepsSimilarityNearItsJaccardIndex() {
+        // 17 distinct words, one replaced: Jaccard similarity 16/18
+        int[] original = minHash.signature(STORY, 5);
+        int[] edited = minHash.signature(STORY.replace("Heavy", "Torrential"), 5);
+
+        double similarity = MinHash.similarity(original, edited);
+        assertTrue("similarity " + similarity, similarity >= 0.75);
+        assertTrue("similarity " + similarity, similarity < 1.0);
+    }
+
+    @Test
+    public void unrelatedTextsAreDissimilar() {
+        int[] flood = minHash.signature(STORY, 5);
+        int[] cricket = minHash.signature(
+            "National cricket team wins final test match after a dramatic batting collapse by visitors", 5);
+
+        double similarity = MinHash.similarity(flood, cricket);
+        assertTrue("similarity " + similarity, similarity <= 0.2);
+    }
+
+    @Test
+    public void textsWithTooFewDistinctWordsHaveNoSignature() {
+        assertNull(minHash.signature("Breaking news breaking news", 5));
+        assertNull(minHash.signature("", 1));
+        assertNotNull(minHash.signature("Breaking news breaking news", 2));
+    }
+}
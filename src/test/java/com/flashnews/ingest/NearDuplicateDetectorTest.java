@@ -0,0 +1,104 @@
+package com.flashnews.ingest;
+
+import com.flashnews.dao.InMemoryNewsArticleRepository;
+import com.flashnews.model.NewsArticle;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NearDuplicateDetectorTest {
+    private static final long WINDOW_MILLIS = TimeUnit.HOURS.toMillis(48);
+
+    @Test
+    public void republishedStoryIsRecognized() {
+        NearDuplicateDetector detector = detector(0.7, WINDOW_MILLIS);
+        detector.register(original(7));
+
+        assertEquals(Integer.valueOf(7), detector.findDuplicate(republished()));
+        assertEquals(1L, detector.getStatus().get("duplicates"));
+    }
+
+    @Test
+    public void distinctStoryIsNotReported() {
+        NearDuplicateDetector detector = detector(0.7, WINDOW_MILLIS);
+        detector.register(original(7));
+
+        assertNull(detector.findDuplicate(article(0, "National cricket team wins final test match",
+            "Visitors suffer a dramatic batting collapse on the last day at the stadium")));
+        assertEquals(0L, detector.getStatus().get("duplicates"));
+    }
+
+    @Test
+    public void similarityBelowThresholdIsNotReported() {
+        NearDuplicateDetector strict = detector(0.99, WINDOW_MILLIS);
+        strict.register(original(7));
+
+        assertNull(strict.findDuplicate(republished()));
+        assertEquals(Integer.valueOf(7), strict.findDuplicate(original(0)));
+    }
+
+    @Test
+    public void mostSimilarCandidateWins() {
+        NearDuplicateDetector detector = detector(0.5, WINDOW_MILLIS);
+        detector.register(republished(3));
+        detector.register(original(7));
+
+        assertEquals(Integer.valueOf(7), detector.findDuplicate(original(0)));
+    }
+
+    @Test
+    public void shortArticlesAreNeverMatched() {
+        NearDuplicateDetector detector = detector(0.7, WINDOW_MILLIS);
+        detector.register(article(1, "Markets close", "Higher"));
+
+        assertNull(detector.findDuplicate(article(0, "Markets close", "Higher")));
+        assertEquals(0, detector.getStatus().get("indexedArticles"));
+    }
+
+    @Test
+    public void expiredArticlesLeaveTheIndex() {
+        NearDuplicateDetector detector = detector(0.7, -1);
+        detector.register(original(7));
+        detector.register(article(8, "National cricket team wins final test match",
+            "Visitors suffer a dramatic batting collapse on the last day at the stadium"));
+
+        assertEquals(1, detector.getStatus().get("indexedArticles"));
+        assertNull(detector.findDuplicate(republished()));
+    }
+
+    @Test
+    public void storedArticlesAreIndexedOnFirstUse() {
+        InMemoryNewsArticleRepository repository = new InMemoryNewsArticleRepository();
+        NewsArticle stored = repository.saveArticle(original(0));
+        NearDuplicateDetector detector = new NearDuplicateDetector(repository, 0.7, WINDOW_MILLIS);
+
+        assertEquals(Integer.valueOf(stored.getId()), detector.findDuplicate(republished()));
+    }
+
+    private static NearDuplicateDetector detector(double minSimilarity, long windowMillis) {
+        return new NearDuplicateDetector(new InMemoryNewsArticleRepository(), minSimilarity, windowMillis);
+    }
+
+    private static NewsArticle original(int id) {
+        return article(id, "Heavy rain floods low lying streets in the old city",
+            "Officials open relief camps for residents as water levels keep rising through the night");
+    }
+
+    private static NewsArticle republished() {
+        return republished(0);
+    }
+
+    private static NewsArticle republished(int id) {
+        return article(id, "Heavy rain floods low lying streets in old city",
+            "Officials open relief camps for residents as water levels keep rising overnight");
+    }
+
+    private static NewsArticle article(int id, String title, String description) {
+        NewsArticle article = new NewsArticle(title, description, "https://example.com/" + id, "Example");
+        article.setId(id);
+        return article;
+    }
+}
@@ -0,0 +1,69 @@
+package com.flashnews.ingest;
+
+import com.flashnews.service.NewsService;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RefreshJobQueueTest {
+    private RefreshJobQueue queue;
+
+    @After
+    public void shutdown() {
+        queue.shutdown();
+    }
+
+    @Test
+    public void successfulRefreshCompletesWithItsCount() throws InterruptedException {
+        queue = new RefreshJobQueue(newsService(() -> 7));
+
+        RefreshJob job = awaitFinished(queue.submit(1, 2));
+
+        assertEquals(RefreshJob.Status.COMPLETED, job.getStatus());
+        assertEquals(7, job.getFetchedCount());
+        assertNull(job.getError());
+    }
+
+    @Test
+    public void upstreamFailureMarksTheJobFailed() throws InterruptedException {
+        queue = new RefreshJobQueue(newsService(() -> {
+            throw new IOException("News API request failed with status code 503");
+        }));
+
+        RefreshJob job = awaitFinished(queue.submit(null, null));
+
+        assertEquals(RefreshJob.Status.FAILED, job.getStatus());
+        assertEquals("News API request failed with status code 503", job.getError());
+        assertEquals("FAILED", job.toMap().get("status"));
+    }
+
+    private static RefreshJob awaitFinished(RefreshJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.isActive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    /**
+     * NewsService whose refreshNewsCacheOrThrow runs the given refresh; other methods are not used
+     */
+    private static NewsService newsService(Refresh refresh) {
+        return (NewsService) Proxy.newProxyInstance(NewsService.class.getClassLoader(),
+            new Class<?>[] {NewsService.class}, (proxy, method, args) -> {
+                if ("refreshNewsCacheOrThrow".equals(method.getName())) {
+                    return refresh.run();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    private interface Refresh {
+        int run() throws IOException;
+    }
+}
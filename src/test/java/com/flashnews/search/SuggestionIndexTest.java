@@ -0,0 +1,58 @@
+package com.flashnews.search;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class SuggestionIndexTest {
+
+    @Test
+    public void unknownPrefixHasNoCompletions() {
+        SuggestionIndex index = new SuggestionIndex.Builder(5)
+            .add("election", 3)
+            .add("economy", 2)
+            .build();
+
+        assertEquals(Collections.emptyList(), index.complete("x", 5));
+        assertEquals(Collections.emptyList(), index.complete("ecz", 5));
+        assertEquals(Collections.emptyList(), index.complete("elections", 5));
+        assertEquals(Collections.emptyList(), SuggestionIndex.empty().complete("e", 5));
+    }
+
+    @Test
+    public void completionsAreOrderedByWeightAndCappedAtTopN() {
+        SuggestionIndex index = new SuggestionIndex.Builder(3)
+            .add("trade", 5)
+            .add("trader", 1)
+            .add("trading", 9)
+            .add("travel", 7)
+            .add("transit", 3)
+            .add("weather", 20)
+            .build();
+
+        assertEquals(Arrays.asList("trading", "travel", "trade"), index.complete("tra", 10));
+        assertEquals(Arrays.asList("trading", "trade", "trader"), index.complete("trad", 10));
+        assertEquals(Arrays.asList("trade", "trader"), index.complete("trade", 10));
+        assertEquals(Arrays.asList("weather", "trading"), index.complete("", 2));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    public void repeatedTermsAccumulateWeight() {
+        SuggestionIndex index = new SuggestionIndex.Builder(2)
+            .add("storm", 4)
+            .add("stocks", 1)
+            .add("stocks", 2)
+            .add("stocks", 2)
+            .add("stadium", 0)
+            .add("stadium", -1)
+            .build();
+
+        assertEquals(Arrays.asList("stocks", "storm"), index.complete("st", 5));
+        assertEquals(Collections.emptyList(), index.complete("sta", 5));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.flashnews.servlet;
+
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CapturingResponseWrapperTest {
+    private final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+        HttpServletResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+        (proxy, method, args) -> "getCharacterEncoding".equals(method.getName()) ? "UTF-8" : null);
+
+    @Test
+    public void writerAndStreamOutputIsCaptured() throws IOException {
+        CapturingResponseWrapper capture = new CapturingResponseWrapper(response);
+        capture.getWriter().print("<ul>");
+        capture.getOutputStream().write("<li>café</li>".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("<ul><li>café</li>", capture.getCapturedOutput());
+    }
+
+    @Test
+    public void writeListenerIsToldAtOnceThatItCanWrite() throws IOException {
+        CapturingResponseWrapper capture = new CapturingResponseWrapper(response);
+        ServletOutputStream output = capture.getOutputStream();
+
+        output.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() throws IOException {
+                assertTrue(output.isReady());
+                output.write("<p>done</p>".getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertEquals("<p>done</p>", capture.getCapturedOutput());
+    }
+}
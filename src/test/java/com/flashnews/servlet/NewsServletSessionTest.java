@@ -0,0 +1,211 @@
+package com.flashnews.servlet;
+
+import com.flashnews.database.TestDatabase;
+import com.flashnews.service.impl.UserServiceImpl;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NewsServletSessionTest {
+    private static final String USERNAME = "reader";
+    private static final String PASSWORD = "correct horse";
+
+    private static NewsServlet servlet;
+
+    @BeforeClass
+    public static void startServlet() throws Exception {
+        TestDatabase.configure();
+        TestDatabase.createSchema();
+        new UserServiceImpl().registerUser(USERNAME, "reader@example.com", PASSWORD, "Reader");
+        servlet = new NewsServlet();
+        servlet.init();
+    }
+
+    @AfterClass
+    public static void stopServlet() {
+        servlet.destroy();
+    }
+
+    @Test
+    public void loginSignsTheSessionInAndLogoutSignsItOut() throws Exception {
+        Client client = new Client();
+        client.session = new Session("planted");
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, client.get("forYou").status);
+
+        Response login = client.post("login", "username", USERNAME, "password", PASSWORD);
+        assertEquals(HttpServletResponse.SC_OK, login.status);
+        assertTrue(login.body.contains("\"username\":\"" + USERNAME + "\""));
+        assertNotEquals("planted", client.session.id);
+        Object token = client.session.attributes.get("authToken");
+        assertTrue(token instanceof String);
+
+        assertEquals(HttpServletResponse.SC_OK, client.get("forYou").status);
+
+        Session signedIn = client.session;
+        assertEquals(HttpServletResponse.SC_NO_CONTENT, client.post("logout").status);
+        assertTrue(signedIn.invalidated);
+        assertNull(client.session);
+        assertNull(new UserServiceImpl().resolveSession((String) token));
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, client.get("forYou").status);
+    }
+
+    @Test
+    public void wrongPasswordLeavesTheSessionSignedOut() throws Exception {
+        Client client = new Client();
+
+        Response login = client.post("login", "username", USERNAME, "password", "wrong password");
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, login.status);
+        assertNull(client.session);
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, client.get("forYou").status);
+    }
+
+    @Test
+    public void formLoginRedirectsToTheList() throws Exception {
+        Client client = new Client();
+        client.acceptJson = false;
+
+        Response login = client.post("login", "username", USERNAME, "password", PASSWORD);
+        assertEquals(HttpServletResponse.SC_SEE_OTHER, login.status);
+        assertEquals("/news?action=list", login.headers.get("Location"));
+        assertTrue(client.session.attributes.get("authToken") instanceof String);
+    }
+
+    /**
+     * Browser stand-in that keeps its session between requests, like a session cookie would
+     */
+    private static class Client {
+        private Session session;
+        private boolean acceptJson = true;
+        private int sessionSequence;
+
+        Response get(String action) throws Exception {
+            return send("GET", action);
+        }
+
+        Response post(String action, String... params) throws Exception {
+            return send("POST", action, params);
+        }
+
+        private Response send(String method, String action, String... params) throws Exception {
+            Map<String, String> parameters = new HashMap<>();
+            parameters.put("action", action);
+            for (int i = 0; i < params.length; i += 2) {
+                parameters.put(params[i], params[i + 1]);
+            }
+
+            HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getMethod":
+                            return method;
+                        case "getParameter":
+                            return parameters.get(args[0]);
+                        case "getHeader":
+                            return "Accept".equals(args[0]) && acceptJson ? "application/json" : null;
+                        case "getContextPath":
+                            return "";
+                        case "getSession":
+                            boolean create = args == null || (Boolean) args[0];
+                            if (session != null && session.invalidated) {
+                                session = null;
+                            }
+                            if (session == null && create) {
+                                session = new Session("session-" + ++sessionSequence);
+                            }
+                            return session == null ? null : session.proxy;
+                        case "changeSessionId":
+                            session.id = "session-" + ++sessionSequence;
+                            return session.id;
+                        default:
+                            return null;
+                    }
+                });
+
+            Response response = new Response();
+            servlet.service(request, response.proxy);
+            if (session != null && session.invalidated) {
+                session = null;
+            }
+            return response;
+        }
+    }
+
+    private static class Session {
+        private String id;
+        private boolean invalidated;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private final HttpSession proxy = (HttpSession) Proxy.newProxyInstance(
+            HttpSession.class.getClassLoader(), new Class<?>[] {HttpSession.class},
+            (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "getId":
+                        return id;
+                    case "getAttribute":
+                        return attributes.get(args[0]);
+                    case "setAttribute":
+                        attributes.put((String) args[0], args[1]);
+                        return null;
+                    case "removeAttribute":
+                        attributes.remove(args[0]);
+                        return null;
+                    case "invalidate":
+                        invalidated = true;
+                        attributes.clear();
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+
+        Session(String id) {
+            this.id = id;
+        }
+    }
+
+    private static class Response {
+        private int status = HttpServletResponse.SC_OK;
+        private String body = "";
+        private final Map<String, String> headers = new HashMap<>();
+        private final StringWriter writer = new StringWriter();
+        private final HttpServletResponse proxy = (HttpServletResponse) Proxy.newProxyInstance(
+            HttpServletResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+            (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "setStatus":
+                    case "sendError":
+                        status = (Integer) args[0];
+                        return null;
+                    case "getStatus":
+                        return status;
+                    case "setHeader":
+                        headers.put((String) args[0], (String) args[1]);
+                        return null;
+                    case "getWriter":
+                        return new PrintWriter(writer, true) {
+                            @Override
+                            public void write(String s) {
+                                super.write(s);
+                                body = writer.toString();
+                            }
+                        };
+                    default:
+                        return null;
+                }
+            });
+    }
+}
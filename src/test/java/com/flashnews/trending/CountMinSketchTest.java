@@ -0,0 +1,60 @@
+package com.flashnews.trending;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void widthIsRoundedUpToAPowerOfTwo() {
+        assertEquals(4L * 1024 * Long.BYTES, new CountMinSketch(4, 1000).getMemoryBytes());
+        assertEquals(2L * 1024 * Long.BYTES, new CountMinSketch(2, 1024).getMemoryBytes());
+    }
+
+    @Test
+    public void estimatesStayWithinTheErrorBound() {
+        int depth = 4;
+        int width = 1024;
+        int keys = 5000;
+        CountMinSketch sketch = new CountMinSketch(depth, width);
+        Random random = new Random(42);
+        long[] counts = new long[keys];
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            // Skewed: low keys are drawn far more often
+            int key = (int) (keys * Math.pow(random.nextDouble(), 3));
+            sketch.add(key);
+            counts[key]++;
+            total++;
+        }
+
+        // Count-Min: never under, and over by more than e/width * total with probability at most e^-depth
+        double bound = Math.E / width * total;
+        int beyondBound = 0;
+        for (int key = 0; key < keys; key++) {
+            long estimate = sketch.estimate(key);
+            assertTrue("Undercounted key " + key, estimate >= counts[key]);
+            if (estimate - counts[key] > bound) {
+                beyondBound++;
+            }
+        }
+        assertTrue(beyondBound + " keys beyond the bound", beyondBound <= keys * Math.exp(-depth));
+    }
+
+    @Test
+    public void addReturnsTheRunningEstimateAndClearResets() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        long key = CountMinSketch.hash("election");
+
+        assertEquals(1, sketch.add(key));
+        assertEquals(2, sketch.add(key));
+        assertEquals(2, sketch.estimate(key));
+
+        sketch.clear();
+        assertEquals(0, sketch.estimate(key));
+    }
+}
@@ -0,0 +1,42 @@
+package com.flashnews.trending;
+
+import com.flashnews.trending.HeavyHitterTracker.Window;
+import com.flashnews.trending.SlidingWindowCounter.HeavyHitter;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeavyHitterTrackerTest {
+
+    @Test
+    public void queriesAreNormalizedAndRankedByFrequency() {
+        HeavyHitterTracker tracker = HeavyHitterTracker.getInstance();
+        for (int i = 0; i < 30; i++) {
+            tracker.recordQuery(i % 2 == 0 ? "Election Results" : "  election   results ");
+        }
+        for (int i = 0; i < 20; i++) {
+            tracker.recordQuery("weather");
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.recordQuery("cricket");
+        }
+        tracker.recordQuery("   ");
+
+        for (Window window : Window.values()) {
+            List<HeavyHitter<String>> top = tracker.getTopQueries(window, 3);
+            assertEquals(3, top.size());
+            assertEquals("election results", top.get(0).getKey());
+            assertEquals(30, top.get(0).getCount());
+            assertEquals("weather", top.get(1).getKey());
+            assertEquals("cricket", top.get(2).getKey());
+        }
+    }
+
+    @Test
+    public void unknownWindowLabelsFallBackToTheHour() {
+        assertEquals(Window.FIVE_MINUTES, Window.fromLabel("5M"));
+        assertEquals(Window.HOUR, Window.fromLabel("week"));
+    }
+}
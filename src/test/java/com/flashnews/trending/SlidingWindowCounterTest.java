@@ -0,0 +1,87 @@
+package com.flashnews.trending;
+
+import com.flashnews.trending.SlidingWindowCounter.HeavyHitter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SlidingWindowCounterTest {
+    private static final long WINDOW_MILLIS = 10_000;
+    private static final int BUCKETS = 10;
+
+    @Test
+    public void countsExpireAsTheWindowSlides() {
+        SlidingWindowCounter<Integer> counter = new SlidingWindowCounter<>(WINDOW_MILLIS, BUCKETS, 16, key -> key);
+        add(counter, 7, 5, 0);
+        add(counter, 7, 3, 5_000);
+
+        assertEquals(8, countOf(counter, 7, 9_999));
+        // The bucket written at t=0 leaves the window once ten bucket periods have started since
+        assertEquals(3, countOf(counter, 7, 10_000));
+        assertEquals(0, countOf(counter, 7, 15_000));
+        assertEquals(0, counter.getCandidateCount());
+    }
+
+    @Test
+    public void aRecycledBucketStartsEmpty() {
+        SlidingWindowCounter<Integer> counter = new SlidingWindowCounter<>(WINDOW_MILLIS, BUCKETS, 16, key -> key);
+        add(counter, 7, 5, 0);
+        // Same slot, one full window later
+        add(counter, 7, 2, 10_000);
+
+        assertEquals(2, countOf(counter, 7, 10_000));
+    }
+
+    @Test
+    public void topKeysComeBackInOrderUnderASkewedStream() {
+        SlidingWindowCounter<String> counter =
+            new SlidingWindowCounter<>(WINDOW_MILLIS, BUCKETS, 32, CountMinSketch::hash);
+
+        List<String> stream = new ArrayList<>();
+        int[] heavyCounts = new int[20];
+        for (int rank = 0; rank < heavyCounts.length; rank++) {
+            heavyCounts[rank] = (int) (4000 * Math.pow(0.75, rank));
+            for (int i = 0; i < heavyCounts[rank]; i++) {
+                stream.add("heavy-" + rank);
+            }
+        }
+        for (int i = 0; i < 5000; i++) {
+            stream.add("tail-" + i);
+        }
+        Collections.shuffle(stream, new Random(7));
+
+        long now = 1_000_000;
+        for (int i = 0; i < stream.size(); i++) {
+            counter.add(stream.get(i), now + i % 1000);
+        }
+
+        List<HeavyHitter<String>> top = counter.getTop(10, now + 1000);
+        assertEquals(10, top.size());
+        for (int rank = 0; rank < top.size(); rank++) {
+            assertEquals("heavy-" + rank, top.get(rank).getKey());
+            assertTrue(top.get(rank).getCount() >= heavyCounts[rank]);
+        }
+        assertTrue(counter.getCandidateCount() <= 64);
+    }
+
+    private static void add(SlidingWindowCounter<Integer> counter, int key, int times, long nowMillis) {
+        for (int i = 0; i < times; i++) {
+            counter.add(key, nowMillis);
+        }
+    }
+
+    private static long countOf(SlidingWindowCounter<Integer> counter, int key, long nowMillis) {
+        for (HeavyHitter<Integer> hitter : counter.getTop(10, nowMillis)) {
+            if (hitter.getKey() == key) {
+                return hitter.getCount();
+            }
+        }
+        return 0;
+    }
+}